@@ -0,0 +1,108 @@
+package com.github.kilianB.pcg;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+import com.github.kilianB.pcg.sampler.AliasSampler;
+
+/**
+ * Draws from a categorical distribution. Alias table compared to a binary
+ * search in the cumulative distribution.
+ *
+ * @author Kilian
+ *
+ */
+@State(Scope.Thread)
+public class PerformanceAlias {
+
+	private static final int BULK_SIZE = 1024;
+
+	@Param({ "1000", "1000000" })
+	private int outcomes;
+
+	private PcgRSFast rng = new PcgRSFast();
+
+	private AliasSampler alias;
+	private double[] cdf;
+	private int[] dst = new int[BULK_SIZE];
+
+	@Setup
+	public void setup() {
+		PcgRSFast setupRng = new PcgRSFast(0, 0);
+		double[] weights = new double[outcomes];
+		cdf = new double[outcomes];
+		double sum = 0;
+		for (int i = 0; i < outcomes; i++) {
+			weights[i] = setupRng.nextDouble();
+			sum += weights[i];
+			cdf[i] = sum;
+		}
+		for (int i = 0; i < outcomes; i++) {
+			cdf[i] /= sum;
+		}
+		alias = new AliasSampler(weights);
+	}
+
+	@Benchmark
+	public int alias() {
+		return alias.sample(rng);
+	}
+
+	@Benchmark
+	public int cdfBinarySearch() {
+		int index = Arrays.binarySearch(cdf, rng.nextDouble());
+		return index < 0 ? -index - 1 : index;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BULK_SIZE)
+	public int[] aliasBulk() {
+		alias.sample(dst, rng);
+		return dst;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BULK_SIZE)
+	public int[] cdfBinarySearchBulk() {
+		for (int i = 0; i < BULK_SIZE; i++) {
+			int index = Arrays.binarySearch(cdf, rng.nextDouble());
+			dst[i] = index < 0 ? -index - 1 : index;
+		}
+		return dst;
+	}
+
+	//java -jar benchmarks.jar PerformanceAlias -f 1 -wi 3 -w 1s -i 5 -r 1s -tu us
+
+	// Single core machine, jdk 17, short runs
+//	Benchmark                                         (outcomes)   Mode  Cnt   Score    Error   Units
+//	kilianB.pcg.PerformanceAlias.alias                      1000  thrpt    5  65,484 ± 20,464  ops/us
+//	kilianB.pcg.PerformanceAlias.alias                   1000000  thrpt    5  45,564 ±  8,008  ops/us
+//	kilianB.pcg.PerformanceAlias.aliasBulk                  1000  thrpt    5  88,061 ± 23,674  ops/us
+//	kilianB.pcg.PerformanceAlias.aliasBulk               1000000  thrpt    5  65,244 ± 10,373  ops/us
+//	kilianB.pcg.PerformanceAlias.cdfBinarySearch            1000  thrpt    5  11,845 ±  1,204  ops/us
+//	kilianB.pcg.PerformanceAlias.cdfBinarySearch         1000000  thrpt    5   4,391 ±  0,312  ops/us
+//	kilianB.pcg.PerformanceAlias.cdfBinarySearchBulk        1000  thrpt    5  13,957 ±  1,986  ops/us
+//	kilianB.pcg.PerformanceAlias.cdfBinarySearchBulk     1000000  thrpt    5   4,506 ±  0,791  ops/us
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(PerformanceAlias.class.getSimpleName()).forks(1)
+				.mode(Mode.Throughput).warmupTime(new TimeValue(5, TimeUnit.SECONDS)).timeUnit(TimeUnit.MICROSECONDS)
+				.build();
+		new Runner(opt).run();
+	}
+
+}
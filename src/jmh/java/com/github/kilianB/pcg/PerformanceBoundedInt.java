@@ -0,0 +1,143 @@
+package com.github.kilianB.pcg;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+import com.github.kilianB.pcg.sync.PcgRS;
+
+/**
+ * Bounded int and long generation. Lemire's multiply and shift method compared
+ * to the modulo based rejection of java.util.Random for a power of two, a small
+ * and a large bound. For the large bound the modulo method rejects ~30% of all
+ * values.
+ *
+ * @author Kilian
+ *
+ */
+@State(Scope.Thread)
+public class PerformanceBoundedInt {
+
+	@Param({ "1024", "100", "1500000000" })
+	private int bound;
+
+	private PcgRSFast fast = new PcgRSFast();
+	private PcgRS sync = new PcgRS();
+	private Random jdk = new Random();
+
+	@Benchmark
+	public int fastLemire() {
+		return fast.nextInt(bound);
+	}
+
+	@Benchmark
+	public int fastLegacy() {
+		return fast.nextIntLegacy(bound);
+	}
+
+	@Benchmark
+	public int syncLemire() {
+		return sync.nextInt(bound);
+	}
+
+	@Benchmark
+	public int syncLegacy() {
+		return sync.nextIntLegacy(bound);
+	}
+
+	@Benchmark
+	public int jdkRandom() {
+		return jdk.nextInt(bound);
+	}
+
+	@Benchmark
+	public long fastLongLemire() {
+		return fast.nextLong(bound * 3_000_000_000L);
+	}
+
+	@Benchmark
+	public long fastLongLegacy() {
+		return fast.nextLongLegacy(bound * 3_000_000_000L);
+	}
+
+	//java -jar benchmarks.jar PerformanceBoundedInt -f 1 -wi 3 -w 1s -i 5 -r 1s -tu us
+
+	// Single core machine, jdk 17, short runs
+//	Benchmark                                            (bound)   Mode  Cnt    Score     Error   Units
+//	kilianB.pcg.PerformanceBoundedInt.fastLegacy            1024  thrpt    5  313,328 ± 148,802  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLegacy             100  thrpt    5  240,133 ±  51,556  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLegacy      1500000000  thrpt    5   68,452 ±  23,352  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLemire            1024  thrpt    5  236,958 ± 215,370  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLemire             100  thrpt    5  297,362 ± 131,316  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLemire      1500000000  thrpt    5   91,243 ±   9,924  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLongLegacy        1024  thrpt    5  183,653 ±  72,734  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLongLegacy         100  thrpt    5  109,352 ±  34,874  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLongLegacy  1500000000  thrpt    5  154,785 ±  88,279  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLongLemire        1024  thrpt    5  155,138 ±  27,915  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLongLemire         100  thrpt    5   92,999 ±   3,669  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLongLemire  1500000000  thrpt    5   82,821 ±  36,116  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.jdkRandom             1024  thrpt    5   76,278 ±   9,528  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.jdkRandom              100  thrpt    5   71,699 ±   9,705  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.jdkRandom       1500000000  thrpt    5   44,413 ±   6,061  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.syncLegacy            1024  thrpt    5   34,666 ±   5,620  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.syncLegacy             100  thrpt    5   33,480 ±   3,053  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.syncLegacy      1500000000  thrpt    5   26,850 ±   4,940  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.syncLemire            1024  thrpt    5   34,851 ±   3,511  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.syncLemire             100  thrpt    5   35,527 ±   3,963  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.syncLemire      1500000000  thrpt    5   28,158 ±   3,327  ops/us
+
+	// Fast generator only, -wi 5 -i 8
+//	Benchmark                                            (bound)   Mode  Cnt    Score     Error   Units
+//	kilianB.pcg.PerformanceBoundedInt.fastLegacy            1024  thrpt    8  283,641 ± 127,683  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLegacy             100  thrpt    8  223,625 ±  72,883  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLegacy      1500000000  thrpt    8   68,856 ±   8,508  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLemire            1024  thrpt    8  279,178 ± 109,352  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLemire             100  thrpt    8  286,554 ± 133,096  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLemire      1500000000  thrpt    8   87,972 ±  13,894  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLongLegacy        1024  thrpt    8  185,948 ±  33,255  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLongLegacy         100  thrpt    8  206,690 ±  15,374  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLongLegacy  1500000000  thrpt    8  161,990 ±  45,151  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLongLemire        1024  thrpt    8  168,402 ±  15,258  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLongLemire         100  thrpt    8  153,837 ±  14,912  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLongLemire  1500000000  thrpt    8   69,984 ±  21,478  ops/us
+
+	// The int variant avoids the division and wins for non power of two bounds.
+	// The long variant needs an emulated 64 bit high multiplication on Java 8 and a
+	// remainder for ~n / 2^64 of all draws. It does not outperform the 64 bit
+	// division of recent cpus.
+	// With the Math.multiplyHigh intrinsic of jdk 17, -wi 5 -i 8
+//	kilianB.pcg.PerformanceBoundedInt.fastLongLegacy        1024  thrpt    8  198,588 ±  31,410  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLongLegacy         100  thrpt    8  181,856 ±  28,578  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLongLegacy  1500000000  thrpt    8  163,337 ±  46,961  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLongLemire        1024  thrpt    8  178,804 ±  20,211  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLongLemire         100  thrpt    8  194,296 ±  28,824  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLongLemire  1500000000  thrpt    8   99,996 ±   7,808  ops/us
+	// The intrinsic closes the gap for small bounds. The largest bound covers a
+	// quarter of the 64 bit range and a quarter of all draws still takes the
+	// remainder. nextLong(n) nevertheless uses Lemire's method on all runtimes,
+	// the intrinsic is only a speedup and the sequences must not depend on the
+	// jvm.
+	// The int variants are unaffected by moving the helpers to UnsignedMath.
+//	kilianB.pcg.PerformanceBoundedInt.fastLemire            1024  thrpt    8  254,914 ±  29,439  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLemire             100  thrpt    8  328,919 ±  70,403  ops/us
+//	kilianB.pcg.PerformanceBoundedInt.fastLemire      1500000000  thrpt    8   90,620 ±   3,131  ops/us
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(PerformanceBoundedInt.class.getSimpleName()).forks(1)
+				.mode(Mode.Throughput).warmupTime(new TimeValue(5, TimeUnit.SECONDS)).timeUnit(TimeUnit.MICROSECONDS)
+				.build();
+		new Runner(opt).run();
+	}
+
+}
@@ -0,0 +1,135 @@
+package com.github.kilianB.pcg;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.kilianB.pcg.fast.PcgRSBuffered;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * Sub word draws of the bit buffered generator compared to PcgRSFast which
+ * performs one lcg step per draw. Time per value.
+ *
+ * @author Kilian
+ *
+ */
+@State(Scope.Thread)
+public class PerformanceBuffered {
+
+	private static final int N = 1 << 16;
+
+	private PcgRSFast fast = new PcgRSFast(0, 0);
+
+	private PcgRSBuffered buffered = new PcgRSBuffered(0, 0);
+
+	private byte[] bytes = new byte[N];
+
+	@Benchmark
+	@OperationsPerInvocation(N)
+	public int nextBooleanFast() {
+		int count = 0;
+		for (int i = 0; i < N; i++) {
+			if (fast.nextBoolean()) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(N)
+	public int nextBooleanBuffered() {
+		int count = 0;
+		for (int i = 0; i < N; i++) {
+			if (buffered.nextBoolean()) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(N)
+	public int nextByteFast() {
+		int sum = 0;
+		for (int i = 0; i < N; i++) {
+			sum += fast.nextByte();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(N)
+	public int nextByteBuffered() {
+		int sum = 0;
+		for (int i = 0; i < N; i++) {
+			sum += buffered.nextByte();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(N)
+	public int nextShortFast() {
+		int sum = 0;
+		for (int i = 0; i < N; i++) {
+			sum += fast.nextShort();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(N)
+	public int nextShortBuffered() {
+		int sum = 0;
+		for (int i = 0; i < N; i++) {
+			sum += buffered.nextShort();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(N)
+	public byte[] nextBytesFast() {
+		fast.nextBytes(bytes);
+		return bytes;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(N)
+	public byte[] nextBytesBuffered() {
+		buffered.nextBytes(bytes);
+		return bytes;
+	}
+
+	//java -jar benchmarks.jar PerformanceBuffered -f 1 -wi 3 -w 1s -i 5 -r 1s -bm avgt -tu ns
+	// Single core machine, jdk 17, short runs
+
+	//	kilianB.pcg.PerformanceBuffered.nextBooleanBuffered  avgt    5  1,131 ± 0,238  ns/op
+	//	kilianB.pcg.PerformanceBuffered.nextBooleanFast      avgt    5  1,468 ± 0,146  ns/op
+	//	kilianB.pcg.PerformanceBuffered.nextByteBuffered     avgt    5  1,052 ± 0,169  ns/op
+	//	kilianB.pcg.PerformanceBuffered.nextByteFast         avgt    5  1,518 ± 0,467  ns/op
+	//	kilianB.pcg.PerformanceBuffered.nextBytesBuffered    avgt    5  0,701 ± 0,576  ns/op
+	//	kilianB.pcg.PerformanceBuffered.nextBytesFast        avgt    5  1,723 ± 0,240  ns/op
+	//	kilianB.pcg.PerformanceBuffered.nextShortBuffered    avgt    5  1,093 ± 0,274  ns/op
+	//	kilianB.pcg.PerformanceBuffered.nextShortFast        avgt    5  1,395 ± 0,014  ns/op
+
+	// A lcg step of the fast generator costs little more than the bookkeeping of the buffer.
+	// Single draws gain 20 - 30 %, the bulk byte fill more than a factor of 2.
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(PerformanceBuffered.class.getSimpleName()).forks(1)
+				.mode(Mode.AverageTime).timeUnit(TimeUnit.NANOSECONDS).build();
+		new Runner(opt).run();
+	}
+
+}
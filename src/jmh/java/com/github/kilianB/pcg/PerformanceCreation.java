@@ -0,0 +1,141 @@
+package com.github.kilianB.pcg;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+import com.github.kilianB.pcg.light.PcgRRLight;
+import com.github.kilianB.pcg.light.PcgRSLight;
+import com.github.kilianB.pcg.sync.PcgRS;
+
+/**
+ * Creation throughput of randomly seeded generators. Run with an increasing
+ * amount of threads to observe the contention on the shared seed sources.
+ *
+ * @author Kilian
+ *
+ */
+@State(Scope.Benchmark)
+public class PerformanceCreation {
+
+	private static final AtomicLong LEGACY_SEED = new AtomicLong(System.nanoTime());
+
+	// Seed sources only
+
+	@Benchmark
+	public long seedSource() {
+		return SeedSource.nextSeed();
+	}
+
+	@Benchmark
+	public long seedLegacyXorshift() {
+		// Previous implementation of getRandomSeed()
+		for (;;) {
+			long current = LEGACY_SEED.get();
+			long next = current;
+			next ^= next >> 12;
+			next ^= next << 25; // b
+			next ^= next >> 27; // c
+			next *= 0x2545F4914F6CDD1DL;
+			if (LEGACY_SEED.compareAndSet(current, next))
+				return next;
+		}
+	}
+
+	// Randomly seeded generators
+
+	@Benchmark
+	public Random createJdkDefault() {
+		return new Random();
+	}
+
+	@Benchmark
+	public PcgRS createPcgRS() {
+		return new PcgRS();
+	}
+
+	@Benchmark
+	public PcgRSFast createPcgRSFast() {
+		return new PcgRSFast();
+	}
+
+	@Benchmark
+	public PcgRSLight createPcgRSLight() {
+		return new PcgRSLight();
+	}
+
+	@Benchmark
+	public PcgRRLight createPcgRRLight() {
+		return new PcgRRLight();
+	}
+
+	// Seeded constructors do not touch any shared state
+	@Benchmark
+	public PcgRSFast createSeededPcgRSFast() {
+		return new PcgRSFast(0L, 0L);
+	}
+
+	@Benchmark
+	public PcgRSLight createSeededPcgRSLight() {
+		return new PcgRSLight(0L, 0L);
+	}
+
+	//java -jar benchmarks.jar PerformanceCreation -f 1 -wi 3 -w 1s -i 5 -r 1s -tu us -t 1
+
+	// 1 thread (single core machine, jdk 17, short runs)
+//	Benchmark                                                Mode  Cnt    Score    Error   Units
+//	kilianB.pcg.PerformanceCreation.createJdkDefault        thrpt    5   19,353 ±  2,362  ops/us
+//	kilianB.pcg.PerformanceCreation.createPcgRRLight        thrpt    5   32,501 ±  2,885  ops/us
+//	kilianB.pcg.PerformanceCreation.createPcgRS             thrpt    5    9,851 ±  1,143  ops/us
+//	kilianB.pcg.PerformanceCreation.createPcgRSFast         thrpt    5   11,601 ±  0,942  ops/us
+//	kilianB.pcg.PerformanceCreation.createPcgRSLight        thrpt    5   35,684 ±  3,374  ops/us
+//	kilianB.pcg.PerformanceCreation.createSeededPcgRSFast   thrpt    5   15,177 ±  2,706  ops/us
+//	kilianB.pcg.PerformanceCreation.createSeededPcgRSLight  thrpt    5  237,343 ± 84,455  ops/us
+
+	// 8 threads on the same single core. Contention on a multi core machine has
+	// yet to be measured
+//	Benchmark                                          Mode  Cnt   Score   Error   Units
+//	kilianB.pcg.PerformanceCreation.createJdkDefault  thrpt    5  19,599 ± 6,590  ops/us
+//	kilianB.pcg.PerformanceCreation.createPcgRSFast   thrpt    5  11,433 ± 0,378  ops/us
+//	kilianB.pcg.PerformanceCreation.createPcgRSLight  thrpt    5  34,976 ± 1,827  ops/us
+
+	// SeedSource: a single getAndAdd instead of two xorshift* cas loops per instance
+	// 1 thread (single core machine, jdk 17, short runs)
+//	Benchmark                                                Mode  Cnt    Score    Error   Units
+//	kilianB.pcg.PerformanceCreation.createJdkDefault        thrpt    5   19,201 ±  4,898  ops/us
+//	kilianB.pcg.PerformanceCreation.createPcgRRLight        thrpt    5   56,290 ±  5,569  ops/us
+//	kilianB.pcg.PerformanceCreation.createPcgRS             thrpt    5   10,312 ±  1,556  ops/us
+//	kilianB.pcg.PerformanceCreation.createPcgRSFast         thrpt    5   12,206 ±  1,648  ops/us
+//	kilianB.pcg.PerformanceCreation.createPcgRSLight        thrpt    5   50,921 ± 11,850  ops/us
+//	kilianB.pcg.PerformanceCreation.createSeededPcgRSFast   thrpt    5   14,422 ±  4,009  ops/us
+//	kilianB.pcg.PerformanceCreation.createSeededPcgRSLight  thrpt    5  236,221 ± 50,545  ops/us
+//	kilianB.pcg.PerformanceCreation.seedLegacyXorshift      thrpt    5   70,466 ±  6,509  ops/us
+//	kilianB.pcg.PerformanceCreation.seedSource              thrpt    5   92,684 ± 11,707  ops/us
+
+	// 8 threads on the same single core
+//	kilianB.pcg.PerformanceCreation.createPcgRSFast         thrpt    5   12,015 ±  1,916  ops/us
+//	kilianB.pcg.PerformanceCreation.createPcgRSLight        thrpt    5   54,144 ±  3,948  ops/us
+//	kilianB.pcg.PerformanceCreation.seedLegacyXorshift      thrpt    5   70,885 ±  5,060  ops/us
+//	kilianB.pcg.PerformanceCreation.seedSource              thrpt    5   91,197 ± 15,549  ops/us
+
+	public static void main(String[] args) throws RunnerException {
+		for (int threads : new int[] { 1, 2, 4, 8, 16, 32, 64, 128, 256 }) {
+			Options opt = new OptionsBuilder().include(PerformanceCreation.class.getSimpleName()).forks(1)
+					.mode(Mode.Throughput).threads(threads).warmupTime(new TimeValue(5, TimeUnit.SECONDS))
+					.timeUnit(TimeUnit.MICROSECONDS).build();
+			new Runner(opt).run();
+		}
+	}
+
+}
@@ -0,0 +1,133 @@
+package com.github.kilianB.pcg;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+import com.github.kilianB.pcg.sampler.ConcurrentWeightedSampler;
+import com.github.kilianB.pcg.sampler.DynamicWeightedSampler;
+
+/**
+ * Mixes of weight updates and draws on the dynamic weighted samplers. Each
+ * operation is either an update or a draw.
+ *
+ * @author Kilian
+ *
+ */
+@State(Scope.Thread)
+public class PerformanceDynamicWeighted {
+
+	private static final int MIX = 10;
+
+	@Param({ "1000", "1000000" })
+	private int outcomes;
+
+	private PcgRSFast rng = new PcgRSFast();
+
+	private DynamicWeightedSampler sampler;
+	private ConcurrentWeightedSampler concurrent;
+
+	@Setup
+	public void setup() {
+		PcgRSFast setupRng = new PcgRSFast(0, 0);
+		double[] weights = new double[outcomes];
+		for (int i = 0; i < outcomes; i++) {
+			weights[i] = setupRng.nextDouble();
+		}
+		sampler = new DynamicWeightedSampler(weights);
+		concurrent = new ConcurrentWeightedSampler(weights);
+	}
+
+	@Benchmark
+	public int sample() {
+		return sampler.sample(rng);
+	}
+
+	@Benchmark
+	public void update() {
+		sampler.update(rng.nextInt(outcomes), rng.nextDouble());
+	}
+
+	/**
+	 * 9 updates for every draw
+	 */
+	@Benchmark
+	@OperationsPerInvocation(MIX)
+	public int updateHeavy() {
+		for (int i = 0; i < MIX - 1; i++) {
+			sampler.update(rng.nextInt(outcomes), rng.nextDouble());
+		}
+		return sampler.sample(rng);
+	}
+
+	/**
+	 * 9 draws for every update
+	 */
+	@Benchmark
+	@OperationsPerInvocation(MIX)
+	public int sampleHeavy() {
+		sampler.update(rng.nextInt(outcomes), rng.nextDouble());
+		int sum = 0;
+		for (int i = 0; i < MIX - 1; i++) {
+			sum += sampler.sample(rng);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(MIX)
+	public int updateHeavyConcurrent() {
+		for (int i = 0; i < MIX - 1; i++) {
+			concurrent.update(rng.nextInt(outcomes), rng.nextDouble());
+		}
+		return concurrent.sample(rng);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(MIX)
+	public int sampleHeavyConcurrent() {
+		concurrent.update(rng.nextInt(outcomes), rng.nextDouble());
+		int sum = 0;
+		for (int i = 0; i < MIX - 1; i++) {
+			sum += concurrent.sample(rng);
+		}
+		return sum;
+	}
+
+	//java -jar benchmarks.jar PerformanceDynamicWeighted -f 1 -wi 3 -w 1s -i 5 -r 1s -tu us
+
+	// Single core machine, jdk 17, short runs
+//	Benchmark                                                     (outcomes)   Mode  Cnt   Score   Error   Units
+//	kilianB.pcg.PerformanceDynamicWeighted.sample                       1000  thrpt    5  12,237 ± 1,697  ops/us
+//	kilianB.pcg.PerformanceDynamicWeighted.sample                    1000000  thrpt    5   3,954 ± 0,482  ops/us
+//	kilianB.pcg.PerformanceDynamicWeighted.sampleHeavy                  1000  thrpt    5  13,539 ± 1,040  ops/us
+//	kilianB.pcg.PerformanceDynamicWeighted.sampleHeavy               1000000  thrpt    5   3,906 ± 0,599  ops/us
+//	kilianB.pcg.PerformanceDynamicWeighted.sampleHeavyConcurrent        1000  thrpt    5   7,839 ± 2,455  ops/us
+//	kilianB.pcg.PerformanceDynamicWeighted.sampleHeavyConcurrent     1000000  thrpt    5   2,842 ± 0,755  ops/us
+//	kilianB.pcg.PerformanceDynamicWeighted.update                       1000  thrpt    5  26,362 ± 5,282  ops/us
+//	kilianB.pcg.PerformanceDynamicWeighted.update                    1000000  thrpt    5   5,800 ± 1,037  ops/us
+//	kilianB.pcg.PerformanceDynamicWeighted.updateHeavy                  1000  thrpt    5  22,514 ± 1,821  ops/us
+//	kilianB.pcg.PerformanceDynamicWeighted.updateHeavy               1000000  thrpt    5   5,822 ± 1,475  ops/us
+//	kilianB.pcg.PerformanceDynamicWeighted.updateHeavyConcurrent        1000  thrpt    5  16,141 ± 3,236  ops/us
+//	kilianB.pcg.PerformanceDynamicWeighted.updateHeavyConcurrent     1000000  thrpt    5   4,365 ± 0,345  ops/us
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(PerformanceDynamicWeighted.class.getSimpleName()).forks(1)
+				.mode(Mode.Throughput).warmupTime(new TimeValue(5, TimeUnit.SECONDS)).timeUnit(TimeUnit.MICROSECONDS)
+				.build();
+		new Runner(opt).run();
+	}
+
+}
@@ -0,0 +1,110 @@
+package com.github.kilianB.pcg;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+import com.github.kilianB.pcg.sampler.EmpiricalSampler;
+
+/**
+ * Guide table inversion of a log normal latency distribution given by quantiles
+ * compared to inverting the distribution function by binary search. Time per
+ * value.
+ *
+ * @author Kilian
+ *
+ */
+@State(Scope.Thread)
+public class PerformanceEmpirical {
+
+	private static final int N = 1 << 16;
+
+	@Param({ "1000", "100000" })
+	private int segments;
+
+	private PcgRSFast rng = new PcgRSFast(0, 0);
+
+	private double[] values = new double[N];
+
+	private double[] quantiles;
+
+	private double[] cumulative;
+
+	private EmpiricalSampler sampler;
+
+	private EmpiricalSampler compact;
+
+	@Setup
+	public void setup() {
+		quantiles = new double[segments + 1];
+		cumulative = new double[segments + 1];
+		PcgRSFast seed = new PcgRSFast(1, 1);
+		for (int i = 0; i <= segments; i++) {
+			// Sorted log normal values as stand in for a recorded latency profile
+			quantiles[i] = Math.exp(1 + 0.5 * seed.nextGaussian());
+		}
+		Arrays.sort(quantiles);
+		for (int i = 0; i <= segments; i++) {
+			cumulative[i] = i / (double) segments;
+		}
+		sampler = EmpiricalSampler.ofQuantiles(quantiles);
+		compact = EmpiricalSampler.ofQuantiles(quantiles, true);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(N)
+	public double[] binarySearch() {
+		for (int i = 0; i < N; i++) {
+			double u = rng.nextDouble();
+			int index = Arrays.binarySearch(cumulative, u);
+			int k = index < 0 ? -index - 2 : index;
+			values[i] = quantiles[k] + (u - cumulative[k]) * (quantiles[k + 1] - quantiles[k]) * segments;
+		}
+		return values;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(N)
+	public double[] guideTable() {
+		sampler.sample(values, rng);
+		return values;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(N)
+	public double[] guideTableCompact() {
+		compact.sample(values, rng);
+		return values;
+	}
+
+	//java -jar benchmarks.jar PerformanceEmpirical -f 1 -wi 3 -w 1s -i 5 -r 1s -bm avgt -tu ns
+	// Single core machine, jdk 17, short runs
+
+	//	kilianB.pcg.PerformanceEmpirical.binarySearch             1000  avgt    5   81,316 ± 28,968  ns/op
+	//	kilianB.pcg.PerformanceEmpirical.binarySearch           100000  avgt    5  132,941 ± 16,332  ns/op
+	//	kilianB.pcg.PerformanceEmpirical.guideTable               1000  avgt    5   13,270 ±  3,399  ns/op
+	//	kilianB.pcg.PerformanceEmpirical.guideTable             100000  avgt    5   16,616 ±  3,833  ns/op
+	//	kilianB.pcg.PerformanceEmpirical.guideTableCompact        1000  avgt    5   13,250 ±  3,524  ns/op
+	//	kilianB.pcg.PerformanceEmpirical.guideTableCompact      100000  avgt    5   16,979 ±  2,472  ns/op
+
+	// The compact tables do not change the speed, they only reduce the memory.
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(PerformanceEmpirical.class.getSimpleName()).forks(1)
+				.mode(Mode.AverageTime).timeUnit(TimeUnit.NANOSECONDS).build();
+		new Runner(opt).run();
+	}
+
+}
@@ -0,0 +1,121 @@
+package com.github.kilianB.pcg;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * Open and closed unit intervals constructed directly compared to the former
+ * rejection loop which draws an additional boolean to include 1. Mode 0: (0,
+ * 1), 1: [0, 1), 2: (0, 1], 3: [0, 1].
+ *
+ * @author Kilian
+ *
+ */
+@State(Scope.Thread)
+public class PerformanceFloating {
+
+	private PcgRSFast rng = new PcgRSFast();
+
+	@State(Scope.Thread)
+	public static class Interval {
+
+		@Param({ "0", "1", "2", "3" })
+		int mode;
+	}
+
+	@Benchmark
+	public double nextDoubleInterval(Interval interval) {
+		return rng.nextDouble((interval.mode & 1) != 0, (interval.mode & 2) != 0);
+	}
+
+	@Benchmark
+	public double nextDoubleIntervalRejection(Interval interval) {
+		boolean includeZero = (interval.mode & 1) != 0;
+		boolean includeOne = (interval.mode & 2) != 0;
+		double d;
+		do {
+			d = rng.nextDouble();
+			if (includeOne && rng.nextBoolean()) {
+				d += 1.0;
+			}
+		} while (d > 1.0 || (!includeZero && d == 0.0));
+		return d;
+	}
+
+	@Benchmark
+	public float nextFloatInterval(Interval interval) {
+		return rng.nextFloat((interval.mode & 1) != 0, (interval.mode & 2) != 0);
+	}
+
+	@Benchmark
+	public float nextFloatIntervalRejection(Interval interval) {
+		boolean includeZero = (interval.mode & 1) != 0;
+		boolean includeOne = (interval.mode & 2) != 0;
+		float f;
+		do {
+			f = rng.nextFloat();
+			if (includeOne && rng.nextBoolean()) {
+				f += 1.0f;
+			}
+		} while (f > 1.0f || (!includeZero && f == 0.0f));
+		return f;
+	}
+
+	@Benchmark
+	public double nextDouble() {
+		return rng.nextDouble();
+	}
+
+	@Benchmark
+	public double nextDoubleFullPrecision() {
+		return rng.nextDoubleFullPrecision();
+	}
+
+	@Benchmark
+	public double nextDoubleOriginBound() {
+		return rng.nextDouble(-3.5, 10.25);
+	}
+
+	//java -jar benchmarks.jar PerformanceFloating -f 1 -wi 3 -w 1s -i 5 -r 1s -bm avgt -tu ns
+	// Single core machine, jdk 17, short runs
+
+	//	kilianB.pcg.PerformanceFloating.nextDouble                      N/A  avgt    5   4,176 ± 0,750  ns/op
+	//	kilianB.pcg.PerformanceFloating.nextDoubleFullPrecision         N/A  avgt    5   5,893 ± 2,423  ns/op
+	//	kilianB.pcg.PerformanceFloating.nextDoubleInterval                0  avgt    5   4,371 ± 0,300  ns/op
+	//	kilianB.pcg.PerformanceFloating.nextDoubleInterval                1  avgt    5   5,395 ± 1,902  ns/op
+	//	kilianB.pcg.PerformanceFloating.nextDoubleInterval                2  avgt    5   6,032 ± 5,414  ns/op
+	//	kilianB.pcg.PerformanceFloating.nextDoubleInterval                3  avgt    5   6,566 ± 5,666  ns/op
+	//	kilianB.pcg.PerformanceFloating.nextDoubleIntervalRejection       0  avgt    5   6,517 ± 6,215  ns/op
+	//	kilianB.pcg.PerformanceFloating.nextDoubleIntervalRejection       1  avgt    5   5,459 ± 4,570  ns/op
+	//	kilianB.pcg.PerformanceFloating.nextDoubleIntervalRejection       2  avgt    5  24,622 ± 2,146  ns/op
+	//	kilianB.pcg.PerformanceFloating.nextDoubleIntervalRejection       3  avgt    5  24,639 ± 9,271  ns/op
+	//	kilianB.pcg.PerformanceFloating.nextDoubleOriginBound           N/A  avgt    5   5,128 ± 0,330  ns/op
+	//	kilianB.pcg.PerformanceFloating.nextFloatInterval                 0  avgt    5   2,965 ± 0,470  ns/op
+	//	kilianB.pcg.PerformanceFloating.nextFloatInterval                 1  avgt    5   3,250 ± 0,194  ns/op
+	//	kilianB.pcg.PerformanceFloating.nextFloatInterval                 2  avgt    5   3,390 ± 0,371  ns/op
+	//	kilianB.pcg.PerformanceFloating.nextFloatInterval                 3  avgt    5   3,535 ± 0,242  ns/op
+	//	kilianB.pcg.PerformanceFloating.nextFloatIntervalRejection        0  avgt    5   5,528 ± 1,207  ns/op
+	//	kilianB.pcg.PerformanceFloating.nextFloatIntervalRejection        1  avgt    5   4,225 ± 2,171  ns/op
+	//	kilianB.pcg.PerformanceFloating.nextFloatIntervalRejection        2  avgt    5  22,097 ± 1,860  ns/op
+	//	kilianB.pcg.PerformanceFloating.nextFloatIntervalRejection        3  avgt    5  22,204 ± 2,892  ns/op
+
+	// Including 1 used to reject half of the draws. The direct construction costs about as much as nextDouble().
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(PerformanceFloating.class.getSimpleName()).forks(1)
+				.mode(Mode.AverageTime).timeUnit(TimeUnit.NANOSECONDS).build();
+		new Runner(opt).run();
+	}
+
+}
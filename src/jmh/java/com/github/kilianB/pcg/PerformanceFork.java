@@ -0,0 +1,107 @@
+package com.github.kilianB.pcg;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import com.github.kilianB.pcg.fork.PcgRSSplittable;
+import com.github.kilianB.pcg.fork.PcgRecursiveTask;
+
+/**
+ * Monte carlo estimation of pi decomposed into fork join tasks. Each task
+ * forks the generator of its parent. Run with increasing parallelism to observe
+ * the scaling.
+ *
+ * @author Kilian
+ *
+ */
+@State(Scope.Benchmark)
+public class PerformanceFork {
+
+	private static final int SAMPLES = 1 << 22;
+	private static final int THRESHOLD = 1 << 12;
+
+	@Param({ "1", "2", "4", "8" })
+	private int parallelism;
+
+	private ForkJoinPool pool;
+
+	@Setup
+	public void setup() {
+		pool = new ForkJoinPool(parallelism);
+	}
+
+	@TearDown
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public long monteCarloPi() {
+		return pool.invoke(new PiTask(SAMPLES, new PcgRSSplittable(0, 0)));
+	}
+
+	private static class PiTask extends PcgRecursiveTask<Long> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int samples;
+
+		PiTask(int samples, PcgRSSplittable rng) {
+			super(rng);
+			this.samples = samples;
+		}
+
+		@Override
+		protected Long compute() {
+			if (samples <= THRESHOLD) {
+				PcgRSSplittable rng = rng();
+				long hits = 0;
+				for (int i = 0; i < samples; i++) {
+					double x = rng.nextDouble();
+					double y = rng.nextDouble();
+					if (x * x + y * y < 1) {
+						hits++;
+					}
+				}
+				return hits;
+			}
+			int half = samples >>> 1;
+			PiTask left = new PiTask(half, forkRng());
+			PiTask right = new PiTask(samples - half, forkRng());
+			left.fork();
+			return right.compute() + left.join();
+		}
+	}
+
+	//java -jar benchmarks.jar PerformanceFork -f 1 -wi 3 -w 1s -i 5 -r 1s -tu ms -bm avgt
+
+	// Single core machine, jdk 17, short runs. The sandbox offers no additional
+	// cores, the numbers only show that the decomposition itself is cheap.
+	// Scaling on a multi core machine has yet to be measured
+//	Benchmark                                 (parallelism)  Mode  Cnt   Score    Error  Units
+//	kilianB.pcg.PerformanceFork.monteCarloPi              1  avgt    5  46,878 ± 11,338  ms/op
+//	kilianB.pcg.PerformanceFork.monteCarloPi              2  avgt    5  43,760 ±  3,587  ms/op
+//	kilianB.pcg.PerformanceFork.monteCarloPi              4  avgt    5  39,439 ± 11,286  ms/op
+//	kilianB.pcg.PerformanceFork.monteCarloPi              8  avgt    5  39,017 ±  6,846  ms/op
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(PerformanceFork.class.getSimpleName()).forks(1)
+				.mode(Mode.AverageTime).warmupTime(new TimeValue(5, TimeUnit.SECONDS))
+				.timeUnit(TimeUnit.MILLISECONDS).build();
+		new Runner(opt).run();
+	}
+
+}
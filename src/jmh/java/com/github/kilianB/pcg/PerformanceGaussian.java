@@ -0,0 +1,118 @@
+package com.github.kilianB.pcg;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+import com.github.kilianB.pcg.fast.PcgRSUFast;
+import com.github.kilianB.pcg.light.PcgRSLight;
+import com.github.kilianB.pcg.sampler.NormalSampler;
+import com.github.kilianB.pcg.sync.PcgRS;
+
+/**
+ * Throughput of normal distributed values. The polar benchmark replicates the
+ * previous implementation of PcgRSFast.nextGaussian()
+ *
+ * @author Kilian
+ *
+ */
+@State(Scope.Thread)
+public class PerformanceGaussian {
+
+	private Random jdk = new Random();
+	private PcgRS pcgRS = new PcgRS();
+	private PcgRSFast pcgRSFast = new PcgRSFast();
+	private PcgRSLight pcgRSLight = new PcgRSLight();
+	private NormalSampler sampler = new NormalSampler(1, 2);
+
+	private boolean gausAvailable;
+	private double nextGaus;
+
+	@Benchmark
+	public double jdkRandom() {
+		return jdk.nextGaussian();
+	}
+
+	@Benchmark
+	public double threadLocalRandom() {
+		return ThreadLocalRandom.current().nextGaussian();
+	}
+
+	@Benchmark
+	public double polarPcgRSFast() {
+		if (gausAvailable) {
+			gausAvailable = false;
+			return nextGaus;
+		} else {
+			double v1;
+			double v2;
+			double s;
+			do {
+				v1 = 2 * pcgRSFast.nextDouble() - 1; // between -1.0 and 1.0
+				v2 = 2 * pcgRSFast.nextDouble() - 1; // between -1.0 and 1.0
+				s = v1 * v1 + v2 * v2;
+			} while (s >= 1 || s == 0);
+			double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+			nextGaus = v2 * multiplier;
+			gausAvailable = true;
+			return v1 * multiplier;
+		}
+	}
+
+	@Benchmark
+	public double zigguratPcgRS() {
+		return pcgRS.nextGaussian();
+	}
+
+	@Benchmark
+	public double zigguratPcgRSFast() {
+		return pcgRSFast.nextGaussian();
+	}
+
+	@Benchmark
+	public double zigguratPcgRSUFast() {
+		return PcgRSUFast.nextGaussian();
+	}
+
+	@Benchmark
+	public double zigguratPcgRSLight() {
+		return pcgRSLight.nextGaussian();
+	}
+
+	@Benchmark
+	public double zigguratSampler() {
+		return sampler.sample(pcgRSFast);
+	}
+
+	//java -jar benchmarks.jar PerformanceGaussian -f 1 -wi 3 -w 1s -i 5 -r 1s -tu us
+
+	// Single core machine, jdk 17, short runs
+//	Benchmark                                            Mode  Cnt    Score    Error   Units
+//	kilianB.pcg.PerformanceGaussian.jdkRandom           thrpt    5   12,675 ±  1,286  ops/us
+//	kilianB.pcg.PerformanceGaussian.polarPcgRSFast      thrpt    5   31,544 ±  1,355  ops/us
+//	kilianB.pcg.PerformanceGaussian.threadLocalRandom   thrpt    5   20,828 ±  1,946  ops/us
+//	kilianB.pcg.PerformanceGaussian.zigguratPcgRS       thrpt    5   40,578 ±  1,835  ops/us
+//	kilianB.pcg.PerformanceGaussian.zigguratPcgRSFast   thrpt    5  185,332 ± 34,239  ops/us
+//	kilianB.pcg.PerformanceGaussian.zigguratPcgRSLight  thrpt    5  168,781 ± 47,106  ops/us
+//	kilianB.pcg.PerformanceGaussian.zigguratPcgRSUFast  thrpt    5  184,173 ± 14,000  ops/us
+//	kilianB.pcg.PerformanceGaussian.zigguratSampler     thrpt    5  154,113 ± 18,293  ops/us
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(PerformanceGaussian.class.getSimpleName()).forks(1)
+				.mode(Mode.Throughput).warmupTime(new TimeValue(5, TimeUnit.SECONDS)).timeUnit(TimeUnit.MICROSECONDS)
+				.build();
+		new Runner(opt).run();
+	}
+
+}
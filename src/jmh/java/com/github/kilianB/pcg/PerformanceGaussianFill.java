@@ -0,0 +1,75 @@
+package com.github.kilianB.pcg;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * Time to fill a noise matrix of 2<sup>20</sup> elements with normal
+ * distributed values.
+ *
+ * @author Kilian
+ *
+ */
+@State(Scope.Thread)
+public class PerformanceGaussianFill {
+
+	private PcgRSFast pcgRSFast = new PcgRSFast();
+	private double[] doubles = new double[1 << 20];
+	private float[] floats = new float[1 << 20];
+
+	@Benchmark
+	public double[] loopNextGaussian() {
+		for (int i = 0; i < doubles.length; i++) {
+			doubles[i] = 1 + 2 * pcgRSFast.nextGaussian();
+		}
+		return doubles;
+	}
+
+	@Benchmark
+	public double[] bulkDouble() {
+		pcgRSFast.nextGaussians(doubles, 1, 2);
+		return doubles;
+	}
+
+	@Benchmark
+	public float[] bulkFloat() {
+		pcgRSFast.nextGaussians(floats, 1, 2);
+		return floats;
+	}
+
+	@Benchmark
+	public double[] parallelDouble() {
+		pcgRSFast.nextGaussiansParallel(doubles, 1, 2);
+		return doubles;
+	}
+
+	//java -jar benchmarks.jar PerformanceGaussianFill -f 1 -wi 3 -w 1s -i 5 -r 1s -tu ms -bm avgt
+
+	// Single core machine, jdk 17, short runs. Once inlined the jit produces
+	// the same code for the bulk method and the manual loop. The parallel variant
+	// only pays the substream overhead as no additional core is available
+//	Benchmark                                             Mode  Cnt  Score   Error  Units
+//	kilianB.pcg.PerformanceGaussianFill.bulkDouble        avgt    5  6,254 ± 1,551  ms/op
+//	kilianB.pcg.PerformanceGaussianFill.bulkFloat         avgt    5  8,230 ± 0,806  ms/op
+//	kilianB.pcg.PerformanceGaussianFill.loopNextGaussian  avgt    5  6,273 ± 1,072  ms/op
+//	kilianB.pcg.PerformanceGaussianFill.parallelDouble    avgt    5  7,534 ± 3,986  ms/op
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(PerformanceGaussianFill.class.getSimpleName()).forks(1)
+				.mode(Mode.AverageTime).warmupTime(new TimeValue(5, TimeUnit.SECONDS))
+				.timeUnit(TimeUnit.MILLISECONDS).build();
+		new Runner(opt).run();
+	}
+
+}
@@ -0,0 +1,124 @@
+package com.github.kilianB.pcg;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+import com.github.kilianB.pcg.id.RandomUuid;
+import com.github.kilianB.pcg.id.TokenGenerator;
+import com.github.kilianB.pcg.sync.PcgRS;
+
+/**
+ * Random UUIDs compared to {@link UUID#randomUUID()} and 32 character tokens
+ * compared to drawing one bounded int per character with the fast and the
+ * synchronized generator.
+ *
+ * @author Kilian
+ *
+ */
+@State(Scope.Thread)
+public class PerformanceIds {
+
+	private static final String ALPHANUMERIC = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+	private static final int BULK = 1024;
+
+	private PcgRSFast rng = new PcgRSFast();
+
+	private PcgRS synced = new PcgRS();
+
+	private long[] uuidBits = new long[2 * BULK];
+
+	private char[] token = new char[32];
+
+	@Benchmark
+	public UUID uuidJdk() {
+		return UUID.randomUUID();
+	}
+
+	@Benchmark
+	public UUID uuidPcg() {
+		return RandomUuid.next(rng);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BULK)
+	public long[] uuidPcgBulk() {
+		RandomUuid.next(uuidBits, rng);
+		return uuidBits;
+	}
+
+	@Benchmark
+	public char[] alphanumericNaive() {
+		for (int i = 0; i < token.length; i++) {
+			token[i] = ALPHANUMERIC.charAt(rng.nextInt(62));
+		}
+		return token;
+	}
+
+	@Benchmark
+	public char[] alphanumeric() {
+		TokenGenerator.ALPHANUMERIC.next(token, 0, token.length, rng);
+		return token;
+	}
+
+	@Benchmark
+	public char[] alphanumericNaiveSync() {
+		for (int i = 0; i < token.length; i++) {
+			token[i] = ALPHANUMERIC.charAt(synced.nextInt(62));
+		}
+		return token;
+	}
+
+	@Benchmark
+	public char[] alphanumericSync() {
+		TokenGenerator.ALPHANUMERIC.next(token, 0, token.length, synced);
+		return token;
+	}
+
+	@Benchmark
+	public char[] hex() {
+		TokenGenerator.HEX.next(token, 0, token.length, rng);
+		return token;
+	}
+
+	@Benchmark
+	public String hexString() {
+		return TokenGenerator.HEX.next(32, rng);
+	}
+
+	//java -jar benchmarks.jar PerformanceIds -f 1 -wi 3 -w 1s -i 5 -r 1s -bm avgt -tu ns
+	// Single core machine, jdk 17, short runs
+
+	//	kilianB.pcg.PerformanceIds.alphanumeric           avgt    5   79,542 ± 22,593  ns/op
+	//	kilianB.pcg.PerformanceIds.alphanumericNaive      avgt    5   53,575 ±  3,563  ns/op
+	//	kilianB.pcg.PerformanceIds.alphanumericNaiveSync  avgt    5  791,114 ± 62,258  ns/op
+	//	kilianB.pcg.PerformanceIds.alphanumericSync       avgt    5  148,034 ± 33,068  ns/op
+	//	kilianB.pcg.PerformanceIds.hex                    avgt    5   41,793 ±  5,393  ns/op
+	//	kilianB.pcg.PerformanceIds.hexString              avgt    5   53,013 ± 11,148  ns/op
+	//	kilianB.pcg.PerformanceIds.uuidJdk                avgt    5  220,087 ± 10,422  ns/op
+	//	kilianB.pcg.PerformanceIds.uuidPcg                avgt    5    6,693 ±  1,187  ns/op
+	//	kilianB.pcg.PerformanceIds.uuidPcgBulk            avgt    5    6,281 ±  2,515  ns/op
+
+	// The token generator needs 4 instead of 32 draws for alphanumeric tokens. With
+	// the inlined PcgRSFast the draws are cheaper than the digit extraction and
+	// the naive loop wins, with a synchronized generator the batched draws are
+	// about 5 times faster.
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(PerformanceIds.class.getSimpleName()).forks(1)
+				.mode(Mode.AverageTime).timeUnit(TimeUnit.NANOSECONDS).build();
+		new Runner(opt).run();
+	}
+
+}
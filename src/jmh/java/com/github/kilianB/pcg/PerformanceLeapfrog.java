@@ -0,0 +1,111 @@
+package com.github.kilianB.pcg;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.kilianB.pcg.light.LeapfrogView;
+import com.github.kilianB.pcg.light.PcgRRLight;
+import com.github.kilianB.pcg.light.PcgRSLight;
+
+/**
+ * Every 8th output of a stream drawn by a leapfrog view compared to skipping
+ * the outputs of the other workers with <code>advance(7)</code>. Time per
+ * value.
+ *
+ * @author Kilian
+ *
+ */
+@State(Scope.Thread)
+public class PerformanceLeapfrog {
+
+	private static final int N = 1 << 12;
+
+	private static final int WORKERS = 8;
+
+	private PcgRSLight rs = new PcgRSLight(0, 0);
+
+	private PcgRRLight rr = new PcgRRLight(0, 0);
+
+	private LeapfrogView rsView = rs.leapfrog(3, WORKERS);
+
+	private LeapfrogView rrView = rr.leapfrog(3, WORKERS);
+
+	@Benchmark
+	@OperationsPerInvocation(N)
+	public int rsAdvance() {
+		int sum = 0;
+		for (int i = 0; i < N; i++) {
+			sum += rs.nextInt();
+			rs.advance(WORKERS - 1);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(N)
+	public int rsLeapfrog() {
+		int sum = 0;
+		for (int i = 0; i < N; i++) {
+			sum += rsView.nextInt();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(N)
+	public int rrAdvance() {
+		int sum = 0;
+		for (int i = 0; i < N; i++) {
+			sum += rr.nextInt();
+			rr.advance(WORKERS - 1);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(N)
+	public int rrLeapfrog() {
+		int sum = 0;
+		for (int i = 0; i < N; i++) {
+			sum += rrView.nextInt();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(N)
+	public int rsSequential() {
+		int sum = 0;
+		for (int i = 0; i < N; i++) {
+			sum += rs.nextInt();
+		}
+		return sum;
+	}
+
+	//java -jar benchmarks.jar PerformanceLeapfrog -f 1 -wi 3 -w 1s -i 5 -r 1s -bm avgt -tu ns
+	// Single core machine, jdk 17, short runs
+
+	//	kilianB.pcg.PerformanceLeapfrog.rrAdvance     avgt    5   7,650 ± 0,864  ns/op
+	//	kilianB.pcg.PerformanceLeapfrog.rrLeapfrog    avgt    5   1,415 ± 0,191  ns/op
+	//	kilianB.pcg.PerformanceLeapfrog.rsAdvance     avgt    5  11,030 ± 6,360  ns/op
+	//	kilianB.pcg.PerformanceLeapfrog.rsLeapfrog    avgt    5   1,392 ± 0,198  ns/op
+	//	kilianB.pcg.PerformanceLeapfrog.rsSequential  avgt    5   1,367 ± 0,060  ns/op
+
+	// A strided draw costs the same as a sequential one.
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(PerformanceLeapfrog.class.getSimpleName()).forks(1)
+				.mode(Mode.AverageTime).timeUnit(TimeUnit.NANOSECONDS).build();
+		new Runner(opt).run();
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.github.kilianB.pcg;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+import com.github.kilianB.pcg.shuffle.ParallelShuffle;
+import com.github.kilianB.pcg.shuffle.Shuffle;
+
+/**
+ * Scaling of the parallel merge shuffle compared to the sequential Fisher-Yates
+ * shuffle.
+ *
+ * @author Kilian
+ *
+ */
+@State(Scope.Benchmark)
+public class PerformanceParallelShuffle {
+
+	@Param({ "10000000" })
+	private int size;
+
+	@Param({ "1", "2", "4" })
+	private int parallelism;
+
+	private PcgRSFast rng = new PcgRSFast();
+
+	private long[] array;
+
+	private ForkJoinPool pool;
+
+	@Setup
+	public void setup() {
+		array = new long[size];
+		for (int i = 0; i < size; i++) {
+			array[i] = i;
+		}
+		pool = new ForkJoinPool(parallelism);
+	}
+
+	@TearDown
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public long[] sequential() {
+		Shuffle.shuffle(array, rng);
+		return array;
+	}
+
+	@Benchmark
+	public long[] parallel() {
+		ParallelShuffle.shuffle(array, rng, pool);
+		return array;
+	}
+
+	//java -jar benchmarks.jar PerformanceParallelShuffle -f 1 -wi 3 -w 1s -i 5 -r 1s -bm avgt -tu ms
+	// Single core machine, jdk 17, short runs
+
+	//	kilianB.pcg.PerformanceParallelShuffle.parallel     1  10000000  avgt    5  504,922 ±  36,084  ms/op
+	//	kilianB.pcg.PerformanceParallelShuffle.parallel     2  10000000  avgt    5  581,209 ± 319,273  ms/op
+	//	kilianB.pcg.PerformanceParallelShuffle.parallel     4  10000000  avgt    5  521,651 ±  72,352  ms/op
+	//	kilianB.pcg.PerformanceParallelShuffle.sequential   1  10000000  avgt    5  167,430 ± 108,620  ms/op
+	//	kilianB.pcg.PerformanceParallelShuffle.sequential   2  10000000  avgt    5  197,558 ±  80,709  ms/op
+	//	kilianB.pcg.PerformanceParallelShuffle.sequential   4  10000000  avgt    5  145,912 ±  97,754  ms/op
+
+	// With a single core the pool size has no effect. The merge shuffle does about
+	// 3 times the work of the sequential shuffle, 8 merge levels for 10^7 elements.
+	// It pays off once more than 3 cores are available, the last merge is
+	// sequential and bounds the speedup.
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(PerformanceParallelShuffle.class.getSimpleName()).forks(1)
+				.mode(Mode.AverageTime).timeUnit(TimeUnit.MILLISECONDS).build();
+		new Runner(opt).run();
+	}
+
+}
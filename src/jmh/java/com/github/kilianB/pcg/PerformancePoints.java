@@ -0,0 +1,151 @@
+package com.github.kilianB.pcg;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+import com.github.kilianB.pcg.sampler.PointSampler;
+
+/**
+ * Bulk point sampling compared to drawing angles and evaluating trigonometric
+ * functions. Time per million points.
+ *
+ * @author Kilian
+ *
+ */
+@State(Scope.Thread)
+public class PerformancePoints {
+
+	private static final int N = 1_000_000;
+
+	private PcgRSFast rng = new PcgRSFast(0, 0);
+
+	private double[] xyz = new double[3 * N];
+
+	private double[] x = new double[N];
+	private double[] y = new double[N];
+	private double[] z = new double[N];
+
+	private float[] xyzFloat = new float[3 * N];
+
+	private double[] a = { 0, 0 };
+	private double[] b = { 1, 0 };
+	private double[] c = { 0, 1 };
+
+	@Benchmark
+	public double[] circleTrigonometric() {
+		for (int i = 0; i < 2 * N; i += 2) {
+			double angle = 2 * Math.PI * rng.nextDouble();
+			xyz[i] = Math.cos(angle);
+			xyz[i + 1] = Math.sin(angle);
+		}
+		return xyz;
+	}
+
+	@Benchmark
+	public double[] circle() {
+		PointSampler.onCircle(xyz, 0, 2 * N, rng);
+		return xyz;
+	}
+
+	@Benchmark
+	public float[] circleFloat() {
+		PointSampler.onCircle(xyzFloat, 0, 2 * N, rng);
+		return xyzFloat;
+	}
+
+	@Benchmark
+	public double[] disc() {
+		PointSampler.inDisc(xyz, 0, 2 * N, rng);
+		return xyz;
+	}
+
+	@Benchmark
+	public double[] sphereTrigonometric() {
+		for (int i = 0; i < 3 * N; i += 3) {
+			double height = 2 * rng.nextDouble() - 1;
+			double angle = 2 * Math.PI * rng.nextDouble();
+			double r = Math.sqrt(1 - height * height);
+			xyz[i] = r * Math.cos(angle);
+			xyz[i + 1] = r * Math.sin(angle);
+			xyz[i + 2] = height;
+		}
+		return xyz;
+	}
+
+	@Benchmark
+	public double[] sphere() {
+		PointSampler.onSphere(xyz, 0, 3 * N, rng);
+		return xyz;
+	}
+
+	@Benchmark
+	public double[] sphereSoa() {
+		PointSampler.onSphere(x, y, z, 0, N, rng);
+		return z;
+	}
+
+	@Benchmark
+	public float[] sphereFloat() {
+		PointSampler.onSphere(xyzFloat, 0, 3 * N, rng);
+		return xyzFloat;
+	}
+
+	@Benchmark
+	public double[] ball() {
+		PointSampler.inBall(xyz, 0, 3 * N, rng);
+		return xyz;
+	}
+
+	@Benchmark
+	public float[] ballFloat() {
+		PointSampler.inBall(xyzFloat, 0, 3 * N, rng);
+		return xyzFloat;
+	}
+
+	@Benchmark
+	public double[] triangle() {
+		PointSampler.inTriangle(xyz, 0, 2 * N, a, b, c, rng);
+		return xyz;
+	}
+
+	@Benchmark
+	public double[] simplex3() {
+		PointSampler.onSimplex(xyz, 0, 3 * N, 3, rng);
+		return xyz;
+	}
+
+	//java -jar benchmarks.jar PerformancePoints -f 1 -wi 3 -w 1s -i 5 -r 1s -bm avgt -tu ms
+	// Single core machine, jdk 17, short runs
+
+	//	kilianB.pcg.PerformancePoints.ball                 avgt    5  37,251 ±  5,585  ms/op
+	//	kilianB.pcg.PerformancePoints.ballFloat            avgt    5  27,137 ±  2,599  ms/op
+	//	kilianB.pcg.PerformancePoints.circle               avgt    5  19,118 ±  1,577  ms/op
+	//	kilianB.pcg.PerformancePoints.circleFloat          avgt    5  14,045 ±  0,345  ms/op
+	//	kilianB.pcg.PerformancePoints.circleTrigonometric  avgt    5  37,378 ± 23,896  ms/op
+	//	kilianB.pcg.PerformancePoints.disc                 avgt    5  14,973 ±  7,674  ms/op
+	//	kilianB.pcg.PerformancePoints.simplex3             avgt    5  18,690 ±  3,823  ms/op
+	//	kilianB.pcg.PerformancePoints.sphere               avgt    5  18,667 ±  1,360  ms/op
+	//	kilianB.pcg.PerformancePoints.sphereFloat          avgt    5  17,144 ±  0,877  ms/op
+	//	kilianB.pcg.PerformancePoints.sphereSoa            avgt    5  14,570 ±  0,568  ms/op
+	//	kilianB.pcg.PerformancePoints.sphereTrigonometric  avgt    5  32,701 ±  8,013  ms/op
+	//	kilianB.pcg.PerformancePoints.triangle             avgt    5  17,544 ±  1,498  ms/op
+
+	// Rejection without trigonometric functions is about twice as fast as the
+	// angle based directions despite discarding 21% of the candidates.
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(PerformancePoints.class.getSimpleName()).forks(1)
+				.mode(Mode.AverageTime).timeUnit(TimeUnit.MILLISECONDS).build();
+		new Runner(opt).run();
+	}
+
+}
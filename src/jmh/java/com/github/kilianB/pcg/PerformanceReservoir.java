@@ -0,0 +1,108 @@
+package com.github.kilianB.pcg;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+import com.github.kilianB.pcg.subset.LongReservoirSampler;
+import com.github.kilianB.pcg.subset.WeightedReservoirSampler;
+
+/**
+ * Time to sample k values out of a stream of 10^6 values. The naive reservoir
+ * draws a bounded random number for every value, Algorithm L only for values
+ * entering the reservoir.
+ *
+ * @author Kilian
+ *
+ */
+@State(Scope.Thread)
+public class PerformanceReservoir {
+
+	private static final int N = 1_000_000;
+
+	@Param({ "10", "1000" })
+	private int k;
+
+	private PcgRSFast rng = new PcgRSFast();
+
+	private long[] stream;
+
+	@Setup
+	public void setup() {
+		stream = new long[N];
+		for (int i = 0; i < N; i++) {
+			stream[i] = i;
+		}
+	}
+
+	@Benchmark
+	public long[] naive() {
+		long[] reservoir = new long[k];
+		for (int i = 0; i < N; i++) {
+			if (i < k) {
+				reservoir[i] = stream[i];
+			} else {
+				int j = rng.nextInt(i + 1);
+				if (j < k) {
+					reservoir[j] = stream[i];
+				}
+			}
+		}
+		return reservoir;
+	}
+
+	@Benchmark
+	public long[] algorithmL() {
+		LongReservoirSampler sampler = new LongReservoirSampler(k, rng);
+		for (int i = 0; i < N; i++) {
+			sampler.add(stream[i]);
+		}
+		return sampler.getSample();
+	}
+
+	@Benchmark
+	public long[] algorithmLBulk() {
+		LongReservoirSampler sampler = new LongReservoirSampler(k, rng);
+		sampler.add(stream);
+		return sampler.getSample();
+	}
+
+	@Benchmark
+	public Object weightedExpJ() {
+		WeightedReservoirSampler<Long> sampler = new WeightedReservoirSampler<>(k, rng);
+		Long item = 1L;
+		for (int i = 0; i < N; i++) {
+			sampler.add(item, (i & 7) + 1);
+		}
+		return sampler.getSample();
+	}
+
+	//java -jar benchmarks.jar PerformanceReservoir -f 1 -wi 3 -w 1s -i 5 -r 1s -bm avgt -tu us
+	// Single core machine, jdk 17, short runs
+
+	//	kilianB.pcg.PerformanceReservoir.algorithmL        10  avgt    5   922,141 ±  126,957  us/op
+	//	kilianB.pcg.PerformanceReservoir.algorithmL      1000  avgt    5  1617,025 ±  361,997  us/op
+	//	kilianB.pcg.PerformanceReservoir.algorithmLBulk    10  avgt    5    11,670 ±    1,432  us/op
+	//	kilianB.pcg.PerformanceReservoir.algorithmLBulk  1000  avgt    5   671,055 ±   87,747  us/op
+	//	kilianB.pcg.PerformanceReservoir.naive             10  avgt    5  2041,647 ±  257,916  us/op
+	//	kilianB.pcg.PerformanceReservoir.naive           1000  avgt    5  2268,701 ±  237,255  us/op
+	//	kilianB.pcg.PerformanceReservoir.weightedExpJ      10  avgt    5  3173,418 ± 2205,702  us/op
+	//	kilianB.pcg.PerformanceReservoir.weightedExpJ    1000  avgt    5  5447,328 ± 3521,654  us/op
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(PerformanceReservoir.class.getSimpleName()).forks(1)
+				.mode(Mode.AverageTime).timeUnit(TimeUnit.MICROSECONDS).build();
+		new Runner(opt).run();
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.github.kilianB.pcg;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+import com.github.kilianB.pcg.fast.StochasticRounding;
+
+/**
+ * Bulk stochastic rounding kernels compared to a scalar loop drawing one
+ * <code>nextFloat()</code> or <code>nextInt()</code> per element. Time per
+ * value.
+ *
+ * @author Kilian
+ *
+ */
+@State(Scope.Thread)
+public class PerformanceRounding {
+
+	private static final int N = 1 << 20;
+
+	private PcgRSFast rng = new PcgRSFast(0, 0);
+
+	private float[] src = new float[N];
+
+	private byte[] int8 = new byte[N];
+
+	private short[] bfloat16 = new short[N];
+
+	@Setup
+	public void setup() {
+		for (int i = 0; i < N; i++) {
+			src[i] = rng.nextFloat() * 4 - 2;
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(N)
+	public byte[] int8Scalar() {
+		for (int i = 0; i < N; i++) {
+			float v = (float) Math.floor(src[i] * 60 + rng.nextFloat());
+			int8[i] = (byte) Math.max(-128, Math.min(127, (int) v));
+		}
+		return int8;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(N)
+	public byte[] int8() {
+		StochasticRounding.toInt8(src, int8, 60, rng);
+		return int8;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(N)
+	public byte[] int8Parallel() {
+		StochasticRounding.toInt8Parallel(src, int8, 60, rng);
+		return int8;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(N)
+	public short[] bfloat16Scalar() {
+		for (int i = 0; i < N; i++) {
+			bfloat16[i] = (short) ((Float.floatToRawIntBits(src[i]) + (rng.nextInt() >>> 16)) >>> 16);
+		}
+		return bfloat16;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(N)
+	public short[] bfloat16() {
+		StochasticRounding.toBFloat16(src, bfloat16, rng);
+		return bfloat16;
+	}
+
+	//java -jar benchmarks.jar PerformanceRounding -f 1 -wi 3 -w 1s -i 5 -r 1s -bm avgt -tu ns
+	// Single core machine, jdk 17, short runs
+
+	//	kilianB.pcg.PerformanceRounding.bfloat16        avgt    5  1,681 ± 0,406  ns/op
+	//	kilianB.pcg.PerformanceRounding.bfloat16Scalar  avgt    5  2,057 ± 1,643  ns/op
+	//	kilianB.pcg.PerformanceRounding.int8            avgt    5  4,181 ± 0,845  ns/op
+	//	kilianB.pcg.PerformanceRounding.int8Parallel    avgt    5  3,615 ± 1,848  ns/op
+	//	kilianB.pcg.PerformanceRounding.int8Scalar      avgt    5  7,196 ± 0,990  ns/op
+
+	// A branch on the fractional part made the int8 kernel 3 times slower than the
+	// scalar loop, the branch free floor of the sum is required. The parallel
+	// variant can not scale on a single core.
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(PerformanceRounding.class.getSimpleName()).forks(1)
+				.mode(Mode.AverageTime).timeUnit(TimeUnit.NANOSECONDS).build();
+		new Runner(opt).run();
+	}
+
+}
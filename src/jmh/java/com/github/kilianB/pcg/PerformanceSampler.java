@@ -0,0 +1,146 @@
+package com.github.kilianB.pcg;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+import com.github.kilianB.pcg.sampler.BinomialSampler;
+import com.github.kilianB.pcg.sampler.ExponentialSampler;
+import com.github.kilianB.pcg.sampler.GammaSampler;
+import com.github.kilianB.pcg.sampler.PoissonSampler;
+import com.github.kilianB.pcg.sampler.ZipfSampler;
+
+/**
+ * Throughput of the distribution samplers compared to naive inversion on top of
+ * nextDouble().
+ *
+ * @author Kilian
+ *
+ */
+@State(Scope.Thread)
+public class PerformanceSampler {
+
+	private static final double POISSON_MEAN = 50;
+	private static final int BINOMIAL_TRIALS = 1000;
+	private static final double BINOMIAL_P = 0.3;
+	private static final int ZIPF_N = 100_000;
+	private static final double ZIPF_S = 1.1;
+
+	private PcgRSFast rng = new PcgRSFast();
+
+	private ExponentialSampler exponential = new ExponentialSampler();
+	private PoissonSampler poisson = new PoissonSampler(POISSON_MEAN);
+	private BinomialSampler binomial = new BinomialSampler(BINOMIAL_TRIALS, BINOMIAL_P);
+	private GammaSampler gamma = new GammaSampler(2.5, 1);
+	private ZipfSampler zipf = new ZipfSampler(ZIPF_N, ZIPF_S);
+
+	private double expMinusPoissonMean = Math.exp(-POISSON_MEAN);
+	private double binomialQn = Math.pow(1 - BINOMIAL_P, BINOMIAL_TRIALS);
+	private double[] zipfCdf = new double[ZIPF_N];
+
+	{
+		double sum = 0;
+		for (int k = 1; k <= ZIPF_N; k++) {
+			sum += Math.pow(k, -ZIPF_S);
+			zipfCdf[k - 1] = sum;
+		}
+		for (int k = 0; k < ZIPF_N; k++) {
+			zipfCdf[k] /= sum;
+		}
+	}
+
+	@Benchmark
+	public double exponentialZiggurat() {
+		return exponential.sample(rng);
+	}
+
+	@Benchmark
+	public double exponentialInversion() {
+		return -Math.log(1 - rng.nextDouble());
+	}
+
+	@Benchmark
+	public int poissonPtrs() {
+		return poisson.sample(rng);
+	}
+
+	@Benchmark
+	public int poissonInversion() {
+		double u = rng.nextDouble();
+		double p = expMinusPoissonMean;
+		int k = 0;
+		while (u > p) {
+			u -= p;
+			k++;
+			p *= POISSON_MEAN / k;
+		}
+		return k;
+	}
+
+	@Benchmark
+	public int binomialBtrd() {
+		return binomial.sample(rng);
+	}
+
+	@Benchmark
+	public int binomialInversion() {
+		double s = BINOMIAL_P / (1 - BINOMIAL_P);
+		double u = rng.nextDouble();
+		double p = binomialQn;
+		int k = 0;
+		while (u > p && k < BINOMIAL_TRIALS) {
+			u -= p;
+			k++;
+			p *= (BINOMIAL_TRIALS + 1) * s / k - s;
+		}
+		return k;
+	}
+
+	@Benchmark
+	public double gammaMarsagliaTsang() {
+		return gamma.sample(rng);
+	}
+
+	@Benchmark
+	public int zipfRejectionInversion() {
+		return zipf.sample(rng);
+	}
+
+	@Benchmark
+	public int zipfCdfSearch() {
+		int index = Arrays.binarySearch(zipfCdf, rng.nextDouble());
+		return (index < 0 ? -index - 1 : index) + 1;
+	}
+
+	//java -jar benchmarks.jar PerformanceSampler -f 1 -wi 3 -w 1s -i 5 -r 1s -tu us
+
+	// Single core machine, jdk 17, short runs
+//	Benchmark                                               Mode  Cnt    Score    Error   Units
+//	kilianB.pcg.PerformanceSampler.binomialBtrd            thrpt    5   19,073 ±  1,610  ops/us
+//	kilianB.pcg.PerformanceSampler.binomialInversion       thrpt    5    0,437 ±  0,017  ops/us
+//	kilianB.pcg.PerformanceSampler.exponentialInversion    thrpt    5   46,369 ±  1,130  ops/us
+//	kilianB.pcg.PerformanceSampler.exponentialZiggurat     thrpt    5  137,803 ± 52,727  ops/us
+//	kilianB.pcg.PerformanceSampler.gammaMarsagliaTsang     thrpt    5   59,836 ± 16,176  ops/us
+//	kilianB.pcg.PerformanceSampler.poissonInversion        thrpt    5    2,825 ±  0,161  ops/us
+//	kilianB.pcg.PerformanceSampler.poissonPtrs             thrpt    5   28,303 ±  1,769  ops/us
+//	kilianB.pcg.PerformanceSampler.zipfCdfSearch           thrpt    5   10,521 ±  2,334  ops/us
+//	kilianB.pcg.PerformanceSampler.zipfRejectionInversion  thrpt    5   14,705 ±  1,325  ops/us
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(PerformanceSampler.class.getSimpleName()).forks(1)
+				.mode(Mode.Throughput).warmupTime(new TimeValue(5, TimeUnit.SECONDS)).timeUnit(TimeUnit.MICROSECONDS)
+				.build();
+		new Runner(opt).run();
+	}
+
+}
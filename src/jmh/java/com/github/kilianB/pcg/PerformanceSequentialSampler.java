@@ -0,0 +1,98 @@
+package com.github.kilianB.pcg;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+import com.github.kilianB.pcg.subset.SequentialSampler;
+
+/**
+ * Time to select k sorted indices out of 10^7. Vitter's Algorithm D compared to
+ * a partial shuffle followed by a sort and to a Bernoulli scan which only
+ * selects k indices on average.
+ *
+ * @author Kilian
+ *
+ */
+@State(Scope.Thread)
+public class PerformanceSequentialSampler {
+
+	private static final int N = 10_000_000;
+
+	@Param({ "1000", "100000" })
+	private int k;
+
+	private PcgRSFast rng = new PcgRSFast();
+
+	private int[] pool;
+
+	@Setup
+	public void setup() {
+		pool = new int[N];
+		for (int i = 0; i < N; i++) {
+			pool[i] = i;
+		}
+	}
+
+	@Benchmark
+	public long[] algorithmD() {
+		return SequentialSampler.sample(N, k, rng);
+	}
+
+	@Benchmark
+	public int[] shuffleAndSort() {
+		// The pool stays a permutation of [0, N). A partial Fisher-Yates shuffle is sufficient
+		for (int i = 0; i < k; i++) {
+			int j = i + rng.nextInt(N - i);
+			int tmp = pool[i];
+			pool[i] = pool[j];
+			pool[j] = tmp;
+		}
+		int[] sample = Arrays.copyOf(pool, k);
+		Arrays.sort(sample);
+		return sample;
+	}
+
+	@Benchmark
+	public long[] bernoulliScan() {
+		double p = k / (double) N;
+		long[] sample = new long[k + k / 2 + 100];
+		int count = 0;
+		for (int i = 0; i < N; i++) {
+			if (rng.nextDouble() < p && count < sample.length) {
+				sample[count++] = i;
+			}
+		}
+		return sample;
+	}
+
+	//java -jar benchmarks.jar PerformanceSequentialSampler -f 1 -wi 3 -w 1s -i 5 -r 1s -bm avgt -tu us
+	// Single core machine, jdk 17, short runs
+
+	//	kilianB.pcg.PerformanceSequentialSampler.algorithmD        1000  avgt    5     65,046 ±    5,082  us/op
+	//	kilianB.pcg.PerformanceSequentialSampler.algorithmD      100000  avgt    5   8549,062 ±   55,240  us/op
+	//	kilianB.pcg.PerformanceSequentialSampler.bernoulliScan     1000  avgt    5  30446,660 ±  738,335  us/op
+	//	kilianB.pcg.PerformanceSequentialSampler.bernoulliScan   100000  avgt    5  32275,640 ±  828,289  us/op
+	//	kilianB.pcg.PerformanceSequentialSampler.shuffleAndSort    1000  avgt    5     55,195 ±    4,381  us/op
+	//	kilianB.pcg.PerformanceSequentialSampler.shuffleAndSort  100000  avgt    5   8811,943 ± 2727,714  us/op
+
+	// Shuffle and sort is on par but requires a pool of n indices (40 MB here).
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(PerformanceSequentialSampler.class.getSimpleName()).forks(1)
+				.mode(Mode.AverageTime).timeUnit(TimeUnit.MICROSECONDS).build();
+		new Runner(opt).run();
+	}
+
+}
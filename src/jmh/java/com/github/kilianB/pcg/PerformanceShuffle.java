@@ -0,0 +1,127 @@
+package com.github.kilianB.pcg;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+import com.github.kilianB.pcg.shuffle.Shuffle;
+
+/**
+ * Time to shuffle an array or list. Batched dice rolls compared to
+ * Collections.shuffle and a plain Fisher-Yates loop using nextInt(bound).
+ *
+ * @author Kilian
+ *
+ */
+public class PerformanceShuffle {
+
+	@State(Scope.Thread)
+	public static class ArrayState {
+
+		@Param({ "1000", "100000", "10000000" })
+		private int size;
+
+		private PcgRSFast rng = new PcgRSFast();
+
+		private int[] array;
+
+		@Setup
+		public void setup() {
+			array = new int[size];
+			for (int i = 0; i < size; i++) {
+				array[i] = i;
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class ListState {
+
+		@Param({ "1000", "100000", "10000000" })
+		private int size;
+
+		private PcgRSFast rng = new PcgRSFast();
+
+		private List<Integer> list;
+
+		@Setup
+		public void setup() {
+			list = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				list.add(i);
+			}
+		}
+	}
+
+	@Benchmark
+	public List<Integer> collectionsShuffle(ListState state) {
+		Collections.shuffle(state.list, state.rng);
+		return state.list;
+	}
+
+	@Benchmark
+	public List<Integer> shuffleList(ListState state) {
+		Shuffle.shuffle(state.list, state.rng);
+		return state.list;
+	}
+
+	@Benchmark
+	public int[] fisherYatesNextInt(ArrayState state) {
+		int[] array = state.array;
+		for (int i = array.length - 1; i > 0; i--) {
+			int j = state.rng.nextInt(i + 1);
+			int tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+		return array;
+	}
+
+	@Benchmark
+	public int[] shuffleArray(ArrayState state) {
+		Shuffle.shuffle(state.array, state.rng);
+		return state.array;
+	}
+
+	//java -jar benchmarks.jar PerformanceShuffle -f 1 -wi 3 -w 1s -i 5 -r 1s -bm avgt -tu us
+	//java -jar benchmarks.jar PerformanceShuffle.*Array -p size=100000000 -f 1 -wi 3 -w 1s -i 5 -r 1s -bm avgt -tu us
+	// Single core machine, jdk 17, short runs
+
+	//	kilianB.pcg.PerformanceShuffle.collectionsShuffle      1000  avgt    5        3,098 ±      0,469  us/op
+	//	kilianB.pcg.PerformanceShuffle.collectionsShuffle    100000  avgt    5      298,852 ±     50,689  us/op
+	//	kilianB.pcg.PerformanceShuffle.collectionsShuffle  10000000  avgt    5    99841,138 ±  45362,222  us/op
+	//	kilianB.pcg.PerformanceShuffle.fisherYatesNextInt      1000  avgt    5        2,781 ±      1,555  us/op
+	//	kilianB.pcg.PerformanceShuffle.fisherYatesNextInt    100000  avgt    5      215,415 ±     46,333  us/op
+	//	kilianB.pcg.PerformanceShuffle.fisherYatesNextInt  10000000  avgt    5    70317,733 ±  28527,630  us/op
+	//	kilianB.pcg.PerformanceShuffle.fisherYatesNextInt 100000000  avgt    5  1663906,323 ± 619600,134  us/op
+	//	kilianB.pcg.PerformanceShuffle.shuffleArray            1000  avgt    5        1,707 ±      0,143  us/op
+	//	kilianB.pcg.PerformanceShuffle.shuffleArray          100000  avgt    5      202,766 ±     51,478  us/op
+	//	kilianB.pcg.PerformanceShuffle.shuffleArray        10000000  avgt    5   114700,157 ±  72683,621  us/op
+	//	kilianB.pcg.PerformanceShuffle.shuffleArray       100000000  avgt    5  1857098,374 ± 157932,381  us/op
+	//	kilianB.pcg.PerformanceShuffle.shuffleList             1000  avgt    5        4,214 ±      2,484  us/op
+	//	kilianB.pcg.PerformanceShuffle.shuffleList           100000  avgt    5      312,716 ±     16,654  us/op
+	//	kilianB.pcg.PerformanceShuffle.shuffleList         10000000  avgt    5   113048,322 ±  26478,479  us/op
+
+	// Batched draws pay off while the array fits into the cache. Beyond that the
+	// random memory accesses of the swaps dominate and all variants are on par.
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(PerformanceShuffle.class.getSimpleName()).forks(1)
+				.mode(Mode.AverageTime).timeUnit(TimeUnit.MICROSECONDS).build();
+		new Runner(opt).run();
+	}
+
+}
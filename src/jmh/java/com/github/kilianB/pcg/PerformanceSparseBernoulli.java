@@ -0,0 +1,109 @@
+package com.github.kilianB.pcg;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+import com.github.kilianB.pcg.subset.SparseBernoulliSampler;
+
+/**
+ * Time to perform 2^20 Bernoulli trials. Geometric skips compared to one
+ * <code>nextBoolean(p)</code> call per trial, for the positions of the
+ * successes as well as for a bit mask.
+ *
+ * @author Kilian
+ *
+ */
+@State(Scope.Thread)
+public class PerformanceSparseBernoulli {
+
+	private static final int N = 1 << 20;
+
+	@Param({ "0.5", "0.1", "0.01", "0.001", "0.000001" })
+	private double p;
+
+	private PcgRSFast rng = new PcgRSFast();
+
+	private long[] positions = new long[N];
+
+	private long[] mask = new long[N >>> 6];
+
+	@Benchmark
+	public int positionsNaive() {
+		int count = 0;
+		for (int i = 0; i < N; i++) {
+			if (rng.nextBoolean(p)) {
+				positions[count++] = i;
+			}
+		}
+		return count;
+	}
+
+	@Benchmark
+	public int positionsSkip() {
+		return new SparseBernoulliSampler(N, p, rng).next(positions, 0, N);
+	}
+
+	@Benchmark
+	public long[] maskNaive() {
+		for (int w = 0; w < mask.length; w++) {
+			long word = 0;
+			for (int b = 0; b < 64; b++) {
+				if (rng.nextBoolean(p)) {
+					word |= 1L << b;
+				}
+			}
+			mask[w] = word;
+		}
+		return mask;
+	}
+
+	@Benchmark
+	public long[] mask() {
+		SparseBernoulliSampler.fillMask(mask, p, rng);
+		return mask;
+	}
+
+	//java -jar benchmarks.jar PerformanceSparseBernoulli -f 1 -wi 3 -w 1s -i 5 -r 1s -bm avgt -tu us
+	// Single core machine, jdk 17, short runs
+
+	//	kilianB.pcg.PerformanceSparseBernoulli.mask                 0.5  avgt    5     51,693 ±   24,120  us/op
+	//	kilianB.pcg.PerformanceSparseBernoulli.mask                 0.1  avgt    5    580,431 ±  121,773  us/op
+	//	kilianB.pcg.PerformanceSparseBernoulli.mask                0.01  avgt    5     76,977 ±   21,236  us/op
+	//	kilianB.pcg.PerformanceSparseBernoulli.mask               0.001  avgt    5     11,529 ±    4,684  us/op
+	//	kilianB.pcg.PerformanceSparseBernoulli.mask            0.000001  avgt    5      2,655 ±    0,295  us/op
+	//	kilianB.pcg.PerformanceSparseBernoulli.maskNaive            0.5  avgt    5  10391,236 ±  548,410  us/op
+	//	kilianB.pcg.PerformanceSparseBernoulli.maskNaive            0.1  avgt    5   4797,687 ±  277,614  us/op
+	//	kilianB.pcg.PerformanceSparseBernoulli.maskNaive           0.01  avgt    5   3378,285 ±  612,812  us/op
+	//	kilianB.pcg.PerformanceSparseBernoulli.maskNaive          0.001  avgt    5   3439,960 ±  761,807  us/op
+	//	kilianB.pcg.PerformanceSparseBernoulli.maskNaive       0.000001  avgt    5   3591,937 ±  916,151  us/op
+	//	kilianB.pcg.PerformanceSparseBernoulli.positionsNaive       0.5  avgt    5  11047,875 ±  529,070  us/op
+	//	kilianB.pcg.PerformanceSparseBernoulli.positionsNaive       0.1  avgt    5   5072,489 ±  821,414  us/op
+	//	kilianB.pcg.PerformanceSparseBernoulli.positionsNaive      0.01  avgt    5   3475,768 ± 1458,260  us/op
+	//	kilianB.pcg.PerformanceSparseBernoulli.positionsNaive     0.001  avgt    5   3361,667 ±  391,301  us/op
+	//	kilianB.pcg.PerformanceSparseBernoulli.positionsNaive  0.000001  avgt    5   3087,276 ±  301,149  us/op
+	//	kilianB.pcg.PerformanceSparseBernoulli.positionsSkip        0.5  avgt    5   5650,001 ±  890,728  us/op
+	//	kilianB.pcg.PerformanceSparseBernoulli.positionsSkip        0.1  avgt    5   1056,353 ±  120,277  us/op
+	//	kilianB.pcg.PerformanceSparseBernoulli.positionsSkip       0.01  avgt    5    114,700 ±    6,457  us/op
+	//	kilianB.pcg.PerformanceSparseBernoulli.positionsSkip      0.001  avgt    5     11,997 ±    0,718  us/op
+	//	kilianB.pcg.PerformanceSparseBernoulli.positionsSkip   0.000001  avgt    5      0,055 ±    0,007  us/op
+
+	// Geometric skips only pay off for sparse masks. From a density of 1 / 16 on the word
+	// wise comparison with the digits of p is faster.
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(PerformanceSparseBernoulli.class.getSimpleName()).forks(1)
+				.mode(Mode.AverageTime).timeUnit(TimeUnit.MICROSECONDS).build();
+		new Runner(opt).run();
+	}
+
+}
@@ -0,0 +1,86 @@
+package com.github.kilianB.pcg;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+import com.github.kilianB.pcg.light.PcgRSLight;
+import com.github.kilianB.pcg.sync.PcgRS;
+
+/**
+ * Cost of splitting a generator. The legacy benchmarks replicate the
+ * reflective constructor lookup previously performed by split().
+ *
+ * @author Kilian
+ *
+ */
+@State(Scope.Thread)
+public class PerformanceSplit {
+
+	private PcgRS pcgRS = new PcgRS();
+	private PcgRSFast pcgRSFast = new PcgRSFast();
+	private PcgRSLight pcgRSLight = new PcgRSLight();
+
+	@Benchmark
+	public Object legacySplitPcgRS() throws ReflectiveOperationException {
+		return legacySplit(pcgRS);
+	}
+
+	@Benchmark
+	public PcgRS splitPcgRS() throws ReflectiveOperationException {
+		return pcgRS.split();
+	}
+
+	@Benchmark
+	public PcgRSFast splitPcgRSFast() throws ReflectiveOperationException {
+		return pcgRSFast.split();
+	}
+
+	@Benchmark
+	public PcgRSLight splitPcgRSLight() throws ReflectiveOperationException {
+		return pcgRSLight.split();
+	}
+
+	@Benchmark
+	public PcgRSFast splitDistinctPcgRSFast() throws ReflectiveOperationException {
+		return pcgRSFast.splitDistinct();
+	}
+
+	@Benchmark
+	public PcgRSFast copyPcgRSFast() {
+		return pcgRSFast.copy();
+	}
+
+	private static Object legacySplit(Pcg rng) throws ReflectiveOperationException {
+		return rng.getClass().getDeclaredConstructor(long.class, long.class, boolean.class)
+				.newInstance(rng.getState(), rng.getInc(), true);
+	}
+
+	//java -jar benchmarks.jar PerformanceSplit -f 1 -wi 3 -w 1s -i 5 -r 1s -tu us
+
+	// Single core machine, jdk 17, short runs
+//	Benchmark                                             Mode  Cnt    Score     Error   Units
+//	kilianB.pcg.PerformanceSplit.copyPcgRSFast           thrpt    5   14,686 ±   4,234  ops/us
+//	kilianB.pcg.PerformanceSplit.legacySplitPcgRS        thrpt    5    6,138 ±   1,523  ops/us
+//	kilianB.pcg.PerformanceSplit.splitDistinctPcgRSFast  thrpt    5    6,125 ±   2,047  ops/us
+//	kilianB.pcg.PerformanceSplit.splitPcgRS              thrpt    5    8,986 ±   1,528  ops/us
+//	kilianB.pcg.PerformanceSplit.splitPcgRSFast          thrpt    5   13,887 ±   2,968  ops/us
+//	kilianB.pcg.PerformanceSplit.splitPcgRSLight         thrpt    5  170,323 ± 102,189  ops/us
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(PerformanceSplit.class.getSimpleName()).forks(1)
+				.mode(Mode.Throughput).warmupTime(new TimeValue(5, TimeUnit.SECONDS)).timeUnit(TimeUnit.MICROSECONDS)
+				.build();
+		new Runner(opt).run();
+	}
+
+}
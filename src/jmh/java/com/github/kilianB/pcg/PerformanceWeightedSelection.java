@@ -0,0 +1,102 @@
+package com.github.kilianB.pcg;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+import com.github.kilianB.pcg.subset.WeightedSelection;
+
+/**
+ * Time to select k out of 10^8 weighted items. The naive variant computes
+ * <code>-log(u) / weight</code> for every item and keeps the smallest keys in a
+ * primitive heap.
+ *
+ * @author Kilian
+ *
+ */
+@State(Scope.Thread)
+public class PerformanceWeightedSelection {
+
+	private static final int N = 100_000_000;
+
+	@Param({ "100", "1000" })
+	private int k;
+
+	private PcgRSFast rng = new PcgRSFast();
+
+	@Benchmark
+	public long[] naiveLogKeys() {
+		long[] items = new long[k];
+		double[] keys = new double[k];
+		int size = 0;
+		for (int i = 0; i < N; i++) {
+			double key = -Math.log(rng.nextDouble(false, false)) / weight(i);
+			if (size < k) {
+				// Sift up
+				int j = size++;
+				while (j > 0 && keys[(j - 1) >>> 1] < key) {
+					items[j] = items[(j - 1) >>> 1];
+					keys[j] = keys[(j - 1) >>> 1];
+					j = (j - 1) >>> 1;
+				}
+				items[j] = i;
+				keys[j] = key;
+			} else if (key < keys[0]) {
+				// Sift down
+				int j = 0;
+				while (2 * j + 1 < k) {
+					int child = 2 * j + 1;
+					if (child + 1 < k && keys[child + 1] > keys[child]) {
+						child++;
+					}
+					if (key >= keys[child]) {
+						break;
+					}
+					items[j] = items[child];
+					keys[j] = keys[child];
+					j = child;
+				}
+				items[j] = i;
+				keys[j] = key;
+			}
+		}
+		return items;
+	}
+
+	@Benchmark
+	public long[] exponentialJumps() {
+		WeightedSelection selection = new WeightedSelection(k, rng);
+		for (int i = 0; i < N; i++) {
+			selection.add(i, weight(i));
+		}
+		return selection.getSample();
+	}
+
+	private static double weight(int i) {
+		return 1 + (i & 1023) * 0.01;
+	}
+
+	//java -jar benchmarks.jar PerformanceWeightedSelection -f 1 -wi 2 -w 1s -i 3 -r 1s -bm avgt -tu ms
+	// Single core machine, jdk 17, short runs
+
+	//	kilianB.pcg.PerformanceWeightedSelection.exponentialJumps   100  avgt    3   418,280 ± 127,415  ms/op
+	//	kilianB.pcg.PerformanceWeightedSelection.exponentialJumps  1000  avgt    3   432,790 ± 180,242  ms/op
+	//	kilianB.pcg.PerformanceWeightedSelection.naiveLogKeys       100  avgt    3  2742,907 ± 674,922  ms/op
+	//	kilianB.pcg.PerformanceWeightedSelection.naiveLogKeys      1000  avgt    3  2692,999 ± 177,701  ms/op
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(PerformanceWeightedSelection.class.getSimpleName()).forks(1)
+				.mode(Mode.AverageTime).timeUnit(TimeUnit.MILLISECONDS).build();
+		new Runner(opt).run();
+	}
+
+}
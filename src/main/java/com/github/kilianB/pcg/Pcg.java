@@ -78,7 +78,9 @@ public interface Pcg {
 	 * @return an identical generator with no shared references
 	 * @throws ReflectiveOperationException
 	 *             if the extending class does not implement the required
-	 *             constructor
+	 *             constructor. The generators provided by this library do not use
+	 *             reflection and never throw this exception.
+	 * @see #copy()
 	 */
 	<T> T split() throws ReflectiveOperationException;
 
@@ -100,10 +102,64 @@ public interface Pcg {
 	 * @return a distinct generator with no shared references
 	 * @throws ReflectiveOperationException
 	 *             if the extending class does not implement the required
-	 *             constructor
+	 *             constructor. The generators provided by this library do not use
+	 *             reflection and never throw this exception.
 	 */
 	<T> T splitDistinct() throws ReflectiveOperationException;
 
+	/**
+	 * Create a snapshot of this generator. The returned generator is of the same
+	 * class, has the exact same state and stream number and does not share any
+	 * references with this instance. Opposed to {@link #split()} this method does
+	 * not declare a checked exception.
+	 * <p>
+	 * 
+	 * The default implementation delegates to {@link #split()}.
+	 * 
+	 * @param <T>
+	 *            Class of the constructed generator which is equals the class this
+	 *            method was invoked on.
+	 * @return an identical generator with no shared references
+	 * @throws UnsupportedOperationException
+	 *             if {@link #split()} fails with a reflective exception
+	 */
+	default <T> T copy() {
+		try {
+			return split();
+		} catch (ReflectiveOperationException e) {
+			throw new UnsupportedOperationException("Failed to copy generator", e);
+		}
+	}
+
+	/**
+	 * Create a new generator of the same class using the given internal state and
+	 * increment. The values are set as is without performing any seeding.
+	 * <p>
+	 * 
+	 * This method acts as factory for {@link #copy()}, {@link #split()} and
+	 * {@link #splitDistinct()} and should be overridden by every concrete
+	 * generator.
+	 * 
+	 * @param <T>
+	 *            Class of the constructed generator which is equals the class this
+	 *            method was invoked on.
+	 * @param state
+	 *            the internal state of the lcg
+	 * @param increment
+	 *            the increment of the lcg. Has to be odd
+	 * @return a new generator with the given state and increment
+	 * @throws IllegalArgumentException
+	 *             if the increment is even
+	 * @throws UnsupportedOperationException
+	 *             if the generator does not override this method. The generators
+	 *             provided by this library never throw this exception.
+	 * @see #getState()
+	 * @see #getInc()
+	 */
+	default <T> T copy(long state, long increment) {
+		throw new UnsupportedOperationException(getClass().getName() + " does not support copy(long, long)");
+	}
+
 	/**
 	 * Returns an integer with the next <i>n</i> low bits randomly set and are used
 	 * as a base to deviate smaller data types. The used bits are the high bits used
@@ -213,7 +269,10 @@ public interface Pcg {
 	 * number generator's sequence. The general contract of {@code nextInt} is that
 	 * one {@code int} value in the specified range is pseudorandomly generated and
 	 * returned. All {@code bound} possible {@code int} values are produced with
-	 * (approximately) equal probability.
+	 * (approximately) equal probability. <p>
+	 *
+	 * The generators of this library use Lemire's multiply and shift method which
+	 * requires a division only in the rare case of a rejection.
 	 *
 	 * @param n
 	 *            the upper bound (exclusive). Must be positive.
@@ -223,9 +282,63 @@ public interface Pcg {
 	 * @throws IllegalArgumentException
 	 *             if bound is not positive
 	 * @see #nextInt()
+	 * @see #nextIntLegacy(int)
+	 * @see <a href="https://arxiv.org/abs/1805.10941">Fast Random Integer
+	 *      Generation in an Interval</a>
 	 */
 	int nextInt(int n);
 
+	/**
+	 * Returns a pseudorandom, uniformly distributed {@code int} value between the
+	 * specified origin (inclusive) and the specified bound (exclusive). The range
+	 * may span more than {@link Integer#MAX_VALUE} values.
+	 *
+	 * @param origin
+	 *            the least value returned
+	 * @param bound
+	 *            the upper bound (exclusive)
+	 * @return a pseudorandom {@code int} value between the origin (inclusive) and
+	 *         the bound (exclusive)
+	 * @throws IllegalArgumentException
+	 *             if origin is greater than or equal to bound
+	 * @see #nextInt(int)
+	 */
+	default int nextInt(int origin, int bound) {
+		if (origin >= bound)
+			throw new IllegalArgumentException("bound must be greater than origin, got: " + origin + " " + bound);
+		return origin + UnsignedMath.boundedInt(this::nextInt, (bound - origin) & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Returns a pseudorandom, uniformly distributed {@code int} value between 0
+	 * (inclusive) and the specified value (exclusive) using the modulo based
+	 * rejection algorithm of <code>java.util.Random</code>. <p>
+	 *
+	 * {@link #nextInt(int)} uses Lemire's multiply and shift method which avoids
+	 * the division but produces a different sequence. This method reproduces
+	 * sequences generated by earlier versions of this library.
+	 *
+	 * @param n
+	 *            the upper bound (exclusive). Must be positive.
+	 * @return the next pseudorandom, uniformly distributed {@code int} value
+	 *         between zero (inclusive) and {@code n} (exclusive)
+	 * @throws IllegalArgumentException
+	 *             if n is not positive
+	 */
+	default int nextIntLegacy(int n) {
+		if (n <= 0)
+			throw new IllegalArgumentException("n must be positive, got: " + n);
+		int r = nextInt() >>> 1;
+		int m = n - 1;
+		if ((n & m) == 0) // i.e., bound is a power of 2
+			r = (int) ((n * (long) r) >> 31);
+		else {
+			for (int u = r; u - (r = u % n) + m < 0; u = nextInt() >>> 1)
+				;
+		}
+		return r;
+	}
+
 	/**
 	 * Returns the next pseudorandom, uniformly distributed {@code long} value from
 	 * this random number generator's sequence. The general contract of
@@ -248,9 +361,60 @@ public interface Pcg {
 	 *
 	 * @return the next pseudorandom, uniformly distributed {@code long} value from
 	 *         this random number generator's sequence
+	 * @throws IllegalArgumentException
+	 *             if n is not positive
+	 * @see #nextLongLegacy(long)
 	 */
 	long nextLong(long n);
 
+	/**
+	 * Returns a pseudorandom, uniformly distributed {@code long} value between the
+	 * specified origin (inclusive) and the specified bound (exclusive). The range
+	 * may span more than {@link Long#MAX_VALUE} values.
+	 *
+	 * @param origin
+	 *            the least value returned
+	 * @param bound
+	 *            the upper bound (exclusive)
+	 * @return a pseudorandom {@code long} value between the origin (inclusive) and
+	 *         the bound (exclusive)
+	 * @throws IllegalArgumentException
+	 *             if origin is greater than or equal to bound
+	 * @see #nextLong(long)
+	 */
+	default long nextLong(long origin, long bound) {
+		if (origin >= bound)
+			throw new IllegalArgumentException("bound must be greater than origin, got: " + origin + " " + bound);
+		return origin + UnsignedMath.boundedLong(this::nextLong, bound - origin);
+	}
+
+	/**
+	 * Returns a pseudorandom, uniformly distributed {@code long} value between 0
+	 * (inclusive) and the specified value (exclusive) using the modulo based
+	 * rejection algorithm of earlier versions of this library. <p>
+	 *
+	 * {@link #nextLong(long)} uses Lemire's multiply and shift method which avoids
+	 * the division but produces a different sequence.
+	 *
+	 * @param n
+	 *            the upper bound (exclusive). Must be positive.
+	 * @return the next pseudorandom, uniformly distributed {@code long} value
+	 *         between zero (inclusive) and {@code n} (exclusive)
+	 * @throws IllegalArgumentException
+	 *             if n is not positive
+	 */
+	default long nextLongLegacy(long n) {
+		if (n <= 0)
+			throw new IllegalArgumentException("n must be positive, got: " + n);
+		long bits;
+		long val;
+		do {
+			bits = (nextLong() >>> 1);
+			val = bits % n;
+		} while (bits - val + (n - 1) < 0);
+		return val;
+	}
+
 	/**
 	 * Returns the next pseudorandom, uniformly distributed {@code float} value
 	 * between {@code 0.0} and {@code 1.0} from this random number generator's
@@ -282,7 +446,12 @@ public interface Pcg {
 	 * <tr><td>nextFloat(true, true)</td><td>[0.0f, 1.0f]</td></tr> <caption>Table
 	 * of intervals</caption> </table>
 	 * 
-	 * <p>This version preserves all possible random values in the float range.
+	 * <p>The value is constructed directly from a single 32 bit output without
+	 * rejection. Open bounds are excluded by returning the midpoints
+	 * <code>(m + 0.5) 2<sup>-23</sup></code> respectively by mirroring
+	 * {@link #nextFloat()} to <code>1 - nextFloat()</code>. The closed interval
+	 * rounds a 25 bit value to the nearest multiple of 2<sup>-24</sup>, therefore,
+	 * 0f and 1f are drawn with half the probability of the interior values.
 	 * 
 	 * @param includeZero
 	 *            if true may return 0f
@@ -322,7 +491,12 @@ public interface Pcg {
 	 * <tr><td>nextDouble(true, true)</td><td>[0.0, 1.0]</td></tr> <caption>Table of
 	 * intervals</caption> </table>
 	 * 
-	 * <p>This version preserves all possible random values in the double range.
+	 * <p>The value is constructed directly from a single 64 bit value without
+	 * rejection. Open bounds are excluded by returning the midpoints
+	 * <code>(m + 0.5) 2<sup>-52</sup></code> respectively by mirroring
+	 * {@link #nextDouble()} to <code>1 - nextDouble()</code>. The closed interval
+	 * rounds a 54 bit value to the nearest multiple of 2<sup>-53</sup>, therefore,
+	 * 0d and 1d are drawn with half the probability of the interior values.
 	 * 
 	 * @param includeZero
 	 *            if true may return 0d
@@ -336,8 +510,114 @@ public interface Pcg {
 	 */
 	double nextDouble(boolean includeZero, boolean includeOne);
 
+	/**
+	 * Returns a pseudorandom {@code double} value in the range [0, 1) which may be
+	 * any representable double of the range, not only a multiple of
+	 * 2<sup>-53</sup> as returned by {@link #nextDouble()}. <p>
+	 * 
+	 * The result equals a uniform real number from [0, 1) rounded down to the
+	 * next double (Downey). The exponent is drawn from the position of the first
+	 * set bit of the random bits, the 52 bits of the significand are filled with
+	 * the bits following it. Further values are only drawn if the first 12 bits
+	 * are 0, which happens with a probability of 2<sup>-12</sup>.
+	 * 
+	 * @return the next pseudorandom, uniformly distributed {@code double} value in
+	 *         [0, 1) with full precision
+	 * @see <a href="http://allendowney.com/research/rand/">Downey: Generating
+	 *      Pseudo-random Floating-Point Values</a>
+	 */
+	default double nextDoubleFullPrecision() {
+		long x = nextLong();
+		// The first bit of x is worth 2^-1
+		int exponent = -1;
+		while (x == 0) {
+			exponent -= 64;
+			if (exponent < -1074) {
+				return 0;
+			}
+			x = nextLong();
+		}
+		int leadingZeros = Long.numberOfLeadingZeros(x);
+		exponent -= leadingZeros;
+		long significand;
+		if (leadingZeros < 12) {
+			// At least 52 bits follow the leading one
+			significand = (x << (leadingZeros + 1)) >>> 12;
+		} else {
+			significand = nextLong() >>> 12;
+		}
+		if (exponent < -1022) {
+			// Subnormal. Rounds instead of truncating, occurs with probability 2^-1022
+			return Math.scalb(1 + significand * 0x1.0p-52, exponent);
+		}
+		return Double.longBitsToDouble(((long) (exponent + 1023) << 52) | significand);
+	}
+
+	/**
+	 * Returns a pseudorandom, uniformly distributed {@code double} value in the
+	 * range [origin, bound). <p>
+	 * 
+	 * The value is computed as <code>origin + nextDouble() * (bound - origin)</code>.
+	 * Values rounded up to the bound are replaced by the largest double smaller
+	 * than the bound. Ranges exceeding the double range are scaled by 0.5 before
+	 * computing the difference.
+	 * 
+	 * @param origin
+	 *            the smallest value which can be returned
+	 * @param bound
+	 *            the upper bound (exclusive). Must be greater than origin
+	 * @return the next pseudorandom, uniformly distributed {@code double} value
+	 *         in [origin, bound)
+	 * @throws IllegalArgumentException
+	 *             if origin is not smaller than bound or one of them is not finite
+	 */
+	default double nextDouble(double origin, double bound) {
+		if (!(origin < bound) || Double.isInfinite(origin) || Double.isInfinite(bound)) {
+			throw new IllegalArgumentException(
+					"Origin has to be smaller than bound and both finite. Origin: " + origin + " Bound: " + bound);
+		}
+		double r = nextDouble();
+		double range = bound - origin;
+		if (range < Double.POSITIVE_INFINITY) {
+			r = origin + r * range;
+		} else {
+			double halfOrigin = 0.5 * origin;
+			r = (halfOrigin + r * (0.5 * bound - halfOrigin)) * 2;
+		}
+		return r < bound ? r : Math.nextDown(bound);
+	}
+
 	double nextGaussian();
 
+	/**
+	 * Create a generator of the same class on its own stream derived from the
+	 * index and the state and increment of this generator. The seed and the
+	 * stream number are scrambled from all three values by the SplitMix64
+	 * finalizer, substreams of distinct indices start at unrelated states and,
+	 * except with negligible probability, use distinct increments. This allows to
+	 * partition work into a fixed amount of blocks producing the same numbers
+	 * regardless of the amount of threads processing the blocks. <p>
+	 * 
+	 * This generator is not altered. Advance it, e.g. by a single step, before
+	 * deriving the substreams of the next batch of work.
+	 * 
+	 * @param <T>
+	 *            Class of the constructed generator which is equals the class this
+	 *            method was invoked on.
+	 * @param index
+	 *            of the substream. All 64 bits are significant
+	 * @return a generator at the start of the substream
+	 * @throws UnsupportedOperationException
+	 *             if the generator does not override {@link #copy(long, long)}.
+	 *             The generators provided by this library never throw this
+	 *             exception.
+	 */
+	default <T> T substream(long index) {
+		// Weyl step by 2^64 divided by the golden ratio keeps distinct indices apart
+		long unique = SeedSource.seed(getInc() + index * 0x9E3779B97F4A7C15L) ^ getState();
+		return copy(SeedSource.seed(unique), SeedSource.streamNumber(unique) * 2 + 1);
+	}
+
 	/**
 	 * Return the distance between the two generators. The distance is the number of
 	 * steps this generator is ahead or behind the other generator. After advancing
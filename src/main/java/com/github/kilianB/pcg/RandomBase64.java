@@ -1,8 +1,15 @@
 package com.github.kilianB.pcg;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Random;
 
+import com.github.kilianB.pcg.sampler.NormalSampler;
+
 /**
  * Base class for 64 bit state pcg random number generators with 32 bit output.
  * 
@@ -23,15 +30,24 @@ import java.util.Random;
  * O'Neill.
  * <p>
  *
- * <b>Contract:</b> every extending class <b>must</b> implement a copy
- * constructor with a signature of(long,long,boolean). As it does not perform
- * proper initialization of the seed this method should not be exposed.
+ * <b>Contract:</b> every extending class <b>should</b> override
+ * {@link #copy(long, long)}. If it is not overridden the class <b>must</b>
+ * implement a copy constructor with a signature of(long,long,boolean) which is
+ * invoked through reflection. As it does not perform proper initialization of
+ * the seed this constructor should not be exposed.
+ * <p>
+ * 
+ * <b>Serialization:</b> generators are {@link Externalizable} and only write
+ * the lcg state and increment, 16 bytes of payload. The seed of
+ * {@link java.util.Random} and synchronization objects of the extending
+ * classes are recreated by the public no argument constructor which every
+ * serializable extending class <b>must</b> provide.
  * 
  * @author Kilian
  *
  * @see <a href="http://www.pcg-random.org/">www.pcg-random.org</a>
  */
-public abstract class RandomBase64 extends Random implements Pcg {
+public abstract class RandomBase64 extends Random implements Pcg, Externalizable {
 
 	private static final long serialVersionUID = -4396858403047759432L;
 
@@ -40,12 +56,18 @@ public abstract class RandomBase64 extends Random implements Pcg {
 	 */
 	protected static final long MULT_64 = 6364136223846793005L;
 
+	private static final long INTEGER_MASK = 0xFFFFFFFFL;
+	private static final double DOUBLE_UNIT = 0x1.0p-53;
+	private static final float FLOAT_UNIT = 0x1.0p-24f;
+
 	/**
-	 * Seeds the generator with 2 longs generated by xorshift*. The values choosen
-	 * are very likely not used in any other invocation of this constructor.
+	 * Seeds the generator with a seed and stream number obtained from the
+	 * {@link SeedSource}. Instances created by this constructor are guaranteed to
+	 * use distinct streams.
 	 */
 	public RandomBase64() {
-		this(getRandomSeed(), getRandomSeed());
+		long unique = SeedSource.nextUnique();
+		setSeed(SeedSource.seed(unique), SeedSource.streamNumber(unique));
 	}
 
 	/**
@@ -72,10 +94,8 @@ public abstract class RandomBase64 extends Random implements Pcg {
 	}
 
 	/**
-	 * Copy constructor. <b>Has</b> to be implemented in all inheriting instances.
-	 * This will be invoked through reflection! when calling {@link #split()} or
-	 * {@link #splitDistinct()} If no special behavior is desired simply pass though
-	 * the values.
+	 * Copy constructor. Used by {@link #copy(long, long)} of the extending classes.
+	 * If no special behavior is desired simply pass though the values.
 	 * 
 	 * This constructor should usually not be called manually as the seed and
 	 * increment will just be set without performing any randomization.
@@ -170,43 +190,58 @@ public abstract class RandomBase64 extends Random implements Pcg {
 	protected abstract long stepRight();
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public <T> T split() throws ReflectiveOperationException {
-		try {
-			return (T) getClass().getDeclaredConstructor(long.class, long.class, boolean.class).newInstance(getState(),
-					getInc(), true);
-		} catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException
-				| NoSuchMethodException | SecurityException e) {
-			e.printStackTrace();
-			throw new ReflectiveOperationException("Failed to instantiate clone constructor");
-		}
+		return copy();
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public <T> T splitDistinct() throws ReflectiveOperationException {
+		long curInc;
+		long curState;
+
+		// No reason to CAS here. we don't swap the inc around all the time
+		do {
+			// Has to be odd
+			curInc = ((nextLong(Math.abs(getInc())) ^ (~System.nanoTime())) * 2) + 1;
+		} while (curInc == getInc());
+
+		// State swaps by each call to nextLong
+		do {
+			curState = (nextLong(Math.abs(getState())) ^ (~System.nanoTime()));
+		} while (curState == getState());
+
+		return copy(curState, curInc);
+	}
+
+	@Override
+	public <T> T copy() {
+		return copy(getState(), getInc());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Extending classes should override this method. The default implementation
+	 * falls back to invoking the (long,long,boolean) copy constructor through
+	 * reflection.
+	 * 
+	 * @throws UnsupportedOperationException
+	 *             if the method is not overridden and the extending class does not
+	 *             provide the copy constructor
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T copy(long state, long increment) {
 		try {
-			long curInc;
-			long curState;
-
-			// No reason to CAS here. we don't swap the inc around all the time
-			do {
-				// Has to be odd
-				curInc = ((nextLong(Math.abs(getInc())) ^ (~System.nanoTime())) * 2) + 1;
-			} while (curInc == getInc());
-
-			// State swaps by each call to nextLong
-			do {
-				curState = (nextLong(Math.abs(getState())) ^ (~System.nanoTime()));
-			} while (curState == getState());
-
-			return (T) getClass().getDeclaredConstructor(long.class, long.class, boolean.class).newInstance(curState,
-					curInc, true);
-		} catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException
-				| NoSuchMethodException | SecurityException e) {
-			e.printStackTrace();
-			e.getCause().printStackTrace();
-			throw new ReflectiveOperationException("Failed to instantiate clone constructor");
+			return (T) getClass().getDeclaredConstructor(long.class, long.class, boolean.class).newInstance(state,
+					increment, true);
+		} catch (InvocationTargetException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new UnsupportedOperationException("Failed to instantiate clone constructor", e);
+		} catch (ReflectiveOperationException | SecurityException e) {
+			throw new UnsupportedOperationException("Failed to instantiate clone constructor", e);
 		}
 	}
 
@@ -273,6 +308,28 @@ public abstract class RandomBase64 extends Random implements Pcg {
 		return getInt(stepRight());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Uses Lemire's multiply and shift method. Unless the lower word of the product
+	 * falls into the biased region, which happens with a probability below
+	 * n / 2<sup>32</sup>, a single call to {@link #nextInt()} suffices and no
+	 * division is performed.
+	 */
+	@Override
+	public int nextInt(int n) {
+		if (n <= 0)
+			throw new IllegalArgumentException("n must be positive, got: " + n);
+		return UnsignedMath.boundedInt(this::nextInt, n);
+	}
+
+	@Override
+	public int nextInt(int origin, int bound) {
+		if (origin >= bound)
+			throw new IllegalArgumentException("bound must be greater than origin, got: " + origin + " " + bound);
+		return origin + UnsignedMath.boundedInt(this::nextInt, (bound - origin) & INTEGER_MASK);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * <p>
@@ -295,37 +352,68 @@ public abstract class RandomBase64 extends Random implements Pcg {
 	public long nextLong(long n) {
 		if (n <= 0)
 			throw new IllegalArgumentException("n must be positive, got: " + n);
-		long bits;
-		long val;
-		do {
-			bits = (nextLong() >>> 1);
-			val = bits % n;
-		} while (bits - val + (n - 1) < 0);
-		return val;
+		return UnsignedMath.boundedLong(this::nextLong, n);
+	}
+
+	@Override
+	public long nextLong(long origin, long bound) {
+		if (origin >= bound)
+			throw new IllegalArgumentException("bound must be greater than origin, got: " + origin + " " + bound);
+		return origin + UnsignedMath.boundedLong(this::nextLong, bound - origin);
 	}
 
 	@Override
 	public float nextFloat(boolean includeZero, boolean includeOne) {
-		float d = 0.0f;
-		do {
-			d = nextFloat(); // grab a value, initially from half-open [0.0f, 1.0f)
-			if (includeOne && nextBoolean())
-				d += 1.0f; // if includeOne, with 1/2 probability, push to [1.0f, 2.0f)
-		} while ((d > 1.0f) || // everything above 1.0f is always invalid
-				(!includeZero && d == 0.0f)); // if we're not including zero, 0.0f is invalid
-		return d;
+		if (includeZero) {
+			if (includeOne) {
+				// Round 25 bits to 24 bits. 0 and 1 are hit with half the probability
+				return (((nextInt() >>> 7) + 1) >>> 1) * FLOAT_UNIT;
+			}
+			return nextFloat();
+		}
+		if (includeOne) {
+			return 1 - nextFloat();
+		}
+		// Midpoints of the 2^-23 grid
+		return ((nextInt() >>> 9) + 0.5f) * (2 * FLOAT_UNIT);
 	}
 
 	@Override
 	public double nextDouble(boolean includeZero, boolean includeOne) {
-		double d = 0.0;
-		do {
-			d = nextDouble(); // grab a value, initially from half-open [0.0, 1.0)
-			if (includeOne && nextBoolean())
-				d += 1.0; // if includeOne, with 1/2 probability, push to [1.0, 2.0)
-		} while ((d > 1.0) || // everything above 1.0 is always invalid
-				(!includeZero && d == 0.0)); // if we're not including zero, 0.0 is invalid
-		return d;
+		if (includeZero) {
+			if (includeOne) {
+				// Round 54 bits to 53 bits. 0 and 1 are hit with half the probability
+				return (((nextLong() >>> 10) + 1) >>> 1) * DOUBLE_UNIT;
+			}
+			return nextDouble();
+		}
+		if (includeOne) {
+			return 1 - nextDouble();
+		}
+		// Midpoints of the 2^-52 grid
+		return ((nextLong() >>> 12) + 0.5) * (2 * DOUBLE_UNIT);
+	}
+
+	@Override
+	public double nextDouble(double origin, double bound) {
+		return Pcg.super.nextDouble(origin, bound);
+	}
+
+	/**
+	 * Returns the next pseudorandom, Gaussian ("normally") distributed
+	 * {@code double} value with mean {@code 0.0} and standard deviation
+	 * {@code 1.0} from this random number generator's sequence.
+	 * <p>
+	 * Opposed to {@link java.util.Random} the value is computed by the ziggurat
+	 * method and no second value is cached.
+	 * 
+	 * @return the next pseudorandom, Gaussian ("normally") distributed
+	 *         {@code double} value
+	 * @see NormalSampler
+	 */
+	@Override
+	public double nextGaussian() {
+		return NormalSampler.standard(nextLong(), this);
 	}
 
 	/*
@@ -336,23 +424,14 @@ public abstract class RandomBase64 extends Random implements Pcg {
 	 * could also provide package visbility or use reflection
 	 */
 	/**
-	 * Return a random 64 bit seed ensuring uniqueness by using a xorshift64* shift
-	 * algorithm. This implementation is thread safe.
+	 * Return a random 64 bit seed ensuring uniqueness. This implementation is
+	 * thread safe and lock free.
 	 * 
 	 * @return a unique seed
+	 * @see SeedSource#nextSeed()
 	 */
 	protected static long getRandomSeed() {
-		// xorshift64*
-		for (;;) {
-			long current = UNIQUE_SEED.get();
-			long next = current;
-			next ^= next >> 12;
-			next ^= next << 25; // b
-			next ^= next >> 27; // c
-			next *= 0x2545F4914F6CDD1DL;
-			if (UNIQUE_SEED.compareAndSet(current, next))
-				return next;
-		}
+		return SeedSource.nextSeed();
 	}
 
 	// Below add some support for fast instances which almost always do not rely on
@@ -364,6 +443,33 @@ public abstract class RandomBase64 extends Random implements Pcg {
 		return MULT_64;
 	}
 
+	/**
+	 * Write the lcg state followed by the increment.
+	 * 
+	 * @see StateCodec
+	 */
+	@Override
+	public void writeExternal(ObjectOutput out) throws IOException {
+		StateCodec.write(this, out);
+	}
+
+	/**
+	 * Restore the lcg state and increment written by
+	 * {@link #writeExternal(ObjectOutput)}.
+	 * 
+	 * @throws InvalidObjectException if the increment is even
+	 */
+	@Override
+	public void readExternal(ObjectInput in) throws IOException {
+		long state = in.readLong();
+		long increment = in.readLong();
+		if ((increment & 1) == 0) {
+			throw new InvalidObjectException("Increment has to be odd. Value: " + increment);
+		}
+		setInc(increment);
+		setState(state);
+	}
+
 	/**
 	 * Set the internal state of the pcg. This method is used during the seeding
 	 * process of this class and therefore, it is most likely is never correct to
@@ -0,0 +1,94 @@
+package com.github.kilianB.pcg;
+
+/**
+ * Source of unique seeds used by the non argument constructors of the
+ * generators.
+ * <p>
+ *
+ * Seeds are derived from a Weyl sequence stored in {@link Pcg#UNIQUE_SEED}.
+ * Each request advances the sequence with a single
+ * {@link java.util.concurrent.atomic.AtomicLong#getAndAdd(long) getAndAdd}
+ * which opposed to a compare and set loop never has to retry if multiple
+ * threads create generators at the same time. The raw Weyl value is scrambled
+ * by the SplitMix64 finalizer.
+ * <p>
+ *
+ * Both scrambling functions are bijections. As the Weyl sequence does not
+ * repeat itself in 2<sup>64</sup> steps every value returned by
+ * {@link #nextUnique()} maps to a distinct seed. Stream numbers only keep 63
+ * bits and are distinct for any 2<sup>63</sup> consecutive values, Weyl values
+ * 2<sup>63</sup> steps apart share a stream. Generators created less than
+ * 2<sup>63</sup> requests apart are therefore guaranteed to use different
+ * streams.
+ *
+ * @author Kilian
+ * @see <a href="http://dx.doi.org/10.1145/2714064.2660195">Fast splittable
+ *      pseudorandom number generators</a>
+ */
+public final class SeedSource {
+
+	/** Odd Weyl increment. 2^64 divided by the golden ratio */
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	/** Mask of the 63 bits used as stream number */
+	private static final long MASK_63 = Long.MAX_VALUE;
+
+	private SeedSource() {
+	}
+
+	/**
+	 * Advance the shared Weyl sequence and return the value. The value should not
+	 * be used directly but passed to {@link #seed(long)} and
+	 * {@link #streamNumber(long)}. This method is thread safe and lock free.
+	 *
+	 * @return a value not returned by any other invocation of this method
+	 */
+	public static long nextUnique() {
+		return Pcg.UNIQUE_SEED.getAndAdd(GOLDEN_GAMMA);
+	}
+
+	/**
+	 * Return a random 64 bit seed. This implementation is thread safe and lock
+	 * free.
+	 *
+	 * @return a unique seed
+	 */
+	public static long nextSeed() {
+		return seed(nextUnique());
+	}
+
+	/**
+	 * Derive a seed from a value returned by {@link #nextUnique()}.
+	 *
+	 * @param unique value returned by {@link #nextUnique()}
+	 * @return the seed
+	 */
+	public static long seed(long unique) {
+		// SplitMix64 finalizer (variant 13 by D. Stafford)
+		long z = unique;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Derive a stream number from a value returned by {@link #nextUnique()}. Only
+	 * the lower 63 bits are set. The increment of the lcg is computed by
+	 * <code>streamNumber * 2 + 1</code>, therefore, unique values which differ in
+	 * their lower 63 bits result in distinct increments.
+	 *
+	 * @param unique value returned by {@link #nextUnique()}
+	 * @return the stream number in the range [0, 2<sup>63</sup>)
+	 */
+	public static long streamNumber(long unique) {
+		// The Weyl increment is odd and therefore also full period modulo 2^63.
+		// Every step below is a bijection on 63 bits.
+		long z = unique & MASK_63;
+		z ^= z >>> 31;
+		z = (z * 0xBF58476D1CE4E5B9L) & MASK_63;
+		z ^= z >>> 29;
+		z = (z * 0x94D049BB133111EBL) & MASK_63;
+		return z ^ (z >>> 32);
+	}
+
+}
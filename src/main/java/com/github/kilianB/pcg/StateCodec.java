@@ -0,0 +1,242 @@
+package com.github.kilianB.pcg;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Compact binary snapshots of pcg generators. The complete state of a
+ * generator is given by the 64 bit lcg state and the 64 bit increment, a
+ * snapshot therefore occupies {@value #BYTES} bytes regardless of the
+ * generator family. No reflection, class descriptors or synchronization
+ * objects are involved. <p>
+ *
+ * The snapshot consists of {@link Pcg#getState()} followed by
+ * {@link Pcg#getInc()}. Values are written in the byte order of the buffer
+ * respectively in big endian order for {@link DataOutput}. The class of the
+ * generator is not part of the snapshot. A generator is restored by passing a
+ * prototype of the desired class whose {@link Pcg#copy(long, long)} method
+ * constructs the instance. <p>
+ *
+ * Generators returning true for {@link Pcg#isFast()} output the state after
+ * the lcg step and lag one step behind the other families. Their state is
+ * stored advanced by one step and moved back when restored into a fast
+ * generator. A snapshot of any family therefore restores into a generator of a
+ * different family with the same output function producing the same sequence.
+ * <p>
+ *
+ * Only the lcg is captured. Bits buffered by
+ * {@link com.github.kilianB.pcg.fast.PcgRSBuffered PcgRSBuffered} are
+ * discarded, generators of the <code>java.util.Random</code> based families
+ * fully retain their state via their <code>Externalizable</code>
+ * implementation. <p>
+ *
+ * State and increment are read by two separate calls. Snapshots of generators
+ * concurrently reseeded by another thread may be inconsistent.
+ *
+ * <pre>
+ * <code>
+ * ByteBuffer checkpoint = ByteBuffer.allocate(rngs.length * StateCodec.BYTES);
+ * StateCodec.write(rngs, 0, rngs.length, checkpoint);
+ * checkpoint.flip();
+ * PcgRSFast[] restored = new PcgRSFast[rngs.length];
+ * StateCodec.read(checkpoint, restored, 0, restored.length, new PcgRSFast());
+ * </code>
+ * </pre>
+ *
+ * @author Kilian
+ */
+public final class StateCodec {
+
+	/** Size of a snapshot in bytes */
+	public static final int BYTES = 16;
+
+	/** Multiplier of the lcg */
+	private static final long MULT_64 = 6364136223846793005L;
+
+	/** Multiplicative inverse of the multiplier modulo 2^64 */
+	private static final long MULT_64_INVERSE = -4568919932995229531L;
+
+	private StateCodec() {
+	}
+
+	/**
+	 * Write the snapshot of the generator at the current position of the buffer.
+	 *
+	 * @param rng the generator to capture. The generator is not altered
+	 * @param dst the buffer receiving {@value #BYTES} bytes
+	 * @throws BufferOverflowException if less than {@value #BYTES} bytes are
+	 *                                 remaining
+	 */
+	public static void write(Pcg rng, ByteBuffer dst) {
+		dst.putLong(state(rng));
+		dst.putLong(rng.getInc());
+	}
+
+	/**
+	 * Write the snapshots of the generators in [from, to) consecutively at the
+	 * current position of the buffer.
+	 *
+	 * @param rngs the generators to capture. The generators are not altered
+	 * @param from the first index, inclusive
+	 * @param to   the last index, exclusive
+	 * @param dst  the buffer receiving <code>(to - from) * BYTES</code> bytes
+	 * @throws BufferOverflowException if the buffer can not hold all snapshots
+	 */
+	public static void write(Pcg[] rngs, int from, int to, ByteBuffer dst) {
+		checkRange(rngs.length, from, to);
+		if (dst.remaining() < (long) (to - from) * BYTES) {
+			throw new BufferOverflowException();
+		}
+		for (int i = from; i < to; i++) {
+			dst.putLong(state(rngs[i]));
+			dst.putLong(rngs[i].getInc());
+		}
+	}
+
+	/**
+	 * Write the snapshot of the generator to the output.
+	 *
+	 * @param rng the generator to capture. The generator is not altered
+	 * @param out the output receiving {@value #BYTES} bytes
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void write(Pcg rng, DataOutput out) throws IOException {
+		out.writeLong(state(rng));
+		out.writeLong(rng.getInc());
+	}
+
+	/**
+	 * @param rng the generator to capture. The generator is not altered
+	 * @return the snapshot of the generator in big endian byte order
+	 */
+	public static byte[] toBytes(Pcg rng) {
+		byte[] bytes = new byte[BYTES];
+		write(rng, ByteBuffer.wrap(bytes));
+		return bytes;
+	}
+
+	/**
+	 * Read a snapshot at the current position of the buffer and create a
+	 * generator in this state.
+	 *
+	 * @param <T>       the class of the restored generator
+	 * @param src       the buffer containing at least {@value #BYTES} remaining
+	 *                  bytes
+	 * @param prototype generator whose {@link Pcg#copy(long, long)} creates the
+	 *                  restored instance. The prototype is not altered
+	 * @return a generator in the captured state
+	 * @throws BufferUnderflowException if less than {@value #BYTES} bytes are
+	 *                                  remaining
+	 * @throws IllegalArgumentException if the snapshot contains an even
+	 *                                  increment
+	 * @throws UnsupportedOperationException if the prototype does not override
+	 *                                       {@link Pcg#copy(long, long)}
+	 */
+	public static <T> T read(ByteBuffer src, Pcg prototype) {
+		long state = src.getLong();
+		return restore(prototype, state, src.getLong());
+	}
+
+	/**
+	 * Read consecutive snapshots at the current position of the buffer into the
+	 * slots [from, to) of the array.
+	 *
+	 * @param <T>       the class of the restored generators
+	 * @param src       the buffer containing at least
+	 *                  <code>(to - from) * BYTES</code> remaining bytes
+	 * @param dst       the array receiving the restored generators
+	 * @param from      the first index, inclusive
+	 * @param to        the last index, exclusive
+	 * @param prototype generator whose {@link Pcg#copy(long, long)} creates the
+	 *                  restored instances. The prototype is not altered
+	 * @throws BufferUnderflowException if the buffer does not contain all
+	 *                                  snapshots
+	 * @throws IllegalArgumentException if a snapshot contains an even increment
+	 * @throws UnsupportedOperationException if the prototype does not override
+	 *                                       {@link Pcg#copy(long, long)}
+	 */
+	public static <T> void read(ByteBuffer src, T[] dst, int from, int to, Pcg prototype) {
+		checkRange(dst.length, from, to);
+		if (src.remaining() < (long) (to - from) * BYTES) {
+			throw new BufferUnderflowException();
+		}
+		for (int i = from; i < to; i++) {
+			long state = src.getLong();
+			dst[i] = restore(prototype, state, src.getLong());
+		}
+	}
+
+	/**
+	 * Read a snapshot from the input and create a generator in this state.
+	 *
+	 * @param <T>       the class of the restored generator
+	 * @param in        the input to read {@value #BYTES} bytes from
+	 * @param prototype generator whose {@link Pcg#copy(long, long)} creates the
+	 *                  restored instance. The prototype is not altered
+	 * @return a generator in the captured state
+	 * @throws IOException              if an I/O error occurs or the input ends
+	 *                                  prematurely
+	 * @throws IllegalArgumentException if the snapshot contains an even increment
+	 * @throws UnsupportedOperationException if the prototype does not override
+	 *                                       {@link Pcg#copy(long, long)}
+	 */
+	public static <T> T read(DataInput in, Pcg prototype) throws IOException {
+		long state = in.readLong();
+		return restore(prototype, state, in.readLong());
+	}
+
+	/**
+	 * @param <T>       the class of the restored generator
+	 * @param bytes     a snapshot created by {@link #toBytes(Pcg)}
+	 * @param prototype generator whose {@link Pcg#copy(long, long)} creates the
+	 *                  restored instance. The prototype is not altered
+	 * @return a generator in the captured state
+	 * @throws IllegalArgumentException if the array does not contain exactly
+	 *                                  {@value #BYTES} bytes or the snapshot
+	 *                                  contains an even increment
+	 * @throws UnsupportedOperationException if the prototype does not override
+	 *                                       {@link Pcg#copy(long, long)}
+	 */
+	public static <T> T fromBytes(byte[] bytes, Pcg prototype) {
+		if (bytes.length != BYTES) {
+			throw new IllegalArgumentException("A snapshot consists of " + BYTES + " bytes. Length: " + bytes.length);
+		}
+		return read(ByteBuffer.wrap(bytes), prototype);
+	}
+
+	/**
+	 * @param rng the generator to capture
+	 * @return the state of the non fast families producing the same next value
+	 */
+	private static long state(Pcg rng) {
+		long state = rng.getState();
+		return rng.isFast() ? state * MULT_64 + rng.getInc() : state;
+	}
+
+	private static <T> T restore(Pcg prototype, long state, long increment) {
+		checkIncrement(increment);
+		if (prototype.isFast()) {
+			// Inverse of the lcg step
+			state = (state - increment) * MULT_64_INVERSE;
+		}
+		return prototype.copy(state, increment);
+	}
+
+	private static long checkIncrement(long increment) {
+		if ((increment & 1) == 0) {
+			throw new IllegalArgumentException("Snapshot contains an even increment: " + increment);
+		}
+		return increment;
+	}
+
+	private static void checkRange(int length, int from, int to) {
+		if (from < 0 || to > length || from > to) {
+			throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + length);
+		}
+	}
+
+}
@@ -0,0 +1,159 @@
+package com.github.kilianB.pcg;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Unsigned arithmetic helpers used to map random bits onto bounded ranges. <p>
+ *
+ * The bounded draws of all generators are implemented here using Lemire's
+ * multiply and shift method. 64 bit ranges use the
+ * <code>Math.multiplyHigh</code> intrinsic if the runtime provides it (Java
+ * 9+) and the emulated {@link #multiplyHigh(long, long)} otherwise. Both
+ * return the same value, the sequences do not depend on the runtime.
+ *
+ * @author Kilian
+ */
+public final class UnsignedMath {
+
+	private static final long LOW_MASK = 0xFFFFFFFFL;
+
+	/** Math.multiplyHigh of Java 9+ or null */
+	private static final MethodHandle MULTIPLY_HIGH;
+
+	static {
+		MethodHandle multiplyHigh;
+		try {
+			multiplyHigh = MethodHandles.publicLookup().findStatic(Math.class, "multiplyHigh",
+					MethodType.methodType(long.class, long.class, long.class));
+		} catch (ReflectiveOperationException e) {
+			multiplyHigh = null;
+		}
+		MULTIPLY_HIGH = multiplyHigh;
+	}
+
+	private UnsignedMath() {
+	}
+
+	/**
+	 * @return true if the high word of 64 bit products is computed by
+	 *         <code>Math.multiplyHigh</code>, false if it is emulated. Only a
+	 *         matter of speed, the results are identical
+	 */
+	public static boolean isMultiplyHighIntrinsic() {
+		return MULTIPLY_HIGH != null;
+	}
+
+	/**
+	 * Map uniformly distributed ints onto [0, n) using Lemire's multiply and shift
+	 * method. Unless the lower word of the product falls into the biased region,
+	 * which happens with a probability below n / 2<sup>32</sup>, a single int is
+	 * drawn and no division is performed.
+	 *
+	 * @param bits
+	 *            source of uniformly distributed ints
+	 * @param n
+	 *            the exclusive upper bound in [1, 2<sup>32</sup>)
+	 * @return a value in [0, n)
+	 */
+	public static int boundedInt(IntSupplier bits, long n) {
+		long m = (bits.getAsInt() & LOW_MASK) * n;
+		long l = m & LOW_MASK;
+		if (l < n) {
+			// 2^32 mod n values of the lower word map to a value one time too often
+			long t = (1L << 32) % n;
+			while (l < t) {
+				m = (bits.getAsInt() & LOW_MASK) * n;
+				l = m & LOW_MASK;
+			}
+		}
+		return (int) (m >>> 32);
+	}
+
+	/**
+	 * Map uniformly distributed longs onto [0, n) using Lemire's multiply and
+	 * shift method. A remainder is only computed if the lower word of the product
+	 * falls below n, which happens with a probability of n / 2<sup>64</sup>.
+	 *
+	 * @param bits
+	 *            source of uniformly distributed longs
+	 * @param n
+	 *            the exclusive upper bound interpreted as unsigned value. Must not
+	 *            be 0
+	 * @return a value in [0, n) interpreted as unsigned value
+	 */
+	public static long boundedLong(LongSupplier bits, long n) {
+		return boundedLongLemire(bits, n, MULTIPLY_HIGH != null);
+	}
+
+	/**
+	 * Lemire's multiply and shift method for 64 bit ranges.
+	 *
+	 * @param bits
+	 *            source of uniformly distributed longs
+	 * @param n
+	 *            the exclusive upper bound interpreted as unsigned value. Must not
+	 *            be 0
+	 * @param intrinsic
+	 *            compute the high word by <code>Math.multiplyHigh</code>. Requires
+	 *            {@link #isMultiplyHighIntrinsic()}
+	 * @return a value in [0, n) interpreted as unsigned value
+	 */
+	static long boundedLongLemire(LongSupplier bits, long n, boolean intrinsic) {
+		long x = bits.getAsLong();
+		long l = x * n;
+		if (Long.compareUnsigned(l, n) < 0) {
+			long t = Long.remainderUnsigned(-n, n);
+			while (Long.compareUnsigned(l, t) < 0) {
+				x = bits.getAsLong();
+				l = x * n;
+			}
+		}
+		return intrinsic ? multiplyHighIntrinsic(x, n) : multiplyHigh(x, n);
+	}
+
+	/**
+	 * Unsigned high word through the signed <code>Math.multiplyHigh</code>.
+	 * Callers have to check {@link #isMultiplyHighIntrinsic()}.
+	 */
+	private static long multiplyHighIntrinsic(long x, long y) {
+		long high;
+		try {
+			high = (long) MULTIPLY_HIGH.invokeExact(x, y);
+		} catch (Throwable t) {
+			throw new AssertionError(t);
+		}
+		// Correct the signed product for operands with the sign bit set
+		return high + ((x >> 63) & y) + ((y >> 63) & x);
+	}
+
+	/**
+	 * Returns the upper 64 bits of the unsigned 128 bit product of two longs. <p>
+	 *
+	 * The library targets Java 8 which lacks <code>Math.multiplyHigh</code>,
+	 * therefore, the product is assembled from four 32 bit multiplications. The
+	 * JIT compiles this to a handful of instructions.
+	 *
+	 * @param x
+	 *            the first value interpreted as unsigned
+	 * @param y
+	 *            the second value interpreted as unsigned
+	 * @return the high word of the unsigned product x * y
+	 */
+	public static long multiplyHigh(long x, long y) {
+		long x0 = x & LOW_MASK;
+		long x1 = x >>> 32;
+		long y0 = y & LOW_MASK;
+		long y1 = y >>> 32;
+
+		long p01 = x0 * y1;
+		long p10 = x1 * y0;
+		// Sum of three 32 bit values can't overflow
+		long mid = ((x0 * y0) >>> 32) + (p01 & LOW_MASK) + (p10 & LOW_MASK);
+		return x1 * y1 + (p01 >>> 32) + (p10 >>> 32) + (mid >>> 32);
+	}
+
+}
@@ -40,10 +40,10 @@ public class PcgRRCas extends RandomBaseCAS {
 	private static final long serialVersionUID = 1L;
 
 	/**
-	 * Create a cas synchronized PcgRR instance seeded with with 2 longs generated
-	 * by xorshift*. The values chosen are very likely not used as seeds in any
-	 * other non argument constructor of any of the classes provided in this
-	 * library.
+	 * Create a cas synchronized PcgRR instance seeded with a unique seed and
+	 * stream number obtained from the {@link com.github.kilianB.pcg.SeedSource}.
+	 * Instances created by the non argument constructors of this library are
+	 * guaranteed to use distinct streams.
 	 */
 	public PcgRRCas() {
 		super();
@@ -72,10 +72,9 @@ public class PcgRRCas extends RandomBaseCAS {
 	}
 
 	/**
-	 * Copy constructor. <b>Has</b> to be implemented in all inheriting instances.
-	 * This will be invoked through reflection! when calling {@link #split()} or
-	 * {@link #splitDistinct()} If no special behavior is desired simply pass though
-	 * the values.
+	 * Copy constructor. Invoked by {@link #copy(long, long)} when calling
+	 * {@link #copy()}, {@link #split()} or {@link #splitDistinct()}. If no special
+	 * behavior is desired simply pass though the values.
 	 * 
 	 * This constructor should usually not be called manually as the seed and
 	 * increment will just be set without performing any randomization.
@@ -92,6 +91,15 @@ public class PcgRRCas extends RandomBaseCAS {
 		super(seed, streamNumber, true);
 	}
 
+	@Override
+	@SuppressWarnings({ "unchecked", "deprecation" })
+	public <T> T copy(long state, long increment) {
+		if (getClass() == PcgRRCas.class) {
+			return (T) new PcgRRCas(state, increment, true);
+		}
+		return super.copy(state, increment);
+	}
+
 	@Override
 	protected int getInt(long state) {
 		// Permuted output function
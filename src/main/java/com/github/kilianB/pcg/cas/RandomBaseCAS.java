@@ -48,8 +48,9 @@ public abstract class RandomBaseCAS extends RandomBase64 implements Pcg{
 	protected long inc;
 
 	/**
-	 * Seeds the generator with 2 longs generated by xorshift*. The values choosen
-	 * are very likely not used in any other invocation of this constructor.
+	 * Seeds the generator with a seed and stream number obtained from the
+	 * SeedSource. Instances created by this constructor are guaranteed to use
+	 * distinct streams.
 	 */
 	public RandomBaseCAS() {
 		super();
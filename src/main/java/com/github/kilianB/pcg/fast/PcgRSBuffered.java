@@ -0,0 +1,212 @@
+package com.github.kilianB.pcg.fast;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+/**
+ * A {@link PcgRSFast} which caches the unused bits of each 32 bit output. <p>
+ *
+ * {@link PcgRSFast#nextBoolean()} performs a full lcg step and keeps a single
+ * of the 32 output bits, {@link PcgRSFast#nextByte()} and
+ * {@link PcgRSFast#nextShort()} discard 24 and 16 bits. This generator keeps
+ * the remaining bits of the output in a buffer and serves the next sub word
+ * draws from it. A single step yields 32 booleans, 4 bytes or 2 shorts and
+ * chars. Booleans, bytes, shorts and chars share the buffer and consume it from
+ * the most significant bit downwards. If less bits are left than requested the
+ * remaining bits are discarded and a new output is drawn. <p>
+ *
+ * <b>Stream mode</b> The generator is a separate stream mode. Given the same
+ * seed, stream number and sequence of calls the output is reproducible, but
+ * booleans, bytes, shorts, chars and {@link #nextBytes(byte[])} do not match
+ * the values produced by a {@link PcgRSFast} with the same seed. All other
+ * methods draw directly from the lcg, are identical to the values of a
+ * PcgRSFast in the same state and leave the buffer untouched. <p>
+ *
+ * {@link #advance(long)}, {@link #distance(com.github.kilianB.pcg.Pcg)} and
+ * {@link #getState()} refer to the lcg steps and do not account for buffered
+ * bits. Advancing the generator and reseeding it discard the buffer.
+ * {@link #copy()} and {@link #split()} copy the buffer, the generator created
+ * by {@link #copy(long, long)} starts with an empty buffer. Serialization
+ * retains the buffer. <p>
+ *
+ * This implementation is <b>Not</b> thread safe.
+ *
+ * @author Kilian
+ * @see PcgRSFast
+ */
+public class PcgRSBuffered extends PcgRSFast {
+
+	private static final long serialVersionUID = 2975126431466237013L;
+
+	private static final long MULT_64 = 6364136223846793005L;
+
+	/** Unused output bits aligned to the most significant bit */
+	private int buffer;
+
+	/** Amount of valid bits in the buffer */
+	private int bufferedBits;
+
+	/**
+	 * Create a PcgRSBuffered instance seeded with a seed and stream number
+	 * obtained from the {@link com.github.kilianB.pcg.SeedSource}. Instances
+	 * created by this constructor are guaranteed to use distinct streams.
+	 */
+	public PcgRSBuffered() {
+		super();
+	}
+
+	/**
+	 * Create a random number generator with the given seed and stream number.
+	 *
+	 * @param seed         used to compute the starting state of the RNG
+	 * @param streamNumber used to compute the increment for the lcg.
+	 * @see PcgRSFast#PcgRSFast(long, long)
+	 */
+	public PcgRSBuffered(long seed, long streamNumber) {
+		super(seed, streamNumber);
+	}
+
+	protected PcgRSBuffered(long initialState, long increment, boolean dummy) {
+		super(initialState, increment, dummy);
+	}
+
+	@Override
+	public void setSeed(long seed, long streamNumber) {
+		super.setSeed(seed, streamNumber);
+		bufferedBits = 0;
+	}
+
+	@Override
+	public void advance(long steps) {
+		super.advance(steps);
+		bufferedBits = 0;
+	}
+
+	@Override
+	public boolean nextBoolean() {
+		if (bufferedBits == 0) {
+			state = (state * MULT_64) + inc;
+			buffer = (int) (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+			bufferedBits = 32;
+		}
+		boolean b = buffer < 0;
+		buffer <<= 1;
+		bufferedBits--;
+		return b;
+	}
+
+	@Override
+	public byte nextByte() {
+		if (bufferedBits < 8) {
+			state = (state * MULT_64) + inc;
+			buffer = (int) (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+			bufferedBits = 32;
+		}
+		byte b = (byte) (buffer >>> 24);
+		buffer <<= 8;
+		bufferedBits -= 8;
+		return b;
+	}
+
+	/**
+	 * Fill the array with random bytes. Four bytes are taken from each output of
+	 * the lcg. The bytes are drawn from the buffer first, therefore, filling an
+	 * array is equivalent to calling {@link #nextByte()} for each element.
+	 */
+	@Override
+	public void nextBytes(byte[] b) {
+		int i = 0;
+		for (; i < b.length && bufferedBits >= 8; i++) {
+			b[i] = (byte) (buffer >>> 24);
+			buffer <<= 8;
+			bufferedBits -= 8;
+		}
+		for (; i + 4 <= b.length; i += 4) {
+			state = (state * MULT_64) + inc;
+			int x = (int) (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+			b[i] = (byte) (x >>> 24);
+			b[i + 1] = (byte) (x >>> 16);
+			b[i + 2] = (byte) (x >>> 8);
+			b[i + 3] = (byte) x;
+		}
+		for (; i < b.length; i++) {
+			b[i] = nextByte();
+		}
+	}
+
+	@Override
+	public char nextChar() {
+		return (char) nextShort();
+	}
+
+	@Override
+	public short nextShort() {
+		if (bufferedBits < 16) {
+			state = (state * MULT_64) + inc;
+			buffer = (int) (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+			bufferedBits = 32;
+		}
+		short s = (short) (buffer >>> 16);
+		buffer <<= 16;
+		bufferedBits -= 16;
+		return s;
+	}
+
+	/**
+	 * Write the lcg state, the increment and the buffered bits.
+	 */
+	@Override
+	public void writeExternal(ObjectOutput out) throws IOException {
+		super.writeExternal(out);
+		out.writeInt(buffer);
+		out.writeInt(bufferedBits);
+	}
+
+	/**
+	 * Restore the state written by {@link #writeExternal(ObjectOutput)}.
+	 * 
+	 * @throws InvalidObjectException if the increment is even or the amount of
+	 *                                buffered bits is not in [0, 32]
+	 */
+	@Override
+	public void readExternal(ObjectInput in) throws IOException {
+		super.readExternal(in);
+		int buffer = in.readInt();
+		int bufferedBits = in.readInt();
+		if (bufferedBits < 0 || bufferedBits > 32) {
+			throw new InvalidObjectException("Buffered bits have to be in [0, 32]. Value: " + bufferedBits);
+		}
+		this.buffer = buffer;
+		this.bufferedBits = bufferedBits;
+	}
+
+	/**
+	 * @return the amount of bits which are served before the next lcg step is
+	 *         performed
+	 */
+	public int getBufferedBits() {
+		return bufferedBits;
+	}
+
+	@Override
+	public <T> T copy() {
+		PcgRSBuffered copy = copy(getState(), getInc());
+		copy.buffer = buffer;
+		copy.bufferedBits = bufferedBits;
+		@SuppressWarnings("unchecked")
+		T t = (T) copy;
+		return t;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T copy(long state, long increment) {
+		if (getClass() == PcgRSBuffered.class) {
+			return (T) new PcgRSBuffered(state, increment, true);
+		}
+		return super.copy(state, increment);
+	}
+
+}
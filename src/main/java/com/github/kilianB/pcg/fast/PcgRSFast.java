@@ -1,9 +1,19 @@
 package com.github.kilianB.pcg.fast;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Random;
+import java.util.stream.IntStream;
 
 import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.SeedSource;
+import com.github.kilianB.pcg.StateCodec;
+import com.github.kilianB.pcg.UnsignedMath;
+import com.github.kilianB.pcg.sampler.NormalSampler;
 
 /**
  * A 64 bit State PcgRNG with 32 bit output. PCG-XSH-RR <p>
@@ -30,11 +40,14 @@ import com.github.kilianB.pcg.Pcg;
  * While the basic methods to retrieve datatypes are implemented no guarantee is made
  * regarding the stream and splitterator methods provided by the Random class. Additional 
  * tests have to be performed if they impact the internal state of this class in a harmful way.
+ * <p>
+ * 
+ * Instances are {@link Externalizable} and only serialize the lcg state and increment.
  * 
  * @author Kilian
  * @see <a href="http://www.pcg-random.org/">www.pcg-random.org</a>
  */
-public class PcgRSFast extends Random implements Pcg {
+public class PcgRSFast extends Random implements Pcg, Externalizable {
 
 	private static final long serialVersionUID = -4257915988930727506L;
 
@@ -49,24 +62,25 @@ public class PcgRSFast extends Random implements Pcg {
 	private static final float FLOAT_UNIT = (float) (1 << 24);
 	private static final long INTEGER_MASK = 0xFFFFFFFFL;
 
+	/** Amount of values filled by each substream of the parallel bulk methods */
+	private static final int PARALLEL_BLOCK_SIZE = 1 << 16;
+
 	// 64 version
 	/** 64 bit internal state */
 	protected long state;
 	/** Stream number of the rng. */
 	protected long inc;
 
-	private boolean gausAvailable;
-	private double nextGaus;
-
 	// private static final int INTEGER_MASK_SIGNED = 0xFFFFFFFF;
 
 	/**
-	 * Create a PcgRSFast instance seeded with with 2 longs generated by xorshift*. 
-	 * The values chosen are very likely not used as seeds in any other non argument constructor
-	 * of any of the classes provided in this library. 
+	 * Create a PcgRSFast instance seeded with a seed and stream number obtained
+	 * from the {@link SeedSource}. Instances created by this constructor are
+	 * guaranteed to use distinct streams.
 	 */
 	public PcgRSFast() {
-		this(getRandomSeed(), getRandomSeed());
+		long unique = SeedSource.nextUnique();
+		setSeed(SeedSource.seed(unique), SeedSource.streamNumber(unique));
 	}
 
 	/**
@@ -221,29 +235,47 @@ public class PcgRSFast extends Random implements Pcg {
 	/**
 	 * Returns a pseudorandom, uniformly distributed {@code int} value between 0
 	 * (inclusive) and the specified value (exclusive), drawn from this random
-	 * number generator's sequence.
+	 * number generator's sequence. <p>
+	 * 
+	 * Uses Lemire's multiply and shift method. Unless the lower word of the product
+	 * falls into the biased region, which happens with a probability below
+	 * n / 2<sup>32</sup>, a single step suffices and no division is performed.
 	 * 
 	 * @param n
 	 *            the upper bound (exclusive). Must be positive.
 	 * @return the next pseudorandom, uniformly distributed {@code int} value
 	 *         between zero (inclusive) and {@code bound} (exclusive) from this
 	 *         random number generator's sequence
+	 * @throws IllegalArgumentException
+	 *             if n is not positive
+	 * @see #nextIntLegacy(int)
 	 */
 	@Override
 	public int nextInt(int n) {
-		state = (state * MULT_64) + inc;
-		int r = (int) (((state >>> 22) ^ state) >>> ((state >>> 61) + 22)) >>> 1;	// Unsigned!
-		int m = n - 1;
-		if ((n & m) == 0)  // i.e., bound is a power of 2
-			r = (int) ((n * (long) r) >> 31);
-		else {
-			for (int u = r; u - (r = u % n) + m < 0;) {
-				state = (state * MULT_64) + inc;
-				u = (int) (((state >>> 22) ^ state) >>> ((state >>> 61) + 22)) >>> 1;
-			}
-		}
-		return r;
-	};
+		if (n <= 0)
+			throw new IllegalArgumentException("n must be positive, got: " + n);
+		return UnsignedMath.boundedInt(this::nextInt, n);
+	}
+
+	/**
+	 * Returns a pseudorandom, uniformly distributed {@code int} value between the
+	 * specified origin (inclusive) and the specified bound (exclusive).
+	 * 
+	 * @param origin
+	 *            the least value returned
+	 * @param bound
+	 *            the upper bound (exclusive)
+	 * @return a pseudorandom {@code int} value between the origin (inclusive) and
+	 *         the bound (exclusive)
+	 * @throws IllegalArgumentException
+	 *             if origin is greater than or equal to bound
+	 */
+	@Override
+	public int nextInt(int origin, int bound) {
+		if (origin >= bound)
+			throw new IllegalArgumentException("bound must be greater than origin, got: " + origin + " " + bound);
+		return origin + UnsignedMath.boundedInt(this::nextInt, (bound - origin) & INTEGER_MASK);
+	}
 
 	/**
 	 * Returns the next pseudorandom, uniformly distributed {@code boolean} value
@@ -297,25 +329,44 @@ public class PcgRSFast extends Random implements Pcg {
 		return (l << 32) + (int) j;
 	}
 
+	/**
+	 * Returns a pseudorandom, uniformly distributed {@code long} value between 0
+	 * (inclusive) and the specified value (exclusive) using Lemire's multiply and
+	 * shift method, see {@link UnsignedMath}.
+	 * 
+	 * @param n
+	 *            the upper bound (exclusive). Must be positive.
+	 * @return the next pseudorandom, uniformly distributed {@code long} value
+	 *         between zero (inclusive) and {@code n} (exclusive)
+	 * @throws IllegalArgumentException
+	 *             if n is not positive
+	 * @see #nextLongLegacy(long)
+	 */
 	@Override
 	public long nextLong(long n) {
-		if (n == 0)
-			throw new IllegalArgumentException("n has to be greater than 0");
-		
-		long bits;
-		long val;
-		do {
-			state = (state * MULT_64) + inc;
-			// No need to mask if we shift by 32 bits
-			long l = (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
-
-			state = (state * MULT_64) + inc;
-			long j = (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+		if (n <= 0)
+			throw new IllegalArgumentException("n must be positive, got: " + n);
+		return UnsignedMath.boundedLong(this::nextLong, n);
+	}
 
-			bits = ((l << 32) + (int) j >>> 1);
-			val = bits % n;
-		} while (bits - val + (n - 1) < 0);
-		return val;
+	/**
+	 * Returns a pseudorandom, uniformly distributed {@code long} value between the
+	 * specified origin (inclusive) and the specified bound (exclusive).
+	 * 
+	 * @param origin
+	 *            the least value returned
+	 * @param bound
+	 *            the upper bound (exclusive)
+	 * @return a pseudorandom {@code long} value between the origin (inclusive) and
+	 *         the bound (exclusive)
+	 * @throws IllegalArgumentException
+	 *             if origin is greater than or equal to bound
+	 */
+	@Override
+	public long nextLong(long origin, long bound) {
+		if (origin >= bound)
+			throw new IllegalArgumentException("bound must be greater than origin, got: " + origin + " " + bound);
+		return origin + UnsignedMath.boundedLong(this::nextLong, bound - origin);
 	}
 
 	public double nextDouble() {
@@ -326,28 +377,29 @@ public class PcgRSFast extends Random implements Pcg {
 				/ DOUBLE_MASK;
 	}
 
+	@Override
 	public double nextDouble(boolean includeZero, boolean includeOne) {
-		double d = 0.0;
-		do {
-			state = (state * MULT_64) + inc;
-			long l = ((((state >>> 22) ^ state) >>> ((state >>> 61) + 22))) & INTEGER_MASK;
-			state = (state * MULT_64) + inc;
-			d = (((l >>> 6) << 27) + (((((state >>> 22) ^ state) >>> ((state >>> 61) + 22)) & INTEGER_MASK) >>> 5))
-					/ DOUBLE_MASK;
-
-			// grab a value, initially from half-open [0.0, 1.0)
-			if (includeOne) {
-				// Only generate the boolean if it really is the case or we scramble the state
-				state = (state * MULT_64) + inc;
-				if ((((((state >>> 22) ^ state) >>> (state >>> 61) + 22) & INTEGER_MASK) >>> 31) != 0) {
-					d += 1.0;
-				}
-
-			}
+		if (includeZero && !includeOne) {
+			return nextDouble();
+		}
+		if (includeOne && !includeZero) {
+			return 1 - nextDouble();
+		}
+		state = (state * MULT_64) + inc;
+		long l = (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+		state = (state * MULT_64) + inc;
+		long x = (l << 32) + (int) (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+		if (includeZero) {
+			// Round 54 bits to 53 bits. 0 and 1 are hit with half the probability
+			return (((x >>> 10) + 1) >>> 1) * 0x1.0p-53;
+		}
+		// Midpoints of the 2^-52 grid
+		return ((x >>> 12) + 0.5) * 0x1.0p-52;
+	}
 
-		} while ((d > 1.0) ||                            // everything above 1.0 is always invalid
-				(!includeZero && d == 0.0));            // if we're not including zero, 0.0 is invalid
-		return d;
+	@Override
+	public double nextDouble(double origin, double bound) {
+		return Pcg.super.nextDouble(origin, bound);
 	}
 
 	public float nextFloat() {
@@ -356,53 +408,161 @@ public class PcgRSFast extends Random implements Pcg {
 
 	}
 
+	@Override
 	public float nextFloat(boolean includeZero, boolean includeOne) {
-		float d = 0.0f;
-		do {
-			state = (state * MULT_64) + inc;
-			d = (((((state >>> 22) ^ state) >>> ((state >>> 61) + 22)) & INTEGER_MASK) >>> 8) / FLOAT_UNIT; // grab a
-																											 // value,
-																											 // initially
-																											 // from
-																											 // half-open
-																											 // [0.0f,
-																											 // 1.0f)
-			if (includeOne) {
-				// Only generate the boolean if it really is the case or we scramble the state
-				state = (state * MULT_64) + inc;
-				if ((((((state >>> 22) ^ state) >>> (state >>> 61) + 22) & INTEGER_MASK) >>> 31) != 0) {
-					d += 1.0f;
-				}
-			}
-		} while ((d > 1.0f) || // everything above 1.0f is always invalid
-				(!includeZero && d == 0.0f)); // if we're not including zero, 0.0f is invalid
-		return d;
+		if (includeZero && !includeOne) {
+			return nextFloat();
+		}
+		if (includeOne && !includeZero) {
+			return 1 - nextFloat();
+		}
+		state = (state * MULT_64) + inc;
+		long x = (((state >>> 22) ^ state) >>> ((state >>> 61) + 22)) & INTEGER_MASK;
+		if (includeZero) {
+			// Round 25 bits to 24 bits. 0 and 1 are hit with half the probability
+			return (((x >>> 7) + 1) >>> 1) * 0x1.0p-24f;
+		}
+		// Midpoints of the 2^-23 grid
+		return ((x >>> 9) + 0.5f) * 0x1.0p-23f;
 	}
 
+	/**
+	 * Returns the next pseudorandom, Gaussian ("normally") distributed
+	 * {@code double} value with mean {@code 0.0} and standard deviation
+	 * {@code 1.0} from this random number generator's sequence.
+	 * <p>
+	 * Opposed to {@link java.util.Random} the value is computed by the ziggurat
+	 * method and no second value is cached.
+	 * 
+	 * @return the next pseudorandom, Gaussian ("normally") distributed
+	 *         {@code double} value
+	 * @see NormalSampler
+	 */
+	@Override
 	public double nextGaussian() {
-		// Borrowed from https://cs.gmu.edu/~sean/research/mersenne/MersenneTwister.java
+		state = (state * MULT_64) + inc;
+		long l = (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+		state = (state * MULT_64) + inc;
+		long j = (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+		return NormalSampler.standard((l << 32) + (int) j, this);
+	}
 
-		// Shall we go atomic? the issue is after setting and returning a 2nd thread
-		// could create
-		// a new gaus making the following call return the same value. But for now we
-		// don't care
-		// about thread safety anyways
-		if (gausAvailable) {
-			gausAvailable = false;
-			return nextGaus;
-		} else {
-			double v1;
-			double v2;
-			double s;
-			do {
-				v1 = 2 * nextDouble() - 1; // between -1.0 and 1.0
-				v2 = 2 * nextDouble() - 1; // between -1.0 and 1.0
-				s = v1 * v1 + v2 * v2;
-			} while (s >= 1 || s == 0);
-			double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
-			nextGaus = v2 * multiplier;
-			gausAvailable = true;
-			return v1 * multiplier;
+	/**
+	 * Fill the array with normal distributed values. Produces the same values as
+	 * calling <code>mean + standardDeviation * nextGaussian()</code> for each
+	 * element but avoids the per call overhead.
+	 * 
+	 * @param dst
+	 *            the array to fill
+	 * @param mean
+	 *            of the distribution
+	 * @param standardDeviation
+	 *            of the distribution
+	 */
+	public void nextGaussians(double[] dst, double mean, double standardDeviation) {
+		nextGaussians(dst, 0, dst.length, mean, standardDeviation);
+	}
+
+	/**
+	 * Fill the array with normal distributed values. Produces the same values as
+	 * calling <code>(float) (mean + standardDeviation * nextGaussian())</code> for
+	 * each element but avoids the per call overhead.
+	 * 
+	 * @param dst
+	 *            the array to fill
+	 * @param mean
+	 *            of the distribution
+	 * @param standardDeviation
+	 *            of the distribution
+	 */
+	public void nextGaussians(float[] dst, double mean, double standardDeviation) {
+		nextGaussians(dst, 0, dst.length, mean, standardDeviation);
+	}
+
+	/**
+	 * Fill the array with normal distributed values using all available cores.
+	 * <p>
+	 * 
+	 * The array is partitioned into blocks of fixed size. The n-th block is
+	 * filled by {@link #substream(long) substream(n)} of this generator, therefore,
+	 * the produced values only depend on the state of this generator and the
+	 * length of the array but not on the amount of threads. Afterwards this
+	 * generator is advanced by a single step.
+	 * 
+	 * @param dst
+	 *            the array to fill
+	 * @param mean
+	 *            of the distribution
+	 * @param standardDeviation
+	 *            of the distribution
+	 */
+	public void nextGaussiansParallel(double[] dst, double mean, double standardDeviation) {
+		parallelBlocks(dst.length, this, (from, to, rng) -> rng.nextGaussians(dst, from, to, mean, standardDeviation));
+	}
+
+	/**
+	 * Fill the array with normal distributed values using all available cores.
+	 * 
+	 * @param dst
+	 *            the array to fill
+	 * @param mean
+	 *            of the distribution
+	 * @param standardDeviation
+	 *            of the distribution
+	 * @see #nextGaussiansParallel(double[], double, double)
+	 */
+	public void nextGaussiansParallel(float[] dst, double mean, double standardDeviation) {
+		parallelBlocks(dst.length, this, (from, to, rng) -> rng.nextGaussians(dst, from, to, mean, standardDeviation));
+	}
+
+	/**
+	 * Process a range [from, to) of an array with the given generator.
+	 */
+	@FunctionalInterface
+	interface BlockTask {
+		void run(int from, int to, PcgRSFast rng);
+	}
+
+	/**
+	 * Partition [0, length) into blocks of fixed size processed in parallel. The
+	 * n-th block uses {@link #substream(long) substream(n)} of the generator,
+	 * therefore, the result does not depend on the amount of threads. Afterwards
+	 * the generator is advanced by a single step, the next call derives fresh
+	 * substreams.
+	 * 
+	 * @param length
+	 *            of the array
+	 * @param rng
+	 *            the generator whose substreams are used
+	 * @param task
+	 *            processing a single block
+	 */
+	static void parallelBlocks(int length, PcgRSFast rng, BlockTask task) {
+		int blocks = (length + PARALLEL_BLOCK_SIZE - 1) / PARALLEL_BLOCK_SIZE;
+		IntStream.range(0, blocks).parallel().forEach(block -> {
+			int from = block * PARALLEL_BLOCK_SIZE;
+			task.run(from, Math.min(from + PARALLEL_BLOCK_SIZE, length), rng.<PcgRSFast>substream(block));
+		});
+		rng.advance(1);
+	}
+
+	private void nextGaussians(double[] dst, int from, int to, double mean, double standardDeviation) {
+		for (int i = from; i < to; i++) {
+			state = (state * MULT_64) + inc;
+			long l = (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+			state = (state * MULT_64) + inc;
+			long j = (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+			dst[i] = mean + standardDeviation * NormalSampler.standard((l << 32) + (int) j, this);
+		}
+	}
+
+	private void nextGaussians(float[] dst, int from, int to, double mean, double standardDeviation) {
+		for (int i = from; i < to; i++) {
+			state = (state * MULT_64) + inc;
+			long l = (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+			state = (state * MULT_64) + inc;
+			long j = (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+			dst[i] = (float) (mean + standardDeviation * NormalSampler.standard((l << 32) + (int) j, this));
 		}
 	}
 
@@ -427,47 +587,94 @@ public class PcgRSFast extends Random implements Pcg {
 		this.state = state;
 	}
 
+	/**
+	 * Write the lcg state followed by the increment.
+	 * 
+	 * @see StateCodec
+	 */
+	@Override
+	public void writeExternal(ObjectOutput out) throws IOException {
+		StateCodec.write(this, out);
+	}
+
+	/**
+	 * Restore the lcg state and increment written by
+	 * {@link #writeExternal(ObjectOutput)}.
+	 * 
+	 * @throws InvalidObjectException if the increment is even
+	 */
+	@Override
+	public void readExternal(ObjectInput in) throws IOException {
+		long state = in.readLong();
+		long increment = in.readLong();
+		if ((increment & 1) == 0) {
+			throw new InvalidObjectException("Increment has to be odd. Value: " + increment);
+		}
+		setInc(increment);
+		// The snapshot holds the state of the non fast families
+		setState(state);
+		advance(-1);
+	}
+
 	// No reason to inline the methods below. They won't be called nearly as often
 	// to justify duplicate code
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public <T> T split() throws ReflectiveOperationException {
-		try {
-			return (T) getClass().getDeclaredConstructor(long.class, long.class, boolean.class).newInstance(getState(),
-					getInc(), true);
-		} catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException
-				| NoSuchMethodException | SecurityException e) {
-			e.printStackTrace();
-			e.getCause().printStackTrace();
-			throw new ReflectiveOperationException("Failed to instantiate clone constructor");
-		}
+		return copy();
 	}
 
 	@Override
 	public <T> T splitDistinct() throws ReflectiveOperationException {
+		long curInc;
+		long curState;
+
+		// No reason to CAS here. we don't swap the inc around all the time
+		do {
+			// Has to be odd
+			curInc = ((nextLong(Math.abs(getInc())) ^ (~System.nanoTime())) * 2) + 1;
+		} while (curInc == getInc());
+
+		// State swaps by each call to nextLong
+		do {
+			curState = (nextLong(Math.abs(getState())) ^ (~System.nanoTime()));
+		} while (curState == getState());
+
+		return copy(curState, curInc);
+	}
+
+	@Override
+	public <T> T copy() {
+		return copy(getState(), getInc());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Extending classes should override this method. If they don't the
+	 * (long,long,boolean) copy constructor of the subclass is invoked through
+	 * reflection.
+	 * 
+	 * @throws UnsupportedOperationException
+	 *             if the method is not overridden and the extending class does not
+	 *             provide the copy constructor
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T copy(long state, long increment) {
+		if (getClass() == PcgRSFast.class) {
+			return (T) new PcgRSFast(state, increment, true);
+		}
 		try {
-			long curInc;
-			long curState;
-
-			// No reason to CAS here. we don't swap the inc around all the time
-			do {
-				// Has to be odd
-				curInc = ((nextLong(Math.abs(getInc())) ^ (~System.nanoTime())) * 2) + 1;
-			} while (curInc == getInc());
-
-			// State swaps by each call to nextLong
-			do {
-				curState = (nextLong(Math.abs(getState())) ^ (~System.nanoTime()));
-			} while (curState == getState());
-
-			return (T) getClass().getDeclaredConstructor(long.class, long.class, boolean.class).newInstance(curState,
-					curInc, true);
-		} catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException
-				| NoSuchMethodException | SecurityException e) {
-			e.printStackTrace();
-			e.getCause().printStackTrace();
-			throw new ReflectiveOperationException("Failed to instantiate clone constructor");
+			return (T) getClass().getDeclaredConstructor(long.class, long.class, boolean.class).newInstance(state,
+					increment, true);
+		} catch (InvocationTargetException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new UnsupportedOperationException("Failed to instantiate clone constructor", e);
+		} catch (ReflectiveOperationException | SecurityException e) {
+			throw new UnsupportedOperationException("Failed to instantiate clone constructor", e);
 		}
 	}
 
@@ -487,16 +694,6 @@ public class PcgRSFast extends Random implements Pcg {
 	}
 
 	protected static long getRandomSeed() {
-		// xorshift64*
-		for (;;) {
-			long current = UNIQUE_SEED.get();
-			long next = current;
-			next ^= next >> 12;
-			next ^= next << 25; // b
-			next ^= next >> 27; // c
-			next *= 0x2545F4914F6CDD1DL;
-			if (UNIQUE_SEED.compareAndSet(current, next))
-				return next;
-		}
+		return SeedSource.nextSeed();
 	}
 }
@@ -1,6 +1,10 @@
 package com.github.kilianB.pcg.fast;
 
+import java.util.function.LongSupplier;
+
 import com.github.kilianB.pcg.IncompatibleGeneratorException;
+import com.github.kilianB.pcg.UnsignedMath;
+import com.github.kilianB.pcg.sampler.NormalSampler;
 import com.github.kilianB.pcg.sync.PcgRS;
 
 /**
@@ -44,8 +48,8 @@ public class PcgRSUFast {
 	/** Stream number of the rng. */
 	private static long inc;
 
-	private static boolean gausAvailable;
-	private static double nextGaus;
+	/** Source of additional bits for the rare slow path of the gaussian sampler */
+	private static final LongSupplier LONG_SOURCE = PcgRSUFast::nextLong;
 
 	// static final variables are inlined by default
 	private static final double DOUBLE_MASK = 1L << 53;
@@ -186,28 +190,45 @@ public class PcgRSUFast {
 	/**
 	 * Returns a pseudorandom, uniformly distributed {@code int} value between 0
 	 * (inclusive) and the specified value (exclusive), drawn from this random
-	 * number generator's sequence.
+	 * number generator's sequence. <p>
+	 * 
+	 * Uses Lemire's multiply and shift method. Unless the lower word of the product
+	 * falls into the biased region, which happens with a probability below
+	 * n / 2<sup>32</sup>, a single step suffices and no division is performed.
 	 * 
 	 * @param n
 	 *            the upper bound (exclusive). Must be positive.
 	 * @return the next pseudorandom, uniformly distributed {@code int} value
 	 *         between zero (inclusive) and {@code bound} (exclusive) from this
 	 *         random number generator's sequence
+	 * @throws IllegalArgumentException
+	 *             if n is not positive
+	 * @see #nextIntLegacy(int)
 	 */
 	public static int nextInt(int n) {
-		state = (state * MULT_64) + inc;
-		int r = (int) (((state >>> 22) ^ state) >>> ((state >>> 61) + 22)) >>> 1;	// Unsigned!
-		int m = n - 1;
-		if ((n & m) == 0)  // i.e., bound is a power of 2
-			r = (int) ((n * (long) r) >> 31);
-		else {
-			for (int u = r; u - (r = u % n) + m < 0;) {
-				state = (state * MULT_64) + inc;
-				u = (int) (((state >>> 22) ^ state) >>> ((state >>> 61) + 22)) >>> 1;
-			}
-		}
-		return r;
-	};
+		if (n <= 0)
+			throw new IllegalArgumentException("n must be positive, got: " + n);
+		return UnsignedMath.boundedInt(PcgRSUFast::nextInt, n);
+	}
+
+	/**
+	 * Returns a pseudorandom, uniformly distributed {@code int} value between the
+	 * specified origin (inclusive) and the specified bound (exclusive).
+	 * 
+	 * @param origin
+	 *            the least value returned
+	 * @param bound
+	 *            the upper bound (exclusive)
+	 * @return a pseudorandom {@code int} value between the origin (inclusive) and
+	 *         the bound (exclusive)
+	 * @throws IllegalArgumentException
+	 *             if origin is greater than or equal to bound
+	 */
+	public static int nextInt(int origin, int bound) {
+		if (origin >= bound)
+			throw new IllegalArgumentException("bound must be greater than origin, got: " + origin + " " + bound);
+		return origin + UnsignedMath.boundedInt(PcgRSUFast::nextInt, (bound - origin) & INTEGER_MASK);
+	}
 
 	/**
 	 * Returns the next pseudorandom, uniformly distributed {@code boolean} value
@@ -256,18 +277,93 @@ public class PcgRSUFast {
 		return (l << 32) + (int) j;
 	}
 
+	/**
+	 * Returns a pseudorandom, uniformly distributed {@code long} value between 0
+	 * (inclusive) and the specified value (exclusive) using Lemire's multiply and
+	 * shift method, see {@link UnsignedMath}.
+	 * 
+	 * @param n
+	 *            the upper bound (exclusive). Must be positive.
+	 * @return the next pseudorandom, uniformly distributed {@code long} value
+	 *         between zero (inclusive) and {@code n} (exclusive)
+	 * @throws IllegalArgumentException
+	 *             if n is not positive
+	 * @see #nextLongLegacy(long)
+	 */
 	public static long nextLong(long n) {
+		if (n <= 0)
+			throw new IllegalArgumentException("n must be positive, got: " + n);
+		return UnsignedMath.boundedLong(PcgRSUFast::nextLong, n);
+	}
+
+	/**
+	 * Returns a pseudorandom, uniformly distributed {@code long} value between the
+	 * specified origin (inclusive) and the specified bound (exclusive).
+	 * 
+	 * @param origin
+	 *            the least value returned
+	 * @param bound
+	 *            the upper bound (exclusive)
+	 * @return a pseudorandom {@code long} value between the origin (inclusive) and
+	 *         the bound (exclusive)
+	 * @throws IllegalArgumentException
+	 *             if origin is greater than or equal to bound
+	 */
+	public static long nextLong(long origin, long bound) {
+		if (origin >= bound)
+			throw new IllegalArgumentException("bound must be greater than origin, got: " + origin + " " + bound);
+		return origin + UnsignedMath.boundedLong(PcgRSUFast::nextLong, bound - origin);
+	}
+
+	/**
+	 * Returns a pseudorandom, uniformly distributed {@code int} value between 0
+	 * (inclusive) and the specified value (exclusive) using the modulo based
+	 * rejection algorithm of <code>java.util.Random</code>. Reproduces sequences
+	 * generated by earlier versions of this library.
+	 * 
+	 * @param n
+	 *            the upper bound (exclusive). Must be positive.
+	 * @return the next pseudorandom, uniformly distributed {@code int} value
+	 *         between zero (inclusive) and {@code n} (exclusive)
+	 * @throws IllegalArgumentException
+	 *             if n is not positive
+	 */
+	public static int nextIntLegacy(int n) {
+		if (n <= 0)
+			throw new IllegalArgumentException("n must be positive, got: " + n);
+		state = (state * MULT_64) + inc;
+		int r = (int) (((state >>> 22) ^ state) >>> ((state >>> 61) + 22)) >>> 1;	// Unsigned!
+		int m = n - 1;
+		if ((n & m) == 0)  // i.e., bound is a power of 2
+			r = (int) ((n * (long) r) >> 31);
+		else {
+			for (int u = r; u - (r = u % n) + m < 0;) {
+				state = (state * MULT_64) + inc;
+				u = (int) (((state >>> 22) ^ state) >>> ((state >>> 61) + 22)) >>> 1;
+			}
+		}
+		return r;
+	}
+
+	/**
+	 * Returns a pseudorandom, uniformly distributed {@code long} value between 0
+	 * (inclusive) and the specified value (exclusive) using the modulo based
+	 * rejection algorithm of earlier versions of this library.
+	 * 
+	 * @param n
+	 *            the upper bound (exclusive). Must be positive.
+	 * @return the next pseudorandom, uniformly distributed {@code long} value
+	 *         between zero (inclusive) and {@code n} (exclusive)
+	 * @throws IllegalArgumentException
+	 *             if n is not positive
+	 */
+	public static long nextLongLegacy(long n) {
+		if (n <= 0)
+			throw new IllegalArgumentException("n must be positive, got: " + n);
 		long bits;
 		long val;
 		do {
-			state = (state * MULT_64) + inc;
-			// No need to mask if we shift by 32 bits
-			long l = (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
-
-			state = (state * MULT_64) + inc;
-			long j = (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
-
-			bits = ((l << 32) + (int) j >>> 1);
+			bits = (nextLong() >>> 1);
 			val = bits % n;
 		} while (bits - val + (n - 1) < 0);
 		return val;
@@ -281,29 +377,87 @@ public class PcgRSUFast {
 				/ DOUBLE_MASK;
 	}
 
-	// TODO
 	public static double nextDouble(boolean includeZero, boolean includeOne) {
-		double d = 0.0;
-		do {
-			state = (state * MULT_64) + inc;
-			long l = ((((state >>> 22) ^ state) >>> ((state >>> 61) + 22))) & INTEGER_MASK;
-			state = (state * MULT_64) + inc;
-			d = (((l >>> 6) << 27) + (((((state >>> 22) ^ state) >>> ((state >>> 61) + 22)) & INTEGER_MASK) >>> 5))
-					/ DOUBLE_MASK;
-
-			// grab a value, initially from half-open [0.0, 1.0)
-			if (includeOne) {
-				// Only generate the boolean if it really is the case or we scramble the state
-				state = (state * MULT_64) + inc;
-				if ((((((state >>> 22) ^ state) >>> (state >>> 61) + 22) & INTEGER_MASK) >>> 31) != 0) {
-					d += 1.0;
-				}
+		if (includeZero && !includeOne) {
+			return nextDouble();
+		}
+		if (includeOne && !includeZero) {
+			return 1 - nextDouble();
+		}
+		state = (state * MULT_64) + inc;
+		long l = (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+		state = (state * MULT_64) + inc;
+		long x = (l << 32) + (int) (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+		if (includeZero) {
+			// Round 54 bits to 53 bits. 0 and 1 are hit with half the probability
+			return (((x >>> 10) + 1) >>> 1) * 0x1.0p-53;
+		}
+		// Midpoints of the 2^-52 grid
+		return ((x >>> 12) + 0.5) * 0x1.0p-52;
+	}
 
+	/**
+	 * Returns a pseudorandom {@code double} value in the range [0, 1) which may be
+	 * any representable double of the range.
+	 * 
+	 * @return the next pseudorandom, uniformly distributed {@code double} value in
+	 *         [0, 1) with full precision
+	 * @see com.github.kilianB.pcg.Pcg#nextDoubleFullPrecision()
+	 */
+	public static double nextDoubleFullPrecision() {
+		long x = nextLong();
+		// The first bit of x is worth 2^-1
+		int exponent = -1;
+		while (x == 0) {
+			exponent -= 64;
+			if (exponent < -1074) {
+				return 0;
 			}
+			x = nextLong();
+		}
+		int leadingZeros = Long.numberOfLeadingZeros(x);
+		exponent -= leadingZeros;
+		long significand;
+		if (leadingZeros < 12) {
+			// At least 52 bits follow the leading one
+			significand = (x << (leadingZeros + 1)) >>> 12;
+		} else {
+			significand = nextLong() >>> 12;
+		}
+		if (exponent < -1022) {
+			return Math.scalb(1 + significand * 0x1.0p-52, exponent);
+		}
+		return Double.longBitsToDouble(((long) (exponent + 1023) << 52) | significand);
+	}
 
-		} while ((d > 1.0) ||                            // everything above 1.0 is always invalid
-				(!includeZero && d == 0.0));            // if we're not including zero, 0.0 is invalid
-		return d;
+	/**
+	 * Returns a pseudorandom, uniformly distributed {@code double} value in the
+	 * range [origin, bound).
+	 * 
+	 * @param origin
+	 *            the smallest value which can be returned
+	 * @param bound
+	 *            the upper bound (exclusive). Must be greater than origin
+	 * @return the next pseudorandom, uniformly distributed {@code double} value
+	 *         in [origin, bound)
+	 * @throws IllegalArgumentException
+	 *             if origin is not smaller than bound or one of them is not finite
+	 * @see com.github.kilianB.pcg.Pcg#nextDouble(double, double)
+	 */
+	public static double nextDouble(double origin, double bound) {
+		if (!(origin < bound) || Double.isInfinite(origin) || Double.isInfinite(bound)) {
+			throw new IllegalArgumentException(
+					"Origin has to be smaller than bound and both finite. Origin: " + origin + " Bound: " + bound);
+		}
+		double r = nextDouble();
+		double range = bound - origin;
+		if (range < Double.POSITIVE_INFINITY) {
+			r = origin + r * range;
+		} else {
+			double halfOrigin = 0.5 * origin;
+			r = (halfOrigin + r * (0.5 * bound - halfOrigin)) * 2;
+		}
+		return r < bound ? r : Math.nextDown(bound);
 	}
 
 	public static float nextFloat() {
@@ -313,53 +467,80 @@ public class PcgRSUFast {
 	}
 
 	public static float nextFloat(boolean includeZero, boolean includeOne) {
-		float d = 0.0f;
-		do {
-			state = (state * MULT_64) + inc;
-			d = (((((state >>> 22) ^ state) >>> ((state >>> 61) + 22)) & INTEGER_MASK) >>> 8) / FLOAT_UNIT; // grab a
-																											 // value,
-																											 // initially
-																											 // from
-																											 // half-open
-																											 // [0.0f,
-																											 // 1.0f)
-			if (includeOne) {
-				// Only generate the boolean if it really is the case or we scramble the state
-				state = (state * MULT_64) + inc;
-				if ((((((state >>> 22) ^ state) >>> (state >>> 61) + 22) & INTEGER_MASK) >>> 31) != 0) {
-					d += 1.0f;
-				}
-			}
-		} while ((d > 1.0f) || // everything above 1.0f is always invalid
-				(!includeZero && d == 0.0f)); // if we're not including zero, 0.0f is invalid
-		return d;
+		if (includeZero && !includeOne) {
+			return nextFloat();
+		}
+		if (includeOne && !includeZero) {
+			return 1 - nextFloat();
+		}
+		state = (state * MULT_64) + inc;
+		long x = (((state >>> 22) ^ state) >>> ((state >>> 61) + 22)) & INTEGER_MASK;
+		if (includeZero) {
+			// Round 25 bits to 24 bits. 0 and 1 are hit with half the probability
+			return (((x >>> 7) + 1) >>> 1) * 0x1.0p-24f;
+		}
+		// Midpoints of the 2^-23 grid
+		return ((x >>> 9) + 0.5f) * 0x1.0p-23f;
 	}
 
-	// TODO
+	/**
+	 * Returns the next pseudorandom, Gaussian ("normally") distributed
+	 * {@code double} value with mean {@code 0.0} and standard deviation
+	 * {@code 1.0} computed by the ziggurat method.
+	 * 
+	 * @return the next pseudorandom, Gaussian ("normally") distributed
+	 *         {@code double} value
+	 * @see NormalSampler
+	 */
 	public static double nextGaussian() {
-		// Borrowed from https://cs.gmu.edu/~sean/research/mersenne/MersenneTwister.java
+		state = (state * MULT_64) + inc;
+		long l = (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+		state = (state * MULT_64) + inc;
+		long j = (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+		return NormalSampler.standard((l << 32) + (int) j, LONG_SOURCE);
+	}
 
-		// Shall we go atomic? the issue is after setting and returning a 2nd thread
-		// could create
-		// a new gaus making the following call return the same value. But for now we
-		// don't care
-		// about thread safety anyways
-		if (gausAvailable) {
-			gausAvailable = false;
-			return nextGaus;
-		} else {
-			double v1;
-			double v2;
-			double s;
-			do {
-				v1 = 2 * nextDouble() - 1; // between -1.0 and 1.0
-				v2 = 2 * nextDouble() - 1; // between -1.0 and 1.0
-				s = v1 * v1 + v2 * v2;
-			} while (s >= 1 || s == 0);
-			double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
-			nextGaus = v2 * multiplier;
-			gausAvailable = true;
-			return v1 * multiplier;
+	/**
+	 * Fill the array with normal distributed values. Produces the same values as
+	 * calling <code>mean + standardDeviation * nextGaussian()</code> for each
+	 * element.
+	 * 
+	 * @param dst
+	 *            the array to fill
+	 * @param mean
+	 *            of the distribution
+	 * @param standardDeviation
+	 *            of the distribution
+	 */
+	public static void nextGaussians(double[] dst, double mean, double standardDeviation) {
+		for (int i = 0; i < dst.length; i++) {
+			state = (state * MULT_64) + inc;
+			long l = (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+			state = (state * MULT_64) + inc;
+			long j = (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+			dst[i] = mean + standardDeviation * NormalSampler.standard((l << 32) + (int) j, LONG_SOURCE);
+		}
+	}
+
+	/**
+	 * Fill the array with normal distributed values. Produces the same values as
+	 * calling <code>(float) (mean + standardDeviation * nextGaussian())</code> for
+	 * each element.
+	 * 
+	 * @param dst
+	 *            the array to fill
+	 * @param mean
+	 *            of the distribution
+	 * @param standardDeviation
+	 *            of the distribution
+	 */
+	public static void nextGaussians(float[] dst, double mean, double standardDeviation) {
+		for (int i = 0; i < dst.length; i++) {
+			state = (state * MULT_64) + inc;
+			long l = (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+			state = (state * MULT_64) + inc;
+			long j = (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+			dst[i] = (float) (mean + standardDeviation * NormalSampler.standard((l << 32) + (int) j, LONG_SOURCE));
 		}
 	}
 
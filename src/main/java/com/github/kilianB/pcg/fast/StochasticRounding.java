@@ -0,0 +1,398 @@
+package com.github.kilianB.pcg.fast;
+
+/**
+ * Bulk stochastic rounding of float arrays to int8, bfloat16, int and to
+ * multiples of a step size (dithered quantization). <p>
+ *
+ * A value is rounded up with a probability equal to its distance from the
+ * lower neighbor, therefore, the rounded values are unbiased on average. The
+ * kernels inline the lcg step of {@link PcgRSFast} and take two 16 bit uniforms
+ * from each 32 bit output. Neither objects nor temporary arrays are allocated
+ * and the loops do not contain a call per element. <p>
+ *
+ * The rounding probability is resolved with a precision of 2<sup>-16</sup>.
+ * Rounding to bfloat16 adds 16 random bits to the truncated lower half of the
+ * float and is exact. The remaining kernels add a uniform value from the
+ * midpoints of the 2<sup>-16</sup> grid and round down. The sum is exact in
+ * double precision and the fractional part <code>f</code> is rounded up with
+ * probability <code>round(f * 2<sup>16</sup>) / 2<sup>16</sup></code>. <p>
+ *
+ * The parallel variants partition the arrays into blocks of fixed size. The
+ * n-th block is rounded by {@link PcgRSFast#substream(long) substream(n)} of
+ * the generator, the result only depends on the state of the generator and the
+ * length of the array but not on the amount of threads. Afterwards the
+ * generator is advanced by a single step.
+ *
+ * @author Kilian
+ */
+public final class StochasticRounding {
+
+	private static final long MULT_64 = 6364136223846793005L;
+
+	/** Scale of 16 random bits to [0, 1) */
+	private static final double UNIFORM_SCALE = 0x1.0p-16;
+
+	/** Largest float below 2^31 */
+	private static final float MAX_INT_FLOAT = 0x1.fffffep30f;
+
+	private StochasticRounding() {
+	}
+
+	/**
+	 * Round the scaled values stochastically to signed 8 bit integers. Values
+	 * outside of [-128, 127] are saturated, NaN is mapped to 0.
+	 *
+	 * @param src
+	 *            the values to round
+	 * @param dst
+	 *            the array to write the rounded values to. At least as long as the
+	 *            source
+	 * @param scale
+	 *            factor the values are multiplied with before rounding
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	public static void toInt8(float[] src, byte[] dst, float scale, PcgRSFast rng) {
+		toInt8(src, dst, 0, src.length, scale, rng);
+	}
+
+	/**
+	 * Round a range of the scaled values stochastically to signed 8 bit integers.
+	 * Values outside of [-128, 127] are saturated, NaN is mapped to 0.
+	 *
+	 * @param src
+	 *            the values to round
+	 * @param dst
+	 *            the array to write the rounded values to. The value at index i
+	 *            is written to index i
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive)
+	 * @param scale
+	 *            factor the values are multiplied with before rounding
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	public static void toInt8(float[] src, byte[] dst, int from, int to, float scale, PcgRSFast rng) {
+		long state = rng.state;
+		final long inc = rng.inc;
+		int i = from;
+		for (; i + 1 < to; i += 2) {
+			state = (state * MULT_64) + inc;
+			int r = (int) (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+			dst[i] = (byte) roundInt8(src[i] * scale, r >>> 16);
+			dst[i + 1] = (byte) roundInt8(src[i + 1] * scale, r & 0xFFFF);
+		}
+		if (i < to) {
+			state = (state * MULT_64) + inc;
+			int r = (int) (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+			dst[i] = (byte) roundInt8(src[i] * scale, r >>> 16);
+		}
+		rng.state = state;
+	}
+
+	/**
+	 * Round the scaled values stochastically to signed 8 bit integers using all
+	 * available cores.
+	 *
+	 * @param src
+	 *            the values to round
+	 * @param dst
+	 *            the array to write the rounded values to. At least as long as the
+	 *            source
+	 * @param scale
+	 *            factor the values are multiplied with before rounding
+	 * @param rng
+	 *            the generator whose substreams are used to draw random numbers
+	 * @see #toInt8(float[], byte[], float, PcgRSFast)
+	 */
+	public static void toInt8Parallel(float[] src, byte[] dst, float scale, PcgRSFast rng) {
+		PcgRSFast.parallelBlocks(src.length, rng, (from, to, blockRng) -> toInt8(src, dst, from, to, scale, blockRng));
+	}
+
+	/**
+	 * Round the values stochastically to bfloat16, the upper 16 bits of a float.
+	 * Infinities are kept, NaN is mapped to a quiet NaN and finite values beyond
+	 * the largest bfloat16 may be rounded to infinity.
+	 *
+	 * @param src
+	 *            the values to round
+	 * @param dst
+	 *            the array to write the bfloat16 bits to. At least as long as the
+	 *            source
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	public static void toBFloat16(float[] src, short[] dst, PcgRSFast rng) {
+		toBFloat16(src, dst, 0, src.length, rng);
+	}
+
+	/**
+	 * Round a range of the values stochastically to bfloat16, the upper 16 bits of
+	 * a float. Infinities are kept, NaN is mapped to a quiet NaN and finite values
+	 * beyond the largest bfloat16 may be rounded to infinity.
+	 *
+	 * @param src
+	 *            the values to round
+	 * @param dst
+	 *            the array to write the bfloat16 bits to. The value at index i is
+	 *            written to index i
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive)
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	public static void toBFloat16(float[] src, short[] dst, int from, int to, PcgRSFast rng) {
+		long state = rng.state;
+		final long inc = rng.inc;
+		int i = from;
+		for (; i + 1 < to; i += 2) {
+			state = (state * MULT_64) + inc;
+			int r = (int) (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+			dst[i] = roundBFloat16(Float.floatToRawIntBits(src[i]), r >>> 16);
+			dst[i + 1] = roundBFloat16(Float.floatToRawIntBits(src[i + 1]), r & 0xFFFF);
+		}
+		if (i < to) {
+			state = (state * MULT_64) + inc;
+			int r = (int) (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+			dst[i] = roundBFloat16(Float.floatToRawIntBits(src[i]), r >>> 16);
+		}
+		rng.state = state;
+	}
+
+	/**
+	 * Round the values stochastically to bfloat16 using all available cores.
+	 *
+	 * @param src
+	 *            the values to round
+	 * @param dst
+	 *            the array to write the bfloat16 bits to. At least as long as the
+	 *            source
+	 * @param rng
+	 *            the generator whose substreams are used to draw random numbers
+	 * @see #toBFloat16(float[], short[], PcgRSFast)
+	 */
+	public static void toBFloat16Parallel(float[] src, short[] dst, PcgRSFast rng) {
+		PcgRSFast.parallelBlocks(src.length, rng, (from, to, blockRng) -> toBFloat16(src, dst, from, to, blockRng));
+	}
+
+	/**
+	 * Round the scaled values stochastically to integers. Values outside of the
+	 * int range are saturated, NaN is mapped to 0.
+	 *
+	 * @param src
+	 *            the values to round
+	 * @param dst
+	 *            the array to write the rounded values to. At least as long as the
+	 *            source
+	 * @param scale
+	 *            factor the values are multiplied with before rounding
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	public static void toInt(float[] src, int[] dst, float scale, PcgRSFast rng) {
+		toInt(src, dst, 0, src.length, scale, rng);
+	}
+
+	/**
+	 * Round a range of the scaled values stochastically to integers. Values
+	 * outside of the int range are saturated, NaN is mapped to 0.
+	 *
+	 * @param src
+	 *            the values to round
+	 * @param dst
+	 *            the array to write the rounded values to. The value at index i
+	 *            is written to index i
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive)
+	 * @param scale
+	 *            factor the values are multiplied with before rounding
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	public static void toInt(float[] src, int[] dst, int from, int to, float scale, PcgRSFast rng) {
+		long state = rng.state;
+		final long inc = rng.inc;
+		int i = from;
+		for (; i + 1 < to; i += 2) {
+			state = (state * MULT_64) + inc;
+			int r = (int) (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+			dst[i] = roundInt(src[i] * scale, r >>> 16);
+			dst[i + 1] = roundInt(src[i + 1] * scale, r & 0xFFFF);
+		}
+		if (i < to) {
+			state = (state * MULT_64) + inc;
+			int r = (int) (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+			dst[i] = roundInt(src[i] * scale, r >>> 16);
+		}
+		rng.state = state;
+	}
+
+	/**
+	 * Round the scaled values stochastically to integers using all available
+	 * cores.
+	 *
+	 * @param src
+	 *            the values to round
+	 * @param dst
+	 *            the array to write the rounded values to. At least as long as the
+	 *            source
+	 * @param scale
+	 *            factor the values are multiplied with before rounding
+	 * @param rng
+	 *            the generator whose substreams are used to draw random numbers
+	 * @see #toInt(float[], int[], float, PcgRSFast)
+	 */
+	public static void toIntParallel(float[] src, int[] dst, float scale, PcgRSFast rng) {
+		PcgRSFast.parallelBlocks(src.length, rng, (from, to, blockRng) -> toInt(src, dst, from, to, scale, blockRng));
+	}
+
+	/**
+	 * Round the values stochastically to multiples of the step (dithered
+	 * quantization). The source and destination may be the same array.
+	 *
+	 * @param src
+	 *            the values to round
+	 * @param dst
+	 *            the array to write the rounded values to. At least as long as the
+	 *            source
+	 * @param step
+	 *            the distance of the quantization levels. Has to be positive and
+	 *            finite
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if the step is not positive or not finite
+	 */
+	public static void toGrid(float[] src, float[] dst, float step, PcgRSFast rng) {
+		toGrid(src, dst, 0, src.length, step, rng);
+	}
+
+	/**
+	 * Round a range of the values stochastically to multiples of the step
+	 * (dithered quantization). The source and destination may be the same array.
+	 * The values are divided by the step by multiplication with its reciprocal,
+	 * which is exact for powers of 2.
+	 *
+	 * @param src
+	 *            the values to round
+	 * @param dst
+	 *            the array to write the rounded values to. The value at index i
+	 *            is written to index i
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive)
+	 * @param step
+	 *            the distance of the quantization levels. Has to be positive and
+	 *            finite
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if the step is not positive or not finite
+	 */
+	public static void toGrid(float[] src, float[] dst, int from, int to, float step, PcgRSFast rng) {
+		if (!(step > 0) || Float.isInfinite(step)) {
+			throw new IllegalArgumentException("Step has to be positive and finite. Value: " + step);
+		}
+		final float inverse = 1 / step;
+		long state = rng.state;
+		final long inc = rng.inc;
+		int i = from;
+		for (; i + 1 < to; i += 2) {
+			state = (state * MULT_64) + inc;
+			int r = (int) (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+			dst[i] = roundGrid(src[i] * inverse, r >>> 16) * step;
+			dst[i + 1] = roundGrid(src[i + 1] * inverse, r & 0xFFFF) * step;
+		}
+		if (i < to) {
+			state = (state * MULT_64) + inc;
+			int r = (int) (((state >>> 22) ^ state) >>> ((state >>> 61) + 22));
+			dst[i] = roundGrid(src[i] * inverse, r >>> 16) * step;
+		}
+		rng.state = state;
+	}
+
+	/**
+	 * Round the values stochastically to multiples of the step using all
+	 * available cores.
+	 *
+	 * @param src
+	 *            the values to round
+	 * @param dst
+	 *            the array to write the rounded values to. At least as long as the
+	 *            source
+	 * @param step
+	 *            the distance of the quantization levels. Has to be positive and
+	 *            finite
+	 * @param rng
+	 *            the generator whose substreams are used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if the step is not positive or not finite
+	 * @see #toGrid(float[], float[], float, PcgRSFast)
+	 */
+	public static void toGridParallel(float[] src, float[] dst, float step, PcgRSFast rng) {
+		if (!(step > 0) || Float.isInfinite(step)) {
+			throw new IllegalArgumentException("Step has to be positive and finite. Value: " + step);
+		}
+		PcgRSFast.parallelBlocks(src.length, rng, (from, to, blockRng) -> toGrid(src, dst, from, to, step, blockRng));
+	}
+
+	/**
+	 * Add a uniform value in (0, 1) and round down. The sum is exact in double
+	 * precision for all floats below 2^31.
+	 *
+	 * @param v
+	 *            the value to round
+	 * @param uniform
+	 *            16 uniformly distributed random bits
+	 * @return the rounded value
+	 */
+	private static double roundFloor(float v, int uniform) {
+		return Math.floor(v + (uniform + 0.5) * UNIFORM_SCALE);
+	}
+
+	private static float roundGrid(float v, int uniform) {
+		// Floats of at least 2^24 are integers and beyond the exact range of the sum
+		return Math.abs(v) < 0x1.0p24f ? (float) roundFloor(v, uniform) : v;
+	}
+
+	private static int roundInt8(float v, int uniform) {
+		// Comparisons instead of Math.min and Math.max avoid the handling of -0.
+		// NaN fails both comparisons and (int) maps it to 0
+		v = v < -128f ? -128f : v;
+		v = v > 127f ? 127f : v;
+		return (int) roundFloor(v, uniform);
+	}
+
+	private static int roundInt(float v, int uniform) {
+		// The clamped value can not be rounded up beyond the int range
+		v = v < -0x1.0p31f ? -0x1.0p31f : v;
+		v = v > MAX_INT_FLOAT ? MAX_INT_FLOAT : v;
+		return (int) roundFloor(v, uniform);
+	}
+
+	/**
+	 * Add 16 random bits to the lower half of the float. The carry rounds the
+	 * upper half up with a probability equal to the truncated fraction.
+	 *
+	 * @param bits
+	 *            the raw bits of the float
+	 * @param uniform
+	 *            16 uniformly distributed random bits
+	 * @return the bits of the bfloat16
+	 */
+	private static short roundBFloat16(int bits, int uniform) {
+		if ((bits & 0x7FFFFFFF) > 0x7F800000) {
+			// NaN. Keep the sign and set the quiet bit
+			return (short) ((bits >>> 16) | 0x0040);
+		}
+		return (short) ((bits + uniform) >>> 16);
+	}
+
+}
@@ -0,0 +1,163 @@
+package com.github.kilianB.pcg.fork;
+
+import com.github.kilianB.pcg.SeedSource;
+import com.github.kilianB.pcg.light.PcgRSLight;
+
+/**
+ * A 64 bit State PcgRNG with 32 bit output (PCG-XSH-RS) supporting
+ * deterministic splitting for recursive task decomposition. <p>
+ *
+ * Every generator is a node in a split tree identified by a root seed, a root
+ * stream and a node id. Calling {@link #fork()} hands out a child whose node id
+ * is derived from the id of the parent and the amount of children the parent
+ * already created. Opposed to {@link #splitDistinct()} of the other generators
+ * no time or random input is involved, therefore, the same computation produces
+ * the same numbers regardless of the amount of threads working on it, as long
+ * as every task forks its children in the same order. <p>
+ *
+ * <b>Node ids</b> The root has the id 1. The k-th child (starting at 0) of the
+ * node n receives the id n * 2<sup>k+1</sup> + 1. All ids are odd and every odd
+ * id greater than 1 belongs to exactly one (parent, k) pair. Each id is mapped
+ * to a stream number by a bijection on 63 bits, resulting in every node of the
+ * tree using a distinct increment. Neither the parent's state nor its stream are
+ * altered by forking. <p>
+ *
+ * Ids are stored in 63 bits. The sum of the depth of a node and the amount of
+ * children created by it and its ancestors is limited to 62. A balanced binary
+ * decomposition is able to create 2<sup>31</sup> leaves before running out of
+ * ids. {@link #fork()} throws an {@link IllegalStateException} if no more ids
+ * are available.<p>
+ *
+ * <b>Copies</b> {@link #copy()}, {@link #substream(long)} and restored
+ * snapshots continue the sequence given by their state and increment but
+ * become the root of a new split tree derived from both. Their children
+ * therefore don't repeat the streams of the children of the original node. <p>
+ *
+ * This implementation is <b>Not</b> thread safe. Each task should own its own
+ * generator. See {@link PcgRecursiveTask}.
+ *
+ * @author Kilian
+ * @see <a href="http://www.pcg-random.org/">www.pcg-random.org</a>
+ * @see PcgRecursiveTask
+ */
+public class PcgRSSplittable extends PcgRSLight {
+
+	/** Node ids have to fit into the 63 bits of a stream number */
+	private static final long MAX_PARENT_ID = Long.MAX_VALUE >>> 1;
+
+	/** Seed of the root of the split tree */
+	private final long rootSeed;
+
+	/** Stream number of the root of the split tree. Used to separate trees */
+	private final long rootStream;
+
+	/** Id of this node in the split tree */
+	private final long nodeId;
+
+	/** n * 2^k of the next child to create */
+	private long childBase;
+
+	/**
+	 * Create the root of a split tree seeded with a unique seed and stream number
+	 * obtained from the SeedSource.
+	 */
+	public PcgRSSplittable() {
+		this(SeedSource.nextSeed(), SeedSource.nextSeed());
+	}
+
+	/**
+	 * Create the root of a split tree. Two trees created with the same seed and
+	 * stream number produce the same numbers at every node.
+	 * <p>
+	 *
+	 * Only the lower 63 bits of the stream number are taken into account.
+	 *
+	 * @param seed
+	 *            used to compute the seeds of the nodes in the tree
+	 * @param streamNumber
+	 *            used to compute the increments of the nodes in the tree
+	 */
+	public PcgRSSplittable(long seed, long streamNumber) {
+		this(seed, streamNumber & Long.MAX_VALUE, 1);
+	}
+
+	private PcgRSSplittable(long rootSeed, long rootStream, long nodeId) {
+		super(nodeSeed(rootSeed, nodeId), nodeStream(rootStream, nodeId));
+		this.rootSeed = rootSeed;
+		this.rootStream = rootStream;
+		this.nodeId = nodeId;
+		this.childBase = nodeId;
+	}
+
+	/**
+	 * Copy constructor. Invoked by {@link #copy(long, long)}. The copy is the root
+	 * of a new split tree derived from the state and increment. Keeping the
+	 * position of the original would hand out the same children twice.
+	 */
+	@SuppressWarnings("deprecation")
+	private PcgRSSplittable(long state, long increment, boolean dummy) {
+		super(state, increment, dummy);
+		this.rootSeed = state;
+		this.rootStream = increment >>> 1;
+		this.nodeId = 1;
+		this.childBase = 1;
+	}
+
+	/**
+	 * Create the next child of this node. The child uses a stream which is
+	 * distinct from the streams of all other nodes in the tree. The state of this
+	 * generator is not altered.
+	 *
+	 * @return a new generator located below this node in the split tree
+	 * @throws IllegalStateException
+	 *             if the tree grew too deep and no more distinct ids are available
+	 */
+	public PcgRSSplittable fork() {
+		if (childBase > MAX_PARENT_ID) {
+			throw new IllegalStateException("Split tree exhausted. Node " + nodeId + " can not create further children");
+		}
+		childBase <<= 1;
+		return new PcgRSSplittable(rootSeed, rootStream, childBase | 1);
+	}
+
+	/**
+	 * Deterministic version of split distinct. Equivalent to {@link #fork()}.
+	 *
+	 * @return a new generator located below this node in the split tree
+	 * @throws IllegalStateException
+	 *             if the tree grew too deep and no more distinct ids are available
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T splitDistinct() {
+		return (T) fork();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T copy(long state, long increment) {
+		if (getClass() == PcgRSSplittable.class) {
+			return (T) new PcgRSSplittable(state, increment, true);
+		}
+		return super.copy(state, increment);
+	}
+
+	/**
+	 * @return the id of this node in the split tree. The root has the id 1, as
+	 *         do copies
+	 */
+	public long getNodeId() {
+		return nodeId;
+	}
+
+	private static long nodeSeed(long rootSeed, long nodeId) {
+		// Both seed calls are bijections. Distinct nodes start at distinct states
+		return SeedSource.seed(rootSeed + SeedSource.seed(nodeId));
+	}
+
+	private static long nodeStream(long rootStream, long nodeId) {
+		// Bijection on 63 bits for a fixed root stream
+		return SeedSource.streamNumber(nodeId ^ rootStream);
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.github.kilianB.pcg.fork;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A {@link RecursiveTask} carrying a {@link PcgRSSplittable} down the task
+ * tree. Subtasks should be created with a generator obtained by
+ * {@link #forkRng()} during {@link #compute()}.
+ * <p>
+ *
+ * As long as the subtasks are created in the same order the numbers drawn by
+ * each task are independent of the parallelism of the executing pool.
+ *
+ * <pre>
+ * {@code
+ * protected Long compute() {
+ * 	if (small enough) {
+ * 		return work(rng());
+ * 	}
+ * 	Task left = new Task(lower half, forkRng());
+ * 	Task right = new Task(upper half, forkRng());
+ * 	left.fork();
+ * 	return right.compute() + left.join();
+ * }
+ * }
+ * </pre>
+ *
+ * @author Kilian
+ * @param <V> the type of the result of the task
+ */
+public abstract class PcgRecursiveTask<V> extends RecursiveTask<V> {
+
+	private static final long serialVersionUID = -2917416375016329542L;
+
+	private final transient PcgRSSplittable rng;
+
+	/**
+	 * @param rng
+	 *            the generator owned by this task. Must not be shared with other
+	 *            tasks
+	 */
+	protected PcgRecursiveTask(PcgRSSplittable rng) {
+		this.rng = rng;
+	}
+
+	/**
+	 * @return the generator owned by this task
+	 */
+	protected PcgRSSplittable rng() {
+		return rng;
+	}
+
+	/**
+	 * Create a generator for a subtask.
+	 *
+	 * @return the next child of the generator owned by this task
+	 * @see PcgRSSplittable#fork()
+	 */
+	protected PcgRSSplittable forkRng() {
+		return rng.fork();
+	}
+
+}
@@ -0,0 +1,101 @@
+package com.github.kilianB.pcg.id;
+
+import java.util.UUID;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * Version 4 (random) UUIDs drawn from a pcg generator. <p>
+ *
+ * {@link UUID#randomUUID()} draws its bits from a shared
+ * {@link java.security.SecureRandom} which may block and does not scale. The
+ * UUIDs created here use two <code>nextLong()</code> calls of the given
+ * generator and share the layout of random UUIDs: 122 random bits, the version
+ * set to 4 and the IETF variant. They are <b>not</b> suitable for security
+ * sensitive identifiers, but for test data, trace ids and other identifiers
+ * which only have to be unique with high probability.
+ *
+ * @author Kilian
+ */
+public final class RandomUuid {
+
+	private static final long VERSION_MASK = 0xF000L;
+	private static final long VERSION_4 = 0x4000L;
+
+	private static final long VARIANT_MASK = 0xC000_0000_0000_0000L;
+	private static final long VARIANT_IETF = 0x8000_0000_0000_0000L;
+
+	private RandomUuid() {
+	}
+
+	/**
+	 * Create a random UUID. No object besides the UUID is allocated.
+	 *
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @return a version 4 UUID
+	 */
+	public static UUID next(Pcg rng) {
+		long most = rng.nextLong();
+		long least = rng.nextLong();
+		return new UUID((most & ~VERSION_MASK) | VERSION_4, (least & ~VARIANT_MASK) | VARIANT_IETF);
+	}
+
+	/**
+	 * Fill a range of the array with the bits of random UUIDs. Each UUID occupies
+	 * two consecutive values, the most significant bits followed by the least
+	 * significant bits. The values are equal to the bits of the UUIDs returned by
+	 * successive calls to {@link #next(Pcg)}.
+	 *
+	 * @param dst
+	 *            the array to fill
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive). <code>to - from</code> has to be even
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if the range has an odd length
+	 * @see #toUuid(long[], int)
+	 */
+	public static void next(long[] dst, int from, int to, Pcg rng) {
+		if (((to - from) & 1) != 0) {
+			throw new IllegalArgumentException("Range has to hold pairs of values. Length: " + (to - from));
+		}
+		for (int i = from; i < to; i += 2) {
+			dst[i] = (rng.nextLong() & ~VERSION_MASK) | VERSION_4;
+			dst[i + 1] = (rng.nextLong() & ~VARIANT_MASK) | VARIANT_IETF;
+		}
+	}
+
+	/**
+	 * Fill the array with the bits of random UUIDs.
+	 *
+	 * @param dst
+	 *            the array to fill. The length has to be even
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if the length of the array is odd
+	 * @see #next(long[], int, int, Pcg)
+	 */
+	public static void next(long[] dst, Pcg rng) {
+		next(dst, 0, dst.length, rng);
+	}
+
+	/**
+	 * Create the UUID stored at the given position of an array filled by
+	 * {@link #next(long[], int, int, Pcg)}.
+	 *
+	 * @param src
+	 *            the array holding the UUID bits
+	 * @param index
+	 *            the index of the most significant bits
+	 * @return the UUID
+	 */
+	public static UUID toUuid(long[] src, int index) {
+		return new UUID(src[index], src[index + 1]);
+	}
+
+}
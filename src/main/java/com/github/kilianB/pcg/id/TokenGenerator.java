@@ -0,0 +1,303 @@
+package com.github.kilianB.pcg.id;
+
+import java.util.BitSet;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * Random strings over a configurable alphabet. <p>
+ *
+ * Several characters are taken from each random 64 bit value. Alphabets whose
+ * size is a power of 2 consume <code>log2(size)</code> bits per character, e.g.
+ * 16 hex characters per <code>nextLong()</code>. Other alphabets take k
+ * characters from each 32 bit half of a <code>nextLong()</code> with
+ * size<sup>k</sup> &le; 2<sup>32</sup>, e.g. 5 alphanumeric characters per
+ * half. Each character is the upper word of the product of the remaining bits
+ * and the size, the lower word is carried into the next multiplication
+ * (batched dice rolls). A single test on the final lower word, which equals
+ * the lower word of the product of the initial bits and size<sup>k</sup> and
+ * is checked before any character is written, rejects the biased region of
+ * probability
+ * <code>(2<sup>32</sup> mod size<sup>k</sup>) / 2<sup>32</sup></code>. k is
+ * chosen to maximize the expected amount of accepted characters and no division
+ * is performed. All characters are uniformly distributed and independent. <p>
+ *
+ * The generator is immutable and may be shared between threads as long as each
+ * thread supplies its own random number generator. Tokens are <b>not</b>
+ * suitable for secrets, since the pcg output is predictable.
+ *
+ * @author Kilian
+ * @see <a href="https://arxiv.org/abs/2408.06213">Batched Ranged Random Integer
+ *      Generation</a>
+ */
+public class TokenGenerator {
+
+	/** Lower case hexadecimal digits */
+	public static final TokenGenerator HEX = new TokenGenerator("0123456789abcdef");
+
+	/** Digits, upper and lower case latin letters */
+	public static final TokenGenerator ALPHANUMERIC = new TokenGenerator(
+			"0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz");
+
+	private static final long LOW_MASK = 0xFFFFFFFFL;
+
+	private final char[] alphabet;
+
+	/** The alphabet as ASCII bytes. null if it contains other characters */
+	private final byte[] asciiAlphabet;
+
+	/** Bits per character if the size is a power of 2, 0 otherwise */
+	private final int bits;
+
+	/** Characters taken from each random 64 bit value */
+	private final int charsPerDraw;
+
+	/**
+	 * Lower words below this value are rejected. 2^32 mod size^(charsPerDraw / 2)
+	 * if the size is not a power of 2
+	 */
+	private final long threshold;
+
+	/** size^(charsPerDraw / 2) if the size is not a power of 2 */
+	private final long product;
+
+	/**
+	 * @param alphabet
+	 *            the distinct characters tokens are composed of
+	 * @throws IllegalArgumentException
+	 *             if the alphabet has less than 2 characters or contains a
+	 *             character multiple times
+	 */
+	public TokenGenerator(String alphabet) {
+		this(alphabet.toCharArray());
+	}
+
+	/**
+	 * @param alphabet
+	 *            the distinct characters tokens are composed of. The array is
+	 *            copied
+	 * @throws IllegalArgumentException
+	 *             if the alphabet has less than 2 characters or contains a
+	 *             character multiple times
+	 */
+	public TokenGenerator(char[] alphabet) {
+		int size = alphabet.length;
+		if (size < 2) {
+			throw new IllegalArgumentException("Alphabet has to contain at least 2 characters. Size: " + size);
+		}
+		this.alphabet = alphabet.clone();
+		byte[] ascii = new byte[size];
+		BitSet seen = new BitSet();
+		for (int i = 0; i < size; i++) {
+			char c = alphabet[i];
+			if (seen.get(c)) {
+				throw new IllegalArgumentException("Alphabet contains '" + c + "' multiple times");
+			}
+			seen.set(c);
+			if (ascii != null) {
+				if (c < 128) {
+					ascii[i] = (byte) c;
+				} else {
+					ascii = null;
+				}
+			}
+		}
+		asciiAlphabet = ascii;
+
+		if ((size & (size - 1)) == 0) {
+			bits = Integer.numberOfTrailingZeros(size);
+			charsPerDraw = 64 / bits;
+			threshold = 0;
+			product = 0;
+		} else {
+			bits = 0;
+			// Maximize the expected amount of accepted characters per half
+			int bestK = 0;
+			long bestThreshold = 0;
+			long bestProduct = 0;
+			double best = 0;
+			long p = 1;
+			for (int k = 1; p * size <= 1L << 32; k++) {
+				p *= size;
+				long t = (1L << 32) % p;
+				double accepted = k * (1 - t * 0x1.0p-32);
+				if (accepted > best) {
+					best = accepted;
+					bestK = k;
+					bestThreshold = t;
+					bestProduct = p;
+				}
+			}
+			charsPerDraw = 2 * bestK;
+			threshold = bestThreshold;
+			product = bestProduct;
+		}
+	}
+
+	/**
+	 * Fill a range of the array with random characters of the alphabet.
+	 *
+	 * @param dst
+	 *            the array to fill
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive)
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	public void next(char[] dst, int from, int to, Pcg rng) {
+		final char[] alphabet = this.alphabet;
+		draw(from, to, rng, (i, index) -> dst[i] = alphabet[index]);
+	}
+
+	/**
+	 * Fill a range of the array with the ASCII codes of random characters of the
+	 * alphabet. The bytes are equal to the characters written by
+	 * {@link #next(char[], int, int, Pcg)} given the same generator.
+	 *
+	 * @param dst
+	 *            the array to fill
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive)
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws UnsupportedOperationException
+	 *             if the alphabet contains non ASCII characters
+	 */
+	public void next(byte[] dst, int from, int to, Pcg rng) {
+		final byte[] alphabet = asciiAlphabet;
+		if (alphabet == null) {
+			throw new UnsupportedOperationException("Alphabet contains non ASCII characters");
+		}
+		draw(from, to, rng, (i, index) -> dst[i] = alphabet[index]);
+	}
+
+	/**
+	 * Append random characters of the alphabet. The characters are equal to the
+	 * characters written by {@link #next(char[], int, int, Pcg)} given the same
+	 * generator.
+	 *
+	 * @param dst
+	 *            the builder to append to
+	 * @param length
+	 *            the amount of characters to append
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @return the builder
+	 */
+	public StringBuilder next(StringBuilder dst, int length, Pcg rng) {
+		char[] token = new char[length];
+		next(token, 0, length, rng);
+		return dst.append(token);
+	}
+
+	/**
+	 * Create a random token.
+	 *
+	 * @param length
+	 *            the amount of characters
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @return the token
+	 */
+	public String next(int length, Pcg rng) {
+		char[] token = new char[length];
+		next(token, 0, length, rng);
+		return new String(token);
+	}
+
+	/**
+	 * Draw the alphabet indices of the characters at the positions [from, to).
+	 * Shared by the char and byte variants which therefore produce the same
+	 * tokens.
+	 */
+	private void draw(int from, int to, Pcg rng, IndexSink sink) {
+		int i = from;
+		if (bits != 0) {
+			final int bits = this.bits;
+			final int mask = alphabet.length - 1;
+			final int lastShift = 64 - bits * charsPerDraw;
+			while (i + charsPerDraw <= to) {
+				long x = rng.nextLong();
+				for (int shift = 64 - bits; shift >= lastShift; shift -= bits) {
+					sink.set(i++, (int) (x >>> shift) & mask);
+				}
+			}
+			if (i < to) {
+				long x = rng.nextLong();
+				for (int shift = 64 - bits; i < to; shift -= bits) {
+					sink.set(i++, (int) (x >>> shift) & mask);
+				}
+			}
+			return;
+		}
+		final long size = alphabet.length;
+		final long product = this.product;
+		final long threshold = this.threshold;
+		final int perHalf = charsPerDraw >>> 1;
+		while (i + charsPerDraw <= to) {
+			long x = rng.nextLong();
+			long high = x >>> 32;
+			long low = x & LOW_MASK;
+			// The final lower word is known upfront, the index does not depend on the
+			// digit chains
+			boolean acceptHigh = ((high * product) & LOW_MASK) >= threshold;
+			boolean acceptLow = ((low * product) & LOW_MASK) >= threshold;
+			if (acceptHigh) {
+				for (int d = 0; d < perHalf; d++) {
+					high *= size;
+					sink.set(i + d, (int) (high >>> 32));
+					high &= LOW_MASK;
+				}
+				i += perHalf;
+			}
+			if (acceptLow) {
+				for (int d = 0; d < perHalf; d++) {
+					low *= size;
+					sink.set(i + d, (int) (low >>> 32));
+					low &= LOW_MASK;
+				}
+				i += perHalf;
+			}
+		}
+		while (i < to) {
+			long w = rng.nextLong() >>> 32;
+			if (((w * product) & LOW_MASK) >= threshold) {
+				int end = Math.min(to, i + perHalf);
+				for (; i < end; i++) {
+					w *= size;
+					sink.set(i, (int) (w >>> 32));
+					w &= LOW_MASK;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Receives the alphabet index of the character at a position.
+	 */
+	@FunctionalInterface
+	private interface IndexSink {
+		void set(int position, int index);
+	}
+
+	/**
+	 * @return the amount of characters of the alphabet
+	 */
+	public int size() {
+		return alphabet.length;
+	}
+
+	/**
+	 * @return the amount of characters produced by each random 64 bit value. For
+	 *         alphabets whose size is not a power of 2 rejected halves are not
+	 *         accounted for
+	 */
+	public int getCharsPerDraw() {
+		return charsPerDraw;
+	}
+
+}
@@ -0,0 +1,179 @@
+package com.github.kilianB.pcg.light;
+
+/**
+ * Strided view on the stream of a lightweight pcg generator. Worker w of W
+ * receives the outputs w, w + W, w + 2W, ... of the stream, therefore, W views
+ * partition the stream exactly and the outputs of all workers interleaved
+ * equal the outputs of a single generator. <p>
+ *
+ * The W step transition of the lcg is again an affine transformation
+ * <code>state * mult<sup>W</sup> + plus<sub>W</sub></code>. The constants are
+ * precomputed once by the same square and multiply scheme used by
+ * {@link #advance(long)}, each step of a view costs a single multiplication
+ * and addition and the output is produced by the permutation function of the
+ * source generator. Views work for both {@link PcgRSLight} and
+ * {@link PcgRRLight}. <p>
+ *
+ * The partition applies to the 32 bit outputs. Methods consuming a single
+ * output per value like <code>nextInt()</code>, <code>nextFloat()</code> or
+ * <code>nextBoolean()</code> match the values the source would return at the
+ * respective positions. Methods consuming several outputs, e.g.
+ * <code>nextLong()</code>, <code>nextDouble()</code> or bounded draws which
+ * reject a value, take consecutive outputs of the view. <p>
+ *
+ * {@link #advance(long)} moves the view by the given amount of its own steps,
+ * i.e. W steps of the source stream. {@link #getState()}, {@link #getInc()}
+ * and {@link #distance(com.github.kilianB.pcg.Pcg)} refer to the source
+ * stream. <p>
+ *
+ * This implementation is <b>Not</b> thread safe. Each worker has to use its own
+ * view.
+ *
+ * @author Kilian
+ * @see RandomBaseLight#leapfrog(int, int)
+ */
+public final class LeapfrogView extends RandomBaseLight {
+
+	/** Generator providing the output permutation. Its state is not used */
+	private final RandomBaseLight output;
+
+	private final int worker;
+
+	private final int workers;
+
+	/** MULT_64^workers */
+	private long strideMult;
+
+	/** Increment of the workers step transition */
+	private long stridePlus;
+
+	/**
+	 * Create a view on the stream of the source starting at its current state.
+	 * The source is not altered.
+	 *
+	 * @param source
+	 *            the generator whose stream is partitioned
+	 * @param worker
+	 *            the index of the worker in [0, workers)
+	 * @param workers
+	 *            the amount of views the stream is partitioned into. Has to be
+	 *            positive
+	 * @throws IllegalArgumentException
+	 *             if the amount of workers is not positive, the worker is not in
+	 *             [0, workers) or the source is a view itself
+	 */
+	public LeapfrogView(RandomBaseLight source, int worker, int workers) {
+		this(checkSource(source), source.getState(), source.getInc(), worker, workers);
+		super.advance(worker);
+	}
+
+	@SuppressWarnings("deprecation")
+	private LeapfrogView(RandomBaseLight output, long state, long increment, int worker, int workers) {
+		super(state, increment, true);
+		if (workers < 1 || worker < 0 || worker >= workers) {
+			throw new IllegalArgumentException(
+					"Workers has to be positive and worker in [0, workers). Values: " + worker + " " + workers);
+		}
+		this.output = output;
+		this.worker = worker;
+		this.workers = workers;
+		computeStride();
+	}
+
+	private static RandomBaseLight checkSource(RandomBaseLight source) {
+		if (source instanceof LeapfrogView) {
+			throw new IllegalArgumentException("Views can not be partitioned further");
+		}
+		return source;
+	}
+
+	/**
+	 * Compute the transition of workers steps
+	 */
+	private void computeStride() {
+		long accMult = 1;
+		long accPlus = 0;
+		long curMult = MULT_64;
+		long curPlus = inc;
+		for (long steps = workers; steps > 0; steps >>>= 1) {
+			if ((steps & 1) == 1) {
+				accMult *= curMult;
+				accPlus = accPlus * curMult + curPlus;
+			}
+			curPlus *= (curMult + 1);
+			curMult *= curMult;
+		}
+		strideMult = accMult;
+		stridePlus = accPlus;
+	}
+
+	@Override
+	protected long stepRight() {
+		long oldState = state;
+		state = oldState * strideMult + stridePlus;
+		return oldState;
+	}
+
+	@Override
+	protected int getInt(long state) {
+		return output.getInt(state);
+	}
+
+	/**
+	 * Reseed the source stream and move the view to the position of its worker.
+	 *
+	 * @param seed         used to compute the starting state of the RNG
+	 * @param streamNumber used to compute the increment for the lcg.
+	 */
+	@Override
+	public void setSeed(long seed, long streamNumber) {
+		inc = (streamNumber << 1) | 1;
+		state = inc;
+		state += seed;
+		state = state * MULT_64 + inc;
+		computeStride();
+		super.advance(worker);
+	}
+
+	/**
+	 * Advance or rewind the view by the given amount of its own steps, which
+	 * corresponds to <code>steps * workers</code> steps of the source stream.
+	 */
+	@Override
+	public void advance(long steps) {
+		long accMult = 1;
+		long accPlus = 0;
+		long curMult = strideMult;
+		long curPlus = stridePlus;
+		for (; steps != 0; steps >>>= 1) {
+			if ((steps & 1) == 1) {
+				accMult *= curMult;
+				accPlus = accPlus * curMult + curPlus;
+			}
+			curPlus *= (curMult + 1);
+			curMult *= curMult;
+		}
+		state = accMult * state + accPlus;
+	}
+
+	/**
+	 * @return the index of the worker in [0, workers)
+	 */
+	public int getWorker() {
+		return worker;
+	}
+
+	/**
+	 * @return the amount of views the stream is partitioned into
+	 */
+	public int getWorkers() {
+		return workers;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T copy(long state, long increment) {
+		return (T) new LeapfrogView(output, state, increment, worker, workers);
+	}
+
+}
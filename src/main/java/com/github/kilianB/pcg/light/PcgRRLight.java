@@ -0,0 +1,101 @@
+package com.github.kilianB.pcg.light;
+
+/**
+ * A 64 bit State PcgRNG with 32 bit output. PCG-XSH-RR <p>
+ * 
+ * The pcg family combines a linear congruential generators with a permutation
+ * output function resulting in high quality pseudo random numbers. <p>
+ * 
+ * The original concept was introduced by Melissa O’Neill please refer to <a
+ * href="http://www.pcg-random.org/">pcg-random</a> for more information. <p>
+ * 
+ * The RR instance permutates the output using the following function:
+ * 
+ * <pre>
+ * {@code
+ * int shift = (int) (((state >>> 18) ^ state) >>> 27);
+ * int rotation = (int) (state >>> 59);
+ * return Integer.rotateRight(shift, rotation);
+ *}
+ * </pre>
+ * 
+ * This implementation does not extend {@link java.util.Random} and is cheap to
+ * construct. It is <b>Not</b> thread safe. It produces the same sequence as
+ * {@link com.github.kilianB.pcg.sync.PcgRR PcgRR}.
+ * 
+ * @author Kilian
+ * @see <a href="http://www.pcg-random.org/">www.pcg-random.org</a>
+ * @see PcgRSLight
+ */
+public class PcgRRLight extends RandomBaseLight {
+
+	/**
+	 * Create a PcgRRLight instance seeded with a unique seed and stream number
+	 * obtained from the {@link com.github.kilianB.pcg.SeedSource}. Instances
+	 * created by the non argument constructors of this library are guaranteed to
+	 * use distinct streams.
+	 */
+	public PcgRRLight() {
+		super();
+	}
+
+	/**
+	 * Create a random number generator with the given seed and stream number. The
+	 * seed defines the current state in which the rng is in and corresponds to
+	 * seeds usually found in other RNG implementations. RNGs with different seeds
+	 * are able to catch up after they exhaust their period and produce the same
+	 * numbers. <p>
+	 * 
+	 * Different stream numbers alter the increment of the rng and ensure distinct
+	 * state sequences <p>
+	 * 
+	 * Only generators with the same seed AND stream numbers will produce identical
+	 * values <p>
+	 * 
+	 * @param seed
+	 *            used to compute the starting state of the RNG
+	 * @param streamNumber
+	 *            used to compute the increment for the lcg.
+	 */
+	public PcgRRLight(long seed, long streamNumber) {
+		super(seed, streamNumber);
+	}
+
+	/**
+	 * Copy constructor. Invoked by {@link #copy(long, long)} when calling
+	 * {@link #copy()}, {@link #split()} or {@link #splitDistinct()}. If no special
+	 * behavior is desired simply pass though the values.
+	 * 
+	 * This constructor should usually not be called manually as the seed and
+	 * increment will just be set without performing any randomization.
+	 * 
+	 * @param seed
+	 *            of the lcg. The value will be set and not altered.
+	 * @param streamNumber
+	 *            used in the lcg as increment constant. has to be odd
+	 * @param dummy
+	 *            unused. Resolve signature disambiguate
+	 */
+	@Deprecated
+	public PcgRRLight(long seed, long streamNumber, boolean dummy) {
+		super(seed, streamNumber, true);
+	}
+
+	@Override
+	@SuppressWarnings({ "unchecked", "deprecation" })
+	public <T> T copy(long state, long increment) {
+		if (getClass() == PcgRRLight.class) {
+			return (T) new PcgRRLight(state, increment, true);
+		}
+		return super.copy(state, increment);
+	}
+
+	@Override
+	protected int getInt(long state) {
+		// Permuted output function
+		int shift = (int) (((state >>> 18) ^ state) >>> 27);
+		int rotation = (int) (state >>> 59);
+		return Integer.rotateRight(shift, rotation);
+	}
+
+}
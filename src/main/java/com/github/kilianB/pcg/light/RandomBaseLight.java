@@ -0,0 +1,438 @@
+package com.github.kilianB.pcg.light;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Random;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.SeedSource;
+import com.github.kilianB.pcg.UnsignedMath;
+import com.github.kilianB.pcg.sampler.NormalSampler;
+
+/**
+ * Base class for lightweight 64 bit state pcg random number generators with 32
+ * bit output.
+ * <p>
+ *
+ * Opposed to {@link com.github.kilianB.pcg.RandomBase64 RandomBase64} this
+ * class does <b>not</b> extend {@link java.util.Random}. An instance only
+ * carries the 16 bytes of lcg state and increment. Constructing it neither
+ * allocates the <code>AtomicLong</code> seed of the jdk class nor touches the
+ * global seed uniquifier of {@link java.util.Random}, which makes it suitable
+ * to be created in large quantities e.g. per request or per task. <p>
+ *
+ * If an api requires a {@link java.util.Random} instance {@link #asRandom()}
+ * returns a view backed by this generator.
+ * <p>
+ *
+ * This implementation is <b>Not</b> thread safe.
+ * <p>
+ *
+ * <b>Contract:</b> every extending class <b>should</b> override
+ * {@link #copy(long, long)}. If it is not overridden the class <b>must</b>
+ * implement a copy constructor with a signature of(long,long,boolean) which is
+ * invoked through reflection. As it does not perform proper initialization of
+ * the seed this constructor should not be exposed.
+ *
+ * @author Kilian
+ * @see <a href="http://www.pcg-random.org/">www.pcg-random.org</a>
+ */
+public abstract class RandomBaseLight implements Pcg {
+
+	/**
+	 * Linear congruential constant. Same as MMIX by Donald Knuth and Newlib, Musl
+	 */
+	protected static final long MULT_64 = 6364136223846793005L;
+
+	private static final double DOUBLE_UNIT = 0x1.0p-53;
+	private static final long INTEGER_MASK = 0xFFFFFFFFL;
+	private static final float FLOAT_UNIT = 1 / ((float) (1 << 24));
+
+	/** 64 bit internal state */
+	protected long state;
+
+	/** Stream number of the rng. */
+	protected long inc;
+
+	/**
+	 * Seeds the generator with a seed and stream number obtained from the
+	 * {@link SeedSource}. Instances created by this constructor are guaranteed to
+	 * use distinct streams.
+	 */
+	public RandomBaseLight() {
+		long unique = SeedSource.nextUnique();
+		setSeed(SeedSource.seed(unique), SeedSource.streamNumber(unique));
+	}
+
+	/**
+	 * Create a random number generator with the given seed and stream number. The
+	 * seed defines the current state in which the rng is in and corresponds to
+	 * seeds usually found in other RNG instances. RNGs with different seeds are
+	 * able to catch up after they exhaust their period and produce the same
+	 * numbers. (2^63).
+	 * <p>
+	 *
+	 * Different stream numbers alter the increment of the rng and ensure distinct
+	 * state sequences
+	 * <p>
+	 *
+	 * Only generators with the same seed AND stream numbers will produce identical
+	 * values
+	 * <p>
+	 *
+	 * @param seed         used to compute the starting state of the RNG
+	 * @param streamNumber used to compute the increment for the lcg.
+	 */
+	public RandomBaseLight(long seed, long streamNumber) {
+		setSeed(seed, streamNumber);
+	}
+
+	/**
+	 * Copy constructor. Used by {@link #copy(long, long)} of the extending classes.
+	 * If no special behavior is desired simply pass though the values.
+	 *
+	 * This constructor should usually not be called manually as the seed and
+	 * increment will just be set without performing any randomization.
+	 *
+	 * @param initialState of the lcg. The value will be set and not altered.
+	 * @param increment    used in the lcg. has to be odd
+	 * @param dummy        unused. Resolve signature disambiguate
+	 */
+	@Deprecated
+	protected RandomBaseLight(long initialState, long increment, boolean dummy) {
+		if (increment == 0 || increment % 2 == 0) {
+			throw new IllegalArgumentException("Increment may not be 0 or even. Value: " + increment);
+		}
+		this.state = initialState;
+		this.inc = increment;
+	}
+
+	/**
+	 * Sets the seed of this random number generator. The general contract of
+	 * setSeed is that it alters the state of this random number generator object so
+	 * as to be in exactly the same state as if it had just been created with the
+	 * argument seed as a seed.
+	 *
+	 * Only generators with the same seed AND stream numbers will produce identical
+	 * values
+	 * <p>
+	 *
+	 * @param seed         used to compute the starting state of the RNG
+	 * @param streamNumber used to compute the increment for the lcg.
+	 */
+	public void setSeed(long seed, long streamNumber) {
+		state = 0;
+		inc = (streamNumber << 1) | 1; // 2* + 1
+		stepRight();
+		state += seed;
+		stepRight();
+	}
+
+	/**
+	 * Update the state of the lcg and move a step forward. The old state is used
+	 * to extract bits used to construct a number.
+	 *
+	 * @return the old value of the state variable before updating.
+	 */
+	protected long stepRight() {
+		long oldState = state;
+		state = oldState * MULT_64 + inc;
+		return oldState;
+	}
+
+	/**
+	 * Construct a 32bit int from the given 64bit state using a permutation
+	 * function. The produced int will be used to construct all other datatypes
+	 * returned by this RNG.
+	 *
+	 * @param state random int as produced by the internal lcg
+	 * @return a random int with randomly set bits
+	 */
+	protected abstract int getInt(long state);
+
+	@Override
+	public void advance(long steps) {
+		long acc_mult = 1;
+		long acc_plus = 0;
+
+		long cur_plus = inc;
+		long cur_mult = MULT_64;
+
+		while (Long.compareUnsigned(steps, 0) > 0) {
+			if ((steps & 1) == 1) { 	// Last significant bit is 1
+				acc_mult *= cur_mult;
+				acc_plus = acc_plus * cur_mult + cur_plus;
+			}
+			cur_plus *= (cur_mult + 1);
+			cur_mult *= cur_mult;
+			steps = Long.divideUnsigned(steps, 2);
+		}
+		state = (acc_mult * state) + acc_plus;
+	}
+
+	@Override
+	public int next(int n) {
+		return getInt(stepRight()) >>> (32 - n);
+	}
+
+	@Override
+	public boolean nextBoolean() {
+		return next(1) != 0;
+	}
+
+	@Override
+	public boolean nextBoolean(double probability) {
+		if (probability < 0.0 || probability > 1.0)
+			throw new IllegalArgumentException("probability must be between 0.0 and 1.0 inclusive.");
+		if (probability == 0.0)
+			return false; // fix half-open issues
+		else if (probability == 1.0)
+			return true; // fix half-open issues
+		return nextDouble() < probability;
+	}
+
+	@Override
+	public void nextBytes(byte[] bytes) {
+		for (int x = 0; x < bytes.length; x++)
+			bytes[x] = (byte) next(8);
+	}
+
+	@Override
+	public char nextChar() {
+		return (char) next(16);
+	}
+
+	@Override
+	public short nextShort() {
+		return (short) next(16);
+	}
+
+	@Override
+	public byte nextByte() {
+		return (byte) next(8);
+	}
+
+	@Override
+	public int nextInt() {
+		return getInt(stepRight());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Uses Lemire's multiply and shift method. Unless the lower word of the product
+	 * falls into the biased region, which happens with a probability below
+	 * n / 2<sup>32</sup>, a single call to {@link #nextInt()} suffices and no
+	 * division is performed.
+	 */
+	@Override
+	public int nextInt(int n) {
+		if (n <= 0)
+			throw new IllegalArgumentException("n must be positive, got: " + n);
+		return UnsignedMath.boundedInt(this::nextInt, n);
+	}
+
+	@Override
+	public int nextInt(int origin, int bound) {
+		if (origin >= bound)
+			throw new IllegalArgumentException("bound must be greater than origin, got: " + origin + " " + bound);
+		return origin + UnsignedMath.boundedInt(this::nextInt, (bound - origin) & INTEGER_MASK);
+	}
+
+	@Override
+	public long nextLong() {
+		return ((long) nextInt() << 32) + nextInt();
+	}
+
+	@Override
+	public long nextLong(long n) {
+		if (n <= 0)
+			throw new IllegalArgumentException("n must be positive, got: " + n);
+		return UnsignedMath.boundedLong(this::nextLong, n);
+	}
+
+	@Override
+	public long nextLong(long origin, long bound) {
+		if (origin >= bound)
+			throw new IllegalArgumentException("bound must be greater than origin, got: " + origin + " " + bound);
+		return origin + UnsignedMath.boundedLong(this::nextLong, bound - origin);
+	}
+
+	@Override
+	public float nextFloat() {
+		return next(24) * FLOAT_UNIT;
+	}
+
+	@Override
+	public float nextFloat(boolean includeZero, boolean includeOne) {
+		if (includeZero) {
+			if (includeOne) {
+				// Round 25 bits to 24 bits. 0 and 1 are hit with half the probability
+				return (((nextInt() >>> 7) + 1) >>> 1) * FLOAT_UNIT;
+			}
+			return nextFloat();
+		}
+		if (includeOne) {
+			return 1 - nextFloat();
+		}
+		// Midpoints of the 2^-23 grid
+		return ((nextInt() >>> 9) + 0.5f) * (2 * FLOAT_UNIT);
+	}
+
+	@Override
+	public double nextDouble() {
+		return (((long) next(26) << 27) + next(27)) * DOUBLE_UNIT;
+	}
+
+	@Override
+	public double nextDouble(boolean includeZero, boolean includeOne) {
+		if (includeZero) {
+			if (includeOne) {
+				// Round 54 bits to 53 bits. 0 and 1 are hit with half the probability
+				return (((nextLong() >>> 10) + 1) >>> 1) * DOUBLE_UNIT;
+			}
+			return nextDouble();
+		}
+		if (includeOne) {
+			return 1 - nextDouble();
+		}
+		// Midpoints of the 2^-52 grid
+		return ((nextLong() >>> 12) + 0.5) * (2 * DOUBLE_UNIT);
+	}
+
+	/**
+	 * Returns the next pseudorandom, Gaussian ("normally") distributed
+	 * {@code double} value with mean {@code 0.0} and standard deviation
+	 * {@code 1.0} from this random number generator's sequence.
+	 * <p>
+	 * Opposed to {@link java.util.Random} the value is computed by the ziggurat
+	 * method and no second value is cached.
+	 * 
+	 * @return the next pseudorandom, Gaussian ("normally") distributed
+	 *         {@code double} value
+	 * @see NormalSampler
+	 */
+	@Override
+	public double nextGaussian() {
+		return NormalSampler.standard(nextLong(), this);
+	}
+
+	/**
+	 * Return a {@link java.util.Random} view of this generator. All methods of the
+	 * returned object delegate to this instance, therefore, drawing numbers from
+	 * the view advances the state of this generator and vice versa. Calling
+	 * {@link java.util.Random#setSeed(long)} on the view reseeds this generator.
+	 * <p>
+	 * A new view is created every time this method is invoked. Just like this
+	 * generator the view is <b>Not</b> thread safe.
+	 *
+	 * @return a random instance backed by this generator
+	 */
+	public Random asRandom() {
+		return new RandomView(this);
+	}
+
+	/**
+	 * Create a strided view on the stream of this generator starting at its
+	 * current state. The view of worker w returns the outputs w, w + workers, w +
+	 * 2 workers, ... of this generator. This generator is not altered.
+	 *
+	 * @param worker
+	 *            the index of the worker in [0, workers)
+	 * @param workers
+	 *            the amount of views the stream is partitioned into
+	 * @return a view producing every workers-th output
+	 * @throws IllegalArgumentException
+	 *             if the amount of workers is not positive or the worker is not
+	 *             in [0, workers)
+	 * @see LeapfrogView
+	 */
+	public LeapfrogView leapfrog(int worker, int workers) {
+		return new LeapfrogView(this, worker, workers);
+	}
+
+	@Override
+	public <T> T split() throws ReflectiveOperationException {
+		return copy();
+	}
+
+	@Override
+	public <T> T splitDistinct() throws ReflectiveOperationException {
+		long curInc;
+		long curState;
+
+		do {
+			// Has to be odd
+			curInc = ((nextLong(Math.abs(getInc())) ^ (~System.nanoTime())) * 2) + 1;
+		} while (curInc == getInc());
+
+		// State swaps by each call to nextLong
+		do {
+			curState = (nextLong(Math.abs(getState())) ^ (~System.nanoTime()));
+		} while (curState == getState());
+
+		return copy(curState, curInc);
+	}
+
+	@Override
+	public <T> T copy() {
+		return copy(getState(), getInc());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Extending classes should override this method. The default implementation
+	 * falls back to invoking the (long,long,boolean) copy constructor through
+	 * reflection.
+	 * 
+	 * @throws UnsupportedOperationException
+	 *             if the method is not overridden and the extending class does not
+	 *             provide the copy constructor
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T copy(long state, long increment) {
+		try {
+			return (T) getClass().getDeclaredConstructor(long.class, long.class, boolean.class).newInstance(state,
+					increment, true);
+		} catch (InvocationTargetException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new UnsupportedOperationException("Failed to instantiate clone constructor", e);
+		} catch (ReflectiveOperationException | SecurityException e) {
+			throw new UnsupportedOperationException("Failed to instantiate clone constructor", e);
+		}
+	}
+
+	@Override
+	public boolean isFast() {
+		return false;
+	}
+
+	@Override
+	public long getState() {
+		return state;
+	}
+
+	@Override
+	public long getInc() {
+		return inc;
+	}
+
+	@Override
+	public long getMult() {
+		return MULT_64;
+	}
+
+	/**
+	 * Return a random 64 bit seed ensuring uniqueness. This implementation is
+	 * thread safe and lock free.
+	 *
+	 * @return a unique seed
+	 * @see SeedSource#nextSeed()
+	 */
+	protected static long getRandomSeed() {
+		return SeedSource.nextSeed();
+	}
+}
@@ -0,0 +1,77 @@
+package com.github.kilianB.pcg.light;
+
+import java.util.Random;
+
+/**
+ * {@link java.util.Random} adapter delegating all calls to a lightweight pcg
+ * instance. The view itself does not hold any random state.
+ *
+ * @author Kilian
+ * @see RandomBaseLight#asRandom()
+ */
+final class RandomView extends Random {
+
+	private static final long serialVersionUID = 3206380183413522387L;
+
+	private final RandomBaseLight rng;
+
+	RandomView(RandomBaseLight rng) {
+		// Use the seeded constructor. The default one spins on the global jdk seed
+		// uniquifier which is exactly what we try to avoid
+		super(0);
+		this.rng = rng;
+	}
+
+	@Override
+	public synchronized void setSeed(long seed) {
+		// Invoked by the super constructor before the delegate is assigned
+		if (rng != null) {
+			rng.setSeed(seed, seed);
+		}
+	}
+
+	@Override
+	protected int next(int bits) {
+		return rng.next(bits);
+	}
+
+	@Override
+	public void nextBytes(byte[] bytes) {
+		rng.nextBytes(bytes);
+	}
+
+	@Override
+	public int nextInt() {
+		return rng.nextInt();
+	}
+
+	@Override
+	public int nextInt(int bound) {
+		return rng.nextInt(bound);
+	}
+
+	@Override
+	public long nextLong() {
+		return rng.nextLong();
+	}
+
+	@Override
+	public boolean nextBoolean() {
+		return rng.nextBoolean();
+	}
+
+	@Override
+	public float nextFloat() {
+		return rng.nextFloat();
+	}
+
+	@Override
+	public double nextDouble() {
+		return rng.nextDouble();
+	}
+
+	@Override
+	public double nextGaussian() {
+		return rng.nextGaussian();
+	}
+}
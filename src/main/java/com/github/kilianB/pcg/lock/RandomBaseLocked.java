@@ -1,5 +1,7 @@
 package com.github.kilianB.pcg.lock;
 
+import java.io.IOException;
+import java.io.ObjectOutput;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
@@ -129,6 +131,37 @@ public abstract class RandomBaseLocked extends RandomBase64 {
 		writeLock.unlock();
 	}
 
+	@Override
+	public <T> T copy() {
+		// Read state and increment as one consistent snapshot
+		long state;
+		long inc;
+		readLock.lock();
+		try {
+			state = this.state;
+			inc = this.inc;
+		} finally {
+			readLock.unlock();
+		}
+		return copy(state, inc);
+	}
+
+	@Override
+	public void writeExternal(ObjectOutput out) throws IOException {
+		// Read state and increment as one consistent snapshot
+		long state;
+		long inc;
+		readLock.lock();
+		try {
+			state = this.state;
+			inc = this.inc;
+		} finally {
+			readLock.unlock();
+		}
+		out.writeLong(state);
+		out.writeLong(inc);
+	}
+
 	@Override
 	public boolean isFast() {
 		return false;
@@ -0,0 +1,199 @@
+package com.github.kilianB.pcg.sampler;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * Sampler for arbitrary discrete distributions over the outcomes [0, n) using
+ * the alias method. The tables are built in O(n) by Vose's algorithm. <p>
+ *
+ * Each draw consumes a single 64 bit random value. The upper 32 bits select a
+ * column by Lemire's multiply and shift method, the lower 32 bits are compared
+ * against the fixed point threshold of the column to decide between the column
+ * and its alias. Neither a division nor a floating point operation is required
+ * and the cost does not depend on the number of outcomes. <p>
+ *
+ * The tables occupy 8 bytes per outcome. Probabilities are resolved with a
+ * precision of 2<sup>-32</sup>.
+ *
+ * @author Kilian
+ * @see <a href="https://www.keithschwarz.com/darts-dice-coins/">Darts, Dice, and
+ *      Coins: Sampling from a Discrete Distribution</a>
+ */
+public class AliasSampler implements DiscreteSampler {
+
+	/** 2^32 */
+	private static final double FIXED_POINT_SCALE = 0x1.0p32;
+
+	/** Number of outcomes */
+	private final int n;
+
+	/**
+	 * Probability of keeping the column scaled to [0, 2^32) and shifted by
+	 * Integer.MIN_VALUE to allow a signed comparison.
+	 */
+	private final int[] threshold;
+
+	/** Outcome returned if the column is rejected */
+	private final int[] alias;
+
+	/** 2^32 mod n. Lemire's rejection threshold */
+	private final long rejectionThreshold;
+
+	/**
+	 * Create a sampler drawing each outcome proportional to its weight.
+	 *
+	 * @param weights
+	 *            non negative, finite weights of the outcomes. Weights do not have
+	 *            to be normalized
+	 * @throws IllegalArgumentException
+	 *             if no weights are supplied, a weight is negative or not finite or
+	 *             all weights are 0
+	 */
+	public AliasSampler(double[] weights) {
+		n = weights.length;
+		if (n == 0) {
+			throw new IllegalArgumentException("At least one weight has to be supplied");
+		}
+
+		double sum = 0;
+		for (int i = 0; i < n; i++) {
+			double w = weights[i];
+			if (!(w >= 0) || Double.isInfinite(w)) {
+				throw new IllegalArgumentException("Weights have to be non negative and finite. Index: " + i
+						+ " Value: " + w);
+			}
+			sum += w;
+		}
+		if (!(sum > 0) || Double.isInfinite(sum)) {
+			throw new IllegalArgumentException("The sum of the weights has to be positive and finite. Value: " + sum);
+		}
+
+		threshold = new int[n];
+		alias = new int[n];
+		rejectionThreshold = (1L << 32) % n;
+
+		// Probabilities scaled so that the average column is filled exactly
+		double[] p = new double[n];
+		double scale = n / sum;
+
+		// Small entries are pushed from the front, large entries from the back
+		int[] work = new int[n];
+		int small = 0;
+		int large = n;
+		for (int i = 0; i < n; i++) {
+			p[i] = weights[i] * scale;
+			if (p[i] < 1) {
+				work[small++] = i;
+			} else {
+				work[--large] = i;
+			}
+		}
+
+		while (small > 0 && large < n) {
+			int l = work[--small];
+			int g = work[large++];
+			threshold[l] = toFixedPoint(p[l]);
+			alias[l] = g;
+			p[g] = (p[g] + p[l]) - 1;
+			if (p[g] < 1) {
+				work[small++] = g;
+			} else {
+				work[--large] = g;
+			}
+		}
+
+		// Remaining entries are full up to rounding errors
+		while (large < n) {
+			fill(work[large++]);
+		}
+		while (small > 0) {
+			fill(work[--small]);
+		}
+	}
+
+	@Override
+	public int sample(Pcg rng) {
+		for (;;) {
+			long bits = rng.nextLong();
+			long m = (bits >>> 32) * n;
+			// Unbiased unless the lower 32 bits fall into the short interval
+			if ((m & 0xFFFFFFFFL) >= rejectionThreshold) {
+				int column = (int) (m >>> 32);
+				return (int) bits < threshold[column] ? column : alias[column];
+			}
+		}
+	}
+
+	@Override
+	public void sample(int[] dst, Pcg rng) {
+		final int[] threshold = this.threshold;
+		final int[] alias = this.alias;
+		final long n = this.n;
+		final long rejectionThreshold = this.rejectionThreshold;
+		for (int i = 0; i < dst.length;) {
+			long bits = rng.nextLong();
+			long m = (bits >>> 32) * n;
+			if ((m & 0xFFFFFFFFL) >= rejectionThreshold) {
+				int column = (int) (m >>> 32);
+				dst[i++] = (int) bits < threshold[column] ? column : alias[column];
+			}
+		}
+	}
+
+	/**
+	 * @return the number of outcomes. Samples are in the range [0, n)
+	 */
+	public int getNumberOfOutcomes() {
+		return n;
+	}
+
+	/**
+	 * The probability this sampler draws the given outcome with. The value may
+	 * differ from the normalized weight by rounding to the table precision.
+	 *
+	 * @param outcome
+	 *            the outcome in [0, n)
+	 * @return the probability of the outcome
+	 */
+	public double getProbability(int outcome) {
+		if (outcome < 0 || outcome >= n) {
+			throw new IllegalArgumentException("Outcome has to be in [0, " + n + "). Value: " + outcome);
+		}
+		double mass = 0;
+		for (int i = 0; i < n; i++) {
+			double keep = (threshold[i] - (double) Integer.MIN_VALUE) / FIXED_POINT_SCALE;
+			if (i == outcome) {
+				mass += keep;
+			}
+			if (alias[i] == outcome) {
+				mass += 1 - keep;
+			}
+		}
+		return mass / n;
+	}
+
+	/**
+	 * Mark the column as full. The column is returned unconditionally
+	 *
+	 * @param column
+	 *            the column index
+	 */
+	private void fill(int column) {
+		threshold[column] = Integer.MAX_VALUE;
+		alias[column] = column;
+	}
+
+	/**
+	 * @param p
+	 *            probability in [0, 1)
+	 * @return the probability scaled to the shifted fixed point representation
+	 */
+	private static int toFixedPoint(double p) {
+		long t = Math.round(p * FIXED_POINT_SCALE);
+		if (t >= (1L << 32)) {
+			t = (1L << 32) - 1;
+		}
+		return (int) (t + Integer.MIN_VALUE);
+	}
+
+}
@@ -0,0 +1,71 @@
+package com.github.kilianB.pcg.sampler;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * Sampler for beta distributed values. A value is computed as
+ * <code>X / (X + Y)</code> with <code>X ~ Gamma(alpha, 1)</code> and
+ * <code>Y ~ Gamma(beta, 1)</code>. <p>
+ *
+ * For shapes below 1 both gamma values frequently underflow to 0. In this case
+ * the ratio is computed from the logarithms of the gamma values instead.
+ *
+ * @author Kilian
+ * @see GammaSampler
+ */
+public class BetaSampler implements ContinuousSampler {
+
+	private final GammaSampler x;
+	private final GammaSampler y;
+
+	/** At least one shape is below 1 */
+	private final boolean logSpace;
+
+	/**
+	 * Create a sampler for a beta distribution.
+	 *
+	 * @param alpha
+	 *            first shape parameter. Has to be positive
+	 * @param beta
+	 *            second shape parameter. Has to be positive
+	 * @throws IllegalArgumentException
+	 *             if alpha or beta is not positive or not finite
+	 */
+	public BetaSampler(double alpha, double beta) {
+		x = new GammaSampler(alpha, 1);
+		y = new GammaSampler(beta, 1);
+		logSpace = alpha < 1 || beta < 1;
+	}
+
+	@Override
+	public double sample(Pcg rng) {
+		if (logSpace) {
+			double logX = x.logStandard(rng);
+			double logY = y.logStandard(rng);
+			// X / (X + Y) evaluated with the exponent of the smaller value
+			if (logX < logY) {
+				double t = Math.exp(logX - logY);
+				return t / (1 + t);
+			}
+			return 1 / (1 + Math.exp(logY - logX));
+		}
+		double gx = x.standard(rng);
+		double gy = y.standard(rng);
+		return gx / (gx + gy);
+	}
+
+	/**
+	 * @return the first shape parameter
+	 */
+	public double getAlpha() {
+		return x.getShape();
+	}
+
+	/**
+	 * @return the second shape parameter
+	 */
+	public double getBeta() {
+		return y.getShape();
+	}
+
+}
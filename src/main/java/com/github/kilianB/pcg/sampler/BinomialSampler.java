@@ -0,0 +1,223 @@
+package com.github.kilianB.pcg.sampler;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * Sampler for binomial distributed values. <p>
+ *
+ * If <code>n * min(p, 1 - p)</code> is at least 10 the transformed rejection
+ * with decomposition (BTRD) algorithm by Hörmann is used. Its expected cost does
+ * not depend on the parameters. Otherwise the distribution is sampled by
+ * sequential inversion which requires <code>n * p + 1</code> steps on average.
+ * Probabilities above 0.5 are sampled as <code>n - X</code> with
+ * <code>X ~ B(n, 1 - p)</code>.
+ *
+ * @author Kilian
+ * @see <a href="https://doi.org/10.1080/00949659308811496">The generation of
+ *      binomial random variates</a>
+ */
+public class BinomialSampler implements DiscreteSampler {
+
+	/** Switch from inversion to BTRD */
+	private static final double BTRD_THRESHOLD = 10;
+
+	private final int trials;
+	private final double probability;
+
+	/** Sample n - X */
+	private final boolean flipped;
+
+	/** min(p, 1 - p) */
+	private final double p;
+
+	/** Use BTRD */
+	private final boolean btrd;
+
+	// Inversion
+	/** (1 - p)^n */
+	private final double q0;
+	/** p / (1 - p) */
+	private final double s;
+	/** (n + 1) * s */
+	private final double ns;
+
+	// BTRD
+	private final int m;
+	private final double r;
+	private final double nr;
+	private final double npq;
+	private final double a;
+	private final double b;
+	private final double c;
+	private final double alpha;
+	private final double vr;
+	private final double urvr;
+	private final double h;
+
+	/**
+	 * Create a sampler for a binomial distribution.
+	 *
+	 * @param trials
+	 *            the number of trials. Has to be non negative
+	 * @param probability
+	 *            the success probability of each trial in [0,1]
+	 * @throws IllegalArgumentException
+	 *             if trials is negative or the probability is not in [0,1]
+	 */
+	public BinomialSampler(int trials, double probability) {
+		if (trials < 0) {
+			throw new IllegalArgumentException("Trials may not be negative. Value: " + trials);
+		}
+		if (!(probability >= 0 && probability <= 1)) {
+			throw new IllegalArgumentException("probability must be between 0.0 and 1.0 inclusive. Value: " + probability);
+		}
+		this.trials = trials;
+		this.probability = probability;
+		flipped = probability > 0.5;
+		p = flipped ? 1 - probability : probability;
+
+		double q = 1 - p;
+		s = p / q;
+		ns = (trials + 1) * s;
+		q0 = Math.pow(q, trials);
+
+		btrd = trials * p >= BTRD_THRESHOLD;
+
+		m = (int) Math.floor((trials + 1) * p);
+		r = s;
+		nr = ns;
+		npq = trials * p * q;
+		double sqrtNpq = Math.sqrt(npq);
+		b = 1.15 + 2.53 * sqrtNpq;
+		a = -0.0873 + 0.0248 * b + 0.01 * p;
+		c = trials * p + 0.5;
+		alpha = (2.83 + 5.1 / b) * sqrtNpq;
+		vr = 0.92 - 4.2 / b;
+		urvr = 0.86 * vr;
+		int nm = trials - m + 1;
+		h = (m + 0.5) * Math.log((m + 1) / (r * nm)) + SamplerMath.stirlingCorrection(m)
+				+ SamplerMath.stirlingCorrection(trials - m);
+	}
+
+	@Override
+	public int sample(Pcg rng) {
+		int k = btrd ? btrd(rng) : inversion(rng);
+		return flipped ? trials - k : k;
+	}
+
+	@Override
+	public void sample(int[] dst, Pcg rng) {
+		if (btrd) {
+			for (int i = 0; i < dst.length; i++) {
+				dst[i] = btrd(rng);
+			}
+		} else {
+			for (int i = 0; i < dst.length; i++) {
+				dst[i] = inversion(rng);
+			}
+		}
+		if (flipped) {
+			for (int i = 0; i < dst.length; i++) {
+				dst[i] = trials - dst[i];
+			}
+		}
+	}
+
+	/**
+	 * @return the number of trials
+	 */
+	public int getTrials() {
+		return trials;
+	}
+
+	/**
+	 * @return the success probability of each trial
+	 */
+	public double getProbability() {
+		return probability;
+	}
+
+	private int inversion(Pcg rng) {
+		for (;;) {
+			double u = rng.nextDouble();
+			double f = q0;
+			int k = 0;
+			while (u > f) {
+				u -= f;
+				k++;
+				if (k > trials) {
+					break;
+				}
+				f *= ns / k - s;
+			}
+			// Rounding errors may let u exceed the remaining mass. Try again
+			if (k <= trials) {
+				return k;
+			}
+		}
+	}
+
+	private int btrd(Pcg rng) {
+		for (;;) {
+			double v = rng.nextDouble();
+			double u;
+			if (v <= urvr) {
+				// Squeeze. Accepts ~86% of all samples
+				u = v / vr - 0.43;
+				return (int) Math.floor((2 * a / (0.5 - Math.abs(u)) + b) * u + c);
+			}
+			if (v >= vr) {
+				u = rng.nextDouble() - 0.5;
+			} else {
+				u = v / vr - 0.93;
+				u = Math.signum(u) * 0.5 - u;
+				v = rng.nextDouble() * vr;
+			}
+
+			double us = 0.5 - Math.abs(u);
+			int k = (int) Math.floor((2 * a / us + b) * u + c);
+			if (k < 0 || k > trials) {
+				continue;
+			}
+			v = v * alpha / (a / (us * us) + b);
+			int km = Math.abs(k - m);
+
+			if (km <= 15) {
+				// Recursive evaluation of f(k) / f(m)
+				double f = 1;
+				if (m < k) {
+					for (int i = m + 1; i <= k; i++) {
+						f *= nr / i - r;
+					}
+				} else if (m > k) {
+					for (int i = k + 1; i <= m; i++) {
+						v *= nr / i - r;
+					}
+				}
+				if (v <= f) {
+					return k;
+				}
+				continue;
+			}
+
+			// Squeeze using upper and lower bounds of log(f(k))
+			v = Math.log(v);
+			double rho = (km / npq) * (((km / 3.0 + 0.625) * km + 1.0 / 6) / npq + 0.5);
+			double t = -km * (double) km / (2 * npq);
+			if (v < t - rho) {
+				return k;
+			}
+			if (v > t + rho) {
+				continue;
+			}
+
+			int nm = trials - m + 1;
+			int nk = trials - k + 1;
+			if (v <= h + (trials + 1) * Math.log((double) nm / nk) + (k + 0.5) * Math.log(nk * r / (k + 1))
+					- SamplerMath.stirlingCorrection(k) - SamplerMath.stirlingCorrection(trials - k)) {
+				return k;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,231 @@
+package com.github.kilianB.pcg.sampler;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * Thread safe variant of the {@link DynamicWeightedSampler} using lock
+ * striping. <p>
+ *
+ * Outcomes are distributed round robin over a fixed number of stripes. Each
+ * stripe is an independent sum tree guarded by its own read write lock. Updates
+ * only lock the stripe of the outcome, draws first pick a stripe proportional
+ * to its total weight without locking and afterwards descend the stripe while
+ * holding its read lock. Concurrent draws never block each other and updates
+ * to different stripes proceed in parallel. <p>
+ *
+ * A draw racing with an update observes the weights either before or after the
+ * update. Each thread has to pass its own generator.
+ *
+ * @author Kilian
+ */
+public class ConcurrentWeightedSampler implements DiscreteSampler {
+
+	/** Default number of stripes */
+	public static final int DEFAULT_STRIPES = 16;
+
+	/** Number of outcomes */
+	private final int n;
+
+	private final DynamicWeightedSampler[] stripes;
+
+	private final ReentrantReadWriteLock[] locks;
+
+	/** Raw long bits of the total weight of each stripe */
+	private final AtomicLongArray stripeTotals;
+
+	/**
+	 * Create a sampler with n outcomes all weighted 0 and the default number of
+	 * stripes.
+	 *
+	 * @param n
+	 *            the number of outcomes
+	 * @throws IllegalArgumentException
+	 *             if n is not positive or a stripe would hold more than 2^29
+	 *             outcomes
+	 */
+	public ConcurrentWeightedSampler(int n) {
+		this(zeroWeights(n), DEFAULT_STRIPES);
+	}
+
+	/**
+	 * Create a sampler with the given initial weights and the default number of
+	 * stripes.
+	 *
+	 * @param weights
+	 *            non negative, finite weights of the outcomes. Weights do not have
+	 *            to be normalized
+	 * @throws IllegalArgumentException
+	 *             if no weights are supplied or a weight is negative or not finite
+	 */
+	public ConcurrentWeightedSampler(double[] weights) {
+		this(weights, DEFAULT_STRIPES);
+	}
+
+	/**
+	 * Create a sampler with the given initial weights.
+	 *
+	 * @param weights
+	 *            non negative, finite weights of the outcomes. Weights do not have
+	 *            to be normalized
+	 * @param stripes
+	 *            the number of independently locked stripes. Capped at the number
+	 *            of outcomes
+	 * @throws IllegalArgumentException
+	 *             if no weights are supplied, a weight is negative or not finite,
+	 *             the number of stripes is not positive or a stripe would hold
+	 *             more than 2^29 outcomes
+	 */
+	public ConcurrentWeightedSampler(double[] weights, int stripes) {
+		n = weights.length;
+		if (n == 0) {
+			throw new IllegalArgumentException("At least one weight has to be supplied");
+		}
+		if (stripes <= 0) {
+			throw new IllegalArgumentException("Number of stripes has to be positive. Value: " + stripes);
+		}
+		int stripeCount = Math.min(stripes, n);
+		this.stripes = new DynamicWeightedSampler[stripeCount];
+		locks = new ReentrantReadWriteLock[stripeCount];
+		stripeTotals = new AtomicLongArray(stripeCount);
+
+		for (int s = 0; s < stripeCount; s++) {
+			double[] stripeWeights = new double[(n - s + stripeCount - 1) / stripeCount];
+			for (int j = 0; j < stripeWeights.length; j++) {
+				stripeWeights[j] = weights[j * stripeCount + s];
+			}
+			this.stripes[s] = new DynamicWeightedSampler(stripeWeights);
+			locks[s] = new ReentrantReadWriteLock();
+			stripeTotals.set(s, Double.doubleToRawLongBits(this.stripes[s].getTotalWeight()));
+		}
+	}
+
+	/**
+	 * Set the weight of an outcome. Only the stripe containing the outcome is
+	 * locked.
+	 *
+	 * @param outcome
+	 *            the outcome in [0, n)
+	 * @param weight
+	 *            the new non negative, finite weight
+	 * @throws IllegalArgumentException
+	 *             if the weight is negative or not finite
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if the outcome is not in [0, n)
+	 */
+	public void update(int outcome, double weight) {
+		checkOutcome(outcome);
+		int s = outcome % stripes.length;
+		ReentrantReadWriteLock.WriteLock lock = locks[s].writeLock();
+		lock.lock();
+		try {
+			DynamicWeightedSampler stripe = stripes[s];
+			stripe.update(outcome / stripes.length, weight);
+			stripeTotals.set(s, Double.doubleToRawLongBits(stripe.getTotalWeight()));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @param outcome
+	 *            the outcome in [0, n)
+	 * @return the current weight of the outcome
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if the outcome is not in [0, n)
+	 */
+	public double getWeight(int outcome) {
+		checkOutcome(outcome);
+		int s = outcome % stripes.length;
+		ReentrantReadWriteLock.ReadLock lock = locks[s].readLock();
+		lock.lock();
+		try {
+			return stripes[s].getWeight(outcome / stripes.length);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return the sum of all weights. Concurrent updates may or may not be
+	 *         reflected
+	 */
+	public double getTotalWeight() {
+		double total = 0;
+		for (int s = 0; s < stripes.length; s++) {
+			total += Double.longBitsToDouble(stripeTotals.get(s));
+		}
+		return total;
+	}
+
+	/**
+	 * @return the number of outcomes. Samples are in the range [0, n)
+	 */
+	public int getNumberOfOutcomes() {
+		return n;
+	}
+
+	/**
+	 * @return the number of independently locked stripes
+	 */
+	public int getNumberOfStripes() {
+		return stripes.length;
+	}
+
+	/**
+	 * Draw an outcome with a probability proportional to its current weight.
+	 *
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @return the outcome
+	 * @throws IllegalStateException
+	 *             if all weights are 0
+	 */
+	@Override
+	public int sample(Pcg rng) {
+		final int stripeCount = stripes.length;
+		for (;;) {
+			double total = getTotalWeight();
+			if (!(total > 0)) {
+				throw new IllegalStateException("At least one weight has to be positive");
+			}
+			double u = rng.nextDouble() * total;
+			int s = 0;
+			for (; s < stripeCount - 1; s++) {
+				double stripeTotal = Double.longBitsToDouble(stripeTotals.get(s));
+				if (u < stripeTotal) {
+					break;
+				}
+				u -= stripeTotal;
+			}
+
+			ReentrantReadWriteLock.ReadLock lock = locks[s].readLock();
+			lock.lock();
+			try {
+				DynamicWeightedSampler stripe = stripes[s];
+				// The stripe may have shrunk since the totals were read. Draw again
+				if (u < stripe.getTotalWeight()) {
+					return stripe.descend(u) * stripeCount + s;
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	private static double[] zeroWeights(int n) {
+		if (n <= 0) {
+			throw new IllegalArgumentException("Number of outcomes has to be positive. Value: " + n);
+		}
+		return new double[n];
+	}
+
+	private void checkOutcome(int outcome) {
+		if (outcome < 0 || outcome >= n) {
+			throw new ArrayIndexOutOfBoundsException("Outcome has to be in [0, " + n + "). Value: " + outcome);
+		}
+	}
+
+}
@@ -0,0 +1,38 @@
+package com.github.kilianB.pcg.sampler;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * Sampler drawing values of a continuous distribution. <p>
+ *
+ * Samplers precompute all parameter dependent constants during construction and
+ * do not hold any random state. A single instance can be shared between
+ * threads as long as each thread passes its own generator.
+ *
+ * @author Kilian
+ */
+public interface ContinuousSampler {
+
+	/**
+	 * Draw a value from the distribution.
+	 *
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @return a value following the distribution of this sampler
+	 */
+	double sample(Pcg rng);
+
+	/**
+	 * Fill the array with values drawn from the distribution.
+	 *
+	 * @param dst
+	 *            the array to fill
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	default void sample(double[] dst, Pcg rng) {
+		for (int i = 0; i < dst.length; i++) {
+			dst[i] = sample(rng);
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package com.github.kilianB.pcg.sampler;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * Sampler drawing outcomes in [0, n) proportional to weights which may change
+ * between draws. <p>
+ *
+ * The weights are stored in the leaves of a complete binary sum tree backed by
+ * a single double array. Updating a weight and drawing a value both take
+ * O(log n) operations. Inner nodes are recomputed from their children on every
+ * update instead of being adjusted by the difference, therefore, rounding
+ * errors do not accumulate regardless of the amount of updates. <p>
+ *
+ * Outcomes with a weight of 0 are never drawn. <p>
+ *
+ * This class is not thread safe. {@link ConcurrentWeightedSampler} allows
+ * concurrent updates and draws.
+ *
+ * @author Kilian
+ */
+public class DynamicWeightedSampler implements DiscreteSampler {
+
+	/** Number of outcomes */
+	private final int n;
+
+	/** Index of the first leaf. Power of 2 */
+	private final int leafOffset;
+
+	/**
+	 * Implicit binary tree. The root is located at index 1, the children of node
+	 * i at 2i and 2i + 1. Leaves start at the leaf offset.
+	 */
+	private final double[] tree;
+
+	/**
+	 * Create a sampler with n outcomes all weighted 0. At least one weight has to
+	 * be updated before a value can be drawn.
+	 *
+	 * @param n
+	 *            the number of outcomes
+	 * @throws IllegalArgumentException
+	 *             if n is not positive or exceeds 2^29
+	 */
+	public DynamicWeightedSampler(int n) {
+		// The tree holds twice the next power of 2 of n doubles
+		if (n <= 0 || n > (1 << 29)) {
+			throw new IllegalArgumentException("Number of outcomes has to be in [1, 2^29]. Value: " + n);
+		}
+		this.n = n;
+		int offset = 1;
+		while (offset < n) {
+			offset <<= 1;
+		}
+		leafOffset = offset;
+		tree = new double[2 * offset];
+	}
+
+	/**
+	 * Create a sampler with the given initial weights in O(n).
+	 *
+	 * @param weights
+	 *            non negative, finite weights of the outcomes. Weights do not have
+	 *            to be normalized
+	 * @throws IllegalArgumentException
+	 *             if no weights are supplied, more than 2^29 weights are
+	 *             supplied or a weight is negative or not finite
+	 */
+	public DynamicWeightedSampler(double[] weights) {
+		this(weights.length);
+		for (int i = 0; i < n; i++) {
+			tree[leafOffset + i] = checkWeight(i, weights[i]);
+		}
+		for (int node = leafOffset - 1; node > 0; node--) {
+			tree[node] = tree[2 * node] + tree[2 * node + 1];
+		}
+	}
+
+	/**
+	 * Set the weight of an outcome.
+	 *
+	 * @param outcome
+	 *            the outcome in [0, n)
+	 * @param weight
+	 *            the new non negative, finite weight
+	 * @throws IllegalArgumentException
+	 *             if the weight is negative or not finite
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if the outcome is not in [0, n)
+	 */
+	public void update(int outcome, double weight) {
+		checkOutcome(outcome);
+		int node = leafOffset + outcome;
+		tree[node] = checkWeight(outcome, weight);
+		for (node >>>= 1; node > 0; node >>>= 1) {
+			tree[node] = tree[2 * node] + tree[2 * node + 1];
+		}
+	}
+
+	/**
+	 * @param outcome
+	 *            the outcome in [0, n)
+	 * @return the current weight of the outcome
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if the outcome is not in [0, n)
+	 */
+	public double getWeight(int outcome) {
+		checkOutcome(outcome);
+		return tree[leafOffset + outcome];
+	}
+
+	/**
+	 * @return the sum of all weights
+	 */
+	public double getTotalWeight() {
+		return tree[1];
+	}
+
+	/**
+	 * @return the number of outcomes. Samples are in the range [0, n)
+	 */
+	public int getNumberOfOutcomes() {
+		return n;
+	}
+
+	/**
+	 * Draw an outcome with a probability proportional to its current weight.
+	 *
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @return the outcome
+	 * @throws IllegalStateException
+	 *             if all weights are 0
+	 */
+	@Override
+	public int sample(Pcg rng) {
+		double total = tree[1];
+		if (!(total > 0)) {
+			throw new IllegalStateException("At least one weight has to be positive");
+		}
+		return descend(rng.nextDouble() * total);
+	}
+
+	@Override
+	public void sample(int[] dst, Pcg rng) {
+		double total = tree[1];
+		if (!(total > 0)) {
+			throw new IllegalStateException("At least one weight has to be positive");
+		}
+		for (int i = 0; i < dst.length; i++) {
+			dst[i] = descend(rng.nextDouble() * total);
+		}
+	}
+
+	/**
+	 * Find the outcome whose cumulative weight interval contains u.
+	 *
+	 * @param u
+	 *            value in [0, total weight). The total weight has to be positive
+	 * @return the outcome
+	 */
+	int descend(double u) {
+		final double[] tree = this.tree;
+		int node = 1;
+		while (node < leafOffset) {
+			node <<= 1;
+			double left = tree[node];
+			// Rounding may push u past the left subtree. Never descend into an empty one
+			if (u >= left && tree[node + 1] > 0) {
+				u -= left;
+				node++;
+			}
+		}
+		return node - leafOffset;
+	}
+
+	private void checkOutcome(int outcome) {
+		if (outcome < 0 || outcome >= n) {
+			throw new ArrayIndexOutOfBoundsException("Outcome has to be in [0, " + n + "). Value: " + outcome);
+		}
+	}
+
+	private static double checkWeight(int outcome, double weight) {
+		if (!(weight >= 0) || Double.isInfinite(weight)) {
+			throw new IllegalArgumentException(
+					"Weights have to be non negative and finite. Index: " + outcome + " Value: " + weight);
+		}
+		return weight;
+	}
+
+}
@@ -0,0 +1,382 @@
+package com.github.kilianB.pcg.sampler;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * Sampler for empirical continuous distributions given as histogram or as
+ * quantiles using the inversion of the piecewise linear cumulative distribution
+ * function. <p>
+ *
+ * Values are uniformly distributed within each bin of a histogram and between
+ * two successive quantiles. The segments of the distribution function are
+ * located by a guide table (indexed search of Chen and Asau) with at least as
+ * many entries as segments: the upper bits of a 32 bit random value select the
+ * entry, which stores the first segment the value may fall into. On average
+ * less than one additional comparison is required to find the segment and no
+ * binary search is performed. Each draw consumes a single
+ * <code>nextInt()</code>, performs one table lookup and one linear
+ * interpolation. <p>
+ *
+ * The cumulative probabilities are stored as 32 bit fixed point values.
+ * Segments whose probability rounds to 0 at a precision of 2<sup>-32</sup>,
+ * e.g. empty bins, are dropped. The tables occupy 20 bytes per segment plus 4
+ * to 8 bytes for the guide table. The compact representation stores the
+ * interpolation coefficients as floats and reduces the footprint to 12 bytes
+ * per segment plus the guide table at the cost of float precision of the drawn
+ * values.
+ *
+ * @author Kilian
+ * @see <a href="https://doi.org/10.1016/0025-5564(74)90038-3">On the
+ *      Generation of Random Numbers by Indexed Search</a>
+ */
+public class EmpiricalSampler implements ContinuousSampler {
+
+	/** 2^32 */
+	private static final double FIXED_POINT_SCALE = 0x1.0p32;
+
+	private static final long LOW_MASK = 0xFFFFFFFFL;
+
+	/**
+	 * Start of the segment in the cumulative distribution scaled to [0, 2^32)
+	 * and shifted by Integer.MIN_VALUE to allow a signed comparison.
+	 */
+	private final int[] start;
+
+	/** Value at the start of the segment. null if compact */
+	private final double[] base;
+
+	/** Increase of the value per fixed point unit. null if compact */
+	private final double[] slope;
+
+	/** Value at the start of the segment. null if not compact */
+	private final float[] baseCompact;
+
+	/** Increase of the value per fixed point unit. null if not compact */
+	private final float[] slopeCompact;
+
+	/** First segment which may contain values starting in the guide entry */
+	private final int[] guide;
+
+	/** Shift extracting the guide entry from a 32 bit value */
+	private final int guideShift;
+
+	/** Index of the last segment */
+	private final int last;
+
+	private final double min;
+	private final double max;
+
+	/**
+	 * Create a sampler for the distribution described by the histogram using
+	 * double precision coefficients.
+	 *
+	 * @param edges
+	 *            the non decreasing, finite boundaries of the bins. Bin i spans
+	 *            [edges[i], edges[i + 1])
+	 * @param counts
+	 *            the non negative, finite weights of the bins. Weights do not
+	 *            have to be normalized. Has to hold one value less than the edges
+	 * @return a sampler drawing values uniformly distributed within each bin
+	 * @throws IllegalArgumentException
+	 *             if the arrays do not match in length, the edges are decreasing
+	 *             or not finite, a weight is negative or not finite or all weights
+	 *             are 0
+	 */
+	public static EmpiricalSampler ofHistogram(double[] edges, double[] counts) {
+		return ofHistogram(edges, counts, false);
+	}
+
+	/**
+	 * Create a sampler for the distribution described by the histogram.
+	 *
+	 * @param edges
+	 *            the non decreasing, finite boundaries of the bins. Bin i spans
+	 *            [edges[i], edges[i + 1])
+	 * @param counts
+	 *            the non negative, finite weights of the bins. Weights do not
+	 *            have to be normalized. Has to hold one value less than the edges
+	 * @param compact
+	 *            if true the interpolation coefficients are stored as floats
+	 * @return a sampler drawing values uniformly distributed within each bin
+	 * @throws IllegalArgumentException
+	 *             if the arrays do not match in length, the edges are decreasing
+	 *             or not finite, a weight is negative or not finite or all weights
+	 *             are 0
+	 */
+	public static EmpiricalSampler ofHistogram(double[] edges, double[] counts, boolean compact) {
+		if (counts.length == 0 || edges.length != counts.length + 1) {
+			throw new IllegalArgumentException("At least one bin is required and the edges have to hold one value "
+					+ "more than the counts. Lengths: " + edges.length + " " + counts.length);
+		}
+		checkValues(edges);
+		double sum = 0;
+		for (int i = 0; i < counts.length; i++) {
+			double w = counts[i];
+			if (!(w >= 0) || Double.isInfinite(w)) {
+				throw new IllegalArgumentException(
+						"Counts have to be non negative and finite. Index: " + i + " Value: " + w);
+			}
+			sum += w;
+		}
+		if (!(sum > 0) || Double.isInfinite(sum)) {
+			throw new IllegalArgumentException("The sum of the counts has to be positive and finite. Value: " + sum);
+		}
+		double[] cumulative = new double[edges.length];
+		double partial = 0;
+		for (int i = 0; i < counts.length; i++) {
+			partial += counts[i];
+			cumulative[i + 1] = partial / sum;
+		}
+		return new EmpiricalSampler(edges, cumulative, compact);
+	}
+
+	/**
+	 * Create a sampler for the distribution described by quantiles at equally
+	 * spaced probabilities using double precision coefficients.
+	 *
+	 * @param quantiles
+	 *            the non decreasing, finite values of the distribution at the
+	 *            probabilities <code>i / (quantiles.length - 1)</code>, starting
+	 *            with the minimum and ending with the maximum. Equal successive
+	 *            values are drawn as point mass
+	 * @return a sampler drawing values uniformly distributed between successive
+	 *         quantiles
+	 * @throws IllegalArgumentException
+	 *             if less than 2 quantiles are supplied or the quantiles are
+	 *             decreasing or not finite
+	 */
+	public static EmpiricalSampler ofQuantiles(double[] quantiles) {
+		return ofQuantiles(quantiles, false);
+	}
+
+	/**
+	 * Create a sampler for the distribution described by quantiles at equally
+	 * spaced probabilities.
+	 *
+	 * @param quantiles
+	 *            the non decreasing, finite values of the distribution at the
+	 *            probabilities <code>i / (quantiles.length - 1)</code>, starting
+	 *            with the minimum and ending with the maximum. Equal successive
+	 *            values are drawn as point mass
+	 * @param compact
+	 *            if true the interpolation coefficients are stored as floats
+	 * @return a sampler drawing values uniformly distributed between successive
+	 *         quantiles
+	 * @throws IllegalArgumentException
+	 *             if less than 2 quantiles are supplied or the quantiles are
+	 *             decreasing or not finite
+	 */
+	public static EmpiricalSampler ofQuantiles(double[] quantiles, boolean compact) {
+		if (quantiles.length < 2) {
+			throw new IllegalArgumentException("At least 2 quantiles are required. Length: " + quantiles.length);
+		}
+		checkValues(quantiles);
+		int segments = quantiles.length - 1;
+		double[] cumulative = new double[quantiles.length];
+		for (int i = 1; i < quantiles.length; i++) {
+			cumulative[i] = i / (double) segments;
+		}
+		return new EmpiricalSampler(quantiles, cumulative, compact);
+	}
+
+	/**
+	 * @param values
+	 *            the non decreasing values at the breakpoints of the distribution
+	 *            function
+	 * @param cumulative
+	 *            the non decreasing probabilities at the breakpoints starting
+	 *            with 0 and ending with 1
+	 * @param compact
+	 *            if true the interpolation coefficients are stored as floats
+	 */
+	private EmpiricalSampler(double[] values, double[] cumulative, boolean compact) {
+		// Drop segments without probability mass
+		int breakpoints = values.length;
+		long[] fixed = new long[breakpoints];
+		for (int i = 1; i < breakpoints - 1; i++) {
+			fixed[i] = Math.round(cumulative[i] * FIXED_POINT_SCALE);
+		}
+		// The last breakpoint is at 1 up to rounding errors
+		fixed[breakpoints - 1] = 1L << 32;
+		int segments = 0;
+		for (int i = 1; i < breakpoints; i++) {
+			if (fixed[i] > fixed[i - 1]) {
+				segments++;
+			}
+		}
+
+		start = new int[segments];
+		if (compact) {
+			base = null;
+			slope = null;
+			baseCompact = new float[segments];
+			slopeCompact = new float[segments];
+		} else {
+			base = new double[segments];
+			slope = new double[segments];
+			baseCompact = null;
+			slopeCompact = null;
+		}
+		int s = 0;
+		for (int i = 0; i < breakpoints - 1; i++) {
+			long width = fixed[i + 1] - fixed[i];
+			if (width > 0) {
+				start[s] = (int) (fixed[i] + Integer.MIN_VALUE);
+				double m = (values[i + 1] - values[i]) / width;
+				if (compact) {
+					baseCompact[s] = (float) values[i];
+					slopeCompact[s] = (float) m;
+				} else {
+					base[s] = values[i];
+					slope[s] = m;
+				}
+				s++;
+			}
+		}
+		last = segments - 1;
+
+		// Guide table with a power of 2 >= segments entries
+		int bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(segments - 1));
+		guideShift = 32 - bits;
+		guide = new int[1 << bits];
+		int segment = 0;
+		for (int g = 0; g < guide.length; g++) {
+			int key = (int) (((long) g << guideShift) + Integer.MIN_VALUE);
+			while (segment < last && start[segment + 1] <= key) {
+				segment++;
+			}
+			guide[g] = segment;
+		}
+
+		min = values[0];
+		max = values[breakpoints - 1];
+	}
+
+	@Override
+	public double sample(Pcg rng) {
+		int u = rng.nextInt();
+		int k = guide[u >>> guideShift];
+		int key = u ^ Integer.MIN_VALUE;
+		while (k < last && start[k + 1] <= key) {
+			k++;
+		}
+		long offset = (key - start[k]) & LOW_MASK;
+		if (base != null) {
+			return base[k] + offset * slope[k];
+		}
+		return baseCompact[k] + offset * slopeCompact[k];
+	}
+
+	@Override
+	public void sample(double[] dst, Pcg rng) {
+		sample(dst, 0, dst.length, rng);
+	}
+
+	/**
+	 * Fill a range of the array with values drawn from the distribution.
+	 *
+	 * @param dst
+	 *            the array to fill
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive)
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	public void sample(double[] dst, int from, int to, Pcg rng) {
+		final int[] start = this.start;
+		final int[] guide = this.guide;
+		final int guideShift = this.guideShift;
+		final int last = this.last;
+		if (base != null) {
+			final double[] base = this.base;
+			final double[] slope = this.slope;
+			for (int i = from; i < to; i++) {
+				int u = rng.nextInt();
+				int k = guide[u >>> guideShift];
+				int key = u ^ Integer.MIN_VALUE;
+				while (k < last && start[k + 1] <= key) {
+					k++;
+				}
+				dst[i] = base[k] + ((key - start[k]) & LOW_MASK) * slope[k];
+			}
+		} else {
+			final float[] base = baseCompact;
+			final float[] slope = slopeCompact;
+			for (int i = from; i < to; i++) {
+				int u = rng.nextInt();
+				int k = guide[u >>> guideShift];
+				int key = u ^ Integer.MIN_VALUE;
+				while (k < last && start[k + 1] <= key) {
+					k++;
+				}
+				dst[i] = base[k] + ((key - start[k]) & LOW_MASK) * slope[k];
+			}
+		}
+	}
+
+	/**
+	 * Fill a range of the array with values drawn from the distribution rounded
+	 * to float. The values are equal to the rounded values written by
+	 * {@link #sample(double[], int, int, Pcg)} given the same generator.
+	 *
+	 * @param dst
+	 *            the array to fill
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive)
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	public void sample(float[] dst, int from, int to, Pcg rng) {
+		for (int i = from; i < to; i++) {
+			dst[i] = (float) sample(rng);
+		}
+	}
+
+	/**
+	 * @return the amount of segments of the distribution function with non zero
+	 *         probability
+	 */
+	public int getSegments() {
+		return last + 1;
+	}
+
+	/**
+	 * @return the smallest value of the distribution
+	 */
+	public double getMin() {
+		return min;
+	}
+
+	/**
+	 * @return the largest value of the distribution. Values are drawn from [min,
+	 *         max], the maximum itself is only drawn due to rounding
+	 */
+	public double getMax() {
+		return max;
+	}
+
+	/**
+	 * @return true if the interpolation coefficients are stored as floats
+	 */
+	public boolean isCompact() {
+		return base == null;
+	}
+
+	private static void checkValues(double[] values) {
+		for (int i = 0; i < values.length; i++) {
+			double v = values[i];
+			if (Double.isNaN(v) || Double.isInfinite(v)) {
+				throw new IllegalArgumentException("Values have to be finite. Index: " + i + " Value: " + v);
+			}
+			if (i > 0 && v < values[i - 1]) {
+				throw new IllegalArgumentException(
+						"Values have to be non decreasing. Index: " + i + " Value: " + v + " < " + values[i - 1]);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,163 @@
+package com.github.kilianB.pcg.sampler;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * Sampler for exponential distributed values based on the ziggurat method of
+ * Marsaglia and Tsang using 256 layers. <p>
+ *
+ * The common case (~99% of all draws) consumes a single 64 bit random value,
+ * performs one table lookup, one comparison and one multiplication. The lower 8
+ * bits of the random value select the layer, the upper 56 bits are used as
+ * coordinate. The rare wedge and tail cases fall back to {@link StrictMath}.
+ *
+ * @author Kilian
+ * @see <a href="https://doi.org/10.18637/jss.v005.i08">The Ziggurat Method for
+ *      Generating Random Variables</a>
+ */
+public class ExponentialSampler implements ContinuousSampler {
+
+	/** Amount of layers. Has to be a power of 2 */
+	private static final int LAYERS = 256;
+
+	/** Mask to extract the layer index */
+	private static final int LAYER_MASK = LAYERS - 1;
+
+	/** Start of the tail. Right edge of the bottom layer */
+	private static final double R = 7.697117470131487;
+
+	/** Area of each layer */
+	private static final double V = 3.949659822581572e-3;
+
+	/** Scale of the 56 bit coordinate */
+	private static final double M = 0x1.0p56;
+
+	private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+	/** Threshold of the coordinate below which the point lies in the rectangle */
+	private static final long[] K = new long[LAYERS];
+
+	/** Width of the layer divided by m */
+	private static final double[] W = new double[LAYERS];
+
+	/** Density at the right edge of the layer */
+	private static final double[] F = new double[LAYERS];
+
+	static {
+		double de = R;
+		double te = de;
+		double q = V / StrictMath.exp(-de);
+
+		K[0] = (long) ((de / q) * M);
+		K[1] = 0;
+
+		W[0] = q / M;
+		W[LAYERS - 1] = de / M;
+
+		F[0] = 1.0;
+		F[LAYERS - 1] = StrictMath.exp(-de);
+
+		for (int i = LAYERS - 2; i >= 1; i--) {
+			de = -StrictMath.log(V / de + StrictMath.exp(-de));
+			K[i + 1] = (long) ((de / te) * M);
+			te = de;
+			F[i] = StrictMath.exp(-de);
+			W[i] = de / M;
+		}
+	}
+
+	private final double mean;
+
+	/**
+	 * Create a sampler for the standard exponential distribution with mean 1.
+	 */
+	public ExponentialSampler() {
+		this(1);
+	}
+
+	/**
+	 * Create a sampler for an exponential distribution.
+	 *
+	 * @param mean
+	 *            of the distribution (the inverse of the rate). Has to be positive
+	 * @throws IllegalArgumentException
+	 *             if the mean is not positive or not finite
+	 */
+	public ExponentialSampler(double mean) {
+		if (!(mean > 0) || Double.isInfinite(mean)) {
+			throw new IllegalArgumentException("Mean has to be positive and finite. Value: " + mean);
+		}
+		this.mean = mean;
+	}
+
+	@Override
+	public double sample(Pcg rng) {
+		return mean * standard(rng);
+	}
+
+	@Override
+	public void sample(double[] dst, Pcg rng) {
+		for (int i = 0; i < dst.length; i++) {
+			dst[i] = mean * standard(rng);
+		}
+	}
+
+	/**
+	 * @return the mean of the distribution
+	 */
+	public double getMean() {
+		return mean;
+	}
+
+	/**
+	 * Draw a value from the standard exponential distribution with mean 1.
+	 *
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @return a standard exponential distributed value
+	 */
+	public static double standard(Pcg rng) {
+		long bits = rng.nextLong();
+		int i = (int) bits & LAYER_MASK;
+		long j = bits >>> 8;
+		if (j < K[i]) {
+			return j * W[i];
+		}
+		return fix(i, j, rng);
+	}
+
+	/**
+	 * Handle the wedges and the tail of the ziggurat.
+	 *
+	 * @param i
+	 *            the layer
+	 * @param j
+	 *            the coordinate
+	 * @param rng
+	 *            source of additional random bits
+	 * @return a standard exponential distributed value
+	 */
+	private static double fix(int i, long j, Pcg rng) {
+		for (;;) {
+			if (i == 0) {
+				// Tail. The exponential distribution is memoryless
+				return R - StrictMath.log(SamplerMath.openZero(rng.nextLong()));
+			}
+
+			// Wedge
+			double x = j * W[i];
+			double u = (rng.nextLong() >>> 11) * DOUBLE_UNIT;
+			if (F[i] + u * (F[i - 1] - F[i]) < StrictMath.exp(-x)) {
+				return x;
+			}
+
+			long bits = rng.nextLong();
+			i = (int) bits & LAYER_MASK;
+			j = bits >>> 8;
+			if (j < K[i]) {
+				return j * W[i];
+			}
+		}
+	}
+
+}
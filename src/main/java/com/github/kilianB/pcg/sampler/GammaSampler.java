@@ -0,0 +1,133 @@
+package com.github.kilianB.pcg.sampler;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * Sampler for gamma distributed values using the method of Marsaglia and Tsang.
+ * <p>
+ *
+ * Each attempt consumes one normal and one uniform value and is accepted with a
+ * probability of at least 95%. The squeeze avoids the logarithm in almost all
+ * cases. Shapes below 1 are sampled as
+ * <code>Gamma(shape + 1) * U<sup>1 / shape</sup></code>.
+ *
+ * @author Kilian
+ * @see <a href="https://doi.org/10.1145/358407.358414">A simple method for
+ *      generating gamma variables</a>
+ */
+public class GammaSampler implements ContinuousSampler {
+
+	private final double shape;
+	private final double scale;
+
+	/** shape + (shape &lt; 1 ? 1 : 0) - 1/3 */
+	private final double d;
+	/** 1 / sqrt(9d) */
+	private final double c;
+	/** 1 / shape if the shape is below 1. 0 otherwise */
+	private final double invShape;
+
+	/**
+	 * Create a sampler for a gamma distribution.
+	 *
+	 * @param shape
+	 *            of the distribution (k or alpha). Has to be positive
+	 * @param scale
+	 *            of the distribution (theta or the inverse of the rate). Has to be
+	 *            positive
+	 * @throws IllegalArgumentException
+	 *             if the shape or scale is not positive or not finite
+	 */
+	public GammaSampler(double shape, double scale) {
+		if (!(shape > 0) || Double.isInfinite(shape) || !(scale > 0) || Double.isInfinite(scale)) {
+			throw new IllegalArgumentException(
+					"Shape and scale have to be positive and finite. Values: " + shape + " " + scale);
+		}
+		this.shape = shape;
+		this.scale = scale;
+		boolean boost = shape < 1;
+		d = (boost ? shape + 1 : shape) - 1.0 / 3;
+		c = 1 / Math.sqrt(9 * d);
+		invShape = boost ? 1 / shape : 0;
+	}
+
+	@Override
+	public double sample(Pcg rng) {
+		return scale * standard(rng);
+	}
+
+	@Override
+	public void sample(double[] dst, Pcg rng) {
+		for (int i = 0; i < dst.length; i++) {
+			dst[i] = scale * standard(rng);
+		}
+	}
+
+	/**
+	 * @return the shape of the distribution
+	 */
+	public double getShape() {
+		return shape;
+	}
+
+	/**
+	 * @return the scale of the distribution
+	 */
+	public double getScale() {
+		return scale;
+	}
+
+	/**
+	 * Draw a value with scale 1.
+	 *
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @return a gamma distributed value with the shape of this sampler and scale 1
+	 */
+	double standard(Pcg rng) {
+		double g = marsagliaTsang(rng);
+		if (invShape != 0) {
+			g *= Math.pow(SamplerMath.openZero(rng.nextLong()), invShape);
+		}
+		return g;
+	}
+
+	/**
+	 * Draw the logarithm of a value with scale 1. Opposed to
+	 * <code>Math.log(standard(rng))</code> the result does not underflow for
+	 * small shapes, for which the value itself is frequently rounded to 0.
+	 *
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @return the logarithm of a gamma distributed value with the shape of this
+	 *         sampler and scale 1
+	 */
+	double logStandard(Pcg rng) {
+		double logG = Math.log(marsagliaTsang(rng));
+		if (invShape != 0) {
+			logG += Math.log(SamplerMath.openZero(rng.nextLong())) * invShape;
+		}
+		return logG;
+	}
+
+	private double marsagliaTsang(Pcg rng) {
+		for (;;) {
+			double x;
+			double v;
+			do {
+				x = NormalSampler.standard(rng);
+				v = 1 + c * x;
+			} while (v <= 0);
+			v = v * v * v;
+			double u = SamplerMath.openZero(rng.nextLong());
+			double xx = x * x;
+			if (u < 1 - 0.0331 * xx * xx) {
+				return d * v;
+			}
+			if (Math.log(u) < 0.5 * xx + d * (1 - v + Math.log(v))) {
+				return d * v;
+			}
+		}
+	}
+
+}
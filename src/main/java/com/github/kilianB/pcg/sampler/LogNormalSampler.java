@@ -0,0 +1,63 @@
+package com.github.kilianB.pcg.sampler;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * Sampler for log normal distributed values. A value is computed as
+ * <code>exp(mu + sigma * N)</code> with N drawn from the standard normal
+ * distribution.
+ *
+ * @author Kilian
+ * @see NormalSampler
+ */
+public class LogNormalSampler implements ContinuousSampler {
+
+	private final double mu;
+	private final double sigma;
+
+	/**
+	 * Create a sampler for a log normal distribution.
+	 *
+	 * @param mu
+	 *            mean of the logarithm of the distribution
+	 * @param sigma
+	 *            standard deviation of the logarithm of the distribution. Has to
+	 *            be positive
+	 * @throws IllegalArgumentException
+	 *             if sigma is not positive or either argument is not finite
+	 */
+	public LogNormalSampler(double mu, double sigma) {
+		if (!(sigma > 0) || Double.isInfinite(sigma) || Double.isNaN(mu) || Double.isInfinite(mu)) {
+			throw new IllegalArgumentException("Mu has to be finite and sigma positive. Values: " + mu + " " + sigma);
+		}
+		this.mu = mu;
+		this.sigma = sigma;
+	}
+
+	@Override
+	public double sample(Pcg rng) {
+		return Math.exp(mu + sigma * NormalSampler.standard(rng));
+	}
+
+	@Override
+	public void sample(double[] dst, Pcg rng) {
+		for (int i = 0; i < dst.length; i++) {
+			dst[i] = Math.exp(mu + sigma * NormalSampler.standard(rng));
+		}
+	}
+
+	/**
+	 * @return the mean of the logarithm of the distribution
+	 */
+	public double getMu() {
+		return mu;
+	}
+
+	/**
+	 * @return the standard deviation of the logarithm of the distribution
+	 */
+	public double getSigma() {
+		return sigma;
+	}
+
+}
@@ -0,0 +1,717 @@
+package com.github.kilianB.pcg.sampler;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * Uniformly distributed points on and inside of geometric shapes written in bulk
+ * to primitive arrays. <p>
+ *
+ * Points are either stored interleaved (<code>x0, y0, x1, y1, ...</code>) in a
+ * single array, in which case the range has to hold a multiple of the
+ * dimension, or as structure of arrays with one array per coordinate, in which
+ * case the range denotes the indices of the points. <p>
+ *
+ * No trigonometric function is evaluated. Directions and points inside of the
+ * disc and ball are drawn by rejection from the enclosing square or cube and
+ * accept 78.5% (2D) and 52.4% (ball) of the candidates. Points on the circle
+ * use the squared complex number of a point inside of the disc (von Neumann),
+ * points on the sphere the projection of Marsaglia. Triangles and simplices are
+ * sampled without rejection. <p>
+ *
+ * Double coordinates are drawn with 53 bits of precision from one
+ * <code>nextLong()</code> each. Float coordinates take 24 bits, two of them are
+ * taken from a single <code>nextLong()</code>.
+ *
+ * @author Kilian
+ * @see <a href="https://doi.org/10.1214/aoms/1177692644">Choosing a Point from
+ *      the Surface of a Sphere</a>
+ */
+public final class PointSampler {
+
+	/** Scale of a signed 53 bit value to [-1, 1) */
+	private static final double SIGNED_DOUBLE_UNIT = 0x1.0p-52;
+
+	/** Scale of a signed 24 bit value to [-1, 1) */
+	private static final float SIGNED_FLOAT_UNIT = 0x1.0p-23f;
+
+	private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+	private static final float FLOAT_UNIT = 0x1.0p-24f;
+
+	private PointSampler() {
+	}
+
+	/**
+	 * Fill a range of the array with interleaved points on the unit circle.
+	 *
+	 * @param xy
+	 *            the array to fill with x and y coordinates
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive). <code>to - from</code> has to be a
+	 *            multiple of 2
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if the range does not hold a multiple of 2 values
+	 */
+	public static void onCircle(double[] xy, int from, int to, Pcg rng) {
+		checkInterleaved(from, to, 2);
+		for (int i = from; i < to; i += 2) {
+			double u, v, s;
+			do {
+				u = (rng.nextLong() >> 11) * SIGNED_DOUBLE_UNIT;
+				v = (rng.nextLong() >> 11) * SIGNED_DOUBLE_UNIT;
+				s = u * u + v * v;
+			} while (s >= 1 || s == 0);
+			// (u + iv)^2 / |u + iv|^2 doubles the uniformly distributed angle
+			double r = 1 / s;
+			xy[i] = (u * u - v * v) * r;
+			xy[i + 1] = 2 * u * v * r;
+		}
+	}
+
+	/**
+	 * Fill a range of the arrays with points on the unit circle.
+	 *
+	 * @param x
+	 *            the array to fill with x coordinates
+	 * @param y
+	 *            the array to fill with y coordinates
+	 * @param from
+	 *            the index of the first point (inclusive)
+	 * @param to
+	 *            the index of the last point (exclusive)
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	public static void onCircle(double[] x, double[] y, int from, int to, Pcg rng) {
+		for (int i = from; i < to; i++) {
+			double u, v, s;
+			do {
+				u = (rng.nextLong() >> 11) * SIGNED_DOUBLE_UNIT;
+				v = (rng.nextLong() >> 11) * SIGNED_DOUBLE_UNIT;
+				s = u * u + v * v;
+			} while (s >= 1 || s == 0);
+			double r = 1 / s;
+			x[i] = (u * u - v * v) * r;
+			y[i] = 2 * u * v * r;
+		}
+	}
+
+	/**
+	 * Fill a range of the array with interleaved points on the unit circle.
+	 *
+	 * @param xy
+	 *            the array to fill with x and y coordinates
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive). <code>to - from</code> has to be a
+	 *            multiple of 2
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if the range does not hold a multiple of 2 values
+	 */
+	public static void onCircle(float[] xy, int from, int to, Pcg rng) {
+		checkInterleaved(from, to, 2);
+		for (int i = from; i < to; i += 2) {
+			float u, v, s;
+			do {
+				long bits = rng.nextLong();
+				u = ((int) bits >> 8) * SIGNED_FLOAT_UNIT;
+				v = (bits >> 40) * SIGNED_FLOAT_UNIT;
+				s = u * u + v * v;
+			} while (s >= 1 || s == 0);
+			float r = 1 / s;
+			xy[i] = (u * u - v * v) * r;
+			xy[i + 1] = 2 * u * v * r;
+		}
+	}
+
+	/**
+	 * Fill a range of the arrays with points on the unit circle.
+	 *
+	 * @param x
+	 *            the array to fill with x coordinates
+	 * @param y
+	 *            the array to fill with y coordinates
+	 * @param from
+	 *            the index of the first point (inclusive)
+	 * @param to
+	 *            the index of the last point (exclusive)
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	public static void onCircle(float[] x, float[] y, int from, int to, Pcg rng) {
+		for (int i = from; i < to; i++) {
+			float u, v, s;
+			do {
+				long bits = rng.nextLong();
+				u = ((int) bits >> 8) * SIGNED_FLOAT_UNIT;
+				v = (bits >> 40) * SIGNED_FLOAT_UNIT;
+				s = u * u + v * v;
+			} while (s >= 1 || s == 0);
+			float r = 1 / s;
+			x[i] = (u * u - v * v) * r;
+			y[i] = 2 * u * v * r;
+		}
+	}
+
+	/**
+	 * Fill a range of the array with interleaved points inside of the unit disc.
+	 *
+	 * @param xy
+	 *            the array to fill with x and y coordinates
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive). <code>to - from</code> has to be a
+	 *            multiple of 2
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if the range does not hold a multiple of 2 values
+	 */
+	public static void inDisc(double[] xy, int from, int to, Pcg rng) {
+		checkInterleaved(from, to, 2);
+		for (int i = from; i < to; i += 2) {
+			double u, v;
+			do {
+				u = (rng.nextLong() >> 11) * SIGNED_DOUBLE_UNIT;
+				v = (rng.nextLong() >> 11) * SIGNED_DOUBLE_UNIT;
+			} while (u * u + v * v >= 1);
+			xy[i] = u;
+			xy[i + 1] = v;
+		}
+	}
+
+	/**
+	 * Fill a range of the arrays with points inside of the unit disc.
+	 *
+	 * @param x
+	 *            the array to fill with x coordinates
+	 * @param y
+	 *            the array to fill with y coordinates
+	 * @param from
+	 *            the index of the first point (inclusive)
+	 * @param to
+	 *            the index of the last point (exclusive)
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	public static void inDisc(double[] x, double[] y, int from, int to, Pcg rng) {
+		for (int i = from; i < to; i++) {
+			double u, v;
+			do {
+				u = (rng.nextLong() >> 11) * SIGNED_DOUBLE_UNIT;
+				v = (rng.nextLong() >> 11) * SIGNED_DOUBLE_UNIT;
+			} while (u * u + v * v >= 1);
+			x[i] = u;
+			y[i] = v;
+		}
+	}
+
+	/**
+	 * Fill a range of the array with interleaved points inside of the unit disc.
+	 *
+	 * @param xy
+	 *            the array to fill with x and y coordinates
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive). <code>to - from</code> has to be a
+	 *            multiple of 2
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if the range does not hold a multiple of 2 values
+	 */
+	public static void inDisc(float[] xy, int from, int to, Pcg rng) {
+		checkInterleaved(from, to, 2);
+		for (int i = from; i < to; i += 2) {
+			float u, v;
+			do {
+				long bits = rng.nextLong();
+				u = ((int) bits >> 8) * SIGNED_FLOAT_UNIT;
+				v = (bits >> 40) * SIGNED_FLOAT_UNIT;
+			} while (u * u + v * v >= 1);
+			xy[i] = u;
+			xy[i + 1] = v;
+		}
+	}
+
+	/**
+	 * Fill a range of the arrays with points inside of the unit disc.
+	 *
+	 * @param x
+	 *            the array to fill with x coordinates
+	 * @param y
+	 *            the array to fill with y coordinates
+	 * @param from
+	 *            the index of the first point (inclusive)
+	 * @param to
+	 *            the index of the last point (exclusive)
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	public static void inDisc(float[] x, float[] y, int from, int to, Pcg rng) {
+		for (int i = from; i < to; i++) {
+			float u, v;
+			do {
+				long bits = rng.nextLong();
+				u = ((int) bits >> 8) * SIGNED_FLOAT_UNIT;
+				v = (bits >> 40) * SIGNED_FLOAT_UNIT;
+			} while (u * u + v * v >= 1);
+			x[i] = u;
+			y[i] = v;
+		}
+	}
+
+	/**
+	 * Fill a range of the array with interleaved points on the unit sphere.
+	 *
+	 * @param xyz
+	 *            the array to fill with x, y and z coordinates
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive). <code>to - from</code> has to be a
+	 *            multiple of 3
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if the range does not hold a multiple of 3 values
+	 */
+	public static void onSphere(double[] xyz, int from, int to, Pcg rng) {
+		checkInterleaved(from, to, 3);
+		for (int i = from; i < to; i += 3) {
+			double u, v, s;
+			do {
+				u = (rng.nextLong() >> 11) * SIGNED_DOUBLE_UNIT;
+				v = (rng.nextLong() >> 11) * SIGNED_DOUBLE_UNIT;
+				s = u * u + v * v;
+			} while (s >= 1);
+			double scale = 2 * Math.sqrt(1 - s);
+			xyz[i] = u * scale;
+			xyz[i + 1] = v * scale;
+			xyz[i + 2] = 1 - 2 * s;
+		}
+	}
+
+	/**
+	 * Fill a range of the arrays with points on the unit sphere.
+	 *
+	 * @param x
+	 *            the array to fill with x coordinates
+	 * @param y
+	 *            the array to fill with y coordinates
+	 * @param z
+	 *            the array to fill with z coordinates
+	 * @param from
+	 *            the index of the first point (inclusive)
+	 * @param to
+	 *            the index of the last point (exclusive)
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	public static void onSphere(double[] x, double[] y, double[] z, int from, int to, Pcg rng) {
+		for (int i = from; i < to; i++) {
+			double u, v, s;
+			do {
+				u = (rng.nextLong() >> 11) * SIGNED_DOUBLE_UNIT;
+				v = (rng.nextLong() >> 11) * SIGNED_DOUBLE_UNIT;
+				s = u * u + v * v;
+			} while (s >= 1);
+			double scale = 2 * Math.sqrt(1 - s);
+			x[i] = u * scale;
+			y[i] = v * scale;
+			z[i] = 1 - 2 * s;
+		}
+	}
+
+	/**
+	 * Fill a range of the array with interleaved points on the unit sphere.
+	 *
+	 * @param xyz
+	 *            the array to fill with x, y and z coordinates
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive). <code>to - from</code> has to be a
+	 *            multiple of 3
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if the range does not hold a multiple of 3 values
+	 */
+	public static void onSphere(float[] xyz, int from, int to, Pcg rng) {
+		checkInterleaved(from, to, 3);
+		for (int i = from; i < to; i += 3) {
+			float u, v, s;
+			do {
+				long bits = rng.nextLong();
+				u = ((int) bits >> 8) * SIGNED_FLOAT_UNIT;
+				v = (bits >> 40) * SIGNED_FLOAT_UNIT;
+				s = u * u + v * v;
+			} while (s >= 1);
+			float scale = 2 * (float) Math.sqrt(1 - s);
+			xyz[i] = u * scale;
+			xyz[i + 1] = v * scale;
+			xyz[i + 2] = 1 - 2 * s;
+		}
+	}
+
+	/**
+	 * Fill a range of the arrays with points on the unit sphere.
+	 *
+	 * @param x
+	 *            the array to fill with x coordinates
+	 * @param y
+	 *            the array to fill with y coordinates
+	 * @param z
+	 *            the array to fill with z coordinates
+	 * @param from
+	 *            the index of the first point (inclusive)
+	 * @param to
+	 *            the index of the last point (exclusive)
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	public static void onSphere(float[] x, float[] y, float[] z, int from, int to, Pcg rng) {
+		for (int i = from; i < to; i++) {
+			float u, v, s;
+			do {
+				long bits = rng.nextLong();
+				u = ((int) bits >> 8) * SIGNED_FLOAT_UNIT;
+				v = (bits >> 40) * SIGNED_FLOAT_UNIT;
+				s = u * u + v * v;
+			} while (s >= 1);
+			float scale = 2 * (float) Math.sqrt(1 - s);
+			x[i] = u * scale;
+			y[i] = v * scale;
+			z[i] = 1 - 2 * s;
+		}
+	}
+
+	/**
+	 * Fill a range of the array with interleaved points inside of the unit ball.
+	 *
+	 * @param xyz
+	 *            the array to fill with x, y and z coordinates
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive). <code>to - from</code> has to be a
+	 *            multiple of 3
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if the range does not hold a multiple of 3 values
+	 */
+	public static void inBall(double[] xyz, int from, int to, Pcg rng) {
+		checkInterleaved(from, to, 3);
+		for (int i = from; i < to; i += 3) {
+			double u, v, w;
+			do {
+				u = (rng.nextLong() >> 11) * SIGNED_DOUBLE_UNIT;
+				v = (rng.nextLong() >> 11) * SIGNED_DOUBLE_UNIT;
+				w = (rng.nextLong() >> 11) * SIGNED_DOUBLE_UNIT;
+			} while (u * u + v * v + w * w >= 1);
+			xyz[i] = u;
+			xyz[i + 1] = v;
+			xyz[i + 2] = w;
+		}
+	}
+
+	/**
+	 * Fill a range of the arrays with points inside of the unit ball.
+	 *
+	 * @param x
+	 *            the array to fill with x coordinates
+	 * @param y
+	 *            the array to fill with y coordinates
+	 * @param z
+	 *            the array to fill with z coordinates
+	 * @param from
+	 *            the index of the first point (inclusive)
+	 * @param to
+	 *            the index of the last point (exclusive)
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	public static void inBall(double[] x, double[] y, double[] z, int from, int to, Pcg rng) {
+		for (int i = from; i < to; i++) {
+			double u, v, w;
+			do {
+				u = (rng.nextLong() >> 11) * SIGNED_DOUBLE_UNIT;
+				v = (rng.nextLong() >> 11) * SIGNED_DOUBLE_UNIT;
+				w = (rng.nextLong() >> 11) * SIGNED_DOUBLE_UNIT;
+			} while (u * u + v * v + w * w >= 1);
+			x[i] = u;
+			y[i] = v;
+			z[i] = w;
+		}
+	}
+
+	/**
+	 * Fill a range of the array with interleaved points inside of the unit ball.
+	 *
+	 * @param xyz
+	 *            the array to fill with x, y and z coordinates
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive). <code>to - from</code> has to be a
+	 *            multiple of 3
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if the range does not hold a multiple of 3 values
+	 */
+	public static void inBall(float[] xyz, int from, int to, Pcg rng) {
+		checkInterleaved(from, to, 3);
+		for (int i = from; i < to; i += 3) {
+			float u, v, w;
+			do {
+				long bits = rng.nextLong();
+				u = ((int) bits >> 8) * SIGNED_FLOAT_UNIT;
+				v = (bits >> 40) * SIGNED_FLOAT_UNIT;
+				w = (rng.nextInt() >> 8) * SIGNED_FLOAT_UNIT;
+			} while (u * u + v * v + w * w >= 1);
+			xyz[i] = u;
+			xyz[i + 1] = v;
+			xyz[i + 2] = w;
+		}
+	}
+
+	/**
+	 * Fill a range of the arrays with points inside of the unit ball.
+	 *
+	 * @param x
+	 *            the array to fill with x coordinates
+	 * @param y
+	 *            the array to fill with y coordinates
+	 * @param z
+	 *            the array to fill with z coordinates
+	 * @param from
+	 *            the index of the first point (inclusive)
+	 * @param to
+	 *            the index of the last point (exclusive)
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	public static void inBall(float[] x, float[] y, float[] z, int from, int to, Pcg rng) {
+		for (int i = from; i < to; i++) {
+			float u, v, w;
+			do {
+				long bits = rng.nextLong();
+				u = ((int) bits >> 8) * SIGNED_FLOAT_UNIT;
+				v = (bits >> 40) * SIGNED_FLOAT_UNIT;
+				w = (rng.nextInt() >> 8) * SIGNED_FLOAT_UNIT;
+			} while (u * u + v * v + w * w >= 1);
+			x[i] = u;
+			y[i] = v;
+			z[i] = w;
+		}
+	}
+
+	/**
+	 * Fill a range of the array with interleaved points inside of the triangle
+	 * spanned by the vertices a, b and c. The dimension of the points is the
+	 * length of the vertices. Two uniform values in the unit square are folded
+	 * into the lower triangle, no value is rejected.
+	 *
+	 * @param dst
+	 *            the array to fill with coordinates
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive). <code>to - from</code> has to be a
+	 *            multiple of the dimension
+	 * @param a
+	 *            the first vertex
+	 * @param b
+	 *            the second vertex
+	 * @param c
+	 *            the third vertex
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if the vertices differ in length or the range does not hold a
+	 *             multiple of the dimension
+	 */
+	public static void inTriangle(double[] dst, int from, int to, double[] a, double[] b, double[] c, Pcg rng) {
+		int dimension = checkTriangle(a.length, b.length, c.length);
+		checkInterleaved(from, to, dimension);
+		double[] ab = new double[dimension];
+		double[] ac = new double[dimension];
+		for (int d = 0; d < dimension; d++) {
+			ab[d] = b[d] - a[d];
+			ac[d] = c[d] - a[d];
+		}
+		for (int i = from; i < to; i += dimension) {
+			double u = (rng.nextLong() >>> 11) * DOUBLE_UNIT;
+			double v = (rng.nextLong() >>> 11) * DOUBLE_UNIT;
+			if (u + v > 1) {
+				u = 1 - u;
+				v = 1 - v;
+			}
+			for (int d = 0; d < dimension; d++) {
+				dst[i + d] = a[d] + u * ab[d] + v * ac[d];
+			}
+		}
+	}
+
+	/**
+	 * Fill a range of the array with interleaved points inside of the triangle
+	 * spanned by the vertices a, b and c. The dimension of the points is the
+	 * length of the vertices. Two uniform values in the unit square are folded
+	 * into the lower triangle, no value is rejected.
+	 *
+	 * @param dst
+	 *            the array to fill with coordinates
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive). <code>to - from</code> has to be a
+	 *            multiple of the dimension
+	 * @param a
+	 *            the first vertex
+	 * @param b
+	 *            the second vertex
+	 * @param c
+	 *            the third vertex
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if the vertices differ in length or the range does not hold a
+	 *             multiple of the dimension
+	 */
+	public static void inTriangle(float[] dst, int from, int to, float[] a, float[] b, float[] c, Pcg rng) {
+		int dimension = checkTriangle(a.length, b.length, c.length);
+		checkInterleaved(from, to, dimension);
+		float[] ab = new float[dimension];
+		float[] ac = new float[dimension];
+		for (int d = 0; d < dimension; d++) {
+			ab[d] = b[d] - a[d];
+			ac[d] = c[d] - a[d];
+		}
+		for (int i = from; i < to; i += dimension) {
+			long bits = rng.nextLong();
+			float u = (bits >>> 40) * FLOAT_UNIT;
+			float v = ((int) bits >>> 8) * FLOAT_UNIT;
+			if (u + v > 1) {
+				u = 1 - u;
+				v = 1 - v;
+			}
+			for (int d = 0; d < dimension; d++) {
+				dst[i + d] = a[d] + u * ab[d] + v * ac[d];
+			}
+		}
+	}
+
+	/**
+	 * Fill a range of the array with interleaved points uniformly distributed on
+	 * the standard simplex, the set of non negative vectors whose components sum
+	 * up to 1 (Dirichlet distribution with all concentration parameters equal to
+	 * 1). Each point is a vector of standard exponential distributed values
+	 * divided by its sum, no sorting is required.
+	 *
+	 * @param dst
+	 *            the array to fill with coordinates
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive). <code>to - from</code> has to be a
+	 *            multiple of the dimension
+	 * @param dimension
+	 *            the amount of components of each point
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if the dimension is not positive or the range does not hold a
+	 *             multiple of the dimension
+	 * @see ExponentialSampler#standard(Pcg)
+	 */
+	public static void onSimplex(double[] dst, int from, int to, int dimension, Pcg rng) {
+		checkDimension(dimension);
+		checkInterleaved(from, to, dimension);
+		for (int i = from; i < to; i += dimension) {
+			double sum = 0;
+			for (int d = i; d < i + dimension; d++) {
+				double e = ExponentialSampler.standard(rng);
+				dst[d] = e;
+				sum += e;
+			}
+			// The sum of the exponential values is positive with probability 1
+			double r = 1 / sum;
+			for (int d = i; d < i + dimension; d++) {
+				dst[d] *= r;
+			}
+		}
+	}
+
+	/**
+	 * Fill a range of the array with interleaved points uniformly distributed on
+	 * the standard simplex, the set of non negative vectors whose components sum
+	 * up to 1 (Dirichlet distribution with all concentration parameters equal to
+	 * 1). The components are computed in double precision and rounded.
+	 *
+	 * @param dst
+	 *            the array to fill with coordinates
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive). <code>to - from</code> has to be a
+	 *            multiple of the dimension
+	 * @param dimension
+	 *            the amount of components of each point
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if the dimension is not positive or the range does not hold a
+	 *             multiple of the dimension
+	 * @see #onSimplex(double[], int, int, int, Pcg)
+	 */
+	public static void onSimplex(float[] dst, int from, int to, int dimension, Pcg rng) {
+		checkDimension(dimension);
+		checkInterleaved(from, to, dimension);
+		double[] e = new double[dimension];
+		for (int i = from; i < to; i += dimension) {
+			double sum = 0;
+			for (int d = 0; d < dimension; d++) {
+				e[d] = ExponentialSampler.standard(rng);
+				sum += e[d];
+			}
+			double r = 1 / sum;
+			for (int d = 0; d < dimension; d++) {
+				dst[i + d] = (float) (e[d] * r);
+			}
+		}
+	}
+
+	private static void checkInterleaved(int from, int to, int dimension) {
+		if ((to - from) % dimension != 0) {
+			throw new IllegalArgumentException(
+					"Range has to hold a multiple of " + dimension + " values. Length: " + (to - from));
+		}
+	}
+
+	private static void checkDimension(int dimension) {
+		if (dimension < 1) {
+			throw new IllegalArgumentException("Dimension has to be positive. Value: " + dimension);
+		}
+	}
+
+	private static int checkTriangle(int a, int b, int c) {
+		if (a != b || a != c || a == 0) {
+			throw new IllegalArgumentException(
+					"Vertices have to share a non zero dimension. Lengths: " + a + " " + b + " " + c);
+		}
+		return a;
+	}
+
+}
@@ -0,0 +1,121 @@
+package com.github.kilianB.pcg.sampler;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * Sampler for poisson distributed values. <p>
+ *
+ * For a mean of at least 10 the transformed rejection with squeeze (PTRS)
+ * algorithm by Hörmann is used. It requires ~1.15 pairs of uniform values per
+ * sample and its expected cost does not depend on the mean. Smaller means are
+ * sampled by the multiplication method which requires mean + 1 uniform values
+ * on average.
+ *
+ * @author Kilian
+ * @see <a href="https://doi.org/10.1016/0167-6687(93)90997-4">The transformed
+ *      rejection method for generating Poisson random variables</a>
+ */
+public class PoissonSampler implements DiscreteSampler {
+
+	/** Switch from the multiplication method to PTRS */
+	private static final double PTRS_THRESHOLD = 10;
+
+	/** Largest supported mean. Keeps the samples well inside the int range */
+	private static final double MAX_MEAN = 0.5 * Integer.MAX_VALUE;
+
+	private final double mean;
+
+	// Multiplication method
+	/** exp(-mean) */
+	private final double expMinusMean;
+
+	// PTRS
+	private final double logMean;
+	private final double a;
+	private final double b;
+	private final double vr;
+	private final double logInvAlpha;
+
+	/**
+	 * Create a sampler for a poisson distribution.
+	 *
+	 * @param mean
+	 *            of the distribution. Has to be positive
+	 * @throws IllegalArgumentException
+	 *             if the mean is not positive or exceeds Integer.MAX_VALUE / 2
+	 */
+	public PoissonSampler(double mean) {
+		if (!(mean > 0) || mean > MAX_MEAN) {
+			throw new IllegalArgumentException("Mean has to be in (0, " + MAX_MEAN + "]. Value: " + mean);
+		}
+		this.mean = mean;
+		expMinusMean = Math.exp(-mean);
+
+		double sqrtMean = Math.sqrt(mean);
+		logMean = Math.log(mean);
+		b = 0.931 + 2.53 * sqrtMean;
+		a = -0.059 + 0.02483 * b;
+		vr = 0.9277 - 3.6224 / (b - 2);
+		logInvAlpha = Math.log(1.1239 + 1.1328 / (b - 3.4));
+	}
+
+	@Override
+	public int sample(Pcg rng) {
+		if (mean < PTRS_THRESHOLD) {
+			return multiplication(rng);
+		}
+		return ptrs(rng);
+	}
+
+	@Override
+	public void sample(int[] dst, Pcg rng) {
+		if (mean < PTRS_THRESHOLD) {
+			for (int i = 0; i < dst.length; i++) {
+				dst[i] = multiplication(rng);
+			}
+		} else {
+			for (int i = 0; i < dst.length; i++) {
+				dst[i] = ptrs(rng);
+			}
+		}
+	}
+
+	/**
+	 * @return the mean of the distribution
+	 */
+	public double getMean() {
+		return mean;
+	}
+
+	private int multiplication(Pcg rng) {
+		int k = 0;
+		double p = rng.nextDouble();
+		while (p > expMinusMean) {
+			k++;
+			p *= rng.nextDouble();
+		}
+		return k;
+	}
+
+	private int ptrs(Pcg rng) {
+		for (;;) {
+			double u = rng.nextDouble() - 0.5;
+			double v = rng.nextDouble();
+			double us = 0.5 - Math.abs(u);
+			double k = Math.floor((2 * a / us + b) * u + mean + 0.43);
+
+			// Squeeze. Accepts ~86% of all samples
+			if (us >= 0.07 && v <= vr) {
+				return (int) k;
+			}
+			if (k < 0 || (us < 0.013 && v > us)) {
+				continue;
+			}
+			if (Math.log(v) + logInvAlpha - Math.log(a / (us * us) + b) <= -mean + k * logMean
+					- SamplerMath.logFactorial((long) k)) {
+				return (int) k;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.github.kilianB.pcg.sampler;
+
+/**
+ * Math helper functions shared by the samplers.
+ *
+ * @author Kilian
+ */
+final class SamplerMath {
+
+	/** 0.5 * log(2 pi) */
+	private static final double HALF_LOG_2_PI = 0.5 * Math.log(2 * Math.PI);
+
+	/** Stirling correction log(k!) - stirling(k) for k in [0,9] */
+	private static final double[] FC = { 0.08106146679532726, 0.04134069595540929, 0.02767792568499834,
+			0.02079067210376509, 0.01664469118982119, 0.01387612882307075, 0.01189670994589177,
+			0.01041126526197209, 0.009255462182712733, 0.008330563433362871 };
+
+	private static final int LOG_FACTORIAL_TABLE_SIZE = 256;
+
+	private static final double[] LOG_FACTORIAL = new double[LOG_FACTORIAL_TABLE_SIZE];
+
+	static {
+		for (int k = 2; k < LOG_FACTORIAL_TABLE_SIZE; k++) {
+			LOG_FACTORIAL[k] = LOG_FACTORIAL[k - 1] + Math.log(k);
+		}
+	}
+
+	private SamplerMath() {
+	}
+
+	/**
+	 * Error of the Stirling approximation of log(k!)
+	 * <code>(k + 0.5) log(k + 1) - (k + 1) + 0.5 log(2 pi)</code>.
+	 *
+	 * @param k
+	 *            non negative argument
+	 * @return the correction term
+	 */
+	static double stirlingCorrection(long k) {
+		if (k < FC.length) {
+			return FC[(int) k];
+		}
+		double r = 1.0 / (k + 1);
+		double rr = r * r;
+		return (1.0 / 12 - (1.0 / 360 - 1.0 / 1260 * rr) * rr) * r;
+	}
+
+	/**
+	 * @param k
+	 *            non negative argument
+	 * @return log(k!)
+	 */
+	static double logFactorial(long k) {
+		if (k < LOG_FACTORIAL_TABLE_SIZE) {
+			return LOG_FACTORIAL[(int) k];
+		}
+		return (k + 0.5) * Math.log(k + 1) - (k + 1) + HALF_LOG_2_PI + stirlingCorrection(k);
+	}
+
+	/**
+	 * Uniformly distributed value in (0,1] suitable as argument for the logarithm.
+	 *
+	 * @param bits
+	 *            64 uniformly distributed random bits
+	 * @return a value in (0,1]
+	 */
+	static double openZero(long bits) {
+		return ((bits >>> 11) + 1) * 0x1.0p-53;
+	}
+}
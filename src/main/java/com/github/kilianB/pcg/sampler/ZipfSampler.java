@@ -0,0 +1,134 @@
+package com.github.kilianB.pcg.sampler;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * Sampler for zipf distributed values in the range [1, n] using the rejection
+ * inversion method of Hörmann and Derflinger. <p>
+ *
+ * The probability of k is proportional to <code>k<sup>-s</sup></code>. The
+ * hat function is the continuous integral of <code>x<sup>-s</sup></code>,
+ * therefore, neither setup nor sampling depend on the number of elements. Each
+ * attempt consumes one uniform value and the expected amount of attempts is
+ * below 1.1 for all exponents.
+ *
+ * @author Kilian
+ * @see <a href="https://doi.org/10.1145/235025.235029">Rejection-inversion to
+ *      generate variates from monotone discrete distributions</a>
+ */
+public class ZipfSampler implements DiscreteSampler {
+
+	private final int numberOfElements;
+	private final double exponent;
+
+	/** H(1.5) - 1 */
+	private final double hIntegralX1;
+	/** H(n + 0.5) */
+	private final double hIntegralNumberOfElements;
+	/** Values of k - x below this threshold are always accepted */
+	private final double squeeze;
+
+	/**
+	 * Create a sampler for a zipf distribution.
+	 *
+	 * @param numberOfElements
+	 *            the largest value which may be returned. Has to be positive
+	 * @param exponent
+	 *            of the distribution. Has to be positive
+	 * @throws IllegalArgumentException
+	 *             if the number of elements or the exponent is not positive
+	 */
+	public ZipfSampler(int numberOfElements, double exponent) {
+		if (numberOfElements <= 0) {
+			throw new IllegalArgumentException("Number of elements has to be positive. Value: " + numberOfElements);
+		}
+		if (!(exponent > 0) || Double.isInfinite(exponent)) {
+			throw new IllegalArgumentException("Exponent has to be positive and finite. Value: " + exponent);
+		}
+		this.numberOfElements = numberOfElements;
+		this.exponent = exponent;
+		hIntegralX1 = hIntegral(1.5) - 1;
+		hIntegralNumberOfElements = hIntegral(numberOfElements + 0.5);
+		squeeze = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+	}
+
+	@Override
+	public int sample(Pcg rng) {
+		for (;;) {
+			double u = hIntegralNumberOfElements + rng.nextDouble() * (hIntegralX1 - hIntegralNumberOfElements);
+			double x = hIntegralInverse(u);
+			int k = (int) (x + 0.5);
+			if (k < 1) {
+				k = 1;
+			} else if (k > numberOfElements) {
+				k = numberOfElements;
+			}
+			if (k - x <= squeeze || u >= hIntegral(k + 0.5) - h(k)) {
+				return k;
+			}
+		}
+	}
+
+	/**
+	 * @return the largest value which may be returned
+	 */
+	public int getNumberOfElements() {
+		return numberOfElements;
+	}
+
+	/**
+	 * @return the exponent of the distribution
+	 */
+	public double getExponent() {
+		return exponent;
+	}
+
+	/**
+	 * @return x<sup>-s</sup>
+	 */
+	private double h(double x) {
+		return Math.exp(-exponent * Math.log(x));
+	}
+
+	/**
+	 * Integral of h. <code>(x<sup>1-s</sup> - 1) / (1 - s)</code> evaluated in a
+	 * way which stays accurate for s close to 1.
+	 */
+	private double hIntegral(double x) {
+		double logX = Math.log(x);
+		return expm1Div((1 - exponent) * logX) * logX;
+	}
+
+	/**
+	 * Inverse of {@link #hIntegral(double)}
+	 */
+	private double hIntegralInverse(double x) {
+		double t = x * (1 - exponent);
+		if (t < -1) {
+			// Limit rounding errors
+			t = -1;
+		}
+		return Math.exp(log1pDiv(t) * x);
+	}
+
+	/**
+	 * @return log(1 + x) / x. Accurate for x close to 0
+	 */
+	private static double log1pDiv(double x) {
+		if (Math.abs(x) > 1e-8) {
+			return Math.log1p(x) / x;
+		}
+		return 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+	}
+
+	/**
+	 * @return (exp(x) - 1) / x. Accurate for x close to 0
+	 */
+	private static double expm1Div(double x) {
+		if (Math.abs(x) > 1e-8) {
+			return Math.expm1(x) / x;
+		}
+		return 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+	}
+
+}
@@ -0,0 +1,341 @@
+package com.github.kilianB.pcg.shuffle;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * Parallel in place shuffles for large primitive arrays using the MergeShuffle
+ * algorithm. <p>
+ *
+ * The array is recursively halved until each block holds at most
+ * {@link #LEAF_SIZE} elements. The blocks are shuffled independently by
+ * {@link Shuffle}, afterwards adjacent blocks are merged bottom up. Each merge
+ * interleaves two uniformly shuffled blocks by coin flips and finishes with a
+ * few Fisher-Yates steps, the result is again uniformly shuffled. Merges on the
+ * same level run in parallel. <p>
+ *
+ * The shape of the task tree only depends on the length of the array. Each
+ * node of the tree draws its random numbers from its own
+ * {@link Pcg#substream(long) substream} of the supplied generator, therefore,
+ * the permutation is identical regardless of the parallelism of the pool.
+ * Afterwards the supplied generator is advanced by a single step. Generators
+ * not overriding {@link Pcg#copy(long, long)} are rejected with an
+ * UnsupportedOperationException.
+ *
+ * @author Kilian
+ * @see <a href="https://arxiv.org/abs/1508.03167">MergeShuffle: A Very Fast,
+ *      Parallel Random Permutation Algorithm</a>
+ */
+public final class ParallelShuffle {
+
+	/** Maximum amount of elements shuffled sequentially by a single task */
+	public static final int LEAF_SIZE = 1 << 16;
+
+	private ParallelShuffle() {
+	}
+
+	/**
+	 * Randomly permute the array using the common fork join pool.
+	 *
+	 * @param array
+	 *            the array to shuffle
+	 * @param rng
+	 *            the generator the generators of the tasks are derived from
+	 */
+	public static void shuffle(int[] array, Pcg rng) {
+		shuffle(array, array.length, rng, ForkJoinPool.commonPool(), LEAF_SIZE);
+	}
+
+	/**
+	 * Randomly permute the array.
+	 *
+	 * @param array
+	 *            the array to shuffle
+	 * @param rng
+	 *            the generator the generators of the tasks are derived from
+	 * @param pool
+	 *            the pool executing the tasks
+	 */
+	public static void shuffle(int[] array, Pcg rng, ForkJoinPool pool) {
+		shuffle(array, array.length, rng, pool, LEAF_SIZE);
+	}
+
+	/**
+	 * Randomly permute the array using the common fork join pool.
+	 *
+	 * @param array
+	 *            the array to shuffle
+	 * @param rng
+	 *            the generator the generators of the tasks are derived from
+	 */
+	public static void shuffle(long[] array, Pcg rng) {
+		shuffle(array, array.length, rng, ForkJoinPool.commonPool(), LEAF_SIZE);
+	}
+
+	/**
+	 * Randomly permute the array.
+	 *
+	 * @param array
+	 *            the array to shuffle
+	 * @param rng
+	 *            the generator the generators of the tasks are derived from
+	 * @param pool
+	 *            the pool executing the tasks
+	 */
+	public static void shuffle(long[] array, Pcg rng, ForkJoinPool pool) {
+		shuffle(array, array.length, rng, pool, LEAF_SIZE);
+	}
+
+	/**
+	 * Randomly permute the array using the common fork join pool.
+	 *
+	 * @param array
+	 *            the array to shuffle
+	 * @param rng
+	 *            the generator the generators of the tasks are derived from
+	 */
+	public static void shuffle(double[] array, Pcg rng) {
+		shuffle(array, array.length, rng, ForkJoinPool.commonPool(), LEAF_SIZE);
+	}
+
+	/**
+	 * Randomly permute the array.
+	 *
+	 * @param array
+	 *            the array to shuffle
+	 * @param rng
+	 *            the generator the generators of the tasks are derived from
+	 * @param pool
+	 *            the pool executing the tasks
+	 */
+	public static void shuffle(double[] array, Pcg rng, ForkJoinPool pool) {
+		shuffle(array, array.length, rng, pool, LEAF_SIZE);
+	}
+
+	/**
+	 * @param array
+	 *            an int, long or double array
+	 * @param length
+	 *            the length of the array
+	 * @param rng
+	 *            the generator the generators of the tasks are derived from
+	 * @param pool
+	 *            the pool executing the tasks
+	 * @param leafSize
+	 *            maximum amount of elements shuffled by a single task
+	 */
+	static void shuffle(Object array, int length, Pcg rng, ForkJoinPool pool, int leafSize) {
+		int depth = 0;
+		while ((long) leafSize << depth < length) {
+			depth++;
+		}
+		pool.invoke(new MergeTask(array, rng, 1, 1 << depth, 0, length));
+		rng.advance(1);
+	}
+
+	/**
+	 * Create the generator of a node of the merge tree. The generator is the
+	 * {@link Pcg#substream(long) substream} with the index of the node.
+	 *
+	 * @param rng
+	 *            the generator supplied by the caller. Not altered
+	 * @param node
+	 *            the index of the node
+	 * @return a new generator of the same class
+	 */
+	static Pcg nodeRng(Pcg rng, int node) {
+		return rng.substream(node);
+	}
+
+	/**
+	 * Interleave the two uniformly shuffled blocks [from, mid) and [mid, to) into
+	 * a uniformly shuffled block [from, to).
+	 *
+	 * @param array
+	 *            the array containing both blocks
+	 * @param from
+	 *            the first index of the left block (inclusive)
+	 * @param mid
+	 *            the first index of the right block
+	 * @param to
+	 *            the last index of the right block (exclusive)
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	static void merge(int[] array, int from, int mid, int to, Pcg rng) {
+		int i = from;
+		int j = mid;
+		long bits = 0;
+		for (int available = 0;; i++, bits >>>= 1, available--) {
+			if (available == 0) {
+				bits = rng.nextLong();
+				available = 64;
+			}
+			if ((bits & 1) == 0) {
+				if (i == j) {
+					break;
+				}
+			} else {
+				if (j == to) {
+					break;
+				}
+				int tmp = array[i];
+				array[i] = array[j];
+				array[j++] = tmp;
+			}
+		}
+		// One block is exhausted. Insert the remaining elements at random positions
+		for (; i < to; i++) {
+			int m = from + rng.nextInt(i - from + 1);
+			int tmp = array[i];
+			array[i] = array[m];
+			array[m] = tmp;
+		}
+	}
+
+	/**
+	 * Interleave the two uniformly shuffled blocks [from, mid) and [mid, to) into
+	 * a uniformly shuffled block [from, to).
+	 *
+	 * @param array
+	 *            the array containing both blocks
+	 * @param from
+	 *            the first index of the left block (inclusive)
+	 * @param mid
+	 *            the first index of the right block
+	 * @param to
+	 *            the last index of the right block (exclusive)
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	static void merge(long[] array, int from, int mid, int to, Pcg rng) {
+		int i = from;
+		int j = mid;
+		long bits = 0;
+		for (int available = 0;; i++, bits >>>= 1, available--) {
+			if (available == 0) {
+				bits = rng.nextLong();
+				available = 64;
+			}
+			if ((bits & 1) == 0) {
+				if (i == j) {
+					break;
+				}
+			} else {
+				if (j == to) {
+					break;
+				}
+				long tmp = array[i];
+				array[i] = array[j];
+				array[j++] = tmp;
+			}
+		}
+		// One block is exhausted. Insert the remaining elements at random positions
+		for (; i < to; i++) {
+			int m = from + rng.nextInt(i - from + 1);
+			long tmp = array[i];
+			array[i] = array[m];
+			array[m] = tmp;
+		}
+	}
+
+	/**
+	 * Interleave the two uniformly shuffled blocks [from, mid) and [mid, to) into
+	 * a uniformly shuffled block [from, to).
+	 *
+	 * @param array
+	 *            the array containing both blocks
+	 * @param from
+	 *            the first index of the left block (inclusive)
+	 * @param mid
+	 *            the first index of the right block
+	 * @param to
+	 *            the last index of the right block (exclusive)
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	static void merge(double[] array, int from, int mid, int to, Pcg rng) {
+		int i = from;
+		int j = mid;
+		long bits = 0;
+		for (int available = 0;; i++, bits >>>= 1, available--) {
+			if (available == 0) {
+				bits = rng.nextLong();
+				available = 64;
+			}
+			if ((bits & 1) == 0) {
+				if (i == j) {
+					break;
+				}
+			} else {
+				if (j == to) {
+					break;
+				}
+				double tmp = array[i];
+				array[i] = array[j];
+				array[j++] = tmp;
+			}
+		}
+		// One block is exhausted. Insert the remaining elements at random positions
+		for (; i < to; i++) {
+			int m = from + rng.nextInt(i - from + 1);
+			double tmp = array[i];
+			array[i] = array[m];
+			array[m] = tmp;
+		}
+	}
+
+	/**
+	 * Node of the merge tree. Children of node n are 2n and 2n + 1.
+	 */
+	private static class MergeTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 5087719420683254911L;
+
+		private final transient Object array;
+		private final transient Pcg rng;
+		private final int node;
+		private final int firstLeaf;
+		private final int from;
+		private final int to;
+
+		MergeTask(Object array, Pcg rng, int node, int firstLeaf, int from, int to) {
+			this.array = array;
+			this.rng = rng;
+			this.node = node;
+			this.firstLeaf = firstLeaf;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (node >= firstLeaf) {
+				Pcg leafRng = nodeRng(rng, node);
+				if (array instanceof int[]) {
+					Shuffle.shuffle((int[]) array, from, to, leafRng);
+				} else if (array instanceof long[]) {
+					Shuffle.shuffle((long[]) array, from, to, leafRng);
+				} else {
+					Shuffle.shuffle((double[]) array, from, to, leafRng);
+				}
+				return;
+			}
+			int mid = (int) (((long) from + to) >>> 1);
+			invokeAll(new MergeTask(array, rng, 2 * node, firstLeaf, from, mid),
+					new MergeTask(array, rng, 2 * node + 1, firstLeaf, mid, to));
+
+			Pcg mergeRng = nodeRng(rng, node);
+			if (array instanceof int[]) {
+				merge((int[]) array, from, mid, to, mergeRng);
+			} else if (array instanceof long[]) {
+				merge((long[]) array, from, mid, to, mergeRng);
+			} else {
+				merge((double[]) array, from, mid, to, mergeRng);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,201 @@
+package com.github.kilianB.pcg.shuffle;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * Pseudo random permutation of the range [0, n) which can be evaluated at any
+ * index without materializing the permuted sequence. <p>
+ *
+ * The permutation is a balanced Feistel network over the smallest even amount
+ * of bits able to hold n - 1. Each round mixes one half with a round key drawn
+ * from a generator and xors the result into the other half. A Feistel network
+ * is a bijection for any round function. Values outside of the range are fed
+ * through the network again (cycle walking) until they fall into the range,
+ * which takes less than 4 iterations on average. <p>
+ *
+ * Memory consumption is constant and independent of n. Both
+ * {@link #map(long)} and {@link #inverse(long)} take expected constant time.
+ * The permutation is not cryptographically secure.
+ *
+ * @author Kilian
+ * @see <a href="https://doi.org/10.1137/0217022">Luby, Rackoff: How to
+ *      construct pseudorandom permutations from pseudorandom functions</a>
+ */
+public class RandomPermutation {
+
+	/** Maximum supported size */
+	public static final long MAX_SIZE = 1L << 62;
+
+	private static final int ROUNDS = 4;
+
+	/** Size of the range */
+	private final long n;
+
+	/** Amount of bits of each half */
+	private final int halfBits;
+
+	private final long halfMask;
+
+	private final long[] keys = new long[ROUNDS];
+
+	/**
+	 * Create a permutation of the range [0, n). The round keys are drawn from the
+	 * generator. Equal generators yield equal permutations.
+	 *
+	 * @param n
+	 *            the size of the range in [1, 2^62]
+	 * @param rng
+	 *            the generator used to draw the round keys
+	 * @throws IllegalArgumentException
+	 *             if n is not in [1, 2^62]
+	 */
+	public RandomPermutation(long n, Pcg rng) {
+		if (n <= 0 || n > MAX_SIZE) {
+			throw new IllegalArgumentException("Size has to be in [1, 2^62]. Value: " + n);
+		}
+		this.n = n;
+		int bits = 64 - Long.numberOfLeadingZeros(n - 1);
+		halfBits = (bits + 1) / 2;
+		halfMask = (1L << halfBits) - 1;
+		for (int i = 0; i < ROUNDS; i++) {
+			keys[i] = rng.nextLong();
+		}
+	}
+
+	/**
+	 * @param index
+	 *            the index in [0, n)
+	 * @return the value located at the index of the permuted sequence
+	 * @throws IndexOutOfBoundsException
+	 *             if the index is not in [0, n)
+	 */
+	public long map(long index) {
+		checkIndex(index);
+		long x = index;
+		do {
+			x = encrypt(x);
+		} while (x >= n);
+		return x;
+	}
+
+	/**
+	 * Inverse of {@link #map(long)}. <code>inverse(map(i)) == i</code> holds for
+	 * every index.
+	 *
+	 * @param value
+	 *            the value in [0, n)
+	 * @return the index the value is located at in the permuted sequence
+	 * @throws IndexOutOfBoundsException
+	 *             if the value is not in [0, n)
+	 */
+	public long inverse(long value) {
+		checkIndex(value);
+		long x = value;
+		do {
+			x = decrypt(x);
+		} while (x >= n);
+		return x;
+	}
+
+	/**
+	 * Evaluate the permutation at consecutive indices.
+	 * <code>dst[k] = map(from + k)</code>
+	 *
+	 * @param from
+	 *            the first index
+	 * @param dst
+	 *            the array to fill
+	 * @throws IndexOutOfBoundsException
+	 *             if any index is not in [0, n)
+	 */
+	public void map(long from, long[] dst) {
+		checkIndex(from);
+		if (dst.length > 0) {
+			checkIndex(from + dst.length - 1);
+		}
+		for (int k = 0; k < dst.length; k++) {
+			long x = from + k;
+			do {
+				x = encrypt(x);
+			} while (x >= n);
+			dst[k] = x;
+		}
+	}
+
+	/**
+	 * @return an iterator returning the permuted sequence
+	 *         <code>map(0), map(1), ... map(n - 1)</code>
+	 */
+	public PrimitiveIterator.OfLong iterator() {
+		return new PrimitiveIterator.OfLong() {
+
+			private long index;
+
+			@Override
+			public boolean hasNext() {
+				return index < n;
+			}
+
+			@Override
+			public long nextLong() {
+				if (index >= n) {
+					throw new NoSuchElementException();
+				}
+				long x = index++;
+				do {
+					x = encrypt(x);
+				} while (x >= n);
+				return x;
+			}
+		};
+	}
+
+	/**
+	 * @return the size of the permuted range
+	 */
+	public long getSize() {
+		return n;
+	}
+
+	private long encrypt(long x) {
+		long left = x >>> halfBits;
+		long right = x & halfMask;
+		for (int i = 0; i < ROUNDS; i++) {
+			long tmp = right;
+			right = left ^ (round(right, keys[i]) & halfMask);
+			left = tmp;
+		}
+		return (left << halfBits) | right;
+	}
+
+	private long decrypt(long x) {
+		long left = x >>> halfBits;
+		long right = x & halfMask;
+		for (int i = ROUNDS - 1; i >= 0; i--) {
+			long tmp = left;
+			left = right ^ (round(left, keys[i]) & halfMask);
+			right = tmp;
+		}
+		return (left << halfBits) | right;
+	}
+
+	/**
+	 * Round function. SplitMix64 finalizer of the keyed half
+	 */
+	private static long round(long half, long key) {
+		long z = half ^ key;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	private void checkIndex(long index) {
+		if (index < 0 || index >= n) {
+			throw new IndexOutOfBoundsException("Index has to be in [0, " + n + "). Value: " + index);
+		}
+	}
+
+}
@@ -0,0 +1,361 @@
+package com.github.kilianB.pcg.shuffle;
+
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * In place Fisher-Yates shuffles for primitive arrays, object arrays and lists.
+ * <p>
+ *
+ * Opposed to {@link java.util.Collections#shuffle(List, java.util.Random)} the
+ * methods neither box nor allocate and do not divide. Swap indices are drawn by
+ * batched dice rolls: each half of a <code>nextLong()</code> is multiplied with
+ * a bound, the upper word of the product is the index and the lower word is fed
+ * into the multiplication with the next bound. A single rejection test on the
+ * final lower word keeps both indices unbiased. Once fewer than
+ * 2<sup>14</sup> elements remain, 4 indices are drawn per random value. Larger
+ * bounds use one bounded <code>nextInt</code> per swap, since batching them
+ * requires 128 bit products which are costly to emulate in Java 8. <p>
+ *
+ * The produced permutation only depends on the state of the generator. Equal
+ * generators always shuffle equal input into the same order.
+ *
+ * @author Kilian
+ * @see <a href="https://arxiv.org/abs/2408.06213">Batched Ranged Random Integer
+ *      Generation</a>
+ */
+public final class Shuffle {
+
+	private static final long LOW_MASK = 0xFFFFFFFFL;
+
+	/**
+	 * Largest bound for which two indices are drawn from 32 random bits. The
+	 * product of both bounds stays below 2<sup>28</sup> and the rejection test
+	 * rarely has to divide
+	 */
+	static final int MAX_PAIR_BOUND = 1 << 14;
+
+	private Shuffle() {
+	}
+
+	/**
+	 * Randomly permute the array.
+	 *
+	 * @param array
+	 *            the array to shuffle
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	public static void shuffle(int[] array, Pcg rng) {
+		shuffle(array, 0, array.length, rng);
+	}
+
+	/**
+	 * Randomly permute the elements in the range [from, to) of the array. Elements
+	 * outside of the range are not touched.
+	 *
+	 * @param array
+	 *            the array to shuffle
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive)
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if the range exceeds the array
+	 * @throws IllegalArgumentException
+	 *             if from &gt; to
+	 */
+	public static void shuffle(int[] array, int from, int to, Pcg rng) {
+		checkRange(array.length, from, to);
+		int k = to - from;
+		for (; k > MAX_PAIR_BOUND; k--) {
+			swap(array, from + k - 1, from + rng.nextInt(k));
+		}
+		while (k > 1) {
+			long r = rng.nextLong();
+			long pair = rollPair(r >>> 32, k);
+			if (pair >= 0) {
+				swap(array, from + k - 1, from + (int) (pair >>> 32));
+				swap(array, from + k - 2, from + (int) pair);
+				k -= 2;
+			}
+			if (k > 1 && (pair = rollPair(r & LOW_MASK, k)) >= 0) {
+				swap(array, from + k - 1, from + (int) (pair >>> 32));
+				swap(array, from + k - 2, from + (int) pair);
+				k -= 2;
+			}
+		}
+	}
+
+	/**
+	 * Randomly permute the array.
+	 *
+	 * @param array
+	 *            the array to shuffle
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	public static void shuffle(long[] array, Pcg rng) {
+		shuffle(array, 0, array.length, rng);
+	}
+
+	/**
+	 * Randomly permute the elements in the range [from, to) of the array. Elements
+	 * outside of the range are not touched.
+	 *
+	 * @param array
+	 *            the array to shuffle
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive)
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if the range exceeds the array
+	 * @throws IllegalArgumentException
+	 *             if from &gt; to
+	 */
+	public static void shuffle(long[] array, int from, int to, Pcg rng) {
+		checkRange(array.length, from, to);
+		int k = to - from;
+		for (; k > MAX_PAIR_BOUND; k--) {
+			swap(array, from + k - 1, from + rng.nextInt(k));
+		}
+		while (k > 1) {
+			long r = rng.nextLong();
+			long pair = rollPair(r >>> 32, k);
+			if (pair >= 0) {
+				swap(array, from + k - 1, from + (int) (pair >>> 32));
+				swap(array, from + k - 2, from + (int) pair);
+				k -= 2;
+			}
+			if (k > 1 && (pair = rollPair(r & LOW_MASK, k)) >= 0) {
+				swap(array, from + k - 1, from + (int) (pair >>> 32));
+				swap(array, from + k - 2, from + (int) pair);
+				k -= 2;
+			}
+		}
+	}
+
+	/**
+	 * Randomly permute the array.
+	 *
+	 * @param array
+	 *            the array to shuffle
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	public static void shuffle(double[] array, Pcg rng) {
+		shuffle(array, 0, array.length, rng);
+	}
+
+	/**
+	 * Randomly permute the elements in the range [from, to) of the array. Elements
+	 * outside of the range are not touched.
+	 *
+	 * @param array
+	 *            the array to shuffle
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive)
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if the range exceeds the array
+	 * @throws IllegalArgumentException
+	 *             if from &gt; to
+	 */
+	public static void shuffle(double[] array, int from, int to, Pcg rng) {
+		checkRange(array.length, from, to);
+		int k = to - from;
+		for (; k > MAX_PAIR_BOUND; k--) {
+			swap(array, from + k - 1, from + rng.nextInt(k));
+		}
+		while (k > 1) {
+			long r = rng.nextLong();
+			long pair = rollPair(r >>> 32, k);
+			if (pair >= 0) {
+				swap(array, from + k - 1, from + (int) (pair >>> 32));
+				swap(array, from + k - 2, from + (int) pair);
+				k -= 2;
+			}
+			if (k > 1 && (pair = rollPair(r & LOW_MASK, k)) >= 0) {
+				swap(array, from + k - 1, from + (int) (pair >>> 32));
+				swap(array, from + k - 2, from + (int) pair);
+				k -= 2;
+			}
+		}
+	}
+
+	/**
+	 * Randomly permute the array.
+	 *
+	 * @param array
+	 *            the array to shuffle
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 */
+	public static void shuffle(Object[] array, Pcg rng) {
+		shuffle(array, 0, array.length, rng);
+	}
+
+	/**
+	 * Randomly permute the elements in the range [from, to) of the array. Elements
+	 * outside of the range are not touched.
+	 *
+	 * @param array
+	 *            the array to shuffle
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive)
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if the range exceeds the array
+	 * @throws IllegalArgumentException
+	 *             if from &gt; to
+	 */
+	public static void shuffle(Object[] array, int from, int to, Pcg rng) {
+		checkRange(array.length, from, to);
+		int k = to - from;
+		for (; k > MAX_PAIR_BOUND; k--) {
+			swap(array, from + k - 1, from + rng.nextInt(k));
+		}
+		while (k > 1) {
+			long r = rng.nextLong();
+			long pair = rollPair(r >>> 32, k);
+			if (pair >= 0) {
+				swap(array, from + k - 1, from + (int) (pair >>> 32));
+				swap(array, from + k - 2, from + (int) pair);
+				k -= 2;
+			}
+			if (k > 1 && (pair = rollPair(r & LOW_MASK, k)) >= 0) {
+				swap(array, from + k - 1, from + (int) (pair >>> 32));
+				swap(array, from + k - 2, from + (int) pair);
+				k -= 2;
+			}
+		}
+	}
+
+	/**
+	 * Randomly permute the list. {@link RandomAccess} lists are shuffled in place.
+	 * Other lists are copied into an array, shuffled and written back the same way
+	 * {@link java.util.Collections#shuffle(List, java.util.Random)} does.
+	 *
+	 * @param list
+	 *            the list to shuffle
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws UnsupportedOperationException
+	 *             if the list does not support the set operation
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public static void shuffle(List<?> list, Pcg rng) {
+		if (list instanceof RandomAccess) {
+			List l = list;
+			int k = list.size();
+			for (; k > MAX_PAIR_BOUND; k--) {
+				int i = k - 1;
+				l.set(i, l.set(rng.nextInt(k), l.get(i)));
+			}
+			while (k > 1) {
+				long r = rng.nextLong();
+				long pair = rollPair(r >>> 32, k);
+				if (pair >= 0) {
+					swap(l, k, pair);
+					k -= 2;
+				}
+				if (k > 1 && (pair = rollPair(r & LOW_MASK, k)) >= 0) {
+					swap(l, k, pair);
+					k -= 2;
+				}
+			}
+		} else {
+			Object[] array = list.toArray();
+			shuffle(array, rng);
+			ListIterator it = list.listIterator();
+			for (Object e : array) {
+				it.next();
+				it.set(e);
+			}
+		}
+	}
+
+	/**
+	 * Draw the two indices <code>[0, k)</code> and <code>[0, k - 1)</code> from 32
+	 * random bits. The bits are multiplied with the first bound, the upper word of
+	 * the product is the first index and the lower word is multiplied with the
+	 * second bound. Lemire's rejection test is applied once to the final lower
+	 * word and the product of both bounds.
+	 *
+	 * @param word
+	 *            32 random bits stored in the lower half of the long
+	 * @param k
+	 *            the first bound in [2, 2^14]
+	 * @return the first index in the upper and the second index in the lower 32
+	 *         bits or -1 if the random bits have to be rejected
+	 */
+	static long rollPair(long word, int k) {
+		long m0 = word * k;
+		long m1 = (m0 & LOW_MASK) * (k - 1);
+		long leftover = m1 & LOW_MASK;
+		long product = (long) k * (k - 1);
+		if (leftover < product && leftover < (1L << 32) % product) {
+			return -1;
+		}
+		return (m0 & ~LOW_MASK) | (m1 >>> 32);
+	}
+
+	private static void checkRange(int length, int from, int to) {
+		if (from > to) {
+			throw new IllegalArgumentException("from(" + from + ") > to(" + to + ")");
+		}
+		if (from < 0) {
+			throw new ArrayIndexOutOfBoundsException(from);
+		}
+		if (to > length) {
+			throw new ArrayIndexOutOfBoundsException(to);
+		}
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static void swap(List l, int k, long pair) {
+		int i = k - 1;
+		l.set(i, l.set((int) (pair >>> 32), l.get(i)));
+		i--;
+		l.set(i, l.set((int) pair, l.get(i)));
+	}
+
+	private static void swap(int[] array, int i, int j) {
+		int tmp = array[i];
+		array[i] = array[j];
+		array[j] = tmp;
+	}
+
+	private static void swap(long[] array, int i, int j) {
+		long tmp = array[i];
+		array[i] = array[j];
+		array[j] = tmp;
+	}
+
+	private static void swap(double[] array, int i, int j) {
+		double tmp = array[i];
+		array[i] = array[j];
+		array[j] = tmp;
+	}
+
+	private static void swap(Object[] array, int i, int j) {
+		Object tmp = array[i];
+		array[i] = array[j];
+		array[j] = tmp;
+	}
+
+}
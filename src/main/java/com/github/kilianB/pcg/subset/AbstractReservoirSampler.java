@@ -0,0 +1,194 @@
+package com.github.kilianB.pcg.subset;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.sampler.BetaSampler;
+
+/**
+ * Base class of the reservoir samplers selecting a uniform random subset of k
+ * items from a stream of unknown length. <p>
+ *
+ * The skip counts are computed by Li's Algorithm L. Instead of drawing a random
+ * number for every item of the stream the amount of items to skip until the
+ * next item enters the reservoir is drawn from a geometric distribution.
+ * Processing n items consults the generator O(k (1 + log(n / k))) times. <p>
+ *
+ * Subclasses store the items. Each time an item arrives they have to check if
+ * {@link #skipCount()} is 0 and either store the item in the slot returned by
+ * {@link #store()} or call {@link #skip(long)}. <p>
+ *
+ * Reservoir samplers are not thread safe. Separate samplers can be filled by
+ * each thread and combined afterwards.
+ *
+ * @author Kilian
+ * @see <a href="https://doi.org/10.1145/198429.198435">Li: Reservoir-Sampling
+ *      Algorithms of Time Complexity O(n(1 + log(N/n)))</a>
+ */
+public abstract class AbstractReservoirSampler {
+
+	private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+	/** Maximum amount of items kept */
+	protected final int k;
+
+	/** The generator used to draw skip counts and slots */
+	protected final Pcg rng;
+
+	/** Amount of items offered so far */
+	private long count;
+
+	/** Position in the stream of the next item entering the reservoir */
+	private long next;
+
+	/** Largest of the k smallest random keys assigned to the items so far */
+	private double w;
+
+	/**
+	 * @param k
+	 *            the amount of items to sample
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if k is not positive
+	 */
+	protected AbstractReservoirSampler(int k, Pcg rng) {
+		if (k <= 0) {
+			throw new IllegalArgumentException("Sample size has to be positive. Value: " + k);
+		}
+		this.k = k;
+		this.rng = rng;
+	}
+
+	/**
+	 * @return the amount of items offered to the sampler so far
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return the amount of items currently held. <code>min(k, count)</code>
+	 */
+	public int size() {
+		return (int) Math.min(k, count);
+	}
+
+	/**
+	 * @return the maximum amount of items held by the sampler
+	 */
+	public int getSampleSize() {
+		return k;
+	}
+
+	/**
+	 * @return the amount of items which have to be skipped before the next item
+	 *         enters the reservoir. 0 if the next item has to be stored
+	 */
+	protected final long skipCount() {
+		return next - count;
+	}
+
+	/**
+	 * Skip items which do not enter the reservoir.
+	 *
+	 * @param items
+	 *            the amount of items to skip. Has to be smaller or equal to
+	 *            {@link #skipCount()}
+	 */
+	protected final void skip(long items) {
+		count += items;
+	}
+
+	/**
+	 * Accept the current item. May only be called if {@link #skipCount()} is 0.
+	 *
+	 * @return the slot in [0, k) the item has to be stored at
+	 */
+	protected final int store() {
+		long index = count++;
+		if (index < k) {
+			if (count == k) {
+				w = Math.exp(Math.log(uniform()) / k);
+				scheduleNext();
+			} else {
+				next = count;
+			}
+			return (int) index;
+		}
+		int slot = rng.nextInt(k);
+		w *= Math.exp(Math.log(uniform()) / k);
+		scheduleNext();
+		return slot;
+	}
+
+	/**
+	 * Compute the slots of the reservoir representing the union of both streams.
+	 * Afterwards this sampler reports the combined count. The other sampler is
+	 * not altered.
+	 *
+	 * @param other
+	 *            the sampler to merge into this sampler
+	 * @return for each slot of the merged reservoir the source slot. Non negative
+	 *         values refer to a slot of this reservoir, negative values
+	 *         <code>s</code> to slot <code>-1 - s</code> of the other reservoir
+	 * @throws IllegalArgumentException
+	 *             if the sample sizes differ
+	 */
+	protected final int[] mergeSources(AbstractReservoirSampler other) {
+		if (other.k != k) {
+			throw new IllegalArgumentException("Sample sizes differ: " + k + " " + other.k);
+		}
+		long a = count;
+		long b = other.count;
+		int[] slotsA = identity(size());
+		int[] slotsB = identity(other.size());
+		int remainingA = slotsA.length;
+		int remainingB = slotsB.length;
+
+		int[] sources = new int[(int) Math.min(k, a + b)];
+		for (int i = 0; i < sources.length; i++) {
+			// Draw without replacement from the union of both populations
+			if (rng.nextLong(a + b) < a) {
+				int r = rng.nextInt(remainingA);
+				sources[i] = slotsA[r];
+				slotsA[r] = slotsA[--remainingA];
+				a--;
+			} else {
+				int r = rng.nextInt(remainingB);
+				sources[i] = -1 - slotsB[r];
+				slotsB[r] = slotsB[--remainingB];
+				b--;
+			}
+		}
+
+		count += other.count;
+		if (count < k) {
+			next = count;
+		} else {
+			// The k-th smallest of count uniform keys
+			w = new BetaSampler(k, count - k + 1).sample(rng);
+			scheduleNext();
+		}
+		return sources;
+	}
+
+	private void scheduleNext() {
+		double skip = Math.floor(Math.log(uniform()) / Math.log1p(-w));
+		next = skip < Long.MAX_VALUE - count ? count + (long) skip : Long.MAX_VALUE;
+	}
+
+	/**
+	 * @return uniform value in (0, 1)
+	 */
+	private double uniform() {
+		return ((rng.nextLong() >>> 11) + 0.5) * DOUBLE_UNIT;
+	}
+
+	private static int[] identity(int n) {
+		int[] array = new int[n];
+		for (int i = 0; i < n; i++) {
+			array[i] = i;
+		}
+		return array;
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.github.kilianB.pcg.subset;
+
+import java.util.Arrays;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * Reservoir sampler keeping a uniform random subset of k int values of a
+ * stream. Values are stored unboxed.
+ *
+ * @author Kilian
+ * @see AbstractReservoirSampler
+ */
+public class IntReservoirSampler extends AbstractReservoirSampler {
+
+	private final int[] reservoir;
+
+	/**
+	 * @param k
+	 *            the amount of values to sample
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if k is not positive
+	 */
+	public IntReservoirSampler(int k, Pcg rng) {
+		super(k, rng);
+		reservoir = new int[k];
+	}
+
+	/**
+	 * Offer the next value of the stream.
+	 *
+	 * @param value
+	 *            the value
+	 */
+	public void add(int value) {
+		if (skipCount() == 0) {
+			reservoir[store()] = value;
+		} else {
+			skip(1);
+		}
+	}
+
+	/**
+	 * Offer a range of values of the stream. Skipped values are not touched.
+	 *
+	 * @param values
+	 *            the values
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive)
+	 */
+	public void add(int[] values, int from, int to) {
+		int i = from;
+		while (i < to) {
+			long skip = skipCount();
+			if (skip >= to - i) {
+				skip(to - i);
+				return;
+			}
+			skip(skip);
+			i += (int) skip;
+			reservoir[store()] = values[i++];
+		}
+	}
+
+	/**
+	 * Offer all values of the array.
+	 *
+	 * @param values
+	 *            the values
+	 */
+	public void add(int[] values) {
+		add(values, 0, values.length);
+	}
+
+	/**
+	 * Combine the sample of another sampler with the sample of this sampler. This
+	 * sampler afterwards holds a uniform sample of both streams. The other sampler
+	 * is not altered.
+	 *
+	 * @param other
+	 *            sampler with the same sample size
+	 * @throws IllegalArgumentException
+	 *             if the sample sizes differ
+	 */
+	public void merge(IntReservoirSampler other) {
+		int[] sources = mergeSources(other);
+		int[] merged = new int[sources.length];
+		for (int i = 0; i < sources.length; i++) {
+			int s = sources[i];
+			merged[i] = s >= 0 ? reservoir[s] : other.reservoir[-1 - s];
+		}
+		System.arraycopy(merged, 0, reservoir, 0, merged.length);
+	}
+
+	/**
+	 * @return a copy of the sampled values
+	 */
+	public int[] getSample() {
+		return Arrays.copyOf(reservoir, size());
+	}
+
+}
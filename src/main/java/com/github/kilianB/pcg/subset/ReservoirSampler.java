@@ -0,0 +1,125 @@
+package com.github.kilianB.pcg.subset;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * Reservoir sampler keeping a uniform random subset of k items of a stream.
+ *
+ * @author Kilian
+ * @param <T> the type of the sampled items
+ * @see AbstractReservoirSampler
+ */
+public class ReservoirSampler<T> extends AbstractReservoirSampler {
+
+	private final Object[] reservoir;
+
+	/**
+	 * @param k
+	 *            the amount of items to sample
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if k is not positive
+	 */
+	public ReservoirSampler(int k, Pcg rng) {
+		super(k, rng);
+		reservoir = new Object[k];
+	}
+
+	/**
+	 * Offer the next item of the stream.
+	 *
+	 * @param item
+	 *            the item
+	 */
+	public void add(T item) {
+		if (skipCount() == 0) {
+			reservoir[store()] = item;
+		} else {
+			skip(1);
+		}
+	}
+
+	/**
+	 * Offer all items of the iterator. Skipped items are consumed without being
+	 * inspected.
+	 *
+	 * @param items
+	 *            the items
+	 */
+	public void addAll(Iterator<? extends T> items) {
+		while (items.hasNext()) {
+			if (skipCount() == 0) {
+				reservoir[store()] = items.next();
+			} else {
+				items.next();
+				skip(1);
+			}
+		}
+	}
+
+	/**
+	 * Offer all items of the list. Skipped items of {@link RandomAccess} lists are
+	 * not accessed.
+	 *
+	 * @param items
+	 *            the items
+	 */
+	public void addAll(List<? extends T> items) {
+		if (!(items instanceof RandomAccess)) {
+			addAll(items.iterator());
+			return;
+		}
+		int i = 0;
+		int to = items.size();
+		while (i < to) {
+			long skip = skipCount();
+			if (skip >= to - i) {
+				skip(to - i);
+				return;
+			}
+			skip(skip);
+			i += (int) skip;
+			reservoir[store()] = items.get(i++);
+		}
+	}
+
+	/**
+	 * Combine the sample of another sampler with the sample of this sampler. This
+	 * sampler afterwards holds a uniform sample of both streams. The other sampler
+	 * is not altered.
+	 *
+	 * @param other
+	 *            sampler with the same sample size
+	 * @throws IllegalArgumentException
+	 *             if the sample sizes differ
+	 */
+	public void merge(ReservoirSampler<? extends T> other) {
+		int[] sources = mergeSources(other);
+		Object[] merged = new Object[sources.length];
+		for (int i = 0; i < sources.length; i++) {
+			int s = sources[i];
+			merged[i] = s >= 0 ? reservoir[s] : other.reservoir[-1 - s];
+		}
+		System.arraycopy(merged, 0, reservoir, 0, merged.length);
+	}
+
+	/**
+	 * @return a copy of the sampled items
+	 */
+	@SuppressWarnings("unchecked")
+	public List<T> getSample() {
+		int size = size();
+		List<T> sample = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			sample.add((T) reservoir[i]);
+		}
+		return sample;
+	}
+
+}
@@ -0,0 +1,231 @@
+package com.github.kilianB.pcg.subset;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * Iterator returning a uniform random subset of k out of the indices [0, n) in
+ * ascending order. <p>
+ *
+ * The gaps between consecutive indices are drawn by Vitter's Algorithm D,
+ * which takes expected constant time per index independent of n, and requires
+ * constant memory. Once more than 1 / 13 of the remaining indices have to be
+ * selected the sampler switches to Algorithm A which is faster for dense
+ * samples. <p>
+ *
+ * This class is not thread safe.
+ *
+ * @author Kilian
+ * @see <a href="https://doi.org/10.1145/23002.23003">Vitter: An efficient
+ *      algorithm for sequential random sampling</a>
+ */
+public class SequentialSampler implements PrimitiveIterator.OfLong {
+
+	private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+	/** Algorithm D is used as long as n is larger than ALPHA_INVERSE * k */
+	private static final int ALPHA_INVERSE = 13;
+
+	private final Pcg rng;
+
+	/** Amount of indices not yet passed */
+	private long remainingIndices;
+
+	/** Amount of indices still to select */
+	private long remainingSamples;
+
+	/** Smallest index not yet passed */
+	private long position;
+
+	/** remainingIndices - remainingSamples + 1 */
+	private long qu1;
+
+	/** Random variate carried between the steps of Algorithm D */
+	private double vPrime;
+
+	private boolean useAlgorithmA;
+
+	/**
+	 * @param n
+	 *            the size of the index range
+	 * @param k
+	 *            the amount of indices to select in [0, n]
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if n is negative or k is not in [0, n]
+	 */
+	public SequentialSampler(long n, long k, Pcg rng) {
+		if (n < 0 || k < 0 || k > n) {
+			throw new IllegalArgumentException("Sample size has to be in [0, n]. n: " + n + " k: " + k);
+		}
+		this.rng = rng;
+		remainingIndices = n;
+		remainingSamples = k;
+		qu1 = n - k + 1;
+		useAlgorithmA = k > Long.MAX_VALUE / ALPHA_INVERSE || k * ALPHA_INVERSE >= n;
+		if (!useAlgorithmA && k > 1) {
+			vPrime = Math.exp(Math.log(uniform()) / k);
+		}
+	}
+
+	/**
+	 * Select k out of n indices.
+	 *
+	 * @param n
+	 *            the size of the index range
+	 * @param k
+	 *            the amount of indices to select in [0, n]
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @return the selected indices in ascending order
+	 * @throws IllegalArgumentException
+	 *             if n is negative or k is not in [0, n]
+	 */
+	public static long[] sample(long n, int k, Pcg rng) {
+		long[] indices = new long[k];
+		new SequentialSampler(n, k, rng).next(indices, 0, k);
+		return indices;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return remainingSamples > 0;
+	}
+
+	/**
+	 * @return the next selected index. Indices are returned in ascending order
+	 * @throws NoSuchElementException
+	 *             if all k indices have been returned
+	 */
+	@Override
+	public long nextLong() {
+		if (remainingSamples == 0) {
+			throw new NoSuchElementException();
+		}
+		long index = position + skip();
+		position = index + 1;
+		return index;
+	}
+
+	/**
+	 * Write the next selected indices into the array.
+	 *
+	 * @param dst
+	 *            the array to fill
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive)
+	 * @return the amount of indices written. Less than <code>to - from</code> if
+	 *         fewer indices remain
+	 */
+	public int next(long[] dst, int from, int to) {
+		int i = from;
+		for (; i < to && remainingSamples > 0; i++) {
+			long index = position + skip();
+			position = index + 1;
+			dst[i] = index;
+		}
+		return i - from;
+	}
+
+	/**
+	 * @return the amount of indices which have not been returned yet
+	 */
+	public long getRemaining() {
+		return remainingSamples;
+	}
+
+	/**
+	 * Draw the amount of indices to skip before the next selected index and
+	 * update the remaining counts.
+	 */
+	private long skip() {
+		long skip;
+		if (remainingSamples == 1) {
+			skip = rng.nextLong(remainingIndices);
+		} else {
+			if (!useAlgorithmA && remainingSamples * ALPHA_INVERSE >= remainingIndices) {
+				useAlgorithmA = true;
+			}
+			skip = useAlgorithmA ? skipA() : skipD();
+		}
+		remainingIndices -= skip + 1;
+		remainingSamples--;
+		qu1 -= skip;
+		return skip;
+	}
+
+	private long skipA() {
+		double top = remainingIndices - remainingSamples;
+		double total = remainingIndices;
+		double v = uniform();
+		long skip = 0;
+		double quot = top / total;
+		while (quot > v) {
+			skip++;
+			top--;
+			total--;
+			quot = quot * top / total;
+		}
+		return skip;
+	}
+
+	private long skipD() {
+		final double n = remainingIndices;
+		final double k = remainingSamples;
+		final double kMinus1Inv = 1.0 / (k - 1);
+		for (;;) {
+			double x;
+			long skip;
+			for (;;) {
+				x = n * (1 - vPrime);
+				skip = (long) x;
+				if (skip < qu1) {
+					break;
+				}
+				vPrime = Math.exp(Math.log(uniform()) / k);
+			}
+
+			double y1 = Math.exp(Math.log(uniform() * n / qu1) * kMinus1Inv);
+			vPrime = y1 * (1 - x / n) * (qu1 / (double) (qu1 - skip));
+			if (vPrime <= 1) {
+				// Accepted by the squeeze. vPrime is a valid variate for the next step
+				return skip;
+			}
+
+			double y2 = 1;
+			double top = n - 1;
+			double bottom;
+			double limit;
+			if (k - 1 > skip) {
+				bottom = n - k;
+				limit = n - skip;
+			} else {
+				bottom = n - skip - 1;
+				limit = qu1;
+			}
+			for (double t = n - 1; t >= limit; t--) {
+				y2 = y2 * top / bottom;
+				top--;
+				bottom--;
+			}
+			if (n / (n - x) >= y1 * Math.exp(Math.log(y2) * kMinus1Inv)) {
+				vPrime = Math.exp(Math.log(uniform()) * kMinus1Inv);
+				return skip;
+			}
+			vPrime = Math.exp(Math.log(uniform()) / k);
+		}
+	}
+
+	/**
+	 * @return uniform value in (0, 1)
+	 */
+	private double uniform() {
+		return ((rng.nextLong() >>> 11) + 0.5) * DOUBLE_UNIT;
+	}
+
+}
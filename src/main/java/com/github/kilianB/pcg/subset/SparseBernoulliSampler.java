@@ -0,0 +1,220 @@
+package com.github.kilianB.pcg.subset;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.sampler.ExponentialSampler;
+
+/**
+ * Iterator returning the positions of the successes of n independent Bernoulli
+ * trials with success probability p in ascending order. <p>
+ *
+ * Instead of performing every trial the distance to the next success is drawn
+ * from a geometric distribution, <code>floor(E / -log(1 - p))</code> with an
+ * exponential variate E drawn by the ziggurat method. The generator is only
+ * consulted once per success, which makes the sampler suitable for sparse
+ * events. <p>
+ *
+ * The static {@link #fillMask(long[], double, Pcg)} methods produce random bit
+ * masks of arbitrary density on word level. <p>
+ *
+ * This class is not thread safe.
+ *
+ * @author Kilian
+ */
+public class SparseBernoulliSampler implements PrimitiveIterator.OfLong {
+
+	/**
+	 * Densities below this threshold are filled by geometric skips, all other
+	 * densities by combining random words
+	 */
+	static final double SPARSE_DENSITY = 1 / 16d;
+
+	private final Pcg rng;
+
+	private final long n;
+
+	/** Rate of the exponential distribution. -log(1 - p) */
+	private final double rate;
+
+	/** Position of the next success. n if no success is left */
+	private long next;
+
+	/**
+	 * @param n
+	 *            the amount of trials
+	 * @param p
+	 *            the success probability of each trial in [0, 1]
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if n is negative or p is not in [0, 1]
+	 */
+	public SparseBernoulliSampler(long n, double p, Pcg rng) {
+		if (n < 0) {
+			throw new IllegalArgumentException("Amount of trials has to be non negative. Value: " + n);
+		}
+		checkProbability(p);
+		this.rng = rng;
+		this.n = n;
+		rate = -Math.log1p(-p);
+		next = advance(0);
+	}
+
+	@Override
+	public boolean hasNext() {
+		return next < n;
+	}
+
+	/**
+	 * @return the position of the next success
+	 * @throws NoSuchElementException
+	 *             if no success is left
+	 */
+	@Override
+	public long nextLong() {
+		if (next >= n) {
+			throw new NoSuchElementException();
+		}
+		long position = next;
+		next = advance(position + 1);
+		return position;
+	}
+
+	/**
+	 * Write the positions of the next successes into the array.
+	 *
+	 * @param dst
+	 *            the array to fill
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive)
+	 * @return the amount of positions written. Less than <code>to - from</code> if
+	 *         fewer successes remain
+	 */
+	public int next(long[] dst, int from, int to) {
+		int i = from;
+		for (; i < to && next < n; i++) {
+			dst[i] = next;
+			next = advance(next + 1);
+		}
+		return i - from;
+	}
+
+	private long advance(long position) {
+		if (position >= n) {
+			return n;
+		}
+		// Infinite if p is 0, 0 if p is 1
+		double skip = Math.floor(ExponentialSampler.standard(rng) / rate);
+		return skip < n - position ? position + (long) skip : n;
+	}
+
+	/**
+	 * Fill the array with random bits. Each bit is set independently with
+	 * probability p. <p>
+	 *
+	 * Sparse and dense masks are produced by geometric skips. Otherwise a uniform
+	 * random number U is compared with p digit by digit for all 64 bits of a word
+	 * at once. Each random word decides on average half of the undecided bits,
+	 * therefore, a word is done after about 8 random words. If p is a dyadic
+	 * fraction with d binary digits at most d random words are used, e.g. a
+	 * single <code>nextLong()</code> for p = 0.5 or two for p = 0.25 and 0.75.
+	 *
+	 * @param mask
+	 *            the array to fill
+	 * @param p
+	 *            the probability of each bit to be set in [0, 1]
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if p is not in [0, 1]
+	 */
+	public static void fillMask(long[] mask, double p, Pcg rng) {
+		checkProbability(p);
+		if (p > 1 - SPARSE_DENSITY) {
+			// Dense. Fill the complement and invert
+			fillSparse(mask, 1 - p, rng);
+			for (int i = 0; i < mask.length; i++) {
+				mask[i] = ~mask[i];
+			}
+		} else if (p < SPARSE_DENSITY) {
+			fillSparse(mask, p, rng);
+		} else {
+			for (int i = 0; i < mask.length; i++) {
+				mask[i] = nextMaskWord(p, rng);
+			}
+		}
+	}
+
+	/**
+	 * Create a random bit set of the given size. Each bit is set independently
+	 * with probability p.
+	 *
+	 * @param n
+	 *            the amount of bits
+	 * @param p
+	 *            the probability of each bit to be set in [0, 1]
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @return the bit set
+	 * @throws IllegalArgumentException
+	 *             if n is negative or p is not in [0, 1]
+	 * @see #fillMask(long[], double, Pcg)
+	 */
+	public static BitSet mask(int n, double p, Pcg rng) {
+		if (n < 0) {
+			throw new IllegalArgumentException("Amount of bits has to be non negative. Value: " + n);
+		}
+		long[] words = new long[(n + 63) >>> 6];
+		fillMask(words, p, rng);
+		if ((n & 63) != 0) {
+			words[words.length - 1] &= (1L << n) - 1;
+		}
+		return BitSet.valueOf(words);
+	}
+
+	/**
+	 * Draw 64 bits each set with probability p in [0, 1).
+	 */
+	private static long nextMaskWord(double p, Pcg rng) {
+		long undecided = -1L;
+		long result = 0;
+		// Binary digits of p after the binary point. Doubling is exact
+		for (double digits = p; undecided != 0 && digits != 0;) {
+			long x = rng.nextLong();
+			digits *= 2;
+			if (digits >= 1) {
+				digits -= 1;
+				// Random digit 0 < digit 1 of p: U < p
+				result |= undecided & ~x;
+				undecided &= x;
+			} else {
+				// Random digit 1 > digit 0 of p: U > p
+				undecided &= ~x;
+			}
+		}
+		// Remaining bits equal p so far. U >= p
+		return result;
+	}
+
+	private static void fillSparse(long[] mask, double p, Pcg rng) {
+		Arrays.fill(mask, 0);
+		SparseBernoulliSampler positions = new SparseBernoulliSampler((long) mask.length << 6, p, rng);
+		while (positions.hasNext()) {
+			long position = positions.nextLong();
+			mask[(int) (position >>> 6)] |= 1L << position;
+		}
+	}
+
+	private static void checkProbability(double p) {
+		if (!(p >= 0 && p <= 1)) {
+			throw new IllegalArgumentException("Probability has to be in [0, 1]. Value: " + p);
+		}
+	}
+
+}
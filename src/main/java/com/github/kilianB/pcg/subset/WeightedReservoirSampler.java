@@ -0,0 +1,216 @@
+package com.github.kilianB.pcg.subset;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * Reservoir sampler keeping a weighted random subset of k items of a stream.
+ * <p>
+ *
+ * Each item is assigned the key <code>u<sup>1 / weight</sup></code> with a
+ * uniform u and the k items with the largest keys are kept (Efraimidis and
+ * Spirakis). The sampler implements the exponential jumps variant A-ExpJ. The
+ * total weight to skip until the next item enters the reservoir is drawn at
+ * once, therefore, the generator is only consulted when the reservoir changes.
+ * Keys are stored as logarithms which allows tiny and huge weights. <p>
+ *
+ * Items with a weight of 0 are never selected. This class is not thread safe.
+ *
+ * @author Kilian
+ * @param <T> the type of the sampled items
+ * @see <a href="https://doi.org/10.1016/j.ipl.2005.11.003">Efraimidis,
+ *      Spirakis: Weighted random sampling with a reservoir</a>
+ */
+public class WeightedReservoirSampler<T> {
+
+	private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+	private final int k;
+
+	private final Pcg rng;
+
+	/** Min heap of the selected items ordered by their key */
+	private final Object[] items;
+
+	/** Logarithm of the keys */
+	private final double[] keys;
+
+	/** Amount of items in the heap */
+	private int size;
+
+	/** Amount of items offered so far */
+	private long count;
+
+	/** Weight which has to be skipped until the next item enters the heap */
+	private double remainingWeight;
+
+	/**
+	 * @param k
+	 *            the amount of items to sample
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if k is not positive
+	 */
+	public WeightedReservoirSampler(int k, Pcg rng) {
+		if (k <= 0) {
+			throw new IllegalArgumentException("Sample size has to be positive. Value: " + k);
+		}
+		this.k = k;
+		this.rng = rng;
+		items = new Object[k];
+		keys = new double[k];
+	}
+
+	/**
+	 * Offer the next item of the stream.
+	 *
+	 * @param item
+	 *            the item
+	 * @param weight
+	 *            the non negative, finite weight of the item
+	 * @throws IllegalArgumentException
+	 *             if the weight is negative or not finite
+	 */
+	public void add(T item, double weight) {
+		if (!(weight >= 0) || Double.isInfinite(weight)) {
+			throw new IllegalArgumentException("Weights have to be non negative and finite. Value: " + weight);
+		}
+		count++;
+		if (weight == 0) {
+			return;
+		}
+		if (size < k) {
+			push(item, Math.log(uniform()) / weight);
+			if (size == k) {
+				drawJump();
+			}
+			return;
+		}
+		remainingWeight -= weight;
+		if (remainingWeight > 0) {
+			return;
+		}
+		// The key of the item is larger than the smallest key. Draw it conditionally
+		double t = Math.exp(keys[0] * weight);
+		double u = t + (1 - t) * uniform();
+		items[0] = item;
+		keys[0] = Math.log(u) / weight;
+		siftDown(0);
+		drawJump();
+	}
+
+	/**
+	 * Combine the sample of another sampler with the sample of this sampler. This
+	 * sampler afterwards holds a weighted sample of both streams. The other
+	 * sampler is not altered.
+	 *
+	 * @param other
+	 *            sampler with the same sample size
+	 * @throws IllegalArgumentException
+	 *             if the sample sizes differ
+	 */
+	@SuppressWarnings("unchecked")
+	public void merge(WeightedReservoirSampler<? extends T> other) {
+		if (other.k != k) {
+			throw new IllegalArgumentException("Sample sizes differ: " + k + " " + other.k);
+		}
+		for (int i = 0; i < other.size; i++) {
+			double key = other.keys[i];
+			if (size < k) {
+				push((T) other.items[i], key);
+			} else if (key > keys[0]) {
+				items[0] = other.items[i];
+				keys[0] = key;
+				siftDown(0);
+			}
+		}
+		count += other.count;
+		if (size == k) {
+			drawJump();
+		}
+	}
+
+	/**
+	 * @return a copy of the sampled items in no particular order
+	 */
+	@SuppressWarnings("unchecked")
+	public List<T> getSample() {
+		List<T> sample = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			sample.add((T) items[i]);
+		}
+		return sample;
+	}
+
+	/**
+	 * @return the amount of items offered to the sampler so far
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return the amount of items currently held
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the maximum amount of items held by the sampler
+	 */
+	public int getSampleSize() {
+		return k;
+	}
+
+	private void drawJump() {
+		// log(u) / log(smallest key). Exponential distributed
+		remainingWeight = Math.log(uniform()) / keys[0];
+	}
+
+	private void push(Object item, double key) {
+		int i = size++;
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (keys[parent] <= key) {
+				break;
+			}
+			items[i] = items[parent];
+			keys[i] = keys[parent];
+			i = parent;
+		}
+		items[i] = item;
+		keys[i] = key;
+	}
+
+	private void siftDown(int i) {
+		Object item = items[i];
+		double key = keys[i];
+		int half = size >>> 1;
+		while (i < half) {
+			int child = 2 * i + 1;
+			if (child + 1 < size && keys[child + 1] < keys[child]) {
+				child++;
+			}
+			if (key <= keys[child]) {
+				break;
+			}
+			items[i] = items[child];
+			keys[i] = keys[child];
+			i = child;
+		}
+		items[i] = item;
+		keys[i] = key;
+	}
+
+	/**
+	 * @return uniform value in (0, 1)
+	 */
+	private double uniform() {
+		return ((rng.nextLong() >>> 11) + 0.5) * DOUBLE_UNIT;
+	}
+
+}
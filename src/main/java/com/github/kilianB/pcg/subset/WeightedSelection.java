@@ -0,0 +1,272 @@
+package com.github.kilianB.pcg.subset;
+
+import java.util.Arrays;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.sampler.ExponentialSampler;
+
+/**
+ * Weighted sampling of k items without replacement in a single pass over a
+ * stream of items identified by a long. <p>
+ *
+ * Each item is assigned the exponential key <code>E / weight</code> and the k
+ * items with the smallest keys are kept in a primitive max heap (Efraimidis and
+ * Spirakis). Sorting the selected items by key yields the order successive
+ * weighted draws without replacement would have produced them in. <p>
+ *
+ * Keys are only drawn for items entering the heap. Once the heap is full the
+ * total weight to skip until the next item enters is drawn as a single
+ * exponential variate divided by the largest key (exponential jumps). Skipped
+ * items cost one subtraction. Exponential variates are drawn by the ziggurat
+ * method of the {@link ExponentialSampler}. <p>
+ *
+ * Items with a weight of 0 are never selected. Partial results of parallel
+ * partitions can be combined by {@link #merge(WeightedSelection)}. This class
+ * is not thread safe.
+ *
+ * @author Kilian
+ * @see <a href="https://doi.org/10.1016/j.ipl.2005.11.003">Efraimidis,
+ *      Spirakis: Weighted random sampling with a reservoir</a>
+ * @see WeightedReservoirSampler
+ */
+public class WeightedSelection {
+
+	private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+	private final int k;
+
+	private final Pcg rng;
+
+	/** Max heap of the selected items ordered by their key */
+	private final long[] items;
+
+	private final double[] keys;
+
+	/** Amount of items in the heap */
+	private int size;
+
+	/** Amount of items offered so far */
+	private long count;
+
+	/** Weight which has to be skipped until the next item enters the heap */
+	private double remainingWeight;
+
+	/**
+	 * @param k
+	 *            the amount of items to select
+	 * @param rng
+	 *            the generator used to draw random numbers
+	 * @throws IllegalArgumentException
+	 *             if k is not positive
+	 */
+	public WeightedSelection(int k, Pcg rng) {
+		if (k <= 0) {
+			throw new IllegalArgumentException("Sample size has to be positive. Value: " + k);
+		}
+		this.k = k;
+		this.rng = rng;
+		items = new long[k];
+		keys = new double[k];
+	}
+
+	/**
+	 * Offer the next item of the stream.
+	 *
+	 * @param item
+	 *            the item
+	 * @param weight
+	 *            the non negative, finite weight of the item
+	 * @throws IllegalArgumentException
+	 *             if the weight is negative or not finite
+	 */
+	public void add(long item, double weight) {
+		if (!(weight >= 0) || Double.isInfinite(weight)) {
+			throw new IllegalArgumentException("Weights have to be non negative and finite. Value: " + weight);
+		}
+		count++;
+		if (weight == 0) {
+			// Never selected. Would produce a NaN key if the jump is exactly used up
+			return;
+		}
+		if (size == k) {
+			remainingWeight -= weight;
+			if (remainingWeight > 0) {
+				return;
+			}
+			replaceLargest(item, weight);
+		} else {
+			push(item, ExponentialSampler.standard(rng) / weight);
+			if (size == k) {
+				drawJump();
+			}
+		}
+	}
+
+	/**
+	 * Offer a range of items of the stream. Produces the same selection as
+	 * offering each item by {@link #add(long, double)}.
+	 *
+	 * @param items
+	 *            the items
+	 * @param weights
+	 *            the non negative, finite weights of the items
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive)
+	 * @throws IllegalArgumentException
+	 *             if a weight is negative or not finite
+	 */
+	public void add(long[] items, double[] weights, int from, int to) {
+		int i = from;
+		for (; i < to && size < k; i++) {
+			add(items[i], weights[i]);
+		}
+		for (; i < to; i++) {
+			double weight = weights[i];
+			if (!(weight >= 0) || Double.isInfinite(weight)) {
+				throw new IllegalArgumentException("Weights have to be non negative and finite. Value: " + weight);
+			}
+			count++;
+			if (weight == 0) {
+				continue;
+			}
+			remainingWeight -= weight;
+			if (remainingWeight <= 0) {
+				replaceLargest(items[i], weight);
+			}
+		}
+	}
+
+	/**
+	 * Combine the selection of another partition with the selection of this
+	 * instance. This instance afterwards holds a weighted selection of both
+	 * streams. The other instance is not altered.
+	 *
+	 * @param other
+	 *            selection with the same sample size
+	 * @throws IllegalArgumentException
+	 *             if the sample sizes differ
+	 */
+	public void merge(WeightedSelection other) {
+		if (other.k != k) {
+			throw new IllegalArgumentException("Sample sizes differ: " + k + " " + other.k);
+		}
+		for (int i = 0; i < other.size; i++) {
+			double key = other.keys[i];
+			if (size < k) {
+				push(other.items[i], key);
+			} else if (key < keys[0]) {
+				items[0] = other.items[i];
+				keys[0] = key;
+				siftDown();
+			}
+		}
+		count += other.count;
+		if (size == k) {
+			drawJump();
+		}
+	}
+
+	/**
+	 * @return the selected items ordered by their key. The first item is
+	 *         distributed like a single weighted draw, the second like a weighted
+	 *         draw from the remaining items and so on
+	 */
+	public long[] getSample() {
+		long[] sortedItems = Arrays.copyOf(items, size);
+		double[] sortedKeys = Arrays.copyOf(keys, size);
+		// Heap sort. Move the largest key to the end and restore the heap
+		for (int end = size - 1; end > 0; end--) {
+			long item = sortedItems[end];
+			double key = sortedKeys[end];
+			sortedItems[end] = sortedItems[0];
+			sortedKeys[end] = sortedKeys[0];
+			sortedItems[0] = item;
+			sortedKeys[0] = key;
+			siftDown(sortedItems, sortedKeys, end);
+		}
+		return sortedItems;
+	}
+
+	/**
+	 * @return the amount of items offered so far
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return the amount of items currently selected
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the maximum amount of items selected
+	 */
+	public int getSampleSize() {
+		return k;
+	}
+
+	/**
+	 * Replace the item with the largest key by an item whose key is known to be
+	 * smaller.
+	 */
+	private void replaceLargest(long item, double weight) {
+		// Key conditioned on being smaller than the largest key. Truncated exponential
+		double threshold = keys[0];
+		double p = -Math.expm1(-threshold * weight);
+		double u = ((rng.nextLong() >>> 11) + 0.5) * DOUBLE_UNIT;
+		items[0] = item;
+		keys[0] = Math.min(-Math.log1p(-u * p) / weight, threshold);
+		siftDown();
+		drawJump();
+	}
+
+	private void drawJump() {
+		remainingWeight = ExponentialSampler.standard(rng) / keys[0];
+	}
+
+	private void push(long item, double key) {
+		int i = size++;
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (keys[parent] >= key) {
+				break;
+			}
+			items[i] = items[parent];
+			keys[i] = keys[parent];
+			i = parent;
+		}
+		items[i] = item;
+		keys[i] = key;
+	}
+
+	private void siftDown() {
+		siftDown(items, keys, size);
+	}
+
+	private static void siftDown(long[] items, double[] keys, int size) {
+		long item = items[0];
+		double key = keys[0];
+		int half = size >>> 1;
+		int i = 0;
+		while (i < half) {
+			int child = 2 * i + 1;
+			if (child + 1 < size && keys[child + 1] > keys[child]) {
+				child++;
+			}
+			if (key >= keys[child]) {
+				break;
+			}
+			items[i] = items[child];
+			keys[i] = keys[child];
+			i = child;
+		}
+		items[i] = item;
+		keys[i] = key;
+	}
+
+}
@@ -30,9 +30,10 @@ public class PcgRS extends RandomBaseSynchonized {
 	private static final long serialVersionUID = 5926140731231683840L;
 
 	/**
-	 * Create a synchronized PcgRS instance seeded with with 2 longs generated by xorshift*. 
-	 * The values chosen are very likely not used as seeds in any other non argument constructor
-	 * of any of the classes provided in this library. 
+	 * Create a synchronized PcgRS instance seeded with a unique seed and stream
+	 * number obtained from the {@link com.github.kilianB.pcg.SeedSource}.
+	 * Instances created by the non argument constructors of this library are
+	 * guaranteed to use distinct streams.
 	 */
 	public PcgRS() {
 		super();
@@ -60,10 +61,9 @@ public class PcgRS extends RandomBaseSynchonized {
 		super(seed, streamNumber);
 	}
 	/**
-	 * Copy constructor. <b>Has</b> to be implemented in all inheriting instances.
-	 * This will be invoked through reflection! when calling {@link #split()} or
-	 * {@link #splitDistinct()} If no special behavior is desired simply pass though
-	 * the values.
+	 * Copy constructor. Invoked by {@link #copy(long, long)} when calling
+	 * {@link #copy()}, {@link #split()} or {@link #splitDistinct()}. If no special
+	 * behavior is desired simply pass though the values.
 	 * 
 	 * This constructor should usually not be called manually as the seed and
 	 * increment will just be set without performing any randomization.
@@ -80,6 +80,15 @@ public class PcgRS extends RandomBaseSynchonized {
 		super(seed, streamNumber, true);
 	}
 
+	@Override
+	@SuppressWarnings({ "unchecked", "deprecation" })
+	public <T> T copy(long state, long increment) {
+		if (getClass() == PcgRS.class) {
+			return (T) new PcgRS(state, increment, true);
+		}
+		return super.copy(state, increment);
+	}
+
 	// C variant
 	@Override
 	protected int getInt(long state) {
@@ -1,5 +1,8 @@
 package com.github.kilianB.pcg.sync;
 
+import java.io.IOException;
+import java.io.ObjectOutput;
+
 import com.github.kilianB.pcg.Pcg;
 import com.github.kilianB.pcg.RandomBase64;
 
@@ -96,11 +99,21 @@ public abstract class RandomBaseSynchonized extends RandomBase64 {
 		return super.splitDistinct();
 	}
 
+	@Override
+	public synchronized <T> T copy() {
+		return super.copy();
+	}
+
 	@Override
 	public synchronized long distanceUnsafe(Pcg other) {
 		return super.distanceUnsafe(other);
 	}
 
+	@Override
+	public synchronized void writeExternal(ObjectOutput out) throws IOException {
+		super.writeExternal(out);
+	}
+
 	@Override
 	public synchronized long getState() {
 		return state;
@@ -0,0 +1,138 @@
+package com.github.kilianB.pcg;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.github.kilianB.pcg.cas.PcgRRCas;
+import com.github.kilianB.pcg.cas.PcgRSCas;
+import com.github.kilianB.pcg.light.PcgRRLight;
+import com.github.kilianB.pcg.light.PcgRSLight;
+import com.github.kilianB.pcg.lock.PcgRRLocked;
+import com.github.kilianB.pcg.lock.PcgRSLocked;
+import com.github.kilianB.pcg.sync.PcgRR;
+import com.github.kilianB.pcg.sync.PcgRS;
+
+/**
+ * Generators extending the classes of this library keep their class when
+ * copied through the (long,long,boolean) constructor.
+ *
+ * @author Kilian
+ *
+ */
+@SuppressWarnings("deprecation")
+class CopySubclassTest {
+
+	public static class SubRS extends PcgRS {
+		private static final long serialVersionUID = 1L;
+
+		public SubRS(long state, long increment, boolean dummy) {
+			super(state, increment, dummy);
+		}
+	}
+
+	public static class SubRR extends PcgRR {
+		private static final long serialVersionUID = 1L;
+
+		public SubRR(long state, long increment, boolean dummy) {
+			super(state, increment, dummy);
+		}
+	}
+
+	public static class SubRSLocked extends PcgRSLocked {
+		private static final long serialVersionUID = 1L;
+
+		public SubRSLocked(long state, long increment, boolean dummy) {
+			super(state, increment, dummy);
+		}
+	}
+
+	public static class SubRRLocked extends PcgRRLocked {
+		private static final long serialVersionUID = 1L;
+
+		public SubRRLocked(long state, long increment, boolean dummy) {
+			super(state, increment, dummy);
+		}
+	}
+
+	public static class SubRSCas extends PcgRSCas {
+		private static final long serialVersionUID = 1L;
+
+		public SubRSCas(long state, long increment, boolean dummy) {
+			super(state, increment, dummy);
+		}
+	}
+
+	public static class SubRRCas extends PcgRRCas {
+		private static final long serialVersionUID = 1L;
+
+		public SubRRCas(long state, long increment, boolean dummy) {
+			super(state, increment, dummy);
+		}
+	}
+
+	public static class SubRSLight extends PcgRSLight {
+		public SubRSLight(long state, long increment, boolean dummy) {
+			super(state, increment, dummy);
+		}
+	}
+
+	public static class SubRRLight extends PcgRRLight {
+		public SubRRLight(long state, long increment, boolean dummy) {
+			super(state, increment, dummy);
+		}
+	}
+
+	/** Subclass without the copy constructor */
+	public static class NoCopyConstructor extends PcgRS {
+		private static final long serialVersionUID = 1L;
+
+		public NoCopyConstructor() {
+			super(0, 0);
+		}
+	}
+
+	static Stream<Pcg> subclasses() {
+		return Stream.of(new SubRS(3, 5, true), new SubRR(3, 5, true), new SubRSLocked(3, 5, true),
+				new SubRRLocked(3, 5, true), new SubRSCas(3, 5, true), new SubRRCas(3, 5, true),
+				new SubRSLight(3, 5, true), new SubRRLight(3, 5, true));
+	}
+
+	@ParameterizedTest
+	@MethodSource("subclasses")
+	void split(Pcg rng) throws ReflectiveOperationException {
+		Pcg split = rng.split();
+		assertEquals(rng.getClass(), split.getClass());
+		assertEquals(rng.getState(), split.getState());
+		assertEquals(rng.nextLong(), split.nextLong());
+	}
+
+	@ParameterizedTest
+	@MethodSource("subclasses")
+	void splitDistinct(Pcg rng) throws ReflectiveOperationException {
+		assertEquals(rng.getClass(), rng.splitDistinct().getClass());
+	}
+
+	@ParameterizedTest
+	@MethodSource("subclasses")
+	void copy(Pcg rng) {
+		assertEquals(rng.getClass(), rng.copy().getClass());
+		Pcg copy = rng.copy(7, 9);
+		assertEquals(rng.getClass(), copy.getClass());
+		assertEquals(7, copy.getState());
+		assertEquals(9, copy.getInc());
+	}
+
+	@Test
+	void missingCopyConstructor() {
+		assertThrows(UnsupportedOperationException.class, () -> {
+			new NoCopyConstructor().copy();
+		});
+	}
+
+}
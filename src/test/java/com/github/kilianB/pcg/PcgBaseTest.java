@@ -3,11 +3,22 @@ package com.github.kilianB.pcg;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
-
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
@@ -103,6 +114,109 @@ public abstract class PcgBaseTest {
 			}
 		}
 
+		@Test
+		public void copy() {
+			Pcg rng = getInstance();
+			Pcg clone = rng.copy();
+
+			assertEquals(rng.getClass(), clone.getClass());
+			assertEquals(rng.getState(), clone.getState());
+			assertEquals(rng.getInc(), clone.getInc());
+
+			// Make sure that they don't share the same state
+			byte[] values = new byte[50];
+			byte[] values1 = new byte[50];
+
+			rng.nextBytes(values);
+			clone.nextBytes(values1);
+
+			assertArrayEquals(values, values1);
+		}
+
+		@Test
+		public void copyStateAndIncrement() {
+			Pcg rng = getInstance(0, 0);
+			Pcg other = getInstance(5, 7);
+			Pcg clone = rng.copy(other.getState(), other.getInc());
+
+			assertEquals(rng.getClass(), clone.getClass());
+			assertEquals(other.nextLong(), clone.nextLong());
+		}
+
+		@Test
+		public void substream() {
+			Pcg rng = getInstance();
+			long state = rng.getState();
+			Pcg substream = rng.substream(3);
+
+			// Deterministic and this generator is not altered
+			assertEquals(rng.getClass(), substream.getClass());
+			assertEquals(state, rng.getState());
+			assertEquals(substream.nextLong(), rng.<Pcg>substream(3).nextLong());
+		}
+
+		@Test
+		public void substreamDistinctStreams() {
+			Pcg rng = getInstance();
+			Set<Long> increments = new HashSet<>();
+			for (long index = 0; index < 1000; index++) {
+				Pcg substream = rng.substream(index);
+				assertTrue(increments.add(substream.getInc()));
+				assertTrue(increments.add(rng.<Pcg>substream(index + (1L << 20)).getInc()));
+			}
+			assertFalse(increments.contains(rng.getInc()));
+
+			// Advancing this generator derives fresh substreams
+			Pcg before = rng.substream(0);
+			rng.advance(1);
+			assertNotEquals(before.getInc(), rng.<Pcg>substream(0).getInc());
+		}
+
+		@Test
+		public void stateCodec() {
+			Pcg rng = getInstance();
+			rng.nextLong();
+			ByteBuffer buffer = ByteBuffer.allocate(StateCodec.BYTES);
+			StateCodec.write(rng, buffer);
+			buffer.flip();
+			Pcg restored = StateCodec.read(buffer, getInstance(0, 0));
+
+			assertEquals(rng.getClass(), restored.getClass());
+			assertEquals(rng.getState(), restored.getState());
+			assertEquals(rng.getInc(), restored.getInc());
+			assertEquals(rng.nextLong(), restored.nextLong());
+		}
+
+		@Test
+		public void serialization() throws IOException, ClassNotFoundException {
+			Pcg rng = getInstance();
+			assumeTrue(rng instanceof Externalizable);
+			rng.nextLong();
+
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+				out.writeObject(rng);
+			}
+			Pcg restored;
+			try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+				restored = (Pcg) in.readObject();
+			}
+
+			assertEquals(rng.getClass(), restored.getClass());
+			assertEquals(rng.getState(), restored.getState());
+			assertEquals(rng.getInc(), restored.getInc());
+			assertEquals(rng.nextLong(), restored.nextLong());
+			assertEquals(rng.nextGaussian(), restored.nextGaussian());
+		}
+
+		@Test
+		public void copyIncrementEven() {
+			Pcg rng = getInstance();
+			assertThrows(IllegalArgumentException.class, () -> {
+				rng.copy(0, 4);
+			});
+		}
+
 		@Test
 		@Disabled
 		public void setIncEven() {
@@ -324,6 +438,334 @@ public abstract class PcgBaseTest {
 		public void longBoundInvalid() {
 			assertThrows(IllegalArgumentException.class,()->{rng.nextLong(0);});
 		}
+
+		@Test
+		public void intBoundInvalid() {
+			assertThrows(IllegalArgumentException.class, () -> {
+				rng.nextInt(0);
+			});
+			assertThrows(IllegalArgumentException.class, () -> {
+				rng.nextInt(-5);
+			});
+		}
+
+		@Test
+		public void intBoundOne() {
+			for (int i = 0; i < 100; i++) {
+				assertEquals(0, rng.nextInt(1));
+			}
+		}
+
+		@Test
+		public void intBoundLarge() {
+			// 2^32 mod n is large. A biased mapping would favor the lower third
+			int upperBound = 3 << 29;
+			int below = 0;
+			int reps = 60000;
+			for (int i = 0; i < reps; i++) {
+				int genInt = rng.nextInt(upperBound);
+				if (genInt < 0 || genInt >= upperBound) {
+					fail();
+				}
+				if (genInt < upperBound / 3) {
+					below++;
+				}
+			}
+			assertEquals(reps / 3d, below, reps * 0.01);
+		}
+
+		@Test
+		public void intOriginBound() {
+			for (int i = 0; i < 10000; i++) {
+				int genInt = rng.nextInt(-50, 91);
+				if (genInt < -50 || genInt >= 91) {
+					fail();
+				}
+			}
+		}
+
+		@Test
+		public void intOriginBoundFullRange() {
+			boolean negative = false;
+			boolean positive = false;
+			for (int i = 0; i < 10000; i++) {
+				int genInt = rng.nextInt(Integer.MIN_VALUE, Integer.MAX_VALUE);
+				if (genInt == Integer.MAX_VALUE) {
+					fail();
+				}
+				negative |= genInt < 0;
+				positive |= genInt > 0;
+			}
+			assertTrue(negative && positive);
+		}
+
+		@Test
+		public void intOriginBoundInvalid() {
+			assertThrows(IllegalArgumentException.class, () -> {
+				rng.nextInt(5, 5);
+			});
+		}
+
+		@Test
+		public void longBoundLarge() {
+			long upperBound = 3L << 61;
+			int below = 0;
+			int reps = 60000;
+			for (int i = 0; i < reps; i++) {
+				long genLong = rng.nextLong(upperBound);
+				if (genLong < 0 || genLong >= upperBound) {
+					fail();
+				}
+				if (genLong < upperBound / 3) {
+					below++;
+				}
+			}
+			assertEquals(reps / 3d, below, reps * 0.01);
+		}
+
+		@Test
+		public void longOriginBound() {
+			for (int i = 0; i < 10000; i++) {
+				long genLong = rng.nextLong(-50, 91);
+				if (genLong < -50 || genLong >= 91) {
+					fail();
+				}
+			}
+		}
+
+		@Test
+		public void longOriginBoundFullRange() {
+			boolean negative = false;
+			boolean positive = false;
+			for (int i = 0; i < 10000; i++) {
+				long genLong = rng.nextLong(Long.MIN_VALUE, Long.MAX_VALUE);
+				if (genLong == Long.MAX_VALUE) {
+					fail();
+				}
+				negative |= genLong < 0;
+				positive |= genLong > 0;
+			}
+			assertTrue(negative && positive);
+		}
+
+		@Test
+		public void longOriginBoundInvalid() {
+			assertThrows(IllegalArgumentException.class, () -> {
+				rng.nextLong(5, -5);
+			});
+		}
+
+		@Test
+		public void intBoundLegacy() {
+			// Same algorithm as java.util.Random built on top of nextInt()
+			Pcg legacy = getInstance(0, 0);
+			Pcg reference = getInstance(0, 0);
+			for (int i = 1; i < 1000; i++) {
+				int r = reference.nextInt() >>> 1;
+				int m = i - 1;
+				if ((i & m) == 0) {
+					r = (int) ((i * (long) r) >> 31);
+				} else {
+					for (int u = r; u - (r = u % i) + m < 0; u = reference.nextInt() >>> 1)
+						;
+				}
+				assertEquals(r, legacy.nextIntLegacy(i));
+			}
+		}
+
+		@Test
+		public void longBoundLegacy() {
+			Pcg rng = getInstance();
+			for (int i = 0; i < 10000; i++) {
+				long genLong = rng.nextLongLegacy(141);
+				if (genLong < 0 || genLong >= 141) {
+					fail();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Rejection free floating point intervals and the full precision double
+	 * 
+	 * @author Kilian
+	 *
+	 */
+	@Nested
+	class Floating {
+
+		Pcg rng;
+
+		@BeforeEach
+		public void seed() {
+			rng = getInstance(0, 0);
+		}
+
+		@Test
+		public void doubleIntervals() {
+			int reps = 100_000;
+			for (int mode = 0; mode < 4; mode++) {
+				boolean includeZero = (mode & 1) != 0;
+				boolean includeOne = (mode & 2) != 0;
+				double sum = 0;
+				double sumSquares = 0;
+				for (int i = 0; i < reps; i++) {
+					double d = rng.nextDouble(includeZero, includeOne);
+					if (d < 0 || d > 1 || (!includeZero && d == 0) || (!includeOne && d == 1)) {
+						fail("Out of range " + d + " " + includeZero + " " + includeOne);
+					}
+					sum += d;
+					sumSquares += d * d;
+				}
+				// Same mean and variance as the uniform distribution produced by nextDouble()
+				double mean = sum / reps;
+				assertEquals(0.5, mean, 0.005);
+				assertEquals(1 / 12d, sumSquares / reps - mean * mean, 0.002);
+			}
+		}
+
+		@Test
+		public void floatIntervals() {
+			int reps = 100_000;
+			for (int mode = 0; mode < 4; mode++) {
+				boolean includeZero = (mode & 1) != 0;
+				boolean includeOne = (mode & 2) != 0;
+				double sum = 0;
+				for (int i = 0; i < reps; i++) {
+					float f = rng.nextFloat(includeZero, includeOne);
+					if (f < 0 || f > 1 || (!includeZero && f == 0) || (!includeOne && f == 1)) {
+						fail("Out of range " + f + " " + includeZero + " " + includeOne);
+					}
+					sum += f;
+				}
+				assertEquals(0.5, sum / reps, 0.005);
+			}
+		}
+
+		@Test
+		public void doubleIntervalsUniform() {
+			// Chi square over 100 buckets. 99 degrees of freedom, critical value for 0.001
+			int buckets = 100;
+			int reps = 200_000;
+			for (int mode = 0; mode < 4; mode++) {
+				int[] counts = new int[buckets];
+				for (int i = 0; i < reps; i++) {
+					double d = rng.nextDouble((mode & 1) != 0, (mode & 2) != 0);
+					counts[Math.min((int) (d * buckets), buckets - 1)]++;
+				}
+				assertTrue(chiSquare(counts, reps) < 148.2);
+			}
+		}
+
+		@Test
+		public void fullPrecisionRange() {
+			int reps = 100_000;
+			int belowQuarter = 0;
+			int offGrid = 0;
+			double sum = 0;
+			for (int i = 0; i < reps; i++) {
+				double d = rng.nextDoubleFullPrecision();
+				if (d < 0 || d >= 1) {
+					fail("Out of range " + d);
+				}
+				sum += d;
+				if (d < 0.25) {
+					belowQuarter++;
+				}
+				// nextDouble() only produces multiples of 2^-53
+				double scaled = d * 0x1.0p53;
+				if (scaled != Math.floor(scaled)) {
+					offGrid++;
+				}
+			}
+			assertEquals(0.5, sum / reps, 0.005);
+			assertEquals(reps / 4d, belowQuarter, reps * 0.01);
+			// Values in [2^-k, 2^-k+1) are off the grid with probability 1 - 2^-(k-1). Sum: 1/3
+			assertEquals(reps / 3d, offGrid, reps * 0.01);
+		}
+
+		@Test
+		public void fullPrecisionUniform() {
+			int buckets = 100;
+			int reps = 200_000;
+			int[] counts = new int[buckets];
+			for (int i = 0; i < reps; i++) {
+				counts[(int) (rng.nextDoubleFullPrecision() * buckets)]++;
+			}
+			assertTrue(chiSquare(counts, reps) < 148.2);
+		}
+
+		@Test
+		public void fullPrecisionSmallValues() {
+			// The exponent is geometric. Every halving of the interval halves the count
+			int reps = 1_000_000;
+			int below = 0;
+			double threshold = 0x1.0p-10;
+			for (int i = 0; i < reps; i++) {
+				if (rng.nextDoubleFullPrecision() < threshold) {
+					below++;
+				}
+			}
+			double expected = reps * threshold;
+			assertEquals(expected, below, 5 * Math.sqrt(expected));
+		}
+
+		@Test
+		public void doubleOriginBound() {
+			for (int i = 0; i < 10000; i++) {
+				double d = rng.nextDouble(-50.5, 91.25);
+				if (d < -50.5 || d >= 91.25) {
+					fail();
+				}
+			}
+		}
+
+		@Test
+		public void doubleOriginBoundFullRange() {
+			boolean negative = false;
+			boolean positive = false;
+			for (int i = 0; i < 10000; i++) {
+				double d = rng.nextDouble(-Double.MAX_VALUE, Double.MAX_VALUE);
+				if (Double.isInfinite(d) || d == Double.MAX_VALUE) {
+					fail();
+				}
+				negative |= d < 0;
+				positive |= d > 0;
+			}
+			assertTrue(negative && positive);
+		}
+
+		@Test
+		public void doubleOriginBoundTiny() {
+			// Rounding would hit the bound without the correction
+			double origin = 1;
+			double bound = Math.nextUp(1d);
+			for (int i = 0; i < 100; i++) {
+				assertEquals(origin, rng.nextDouble(origin, bound));
+			}
+		}
+
+		@Test
+		public void doubleOriginBoundInvalid() {
+			assertThrows(IllegalArgumentException.class, () -> {
+				rng.nextDouble(5d, 5d);
+			});
+			assertThrows(IllegalArgumentException.class, () -> {
+				rng.nextDouble(Double.NaN, 5d);
+			});
+			assertThrows(IllegalArgumentException.class, () -> {
+				rng.nextDouble(0, Double.POSITIVE_INFINITY);
+			});
+		}
+
+		private double chiSquare(int[] counts, int reps) {
+			double expected = reps / (double) counts.length;
+			double chi = 0;
+			for (int count : counts) {
+				chi += (count - expected) * (count - expected) / expected;
+			}
+			return chi;
+		}
 	}
 
 	@Test
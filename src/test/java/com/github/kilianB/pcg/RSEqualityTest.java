@@ -373,6 +373,91 @@ public class RSEqualityTest {
 				() -> assertArrayEquals(cas, fast), () -> assertArrayEquals(cas, uFast));
 	}
 	
+	@Test
+	public void equalIntOriginBound() {
+
+		int[] cas = new int[count];
+		int[] syn = new int[count];
+		int[] lock = new int[count];
+		int[] fast = new int[count];
+		int[] uFast = new int[count];
+
+		for (int i = 0; i < count; i++) {
+			cas[i] = rsCAS.nextInt(-i, i * 7 + 1);
+			syn[i] = rsSyn.nextInt(-i, i * 7 + 1);
+			lock[i] = rsLock.nextInt(-i, i * 7 + 1);
+			fast[i] = rsFast.nextInt(-i, i * 7 + 1);
+			uFast[i] = PcgRSUFast.nextInt(-i, i * 7 + 1);
+		}
+
+		assertAll(() -> assertArrayEquals(cas, syn), () -> assertArrayEquals(cas, lock),
+				() -> assertArrayEquals(cas, fast), () -> assertArrayEquals(cas, uFast));
+	}
+
+	@Test
+	public void equalLongOriginBound() {
+
+		long[] cas = new long[count];
+		long[] syn = new long[count];
+		long[] lock = new long[count];
+		long[] fast = new long[count];
+		long[] uFast = new long[count];
+
+		for (int i = 0; i < count; i++) {
+			long bound = Long.MAX_VALUE / (i + 1);
+			cas[i] = rsCAS.nextLong(-bound, bound);
+			syn[i] = rsSyn.nextLong(-bound, bound);
+			lock[i] = rsLock.nextLong(-bound, bound);
+			fast[i] = rsFast.nextLong(-bound, bound);
+			uFast[i] = PcgRSUFast.nextLong(-bound, bound);
+		}
+
+		assertAll(() -> assertArrayEquals(cas, syn), () -> assertArrayEquals(cas, lock),
+				() -> assertArrayEquals(cas, fast), () -> assertArrayEquals(cas, uFast));
+	}
+
+	@Test
+	public void equalIntNLegacy() {
+
+		int[] cas = new int[count];
+		int[] syn = new int[count];
+		int[] lock = new int[count];
+		int[] fast = new int[count];
+		int[] uFast = new int[count];
+
+		for (int i = 0; i < count; i++) {
+			cas[i] = rsCAS.nextIntLegacy(i + 1);
+			syn[i] = rsSyn.nextIntLegacy(i + 1);
+			lock[i] = rsLock.nextIntLegacy(i + 1);
+			fast[i] = rsFast.nextIntLegacy(i + 1);
+			uFast[i] = PcgRSUFast.nextIntLegacy(i + 1);
+		}
+
+		assertAll(() -> assertArrayEquals(cas, syn), () -> assertArrayEquals(cas, lock),
+				() -> assertArrayEquals(cas, fast), () -> assertArrayEquals(cas, uFast));
+	}
+
+	@Test
+	public void equalLongNLegacy() {
+
+		long[] cas = new long[count];
+		long[] syn = new long[count];
+		long[] lock = new long[count];
+		long[] fast = new long[count];
+		long[] uFast = new long[count];
+
+		for (int i = 0; i < count; i++) {
+			cas[i] = rsCAS.nextLongLegacy(i + 1);
+			syn[i] = rsSyn.nextLongLegacy(i + 1);
+			lock[i] = rsLock.nextLongLegacy(i + 1);
+			fast[i] = rsFast.nextLongLegacy(i + 1);
+			uFast[i] = PcgRSUFast.nextLongLegacy(i + 1);
+		}
+
+		assertAll(() -> assertArrayEquals(cas, syn), () -> assertArrayEquals(cas, lock),
+				() -> assertArrayEquals(cas, fast), () -> assertArrayEquals(cas, uFast));
+	}
+
 	@Test
 	public void distanceUnsafe() {
 		PcgRSFast fastRs = new PcgRSFast(5,5);
@@ -0,0 +1,69 @@
+package com.github.kilianB.pcg;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class SeedSourceTest {
+
+	@Test
+	public void streamNumberPositive() {
+		for (int i = 0; i < 1000; i++) {
+			assertTrue(SeedSource.streamNumber(SeedSource.nextUnique()) >= 0);
+		}
+	}
+
+	@Test
+	public void distinctStreamsForNeighboringBits() {
+		// Values only differing in the 64th bit still need to map to distinct streams
+		// if they are part of the Weyl sequence
+		long unique = SeedSource.nextUnique();
+		long next = SeedSource.nextUnique();
+		assertTrue(SeedSource.streamNumber(unique) != SeedSource.streamNumber(next));
+		assertTrue(SeedSource.seed(unique) != SeedSource.seed(next));
+	}
+
+	@Test
+	public void concurrentDistinctStreams() throws InterruptedException, ExecutionException {
+		int threads = 8;
+		int perThread = 10000;
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<long[]>> futures = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			futures.add(executor.submit(() -> {
+				long[] incs = new long[perThread];
+				for (int i = 0; i < perThread; i++) {
+					incs[i] = new PcgRSFast().getInc();
+				}
+				return incs;
+			}));
+		}
+
+		Set<Long> incs = new HashSet<>();
+		for (Future<long[]> f : futures) {
+			for (long inc : f.get()) {
+				incs.add(inc);
+			}
+		}
+		executor.shutdown();
+		assertEquals(threads * perThread, incs.size());
+	}
+
+}
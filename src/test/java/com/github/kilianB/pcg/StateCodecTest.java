@@ -0,0 +1,264 @@
+package com.github.kilianB.pcg;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.pcg.cas.PcgRRCas;
+import com.github.kilianB.pcg.fast.PcgRSBuffered;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+import com.github.kilianB.pcg.light.LeapfrogView;
+import com.github.kilianB.pcg.light.PcgRSLight;
+import com.github.kilianB.pcg.lock.PcgRRLocked;
+import com.github.kilianB.pcg.sync.PcgRS;
+
+/**
+ * @author Kilian
+ *
+ */
+class StateCodecTest {
+
+	@Nested
+	class Codec {
+
+		@Test
+		void layout() {
+			PcgRS rng = new PcgRS(3, 5);
+			ByteBuffer buffer = ByteBuffer.wrap(StateCodec.toBytes(rng));
+			assertEquals(rng.getState(), buffer.getLong());
+			assertEquals(rng.getInc(), buffer.getLong());
+		}
+
+		@Test
+		void byteOrder() {
+			PcgRS rng = new PcgRS(3, 5);
+			ByteBuffer buffer = ByteBuffer.allocate(StateCodec.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			StateCodec.write(rng, buffer);
+			buffer.flip();
+			assertEquals(rng.getState(), buffer.getLong());
+			buffer.rewind();
+			PcgRS restored = StateCodec.read(buffer, rng);
+			assertEquals(rng.nextLong(), restored.nextLong());
+		}
+
+		@Test
+		void dataStream() throws IOException {
+			PcgRRLocked rng = new PcgRRLocked(3, 5);
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (DataOutputStream out = new DataOutputStream(bytes)) {
+				StateCodec.write(rng, out);
+			}
+			assertArrayEquals(StateCodec.toBytes(rng), bytes.toByteArray());
+
+			PcgRRLocked restored = StateCodec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())),
+					new PcgRRLocked(0, 0));
+			assertEquals(rng.nextLong(), restored.nextLong());
+		}
+
+		@Test
+		void bulk() {
+			PcgRRCas[] rngs = new PcgRRCas[10];
+			for (int i = 0; i < rngs.length; i++) {
+				rngs[i] = new PcgRRCas(i, i);
+			}
+			ByteBuffer buffer = ByteBuffer.allocate(8 * StateCodec.BYTES);
+			StateCodec.write(rngs, 1, 9, buffer);
+			assertEquals(8 * StateCodec.BYTES, buffer.position());
+			buffer.flip();
+
+			PcgRRCas[] restored = new PcgRRCas[10];
+			StateCodec.read(buffer, restored, 2, 10, new PcgRRCas(0, 0));
+			for (int i = 2; i < 10; i++) {
+				assertEquals(rngs[i - 1].nextLong(), restored[i].nextLong());
+			}
+		}
+
+		@Test
+		void otherFamily() {
+			// The lcg state is shared by all families with the same output function
+			PcgRS rng = new PcgRS(3, 5);
+			PcgRSLight restored = StateCodec.fromBytes(StateCodec.toBytes(rng), new PcgRSLight(0, 0));
+			assertEquals(PcgRSLight.class, restored.getClass());
+			assertEquals(rng.nextLong(), restored.nextLong());
+		}
+
+		@Test
+		void fastToOtherFamily() {
+			// The fast family lags one lcg step behind
+			PcgRSFast rng = new PcgRSFast(42, 7);
+			PcgRS restored = StateCodec.fromBytes(StateCodec.toBytes(rng), new PcgRS(0, 0));
+			for (int i = 0; i < 10; i++) {
+				assertEquals(rng.nextInt(), restored.nextInt());
+			}
+		}
+
+		@Test
+		void otherFamilyToFast() {
+			PcgRS rng = new PcgRS(42, 7);
+			PcgRSFast restored = StateCodec.fromBytes(StateCodec.toBytes(rng), new PcgRSFast(0, 0));
+			for (int i = 0; i < 10; i++) {
+				assertEquals(rng.nextInt(), restored.nextInt());
+			}
+			// And back
+			PcgRS again = StateCodec.fromBytes(StateCodec.toBytes(restored), new PcgRS(0, 0));
+			assertEquals(rng.getState(), again.getState());
+			assertEquals(rng.nextLong(), again.nextLong());
+		}
+
+		@Test
+		void fastBulk() {
+			PcgRSFast[] rngs = { new PcgRSFast(1, 2), new PcgRSFast(3, 4) };
+			ByteBuffer buffer = ByteBuffer.allocate(2 * StateCodec.BYTES);
+			StateCodec.write(rngs, 0, 2, buffer);
+			buffer.flip();
+			PcgRSFast[] restored = new PcgRSFast[2];
+			StateCodec.read(buffer, restored, 0, 2, rngs[0]);
+			for (int i = 0; i < 2; i++) {
+				assertEquals(rngs[i].getState(), restored[i].getState());
+				assertEquals(rngs[i].nextLong(), restored[i].nextLong());
+			}
+		}
+
+		@Test
+		void leapfrogView() {
+			LeapfrogView view = new PcgRSLight(3, 5).leapfrog(2, 3);
+			view.nextInt();
+			LeapfrogView restored = StateCodec.fromBytes(StateCodec.toBytes(view), view);
+			assertEquals(2, restored.getWorker());
+			assertEquals(view.nextInt(), restored.nextInt());
+			assertEquals(view.nextInt(), restored.nextInt());
+		}
+
+		@Test
+		void evenIncrement() {
+			ByteBuffer buffer = ByteBuffer.allocate(StateCodec.BYTES);
+			buffer.putLong(7).putLong(4).flip();
+			assertThrows(IllegalArgumentException.class, () -> {
+				StateCodec.read(buffer, new PcgRSFast(0, 0));
+			});
+		}
+
+		@Test
+		void invalidLength() {
+			assertThrows(IllegalArgumentException.class, () -> {
+				StateCodec.fromBytes(new byte[StateCodec.BYTES - 1], new PcgRSFast(0, 0));
+			});
+		}
+
+		@Test
+		void bufferTooSmall() {
+			PcgRSFast[] rngs = { new PcgRSFast(0, 0), new PcgRSFast(1, 1) };
+			ByteBuffer buffer = ByteBuffer.allocate(StateCodec.BYTES);
+			assertThrows(BufferOverflowException.class, () -> {
+				StateCodec.write(rngs, 0, 2, buffer);
+			});
+			// Nothing is written
+			assertEquals(0, buffer.position());
+			assertThrows(BufferUnderflowException.class, () -> {
+				StateCodec.read(buffer, new PcgRSFast[2], 0, 2, rngs[0]);
+			});
+		}
+
+		@Test
+		void invalidRange() {
+			PcgRSFast[] rngs = { new PcgRSFast(0, 0) };
+			ByteBuffer buffer = ByteBuffer.allocate(4 * StateCodec.BYTES);
+			assertThrows(ArrayIndexOutOfBoundsException.class, () -> {
+				StateCodec.write(rngs, 0, 2, buffer);
+			});
+			assertThrows(ArrayIndexOutOfBoundsException.class, () -> {
+				StateCodec.read(buffer, rngs, 1, 0, rngs[0]);
+			});
+		}
+	}
+
+	@Nested
+	class Serialization {
+
+		@Test
+		void compact() throws IOException {
+			// Neither locks nor the seed of java.util.Random are serialized
+			int n = 1000;
+			PcgRRLocked[] rngs = new PcgRRLocked[n];
+			for (int i = 0; i < n; i++) {
+				rngs[i] = new PcgRRLocked(i, i);
+			}
+			int size = serialize(rngs).length;
+			assertTrue(size < n * (StateCodec.BYTES + 12), "Size: " + size);
+		}
+
+		@Test
+		void fast() throws IOException, ClassNotFoundException {
+			PcgRSFast rng = new PcgRSFast(42, 7);
+			PcgRSFast restored = (PcgRSFast) deserialize(serialize(rng));
+			assertEquals(rng.getState(), restored.getState());
+			assertEquals(rng.nextLong(), restored.nextLong());
+		}
+
+		@Test
+		void bufferedBits() throws IOException, ClassNotFoundException {
+			PcgRSBuffered rng = new PcgRSBuffered(3, 5);
+			rng.nextByte();
+			PcgRSBuffered restored = (PcgRSBuffered) deserialize(serialize(rng));
+			assertEquals(rng.getBufferedBits(), restored.getBufferedBits());
+			for (int i = 0; i < 10; i++) {
+				assertEquals(rng.nextByte(), restored.nextByte());
+			}
+		}
+
+		@Test
+		void evenIncrement() throws IOException {
+			byte[] bytes = serialize(new PcgRSFast(3, 5));
+			// The increment is the last long of the block data
+			int index = indexOf(bytes, StateCodec.toBytes(new PcgRSFast(3, 5)));
+			bytes[index + StateCodec.BYTES - 1] ^= 1;
+			assertThrows(InvalidObjectException.class, () -> {
+				deserialize(bytes);
+			});
+		}
+
+		private int indexOf(byte[] bytes, byte[] pattern) {
+			outer: for (int i = 0; i <= bytes.length - pattern.length; i++) {
+				for (int j = 0; j < pattern.length; j++) {
+					if (bytes[i + j] != pattern[j]) {
+						continue outer;
+					}
+				}
+				return i;
+			}
+			throw new IllegalStateException("Pattern not found");
+		}
+
+		private byte[] serialize(Object o) throws IOException {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+				out.writeObject(o);
+			}
+			return bytes.toByteArray();
+		}
+
+		private Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+			try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+				return in.readObject();
+			}
+		}
+	}
+
+}
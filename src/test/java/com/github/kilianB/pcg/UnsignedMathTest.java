@@ -0,0 +1,111 @@
+package com.github.kilianB.pcg;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class UnsignedMathTest {
+
+	private static final BigInteger UNSIGNED = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+	@Test
+	void multiplyHighEdgeCases() {
+		long[] values = { 0, 1, -1, Long.MAX_VALUE, Long.MIN_VALUE, 0xFFFFFFFFL, 1L << 32 };
+		for (long x : values) {
+			for (long y : values) {
+				assertEquals(reference(x, y), UnsignedMath.multiplyHigh(x, y), x + " * " + y);
+			}
+		}
+	}
+
+	@Test
+	void multiplyHighRandom() {
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int i = 0; i < 10000; i++) {
+			long x = rng.nextLong();
+			long y = rng.nextLong();
+			assertEquals(reference(x, y), UnsignedMath.multiplyHigh(x, y), x + " * " + y);
+		}
+	}
+
+	@Test
+	void multiplyHighIntrinsic() {
+		boolean java8 = System.getProperty("java.specification.version").startsWith("1.");
+		assertEquals(!java8, UnsignedMath.isMultiplyHighIntrinsic());
+	}
+
+	@Test
+	void boundedInt() {
+		Pcg rng = new PcgRSFast(0, 0);
+		long[] bounds = { 1, 2, 3, 1000, Integer.MAX_VALUE, 0xFFFFFFFFL };
+		for (long n : bounds) {
+			for (int i = 0; i < 1000; i++) {
+				long r = UnsignedMath.boundedInt(rng::nextInt, n) & 0xFFFFFFFFL;
+				assertTrue(r < n, r + " " + n);
+			}
+		}
+	}
+
+	@Test
+	void boundedLong() {
+		Pcg rng = new PcgRSFast(0, 0);
+		long[] bounds = { 1, 3, 1L << 40, Long.MAX_VALUE, Long.MIN_VALUE, -3, -1 };
+		for (long n : bounds) {
+			for (int i = 0; i < 1000; i++) {
+				long r = UnsignedMath.boundedLong(rng::nextLong, n);
+				assertTrue(Long.compareUnsigned(r, n) < 0, r + " " + n);
+			}
+		}
+	}
+
+	@Test
+	void boundedLongIntrinsicSameAsEmulated() {
+		// The sequences must not depend on the runtime
+		assumeTrue(UnsignedMath.isMultiplyHighIntrinsic());
+		Pcg rng = new PcgRSFast(3, 5);
+		Pcg emulated = new PcgRSFast(3, 5);
+		long[] bounds = { 1, 3, 1L << 40, Long.MAX_VALUE, Long.MIN_VALUE, -3, -1 };
+		for (long n : bounds) {
+			for (int i = 0; i < 1000; i++) {
+				assertEquals(UnsignedMath.boundedLongLemire(emulated::nextLong, n, false),
+						UnsignedMath.boundedLongLemire(rng::nextLong, n, true));
+			}
+		}
+		for (long n = 1; n < 1L << 62; n = n * 3 + 1) {
+			assertEquals(UnsignedMath.boundedLongLemire(emulated::nextLong, n, false), rng.nextLong(n));
+		}
+	}
+
+	@Test
+	void boundedLongLemireUniform() {
+		// The upper third of the range of 2^63 + 2^62 is hit with a third of the draws
+		Pcg rng = new PcgRSFast(0, 0);
+		long n = Long.MIN_VALUE + (1L << 62);
+		long third = Long.divideUnsigned(n, 3) * 2;
+		int upper = 0;
+		int draws = 30000;
+		for (int i = 0; i < draws; i++) {
+			if (Long.compareUnsigned(UnsignedMath.boundedLongLemire(rng::nextLong, n, false), third) >= 0) {
+				upper++;
+			}
+		}
+		assertEquals(draws / 3, upper, draws / 100);
+	}
+
+	private static long reference(long x, long y) {
+		BigInteger bx = BigInteger.valueOf(x).and(UNSIGNED);
+		BigInteger by = BigInteger.valueOf(y).and(UNSIGNED);
+		return bx.multiply(by).shiftRight(64).longValue();
+	}
+
+}
@@ -0,0 +1,143 @@
+package com.github.kilianB.pcg.fast;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Kilian
+ *
+ */
+class PcgRSBufferedTest {
+
+	@Test
+	void booleansUseAllBits() {
+		PcgRSBuffered rng = new PcgRSBuffered(0, 0);
+		PcgRSFast reference = new PcgRSFast(0, 0);
+		for (int i = 0; i < 10; i++) {
+			int x = reference.nextInt();
+			for (int b = 31; b >= 0; b--) {
+				assertEquals(((x >>> b) & 1) != 0, rng.nextBoolean());
+			}
+		}
+		assertEquals(reference.getState(), rng.getState());
+	}
+
+	@Test
+	void bytesUseAllBits() {
+		PcgRSBuffered rng = new PcgRSBuffered(0, 0);
+		PcgRSFast reference = new PcgRSFast(0, 0);
+		for (int i = 0; i < 10; i++) {
+			int x = reference.nextInt();
+			assertEquals((byte) (x >>> 24), rng.nextByte());
+			assertEquals((byte) (x >>> 16), rng.nextByte());
+			assertEquals((byte) (x >>> 8), rng.nextByte());
+			assertEquals((byte) x, rng.nextByte());
+		}
+		assertEquals(reference.getState(), rng.getState());
+	}
+
+	@Test
+	void shortsUseAllBits() {
+		PcgRSBuffered rng = new PcgRSBuffered(0, 0);
+		PcgRSFast reference = new PcgRSFast(0, 0);
+		for (int i = 0; i < 10; i++) {
+			int x = reference.nextInt();
+			assertEquals((short) (x >>> 16), rng.nextShort());
+			assertEquals((char) x, rng.nextChar());
+		}
+		assertEquals(reference.getState(), rng.getState());
+	}
+
+	@Test
+	void insufficientBitsAreDiscarded() {
+		PcgRSBuffered rng = new PcgRSBuffered(0, 0);
+		PcgRSFast reference = new PcgRSFast(0, 0);
+		// 25 booleans leave 7 bits which are not enough for a byte
+		for (int i = 0; i < 25; i++) {
+			rng.nextBoolean();
+		}
+		assertEquals(7, rng.getBufferedBits());
+		reference.nextInt();
+		assertEquals((byte) (reference.nextInt() >>> 24), rng.nextByte());
+		assertEquals(24, rng.getBufferedBits());
+	}
+
+	@Test
+	void otherMethodsBypassBuffer() {
+		PcgRSBuffered rng = new PcgRSBuffered(0, 0);
+		PcgRSFast reference = new PcgRSFast(0, 0);
+		int x = reference.nextInt();
+		rng.nextByte();
+		assertEquals(reference.nextLong(), rng.nextLong());
+		assertEquals(reference.nextInt(100), rng.nextInt(100));
+		assertEquals(reference.nextDouble(), rng.nextDouble());
+		assertEquals((byte) (x >>> 16), rng.nextByte());
+	}
+
+	@Test
+	void bulkBytesEqualSingle() {
+		PcgRSBuffered rng = new PcgRSBuffered(0, 0);
+		PcgRSBuffered reference = new PcgRSBuffered(0, 0);
+		rng.nextBoolean();
+		reference.nextBoolean();
+		rng.nextByte();
+		reference.nextByte();
+		for (int length : new int[] { 0, 1, 3, 4, 7, 101 }) {
+			byte[] bulk = new byte[length];
+			rng.nextBytes(bulk);
+			for (int i = 0; i < length; i++) {
+				assertEquals(reference.nextByte(), bulk[i]);
+			}
+			assertEquals(reference.getState(), rng.getState());
+			assertEquals(reference.getBufferedBits(), rng.getBufferedBits());
+		}
+	}
+
+	@Test
+	void reproducible() {
+		PcgRSBuffered rng = new PcgRSBuffered(5, 7);
+		PcgRSBuffered rng1 = new PcgRSBuffered(5, 7);
+		byte[] values = new byte[50];
+		byte[] values1 = new byte[50];
+		rng.nextBytes(values);
+		rng1.nextBytes(values1);
+		assertArrayEquals(values, values1);
+		assertFalse(Arrays.equals(values, new byte[50]));
+	}
+
+	@Test
+	void copyKeepsBuffer() {
+		PcgRSBuffered rng = new PcgRSBuffered(0, 0);
+		for (int i = 0; i < 5; i++) {
+			rng.nextBoolean();
+		}
+		PcgRSBuffered copy = rng.copy();
+		assertEquals(PcgRSBuffered.class, copy.getClass());
+		for (int i = 0; i < 100; i++) {
+			assertEquals(rng.nextBoolean(), copy.nextBoolean());
+		}
+	}
+
+	@Test
+	void copyStateStartsEmpty() {
+		PcgRSBuffered rng = new PcgRSBuffered(0, 0);
+		rng.nextBoolean();
+		PcgRSBuffered copy = rng.copy(rng.getState(), rng.getInc());
+		assertEquals(0, copy.getBufferedBits());
+	}
+
+	@Test
+	void advanceDiscardsBuffer() {
+		PcgRSBuffered rng = new PcgRSBuffered(0, 0);
+		byte first = rng.nextByte();
+		rng.advance(-1);
+		assertEquals(0, rng.getBufferedBits());
+		assertEquals(first, rng.nextByte());
+	}
+
+}
@@ -1,6 +1,14 @@
 package com.github.kilianB.pcg.fast;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -50,4 +58,84 @@ class PcgRSFastTest extends PcgBaseTest {
 
 	}
 
+	@Nested
+	class BulkGaussian {
+
+		@Test
+		void sameAsSingle() {
+			PcgRSFast rng = new PcgRSFast(0, 0);
+			PcgRSFast reference = new PcgRSFast(0, 0);
+
+			double[] bulk = new double[1000];
+			rng.nextGaussians(bulk, 2, 3);
+			for (int i = 0; i < bulk.length; i++) {
+				assertEquals(2 + 3 * reference.nextGaussian(), bulk[i]);
+			}
+			assertEquals(reference.getState(), rng.getState());
+		}
+
+		@Test
+		void sameAsSingleFloat() {
+			PcgRSFast rng = new PcgRSFast(0, 0);
+			PcgRSFast reference = new PcgRSFast(0, 0);
+
+			float[] bulk = new float[1000];
+			rng.nextGaussians(bulk, 2, 3);
+			for (int i = 0; i < bulk.length; i++) {
+				assertEquals((float) (2 + 3 * reference.nextGaussian()), bulk[i]);
+			}
+		}
+
+		@Test
+		void parallelReproducible() {
+			// Not a multiple of the block size
+			double[] parallel = new double[300_000];
+			double[] parallel1 = new double[300_000];
+
+			PcgRSFast rng = new PcgRSFast(0, 0);
+			rng.nextGaussiansParallel(parallel, 0, 1);
+			long stateAfter = rng.getState();
+
+			rng = new PcgRSFast(0, 0);
+			rng.nextGaussiansParallel(parallel1, 0, 1);
+			assertArrayEquals(parallel, parallel1);
+			assertEquals(stateAfter, rng.getState());
+		}
+
+		@Test
+		void parallelSubstreams() {
+			double[] parallel = new double[300_000];
+			PcgRSFast rng = new PcgRSFast(0, 0);
+			rng.nextGaussiansParallel(parallel, 0, 1);
+
+			// Each block is filled by the substream with the same index
+			PcgRSFast reference = new PcgRSFast(0, 0);
+			int blockSize = 1 << 16;
+			for (int block = 0; block * blockSize < parallel.length; block++) {
+				PcgRSFast substream = reference.substream(block);
+				double[] expected = new double[Math.min(blockSize, parallel.length - block * blockSize)];
+				substream.nextGaussians(expected, 0, 1);
+				double[] actual = Arrays.copyOfRange(parallel, block * blockSize, block * blockSize + expected.length);
+				assertArrayEquals(expected, actual);
+			}
+			// Advanced by a single step
+			reference.advance(1);
+			assertEquals(reference.getState(), rng.getState());
+		}
+
+		@Test
+		void parallelConsecutiveCalls() {
+			// Consecutive calls derive fresh substreams and never return to the start
+			PcgRSFast rng = new PcgRSFast(42, 7);
+			long start = rng.getState();
+			Set<Double> values = new HashSet<>();
+			double[] parallel = new double[1];
+			for (int i = 0; i < 1000; i++) {
+				rng.nextGaussiansParallel(parallel, 0, 1);
+				assertTrue(values.add(parallel[0]));
+				assertNotEquals(start, rng.getState());
+			}
+		}
+	}
+
 }
@@ -177,6 +177,63 @@ class PcgRSUFastTest {
 				}
 			}
 		}
+
+		@Test
+		void doubleIntervals() {
+			for (int mode = 0; mode < 4; mode++) {
+				boolean includeZero = (mode & 1) != 0;
+				boolean includeOne = (mode & 2) != 0;
+				for (int i = 0; i < 10000; i++) {
+					double d = PcgRSUFast.nextDouble(includeZero, includeOne);
+					if (d < 0 || d > 1 || (!includeZero && d == 0) || (!includeOne && d == 1)) {
+						fail();
+					}
+					float f = PcgRSUFast.nextFloat(includeZero, includeOne);
+					if (f < 0 || f > 1 || (!includeZero && f == 0) || (!includeOne && f == 1)) {
+						fail();
+					}
+				}
+			}
+		}
+
+		@Test
+		void doubleFullPrecision() {
+			double sum = 0;
+			for (int i = 0; i < 10000; i++) {
+				double d = PcgRSUFast.nextDoubleFullPrecision();
+				if (d < 0 || d >= 1) {
+					fail();
+				}
+				sum += d;
+			}
+			assertEquals(0.5, sum / 10000, 0.02);
+		}
+
+		@Test
+		void doubleOriginBound() {
+			for (int i = 0; i < 10000; i++) {
+				double d = PcgRSUFast.nextDouble(-50.5, 91.25);
+				if (d < -50.5 || d >= 91.25) {
+					fail();
+				}
+			}
+		}
+	}
+
+	@Nested
+	class Gaussian {
+
+		@Test
+		void bulk() {
+			double[] bulk = new double[1000];
+			PcgRSUFast.seed(0, 0);
+			PcgRSUFast.nextGaussians(bulk, 2, 3);
+
+			PcgRSUFast.seed(0, 0);
+			for (int i = 0; i < bulk.length; i++) {
+				assertEquals(2 + 3 * PcgRSUFast.nextGaussian(), bulk[i]);
+			}
+		}
 	}
 
 }
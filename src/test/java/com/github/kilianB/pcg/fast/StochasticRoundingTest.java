@@ -0,0 +1,236 @@
+package com.github.kilianB.pcg.fast;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.pcg.Pcg;
+
+/**
+ * @author Kilian
+ *
+ */
+class StochasticRoundingTest {
+
+	private static final int COUNT = 1_000_000;
+
+	private static float[] constant(float value) {
+		float[] src = new float[COUNT];
+		Arrays.fill(src, value);
+		return src;
+	}
+
+	private static float bfloat16ToFloat(short bits) {
+		return Float.intBitsToFloat(bits << 16);
+	}
+
+	@Test
+	void int8Unbiased() {
+		for (float value : new float[] { 0.3f, -0.3f, 5.75f, -100.1f, 126.5f }) {
+			byte[] dst = new byte[COUNT];
+			StochasticRounding.toInt8(constant(value / 2), dst, 2, new PcgRSFast(0, 0));
+			long sum = 0;
+			float floor = (float) Math.floor(value);
+			for (byte b : dst) {
+				assertTrue(b == floor || b == floor + 1, "Not a neighbor " + b);
+				sum += b;
+			}
+			double p = value - floor;
+			assertEquals(value, sum / (double) COUNT, 5 * Math.sqrt(p * (1 - p) / COUNT) + 0x1.0p-17, "" + value);
+		}
+	}
+
+	@Test
+	void int8Saturates() {
+		float[] src = { 200, -200, 127, -128, Float.NaN, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, 3, -3 };
+		byte[] dst = new byte[src.length];
+		StochasticRounding.toInt8(src, dst, 1, new PcgRSFast(0, 0));
+		assertArrayEquals(new byte[] { 127, -128, 127, -128, 0, 127, -128, 3, -3 }, dst);
+	}
+
+	@Test
+	void intUnbiased() {
+		int[] dst = new int[COUNT];
+		StochasticRounding.toInt(constant(0.125f), dst, 100, new PcgRSFast(0, 0));
+		long sum = 0;
+		for (int v : dst) {
+			assertTrue(v == 12 || v == 13);
+			sum += v;
+		}
+		assertEquals(12.5, sum / (double) COUNT, 5 * Math.sqrt(0.25 / COUNT));
+	}
+
+	@Test
+	void intSaturates() {
+		float[] src = { 3e9f, -3e9f, Float.NaN, 0x1.0p31f, -0x1.0p31f, 1e6f };
+		int[] dst = new int[src.length];
+		StochasticRounding.toInt(src, dst, 1, new PcgRSFast(0, 0));
+		assertArrayEquals(new int[] { 2147483520, Integer.MIN_VALUE, 0, 2147483520, Integer.MIN_VALUE, 1_000_000 },
+				dst);
+	}
+
+	@Test
+	void bfloat16Unbiased() {
+		// 1 + 2^-9 lies a quarter between the bfloat16 values 1 and 1 + 2^-7
+		float value = 1 + 0x1.0p-9f;
+		short[] dst = new short[COUNT];
+		StochasticRounding.toBFloat16(constant(value), dst, new PcgRSFast(0, 0));
+		double sum = 0;
+		for (short bits : dst) {
+			float f = bfloat16ToFloat(bits);
+			assertTrue(f == 1 || f == 1 + 0x1.0p-7f);
+			sum += f;
+		}
+		assertEquals(value, sum / COUNT, 5 * 0x1.0p-7 * Math.sqrt(0.25 * 0.75 / COUNT));
+	}
+
+	@Test
+	void bfloat16SpecialValues() {
+		float[] src = { 1, -2.5f, 0, -0f, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NaN,
+				Float.intBitsToFloat(0x7F800001), Float.intBitsToFloat(0xFFFFFFFF) };
+		short[] dst = new short[src.length];
+		for (int r = 0; r < 100; r++) {
+			StochasticRounding.toBFloat16(src, dst, new PcgRSFast(r, 0));
+			for (int i = 0; i < 6; i++) {
+				assertEquals(Float.floatToRawIntBits(src[i]), Float.floatToRawIntBits(bfloat16ToFloat(dst[i])));
+			}
+			for (int i = 6; i < src.length; i++) {
+				assertTrue(Float.isNaN(bfloat16ToFloat(dst[i])));
+			}
+			// The sign of NaN is kept
+			assertTrue(dst[src.length - 1] < 0);
+		}
+	}
+
+	@Test
+	void gridUnbiased() {
+		float[] dst = new float[COUNT];
+		StochasticRounding.toGrid(constant(0.3f), dst, 0.25f, new PcgRSFast(0, 0));
+		double sum = 0;
+		for (float v : dst) {
+			assertTrue(v == 0.25f || v == 0.5f);
+			sum += v;
+		}
+		assertEquals(0.3, sum / COUNT, 5 * 0.25 * Math.sqrt(0.2 * 0.8 / COUNT) + 0x1.0p-17);
+	}
+
+	@Test
+	void gridInPlace() {
+		float[] values = { -1.5f, 0, 2, 7.25f };
+		float[] expected = values.clone();
+		StochasticRounding.toGrid(values, values, 0.25f, new PcgRSFast(0, 0));
+		assertArrayEquals(expected, values);
+		assertThrows(IllegalArgumentException.class,
+				() -> StochasticRounding.toGrid(values, values, 0, new PcgRSFast(0, 0)));
+		assertThrows(IllegalArgumentException.class,
+				() -> StochasticRounding.toGridParallel(values, values, Float.NaN, new PcgRSFast(0, 0)));
+	}
+
+	@Test
+	void twoValuesPerStep() {
+		PcgRSFast rng = new PcgRSFast(0, 0);
+		PcgRSFast reference = new PcgRSFast(0, 0);
+		StochasticRounding.toInt8(new float[7], new byte[7], 1, rng);
+		reference.advance(4);
+		assertEquals(reference.getState(), rng.getState());
+	}
+
+	@Test
+	void rangeOnly() {
+		float[] src = constant(0.5f);
+		int[] dst = new int[COUNT];
+		Arrays.fill(dst, -1);
+		StochasticRounding.toInt(src, dst, 10, 20, 1, new PcgRSFast(0, 0));
+		for (int i = 0; i < 30; i++) {
+			if (i < 10 || i >= 20) {
+				assertEquals(-1, dst[i]);
+			} else {
+				assertTrue(dst[i] == 0 || dst[i] == 1);
+			}
+		}
+	}
+
+	@Test
+	void splitRangesEqualWhole() {
+		float[] src = new float[101];
+		Pcg values = new PcgRSFast(1, 1);
+		for (int i = 0; i < src.length; i++) {
+			src[i] = values.nextFloat() * 10;
+		}
+		PcgRSFast rng = new PcgRSFast(0, 0);
+		PcgRSFast rng1 = new PcgRSFast(0, 0);
+		int[] whole = new int[src.length];
+		int[] split = new int[src.length];
+		StochasticRounding.toInt(src, whole, 1, rng);
+		StochasticRounding.toInt(src, split, 0, 40, 1, rng1);
+		StochasticRounding.toInt(src, split, 40, src.length, 1, rng1);
+		assertArrayEquals(whole, split);
+	}
+
+	@Test
+	void parallelConsecutiveCalls() {
+		// Every call derives fresh substreams, the generator never returns to its start
+		float[] src = { 0.5f };
+		int[] dst = new int[1];
+		PcgRSFast rng = new PcgRSFast(42, 7);
+		PcgRSFast reference = new PcgRSFast(42, 7);
+		long start = rng.getState();
+		int ones = 0;
+		for (int i = 0; i < 1000; i++) {
+			StochasticRounding.toIntParallel(src, dst, 1, rng);
+			ones += dst[0];
+			reference.advance(1);
+			assertEquals(reference.getState(), rng.getState());
+			assertTrue(rng.getState() != start);
+		}
+		assertEquals(500, ones, 100);
+	}
+
+	@Test
+	void parallelMatchesSubstreams() {
+		int length = 3 * (1 << 16) + 5;
+		float[] src = new float[length];
+		Pcg values = new PcgRSFast(1, 1);
+		for (int i = 0; i < length; i++) {
+			src[i] = values.nextFloat() * 4 - 2;
+		}
+		PcgRSFast rng = new PcgRSFast(0, 0);
+		PcgRSFast reference = new PcgRSFast(0, 0);
+
+		short[] parallel = new short[length];
+		StochasticRounding.toBFloat16Parallel(src, parallel, rng);
+		short[] expected = new short[length];
+		for (int block = 0; block < 4; block++) {
+			int from = block << 16;
+			int to = Math.min(from + (1 << 16), length);
+			StochasticRounding.toBFloat16(src, expected, from, to, reference.<PcgRSFast>substream(block));
+		}
+		assertArrayEquals(expected, parallel);
+		reference.advance(1);
+		assertEquals(reference.getState(), rng.getState());
+
+		byte[] int8 = new byte[length];
+		byte[] int81 = new byte[length];
+		StochasticRounding.toInt8Parallel(src, int8, 60, new PcgRSFast(0, 0));
+		StochasticRounding.toInt8Parallel(src, int81, 60, new PcgRSFast(0, 0));
+		assertArrayEquals(int8, int81);
+
+		int[] ints = new int[length];
+		int[] ints1 = new int[length];
+		StochasticRounding.toIntParallel(src, ints, 1000, new PcgRSFast(0, 0));
+		StochasticRounding.toIntParallel(src, ints1, 1000, new PcgRSFast(0, 0));
+		assertArrayEquals(ints, ints1);
+
+		float[] grid = new float[length];
+		float[] grid1 = new float[length];
+		StochasticRounding.toGridParallel(src, grid, 0.5f, new PcgRSFast(0, 0));
+		StochasticRounding.toGridParallel(src, grid1, 0.5f, new PcgRSFast(0, 0));
+		assertArrayEquals(grid, grid1);
+	}
+
+}
@@ -0,0 +1,172 @@
+package com.github.kilianB.pcg.fork;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.PcgBaseTest;
+
+/**
+ * JUnit tests are only used to test methods like distance advance/skip/rewind
+ * states and other ordinary functionality. It is not designed to test
+ * distributions or statistical properties! <p>
+ *
+ * Statistical properties are tested with PractRand evaluation <p> Performance
+ * are checked by jmh
+ *
+ * @author Kilian
+ *
+ */
+class PcgRSSplittableTest extends PcgBaseTest {
+
+	@Override
+	public Pcg getInstance() {
+		return new PcgRSSplittable();
+	}
+
+	@Override
+	public Pcg getInstance(long seed, long streamNumber) {
+		return new PcgRSSplittable(seed, streamNumber);
+	}
+
+	@Override
+	public boolean isFast() {
+		return false;
+	}
+
+	@Nested
+	class Fork {
+
+		@Test
+		void deterministic() {
+			PcgRSSplittable rng0 = new PcgRSSplittable(5, 7);
+			PcgRSSplittable rng1 = new PcgRSSplittable(5, 7);
+			for (int i = 0; i < 10; i++) {
+				PcgRSSplittable child0 = rng0.fork();
+				PcgRSSplittable child1 = rng1.fork();
+				assertEquals(child0.getNodeId(), child1.getNodeId());
+				assertEquals(child0.nextLong(), child1.nextLong());
+			}
+		}
+
+		@Test
+		void parentUnaltered() {
+			PcgRSSplittable rng = new PcgRSSplittable(5, 7);
+			PcgRSSplittable reference = new PcgRSSplittable(5, 7);
+			rng.fork();
+			assertEquals(reference.getInc(), rng.getInc());
+			assertEquals(reference.nextLong(), rng.nextLong());
+		}
+
+		@Test
+		void distinctStreams() {
+			Set<Long> increments = new HashSet<>();
+			PcgRSSplittable root = new PcgRSSplittable(0, 0);
+			collect(root, 0, increments);
+			// 2^13 - 1 tree nodes and an additional leaf for every inner node
+			assertEquals((1 << 13) - 1 + (1 << 12) - 1, increments.size());
+		}
+
+		private void collect(PcgRSSplittable node, int depth, Set<Long> increments) {
+			assertTrue(increments.add(node.getInc()));
+			if (depth == 12) {
+				return;
+			}
+			collect(node.fork(), depth + 1, increments);
+			collect(node.fork(), depth + 1, increments);
+			// Additional leaf
+			assertTrue(increments.add(node.fork().getInc()));
+		}
+
+		@Test
+		void distinctTrees() {
+			PcgRSSplittable root0 = new PcgRSSplittable(0, 0);
+			PcgRSSplittable root1 = new PcgRSSplittable(0, 1);
+			assertNotEquals(root0.fork().getInc(), root1.fork().getInc());
+		}
+
+		@Test
+		void exhausted() {
+			PcgRSSplittable rng = new PcgRSSplittable(0, 0);
+			for (int i = 0; i < 62; i++) {
+				rng = rng.fork();
+			}
+			PcgRSSplittable leaf = rng;
+			assertThrows(IllegalStateException.class, () -> {
+				leaf.fork();
+			});
+		}
+
+		@Test
+		void copyStartsNewTree() {
+			PcgRSSplittable rng = new PcgRSSplittable(0, 0);
+			rng.fork();
+			PcgRSSplittable copy = rng.copy();
+			assertEquals(1, copy.getNodeId());
+			assertEquals(rng.nextLong(), copy.nextLong());
+			assertNotEquals(rng.fork().getInc(), copy.fork().getInc());
+		}
+
+		@Test
+		void substreamForkDistinct() {
+			PcgRSSplittable rng = new PcgRSSplittable(0, 0);
+			PcgRSSplittable substream = rng.substream(1);
+			Set<Long> increments = new HashSet<>();
+			for (int i = 0; i < 8; i++) {
+				assertTrue(increments.add(rng.fork().getInc()));
+				assertTrue(increments.add(substream.fork().getInc()));
+			}
+		}
+	}
+
+	@Nested
+	class RecursiveTask {
+
+		@Test
+		void independentOfParallelism() {
+			long single = new ForkJoinPool(1).invoke(new SumTask(0, 1 << 16, new PcgRSSplittable(42, 0)));
+			long parallel = new ForkJoinPool(8).invoke(new SumTask(0, 1 << 16, new PcgRSSplittable(42, 0)));
+			assertEquals(single, parallel);
+		}
+	}
+
+	private static class SumTask extends PcgRecursiveTask<Long> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+		private final int to;
+
+		SumTask(int from, int to, PcgRSSplittable rng) {
+			super(rng);
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Long compute() {
+			if (to - from <= 256) {
+				long sum = 0;
+				for (int i = from; i < to; i++) {
+					sum += rng().nextInt(1000);
+				}
+				return sum;
+			}
+			int mid = (from + to) >>> 1;
+			SumTask left = new SumTask(from, mid, forkRng());
+			SumTask right = new SumTask(mid, to, forkRng());
+			left.fork();
+			return right.compute() + left.join();
+		}
+	}
+
+}
@@ -0,0 +1,102 @@
+package com.github.kilianB.pcg.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class RandomUuidTest {
+
+	@Test
+	void versionAndVariant() {
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int i = 0; i < 1000; i++) {
+			UUID uuid = RandomUuid.next(rng);
+			assertEquals(4, uuid.version());
+			assertEquals(2, uuid.variant());
+		}
+	}
+
+	@Test
+	void sameLayoutAsJdk() {
+		UUID jdk = UUID.randomUUID();
+		UUID pcg = RandomUuid.next(new PcgRSFast(0, 0));
+		assertEquals(jdk.version(), pcg.version());
+		assertEquals(jdk.variant(), pcg.variant());
+		assertEquals(pcg, UUID.fromString(pcg.toString()));
+	}
+
+	@Test
+	void randomBits() {
+		// Every bit except the 6 fixed ones has to be set in about half of the UUIDs
+		Pcg rng = new PcgRSFast(0, 0);
+		int reps = 20_000;
+		int[] most = new int[64];
+		int[] least = new int[64];
+		for (int i = 0; i < reps; i++) {
+			UUID uuid = RandomUuid.next(rng);
+			for (int b = 0; b < 64; b++) {
+				most[b] += (uuid.getMostSignificantBits() >>> b) & 1;
+				least[b] += (uuid.getLeastSignificantBits() >>> b) & 1;
+			}
+		}
+		for (int b = 0; b < 64; b++) {
+			if (b < 12 || b > 15) {
+				assertEquals(reps / 2d, most[b], reps * 0.02);
+			}
+			if (b < 62) {
+				assertEquals(reps / 2d, least[b], reps * 0.02);
+			}
+		}
+	}
+
+	@Test
+	void bulkEqualsSingle() {
+		Pcg rng = new PcgRSFast(0, 0);
+		Pcg reference = new PcgRSFast(0, 0);
+		long[] bits = new long[200];
+		RandomUuid.next(bits, rng);
+		for (int i = 0; i < bits.length; i += 2) {
+			assertEquals(RandomUuid.next(reference), RandomUuid.toUuid(bits, i));
+		}
+	}
+
+	@Test
+	void bulkRange() {
+		long[] bits = new long[10];
+		RandomUuid.next(bits, 2, 6, new PcgRSFast(0, 0));
+		assertEquals(0, bits[0]);
+		assertEquals(0, bits[1]);
+		assertEquals(RandomUuid.next(new PcgRSFast(0, 0)), RandomUuid.toUuid(bits, 2));
+		assertEquals(0, bits[6]);
+	}
+
+	@Test
+	void bulkOddLength() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			RandomUuid.next(new long[3], new PcgRSFast(0, 0));
+		});
+	}
+
+	@Test
+	void unique() {
+		Pcg rng = new PcgRSFast(0, 0);
+		Set<UUID> uuids = new HashSet<>();
+		for (int i = 0; i < 100_000; i++) {
+			uuids.add(RandomUuid.next(rng));
+		}
+		assertEquals(100_000, uuids.size());
+	}
+
+}
@@ -0,0 +1,122 @@
+package com.github.kilianB.pcg.id;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class TokenGeneratorTest {
+
+	@Test
+	void charsPerDraw() {
+		assertEquals(16, TokenGenerator.HEX.getCharsPerDraw());
+		assertEquals(10, TokenGenerator.ALPHANUMERIC.getCharsPerDraw());
+		assertEquals(64, new TokenGenerator("01").getCharsPerDraw());
+		assertEquals(18, new TokenGenerator("0123456789").getCharsPerDraw());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "01", "abc", "0123456789", "0123456789abcdef",
+			"0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz", "äöü" })
+	void uniform(String alphabet) {
+		// Chi square per position within a draw. Catches digits biased by the extraction
+		TokenGenerator generator = new TokenGenerator(alphabet);
+		int size = alphabet.length();
+		int perDraw = generator.getCharsPerDraw();
+		int reps = 2000 * size;
+		int[][] counts = new int[perDraw][size];
+		char[] token = new char[perDraw];
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int r = 0; r < reps; r++) {
+			generator.next(token, 0, perDraw, rng);
+			for (int i = 0; i < perDraw; i++) {
+				counts[i][alphabet.indexOf(token[i])]++;
+			}
+		}
+		double expected = reps / (double) size;
+		for (int[] position : counts) {
+			double chi = 0;
+			for (int count : position) {
+				chi += (count - expected) * (count - expected) / expected;
+			}
+			// Generous bound. Mean size - 1, standard deviation sqrt(2 (size - 1))
+			assertTrue(chi < size - 1 + 6 * Math.sqrt(2 * (size - 1)), "Chi square " + chi);
+		}
+	}
+
+	@Test
+	void rangeOnly() {
+		char[] token = new char[40];
+		TokenGenerator.ALPHANUMERIC.next(token, 5, 35, new PcgRSFast(0, 0));
+		for (int i = 0; i < token.length; i++) {
+			if (i < 5 || i >= 35) {
+				assertEquals(0, token[i]);
+			} else {
+				assertTrue(Character.isLetterOrDigit(token[i]));
+			}
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, 9, 10, 11, 32, 100 })
+	void bytesEqualChars(int length) {
+		for (TokenGenerator generator : new TokenGenerator[] { TokenGenerator.HEX, TokenGenerator.ALPHANUMERIC }) {
+			char[] chars = new char[length];
+			byte[] bytes = new byte[length];
+			generator.next(chars, 0, length, new PcgRSFast(0, 0));
+			generator.next(bytes, 0, length, new PcgRSFast(0, 0));
+			assertArrayEquals(new String(chars).getBytes(StandardCharsets.US_ASCII), bytes);
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, 9, 10, 11, 32, 100 })
+	void builderEqualsChars(int length) {
+		for (TokenGenerator generator : new TokenGenerator[] { TokenGenerator.HEX, TokenGenerator.ALPHANUMERIC }) {
+			String token = generator.next(length, new PcgRSFast(0, 0));
+			StringBuilder sb = new StringBuilder("id-");
+			generator.next(sb, length, new PcgRSFast(0, 0));
+			assertEquals("id-" + token, sb.toString());
+		}
+	}
+
+	@Test
+	void hexMatchesLong() {
+		Pcg reference = new PcgRSFast(0, 0);
+		String token = TokenGenerator.HEX.next(16, new PcgRSFast(0, 0));
+		String expected = String.format("%016x", reference.nextLong());
+		assertEquals(expected, token);
+	}
+
+	@Test
+	void nonAsciiBytes() {
+		TokenGenerator generator = new TokenGenerator("aäb");
+		assertThrows(UnsupportedOperationException.class, () -> {
+			generator.next(new byte[5], 0, 5, new PcgRSFast(0, 0));
+		});
+	}
+
+	@Test
+	void invalidAlphabet() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new TokenGenerator("a");
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new TokenGenerator("abca");
+		});
+	}
+
+}
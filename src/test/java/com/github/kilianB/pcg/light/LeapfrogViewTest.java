@@ -0,0 +1,132 @@
+package com.github.kilianB.pcg.light;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * @author Kilian
+ *
+ */
+class LeapfrogViewTest {
+
+	private static RandomBaseLight source(boolean rotate) {
+		return rotate ? new PcgRRLight(5, 7) : new PcgRSLight(5, 7);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 1, 2, 3, 4, 7, 64 })
+	void interleavedEqualsSource(int workers) {
+		for (boolean rotate : new boolean[] { false, true }) {
+			RandomBaseLight rng = source(rotate);
+			rng.nextInt();
+			LeapfrogView[] views = new LeapfrogView[workers];
+			for (int w = 0; w < workers; w++) {
+				views[w] = rng.leapfrog(w, workers);
+			}
+			for (int i = 0; i < 1000; i++) {
+				for (int w = 0; w < workers; w++) {
+					assertEquals(rng.nextInt(), views[w].nextInt(), "Worker " + w + " draw " + i);
+				}
+			}
+		}
+	}
+
+	@Test
+	void singleOutputMethods() {
+		RandomBaseLight rng = new PcgRRLight(1, 1);
+		LeapfrogView even = rng.leapfrog(0, 2);
+		LeapfrogView odd = rng.leapfrog(1, 2);
+		for (int i = 0; i < 100; i++) {
+			assertEquals(rng.nextFloat(), even.nextFloat());
+			assertEquals(rng.nextBoolean(), odd.nextBoolean());
+			assertEquals(rng.nextByte(), even.nextByte());
+			assertEquals(rng.nextShort(), odd.nextShort());
+		}
+	}
+
+	@Test
+	void sourceNotAltered() {
+		RandomBaseLight rng = new PcgRSLight(1, 1);
+		long state = rng.getState();
+		LeapfrogView view = rng.leapfrog(3, 4);
+		view.nextInt();
+		assertEquals(state, rng.getState());
+		assertEquals(rng.getInc(), view.getInc());
+		assertEquals(3, view.getWorker());
+		assertEquals(4, view.getWorkers());
+	}
+
+	@ParameterizedTest
+	@ValueSource(longs = { 0, 1, 5, 1000, -1, -17 })
+	void advance(long steps) {
+		LeapfrogView view = new PcgRSLight(1, 1).leapfrog(2, 5);
+		LeapfrogView reference = view.copy();
+		view.advance(steps);
+		// Rewinding is advancing by the period minus the steps
+		if (steps >= 0) {
+			for (long i = 0; i < steps; i++) {
+				reference.nextInt();
+			}
+			assertEquals(reference.getState(), view.getState());
+		} else {
+			view.advance(-steps);
+			assertEquals(reference.getState(), view.getState());
+		}
+	}
+
+	@Test
+	void advanceMatchesSource() {
+		RandomBaseLight rng = new PcgRRLight(1, 1);
+		LeapfrogView view = rng.leapfrog(1, 3);
+		view.advance(10);
+		rng.advance(31);
+		assertEquals(rng.getState(), view.getState());
+		assertEquals(rng.nextInt(), view.nextInt());
+	}
+
+	@Test
+	void copy() {
+		LeapfrogView view = new PcgRRLight(1, 1).leapfrog(1, 3);
+		view.nextInt();
+		LeapfrogView copy = view.copy();
+		assertEquals(LeapfrogView.class, copy.getClass());
+		for (int i = 0; i < 100; i++) {
+			assertEquals(view.nextInt(), copy.nextInt());
+		}
+	}
+
+	@Test
+	void setSeed() {
+		LeapfrogView view = new PcgRSLight(1, 1).leapfrog(2, 3);
+		view.setSeed(42, 9);
+		LeapfrogView reference = new PcgRSLight(42, 9).leapfrog(2, 3);
+		assertEquals(reference.getState(), view.getState());
+		assertEquals(reference.getInc(), view.getInc());
+		for (int i = 0; i < 100; i++) {
+			assertEquals(reference.nextInt(), view.nextInt());
+		}
+	}
+
+	@Test
+	void distanceInSourceSteps() {
+		RandomBaseLight rng = new PcgRSLight(1, 1);
+		LeapfrogView first = rng.leapfrog(0, 4);
+		LeapfrogView last = rng.leapfrog(3, 4);
+		last.nextInt();
+		assertEquals(7, first.distance(last));
+	}
+
+	@Test
+	void invalidArguments() {
+		RandomBaseLight rng = new PcgRSLight(1, 1);
+		assertThrows(IllegalArgumentException.class, () -> rng.leapfrog(0, 0));
+		assertThrows(IllegalArgumentException.class, () -> rng.leapfrog(-1, 2));
+		assertThrows(IllegalArgumentException.class, () -> rng.leapfrog(2, 2));
+		assertThrows(IllegalArgumentException.class, () -> rng.leapfrog(0, 2).leapfrog(0, 2));
+	}
+
+}
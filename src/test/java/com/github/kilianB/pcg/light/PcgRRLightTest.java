@@ -0,0 +1,81 @@
+package com.github.kilianB.pcg.light;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.PcgBaseTest;
+import com.github.kilianB.pcg.RandomBurdenTest;
+import com.github.kilianB.pcg.sync.PcgRR;
+
+/**
+ * JUnit tests are only used to test methods like distance advance/skip/rewind
+ * states and other ordinary functionality. It is not designed to test
+ * distributions or statistical properties! <p>
+ * 
+ * Statistical properties are tested with PractRand evaluation <p> Performance
+ * are checked by jmh
+ * 
+ * @author Kilian
+ *
+ */
+class PcgRRLightTest extends PcgBaseTest {
+
+	@Override
+	public Pcg getInstance() {
+		return new PcgRRLight();
+	}
+
+	@Override
+	public Pcg getInstance(long seed, long streamNumber) {
+		return new PcgRRLight(seed, streamNumber);
+	}
+
+	@Override
+	public boolean isFast() {
+		return false;
+	}
+
+	@Nested
+	class RandomBurden extends RandomBurdenTest {
+		@Override
+		protected Random getInstance() {
+			return new PcgRRLight().asRandom();
+		}
+	}
+
+	@Nested
+	class Equality {
+
+		@Test
+		void equalLong() {
+			Pcg light = new PcgRRLight(0L, 0L);
+			Pcg syn = new PcgRR(0L, 0L);
+			for (int i = 0; i < 1000; i++) {
+				assertEquals(syn.nextLong(), light.nextLong());
+			}
+		}
+
+		@Test
+		void equalFloat() {
+			Pcg light = new PcgRRLight(0L, 0L);
+			Pcg syn = new PcgRR(0L, 0L);
+			for (int i = 0; i < 1000; i++) {
+				assertEquals(syn.nextFloat(), light.nextFloat());
+			}
+		}
+
+		@Test
+		void equalGaussian() {
+			Pcg light = new PcgRRLight(0L, 0L);
+			Pcg syn = new PcgRR(0L, 0L);
+			for (int i = 0; i < 1000; i++) {
+				assertEquals(syn.nextGaussian(), light.nextGaussian());
+			}
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package com.github.kilianB.pcg.light;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.PcgBaseTest;
+import com.github.kilianB.pcg.RandomBurdenTest;
+import com.github.kilianB.pcg.sync.PcgRS;
+
+/**
+ * JUnit tests are only used to test methods like distance advance/skip/rewind
+ * states and other ordinary functionality. It is not designed to test
+ * distributions or statistical properties! <p>
+ * 
+ * Statistical properties are tested with PractRand evaluation <p> Performance
+ * are checked by jmh
+ * 
+ * @author Kilian
+ *
+ */
+class PcgRSLightTest extends PcgBaseTest {
+
+	@Override
+	public Pcg getInstance() {
+		return new PcgRSLight();
+	}
+
+	@Override
+	public Pcg getInstance(long seed, long streamNumber) {
+		return new PcgRSLight(seed, streamNumber);
+	}
+
+	@Override
+	public boolean isFast() {
+		return false;
+	}
+
+	@Nested
+	class RandomBurden extends RandomBurdenTest {
+		@Override
+		protected Random getInstance() {
+			return new PcgRSLight().asRandom();
+		}
+	}
+
+	/**
+	 * The light version has to produce the same sequence as the random based
+	 * generators
+	 */
+	@Nested
+	class Equality {
+
+		private int count = 1000;
+
+		@Test
+		void equalInt() {
+			Pcg light = new PcgRSLight(0L, 0L);
+			Pcg syn = new PcgRS(0L, 0L);
+			for (int i = 0; i < count; i++) {
+				assertEquals(syn.nextInt(), light.nextInt());
+			}
+		}
+
+		@Test
+		void equalIntN() {
+			Pcg light = new PcgRSLight(0L, 0L);
+			Pcg syn = new PcgRS(0L, 0L);
+			for (int i = 0; i < count; i++) {
+				assertEquals(syn.nextInt(i + 1), light.nextInt(i + 1));
+			}
+		}
+
+		@Test
+		void equalDouble() {
+			Pcg light = new PcgRSLight(0L, 0L);
+			Pcg syn = new PcgRS(0L, 0L);
+			for (int i = 0; i < count; i++) {
+				assertEquals(syn.nextDouble(), light.nextDouble());
+			}
+		}
+
+		@Test
+		void equalGaussian() {
+			Pcg light = new PcgRSLight(0L, 0L);
+			Pcg syn = new PcgRS(0L, 0L);
+			for (int i = 0; i < count; i++) {
+				assertEquals(syn.nextGaussian(), light.nextGaussian());
+			}
+		}
+
+		@Test
+		void equalBytes() {
+			byte[] light = new byte[count];
+			byte[] syn = new byte[count];
+			new PcgRSLight(0L, 0L).nextBytes(light);
+			new PcgRS(0L, 0L).nextBytes(syn);
+			assertArrayEquals(syn, light);
+		}
+
+		@Test
+		void randomView() {
+			PcgRSLight light = new PcgRSLight(0L, 0L);
+			Random view = light.asRandom();
+			Pcg syn = new PcgRS(0L, 0L);
+			for (int i = 0; i < count; i++) {
+				assertEquals(syn.nextLong(), view.nextLong());
+			}
+			// The view shares the state of the generator
+			assertEquals(syn.getState(), light.getState());
+		}
+	}
+}
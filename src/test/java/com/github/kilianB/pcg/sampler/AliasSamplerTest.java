@@ -0,0 +1,119 @@
+package com.github.kilianB.pcg.sampler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class AliasSamplerTest {
+
+	private static final int COUNT = 200_000;
+
+	@ParameterizedTest
+	@ValueSource(ints = { 1, 2, 3, 7, 100 })
+	void probabilityMass(int n) {
+		Pcg rng = new PcgRSFast(0, 0);
+		double[] weights = new double[n];
+		double sum = 0;
+		for (int i = 0; i < n; i++) {
+			weights[i] = rng.nextDouble() * 10;
+			sum += weights[i];
+		}
+		AliasSampler sampler = new AliasSampler(weights);
+
+		int[] histogram = new int[n];
+		for (int i = 0; i < COUNT; i++) {
+			histogram[sampler.sample(rng)]++;
+		}
+		for (int i = 0; i < n; i++) {
+			double expected = weights[i] / sum;
+			double tolerance = 5 * Math.sqrt(expected * (1 - expected) / COUNT) + 1e-5;
+			assertEquals(expected, histogram[i] / (double) COUNT, tolerance, "i = " + i);
+		}
+	}
+
+	@Test
+	void tableProbabilities() {
+		Pcg rng = new PcgRSFast(0, 0);
+		double[] weights = new double[1000];
+		double sum = 0;
+		for (int i = 0; i < weights.length; i++) {
+			weights[i] = rng.nextDouble();
+			sum += weights[i];
+		}
+		AliasSampler sampler = new AliasSampler(weights);
+		double total = 0;
+		for (int i = 0; i < weights.length; i++) {
+			double p = sampler.getProbability(i);
+			assertEquals(weights[i] / sum, p, 1e-9);
+			total += p;
+		}
+		assertEquals(1, total, 1e-9);
+	}
+
+	@Test
+	void zeroWeightNeverDrawn() {
+		double[] weights = { 0, 1, 0, 2, 0 };
+		AliasSampler sampler = new AliasSampler(weights);
+		Pcg rng = new PcgRSFast(0, 0);
+		int[] histogram = new int[weights.length];
+		for (int i = 0; i < COUNT; i++) {
+			histogram[sampler.sample(rng)]++;
+		}
+		assertEquals(0, histogram[0]);
+		assertEquals(0, histogram[2]);
+		assertEquals(0, histogram[4]);
+		assertEquals(0, sampler.getProbability(0));
+	}
+
+	@Test
+	void singleOutcome() {
+		AliasSampler sampler = new AliasSampler(new double[] { 0.3 });
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(0, sampler.sample(rng));
+		}
+		assertEquals(1, sampler.getProbability(0));
+	}
+
+	@Test
+	void bulkSameAsSingle() {
+		double[] weights = { 1, 5, 0.5, 3, 2, 8 };
+		AliasSampler sampler = new AliasSampler(weights);
+		Pcg rng = new PcgRSFast(0, 0);
+		int[] expected = new int[1000];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = sampler.sample(rng);
+		}
+		int[] bulk = new int[1000];
+		sampler.sample(bulk, new PcgRSFast(0, 0));
+		assertArrayEquals(expected, bulk);
+	}
+
+	@Test
+	void invalidWeights() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new AliasSampler(new double[0]);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new AliasSampler(new double[] { 1, -1 });
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new AliasSampler(new double[] { 1, Double.NaN });
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new AliasSampler(new double[] { 0, 0 });
+		});
+	}
+
+}
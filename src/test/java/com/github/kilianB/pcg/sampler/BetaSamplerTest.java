@@ -0,0 +1,69 @@
+package com.github.kilianB.pcg.sampler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class BetaSamplerTest {
+
+	private static final int COUNT = 200_000;
+
+	@ParameterizedTest
+	@CsvSource({ "0.5, 0.5", "2, 5", "10, 1", "0.001, 0.001", "0.2, 0.3" })
+	void meanAndVariance(double alpha, double beta) {
+		BetaSampler sampler = new BetaSampler(alpha, beta);
+		Pcg rng = new PcgRSFast(0, 0);
+		double sum = 0;
+		double sumSq = 0;
+		for (int i = 0; i < COUNT; i++) {
+			double x = sampler.sample(rng);
+			assertTrue(x >= 0 && x <= 1);
+			sum += x;
+			sumSq += x * x;
+		}
+		double mean = alpha / (alpha + beta);
+		double variance = alpha * beta / ((alpha + beta) * (alpha + beta) * (alpha + beta + 1));
+		double m = sum / COUNT;
+		assertEquals(mean, m, 5 * Math.sqrt(variance / COUNT));
+		assertEquals(variance, sumSq / COUNT - m * m, 0.02 * variance);
+	}
+
+	@Test
+	void tinyShapes() {
+		// Both gamma values underflow to 0 for a large share of the draws
+		BetaSampler sampler = new BetaSampler(0.001, 0.001);
+		Pcg rng = new PcgRSFast(0, 0);
+		int low = 0;
+		for (int i = 0; i < COUNT; i++) {
+			double x = sampler.sample(rng);
+			assertFalse(Double.isNaN(x));
+			if (x < 0.5) {
+				low++;
+			}
+		}
+		assertEquals(COUNT / 2, low, 5 * Math.sqrt(COUNT / 4));
+	}
+
+	@Test
+	void invalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new BetaSampler(0, 1);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new BetaSampler(1, 0);
+		});
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.github.kilianB.pcg.sampler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class BinomialSamplerTest {
+
+	private static final int COUNT = 200_000;
+
+	@ParameterizedTest
+	@CsvSource({ "0, 0.5", "20, 0.3", "20, 0.8", "100, 0.1", "1000, 0.3", "1000, 0.9", "100000, 0.5" })
+	void meanAndVariance(int trials, double probability) {
+		BinomialSampler sampler = new BinomialSampler(trials, probability);
+		Pcg rng = new PcgRSFast(0, 0);
+		double sum = 0;
+		double sumSq = 0;
+		for (int i = 0; i < COUNT; i++) {
+			int k = sampler.sample(rng);
+			assertTrue(k >= 0 && k <= trials);
+			sum += k;
+			sumSq += (double) k * k;
+		}
+		double mean = trials * probability;
+		double variance = mean * (1 - probability);
+		double m = sum / COUNT;
+		assertEquals(mean, m, 5 * Math.sqrt(variance / COUNT) + 1e-9);
+		assertEquals(variance, sumSq / COUNT - m * m, 0.02 * variance + 1e-9);
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "20, 0.3", "1000, 0.3", "1000, 0.7" })
+	void probabilityMass(int trials, double probability) {
+		BinomialSampler sampler = new BinomialSampler(trials, probability);
+		Pcg rng = new PcgRSFast(0, 0);
+		int[] histogram = new int[trials + 1];
+		for (int i = 0; i < COUNT; i++) {
+			histogram[sampler.sample(rng)]++;
+		}
+		for (int k = 0; k <= trials; k++) {
+			double expected = Math.exp(SamplerMath.logFactorial(trials) - SamplerMath.logFactorial(k)
+					- SamplerMath.logFactorial(trials - k) + k * Math.log(probability)
+					+ (trials - k) * Math.log(1 - probability));
+			double tolerance = 5 * Math.sqrt(expected * (1 - expected) / COUNT) + 1e-5;
+			assertEquals(expected, histogram[k] / (double) COUNT, tolerance, "k = " + k);
+		}
+	}
+
+	@Test
+	void degenerate() {
+		Pcg rng = new PcgRSFast(0, 0);
+		assertEquals(0, new BinomialSampler(10, 0).sample(rng));
+		assertEquals(10, new BinomialSampler(10, 1).sample(rng));
+	}
+
+	@Test
+	void bulkSameAsSingle() {
+		BinomialSampler sampler = new BinomialSampler(1000, 0.7);
+		Pcg rng = new PcgRSFast(0, 0);
+		int[] expected = new int[1000];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = sampler.sample(rng);
+		}
+		int[] bulk = new int[1000];
+		sampler.sample(bulk, new PcgRSFast(0, 0));
+		assertArrayEquals(expected, bulk);
+	}
+
+	@Test
+	void invalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new BinomialSampler(-1, 0.5);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new BinomialSampler(10, 1.5);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new BinomialSampler(10, Double.NaN);
+		});
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.github.kilianB.pcg.sampler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class ConcurrentWeightedSamplerTest {
+
+	@ParameterizedTest
+	@ValueSource(ints = { 1, 3, 16, 100 })
+	void probabilityMass(int n) {
+		Pcg rng = new PcgRSFast(0, 0);
+		double[] weights = new double[n];
+		for (int i = 0; i < n; i++) {
+			weights[i] = rng.nextDouble() * 10;
+		}
+		DynamicWeightedSamplerTest.assertDistribution(weights, new ConcurrentWeightedSampler(weights, 4), rng);
+	}
+
+	@Test
+	void updates() {
+		Pcg rng = new PcgRSFast(0, 0);
+		int n = 50;
+		double[] weights = new double[n];
+		ConcurrentWeightedSampler sampler = new ConcurrentWeightedSampler(n);
+		for (int i = 0; i < 10_000; i++) {
+			int outcome = rng.nextInt(n);
+			double w = rng.nextBoolean() ? 0 : rng.nextDouble();
+			weights[outcome] = w;
+			sampler.update(outcome, w);
+		}
+		for (int i = 0; i < n; i++) {
+			assertEquals(weights[i], sampler.getWeight(i));
+		}
+		DynamicWeightedSamplerTest.assertDistribution(weights, sampler, rng);
+	}
+
+	@Test
+	void stripesCapped() {
+		assertEquals(3, new ConcurrentWeightedSampler(new double[] { 1, 2, 3 }, 8).getNumberOfStripes());
+	}
+
+	@Test
+	void concurrentUpdatesAndDraws() throws Exception {
+		int n = 1000;
+		ConcurrentWeightedSampler sampler = new ConcurrentWeightedSampler(n);
+		// Even outcomes are always weighted 0
+		for (int i = 1; i < n; i += 2) {
+			sampler.update(i, 1);
+		}
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				final long seed = t;
+				futures.add(pool.submit(() -> {
+					Pcg rng = new PcgRSFast(seed, seed);
+					for (int i = 0; i < 100_000; i++) {
+						if (i % 2 == 0) {
+							sampler.update(rng.nextInt(n / 2) * 2 + 1, rng.nextDouble() + 0.1);
+						} else {
+							int k = sampler.sample(rng);
+							assertTrue(k % 2 == 1, "Drew zero weight outcome " + k);
+						}
+					}
+				}));
+			}
+			for (Future<?> f : futures) {
+				f.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void invalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new ConcurrentWeightedSampler(0);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new ConcurrentWeightedSampler(new double[] { 1 }, 0);
+		});
+		assertThrows(IllegalStateException.class, () -> {
+			new ConcurrentWeightedSampler(10).sample(new PcgRSFast());
+		});
+	}
+
+}
@@ -0,0 +1,139 @@
+package com.github.kilianB.pcg.sampler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class DynamicWeightedSamplerTest {
+
+	private static final int COUNT = 200_000;
+
+	@ParameterizedTest
+	@ValueSource(ints = { 1, 2, 3, 7, 100 })
+	void probabilityMass(int n) {
+		Pcg rng = new PcgRSFast(0, 0);
+		double[] weights = new double[n];
+		for (int i = 0; i < n; i++) {
+			weights[i] = rng.nextDouble() * 10;
+		}
+		assertDistribution(weights, new DynamicWeightedSampler(weights), rng);
+	}
+
+	@Test
+	void probabilityMassAfterUpdates() {
+		Pcg rng = new PcgRSFast(0, 0);
+		int n = 50;
+		double[] weights = new double[n];
+		DynamicWeightedSampler sampler = new DynamicWeightedSampler(n);
+		for (int i = 0; i < 10_000; i++) {
+			int outcome = rng.nextInt(n);
+			double w = rng.nextBoolean() ? 0 : rng.nextDouble();
+			weights[outcome] = w;
+			sampler.update(outcome, w);
+		}
+		for (int i = 0; i < n; i++) {
+			assertEquals(weights[i], sampler.getWeight(i));
+		}
+		assertDistribution(weights, sampler, rng);
+	}
+
+	@Test
+	void totalWeightDoesNotDrift() {
+		Pcg rng = new PcgRSFast(0, 0);
+		DynamicWeightedSampler sampler = new DynamicWeightedSampler(100);
+		for (int i = 0; i < 100_000; i++) {
+			sampler.update(rng.nextInt(100), rng.nextDouble() * 1e6);
+		}
+		for (int i = 0; i < 100; i++) {
+			sampler.update(i, 0);
+		}
+		assertEquals(0, sampler.getTotalWeight());
+		sampler.update(42, 1);
+		assertEquals(1, sampler.getTotalWeight());
+		assertEquals(42, sampler.sample(rng));
+	}
+
+	@Test
+	void zeroWeightNeverDrawn() {
+		DynamicWeightedSampler sampler = new DynamicWeightedSampler(new double[] { 0, 1e-300, 0, 1e300, 0 });
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int i = 0; i < COUNT; i++) {
+			int k = sampler.sample(rng);
+			assertEquals(1, k % 2);
+		}
+	}
+
+	@Test
+	void bulkSameAsSingle() {
+		double[] weights = { 1, 5, 0.5, 3, 2, 8 };
+		DynamicWeightedSampler sampler = new DynamicWeightedSampler(weights);
+		Pcg rng = new PcgRSFast(0, 0);
+		int[] expected = new int[1000];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = sampler.sample(rng);
+		}
+		int[] bulk = new int[1000];
+		sampler.sample(bulk, new PcgRSFast(0, 0));
+		assertArrayEquals(expected, bulk);
+	}
+
+	@Test
+	void allZero() {
+		DynamicWeightedSampler sampler = new DynamicWeightedSampler(10);
+		assertThrows(IllegalStateException.class, () -> {
+			sampler.sample(new PcgRSFast());
+		});
+	}
+
+	@Test
+	void invalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new DynamicWeightedSampler(0);
+		});
+		// The tree of 2^29 + 1 outcomes would exceed the maximum array length
+		assertThrows(IllegalArgumentException.class, () -> {
+			new DynamicWeightedSampler((1 << 29) + 1);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new DynamicWeightedSampler(1 << 30);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new DynamicWeightedSampler(new double[] { 1, -1 });
+		});
+		DynamicWeightedSampler sampler = new DynamicWeightedSampler(10);
+		assertThrows(IllegalArgumentException.class, () -> {
+			sampler.update(0, Double.POSITIVE_INFINITY);
+		});
+		assertThrows(ArrayIndexOutOfBoundsException.class, () -> {
+			sampler.update(10, 1);
+		});
+	}
+
+	static void assertDistribution(double[] weights, DiscreteSampler sampler, Pcg rng) {
+		double sum = 0;
+		for (double w : weights) {
+			sum += w;
+		}
+		int[] histogram = new int[weights.length];
+		for (int i = 0; i < COUNT; i++) {
+			histogram[sampler.sample(rng)]++;
+		}
+		for (int i = 0; i < weights.length; i++) {
+			double expected = weights[i] / sum;
+			double tolerance = 5 * Math.sqrt(expected * (1 - expected) / COUNT) + 1e-5;
+			assertEquals(expected, histogram[i] / (double) COUNT, tolerance, "i = " + i);
+		}
+	}
+
+}
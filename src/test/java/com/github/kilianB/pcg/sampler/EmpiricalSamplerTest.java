@@ -0,0 +1,185 @@
+package com.github.kilianB.pcg.sampler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class EmpiricalSamplerTest {
+
+	private static final int COUNT = 1_000_000;
+
+	/**
+	 * Assert that the empirical distribution of the samples matches the piecewise
+	 * linear distribution function at the given points
+	 */
+	private static void assertDistribution(double[] samples, double[] x, double[] cumulative) {
+		Arrays.sort(samples);
+		for (int i = 0; i < x.length; i++) {
+			double expected = cumulative[i];
+			int index = Arrays.binarySearch(samples, x[i]);
+			double actual = (index < 0 ? -index - 1 : index) / (double) samples.length;
+			double tolerance = 5 * Math.sqrt(expected * (1 - expected) / samples.length) + 1e-9;
+			assertEquals(expected, actual, tolerance, "x = " + x[i]);
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "false", "true" })
+	void histogram(boolean compact) {
+		double[] edges = { 0, 1, 2, 4, 8, 16 };
+		double[] counts = { 10, 0, 30, 40, 20 };
+		EmpiricalSampler sampler = EmpiricalSampler.ofHistogram(edges, counts, compact);
+		assertEquals(4, sampler.getSegments());
+		assertEquals(compact, sampler.isCompact());
+
+		double[] samples = new double[COUNT];
+		sampler.sample(samples, new PcgRSFast(0, 0));
+		for (double sample : samples) {
+			assertTrue(sample >= 0 && sample <= 16);
+			// Empty bin
+			assertFalse(sample > 1 && sample < 2, "Value in empty bin " + sample);
+		}
+		assertDistribution(samples, new double[] { 0.5, 1, 2, 3, 4, 6, 8, 12 },
+				new double[] { 0.05, 0.1, 0.1, 0.25, 0.4, 0.6, 0.8, 0.9 });
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "false", "true" })
+	void quantiles(boolean compact) {
+		double[] quantiles = { -1, 0, 0.5, 10 };
+		EmpiricalSampler sampler = EmpiricalSampler.ofQuantiles(quantiles, compact);
+		assertEquals(-1, sampler.getMin());
+		assertEquals(10, sampler.getMax());
+		double[] samples = new double[COUNT];
+		sampler.sample(samples, new PcgRSFast(0, 0));
+		assertDistribution(samples, new double[] { -0.5, 0, 0.25, 0.5, 5 },
+				new double[] { 1 / 6d, 1 / 3d, 0.5, 2 / 3d, 2 / 3d + 1 / 3d * (4.5 / 9.5) });
+	}
+
+	@Test
+	void manySegments() {
+		// Exponential distribution given by 1001 quantiles
+		int n = 1000;
+		double[] quantiles = new double[n + 1];
+		for (int i = 0; i < n; i++) {
+			quantiles[i] = -Math.log1p(-i / (double) n);
+		}
+		quantiles[n] = quantiles[n - 1] + 1;
+		EmpiricalSampler sampler = EmpiricalSampler.ofQuantiles(quantiles);
+		assertEquals(n, sampler.getSegments());
+		double[] samples = new double[COUNT];
+		sampler.sample(samples, new PcgRSFast(0, 0));
+		double[] x = { 0.01, 0.1, 0.5, 1, 2, 4 };
+		double[] expected = new double[x.length];
+		for (int i = 0; i < x.length; i++) {
+			expected[i] = 1 - Math.exp(-x[i]);
+		}
+		// The interpolation error between the quantiles is below 1e-4
+		Arrays.sort(samples);
+		for (int i = 0; i < x.length; i++) {
+			int index = Arrays.binarySearch(samples, x[i]);
+			double actual = (index < 0 ? -index - 1 : index) / (double) COUNT;
+			assertEquals(expected[i], actual, 5 * Math.sqrt(expected[i] * (1 - expected[i]) / COUNT) + 1e-4);
+		}
+	}
+
+	@Test
+	void pointMass() {
+		EmpiricalSampler sampler = EmpiricalSampler.ofQuantiles(new double[] { 0, 5, 5, 10 });
+		double[] samples = new double[COUNT];
+		sampler.sample(samples, new PcgRSFast(0, 0));
+		int atoms = 0;
+		for (double sample : samples) {
+			if (sample == 5) {
+				atoms++;
+			}
+		}
+		double expected = COUNT / 3d;
+		assertEquals(expected, atoms, 5 * Math.sqrt(expected * 2 / 3));
+	}
+
+	@Test
+	void singleBin() {
+		EmpiricalSampler sampler = EmpiricalSampler.ofHistogram(new double[] { 2, 3 }, new double[] { 7 });
+		double[] samples = new double[COUNT];
+		sampler.sample(samples, new PcgRSFast(0, 0));
+		assertDistribution(samples, new double[] { 2.1, 2.5, 2.9 }, new double[] { 0.1, 0.5, 0.9 });
+	}
+
+	@Test
+	void tinyProbabilitiesAreDropped() {
+		EmpiricalSampler sampler = EmpiricalSampler.ofHistogram(new double[] { 0, 1, 2, 3 },
+				new double[] { 1, 1e-12, 1 });
+		assertEquals(2, sampler.getSegments());
+	}
+
+	@Test
+	void compactCloseToDouble() {
+		double[] quantiles = { 1, 2, 3.5, 7, 100, 1000 };
+		EmpiricalSampler sampler = EmpiricalSampler.ofQuantiles(quantiles);
+		EmpiricalSampler compact = EmpiricalSampler.ofQuantiles(quantiles, true);
+		double[] values = new double[1000];
+		double[] compactValues = new double[1000];
+		sampler.sample(values, new PcgRSFast(0, 0));
+		compact.sample(compactValues, new PcgRSFast(0, 0));
+		for (int i = 0; i < values.length; i++) {
+			assertEquals(values[i], compactValues[i], Math.abs(values[i]) * 1e-6);
+		}
+	}
+
+	@Test
+	void bulkEqualsSingle() {
+		EmpiricalSampler sampler = EmpiricalSampler.ofHistogram(new double[] { 0, 1, 5, 6 },
+				new double[] { 3, 1, 2 });
+		Pcg rng = new PcgRSFast(0, 0);
+		double[] expected = new double[1000];
+		float[] expectedFloat = new float[1000];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = sampler.sample(rng);
+			expectedFloat[i] = (float) expected[i];
+		}
+		double[] actual = new double[1000];
+		sampler.sample(actual, 0, 10, new PcgRSFast(0, 0));
+		Pcg bulk = new PcgRSFast(0, 0);
+		sampler.sample(actual, bulk);
+		assertArrayEquals(expected, actual);
+		float[] actualFloat = new float[1000];
+		sampler.sample(actualFloat, 0, actualFloat.length, new PcgRSFast(0, 0));
+		assertArrayEquals(expectedFloat, actualFloat);
+	}
+
+	@Test
+	void invalidArguments() {
+		assertThrows(IllegalArgumentException.class,
+				() -> EmpiricalSampler.ofHistogram(new double[] { 0, 1 }, new double[] { 1, 1 }));
+		assertThrows(IllegalArgumentException.class,
+				() -> EmpiricalSampler.ofHistogram(new double[] { 0 }, new double[0]));
+		assertThrows(IllegalArgumentException.class,
+				() -> EmpiricalSampler.ofHistogram(new double[] { 0, 1 }, new double[] { 0 }));
+		assertThrows(IllegalArgumentException.class,
+				() -> EmpiricalSampler.ofHistogram(new double[] { 0, 1, 2 }, new double[] { -1, 2 }));
+		assertThrows(IllegalArgumentException.class,
+				() -> EmpiricalSampler.ofHistogram(new double[] { 1, 0 }, new double[] { 1 }));
+		assertThrows(IllegalArgumentException.class, () -> EmpiricalSampler.ofQuantiles(new double[] { 1 }));
+		assertThrows(IllegalArgumentException.class,
+				() -> EmpiricalSampler.ofQuantiles(new double[] { 0, Double.NaN }));
+		assertThrows(IllegalArgumentException.class,
+				() -> EmpiricalSampler.ofQuantiles(new double[] { 0, Double.POSITIVE_INFINITY }));
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.github.kilianB.pcg.sampler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class ExponentialSamplerTest {
+
+	private static final int COUNT = 1_000_000;
+
+	@Test
+	void cumulativeDistribution() {
+		Pcg rng = new PcgRSFast(0, 0);
+		double[] samples = new double[COUNT];
+		new ExponentialSampler().sample(samples, rng);
+		Arrays.sort(samples);
+
+		assertTrue(samples[0] >= 0);
+		// Beyond the base layer of the ziggurat
+		assertTrue(samples[COUNT - 1] > 7.697117470131487);
+
+		for (double x : new double[] { 0.01, 0.1, 0.5, 1, 2, 4, 8 }) {
+			double expected = 1 - Math.exp(-x);
+			int index = Arrays.binarySearch(samples, x);
+			double actual = (index < 0 ? -index - 1 : index) / (double) COUNT;
+			double tolerance = 5 * Math.sqrt(expected * (1 - expected) / COUNT);
+			assertEquals(expected, actual, tolerance, "x = " + x);
+		}
+	}
+
+	@Test
+	void mean() {
+		ExponentialSampler sampler = new ExponentialSampler(3);
+		Pcg rng = new PcgRSFast(0, 0);
+		double sum = 0;
+		for (int i = 0; i < COUNT; i++) {
+			sum += sampler.sample(rng);
+		}
+		// Standard deviation equals the mean
+		assertEquals(3, sum / COUNT, 5 * 3 / Math.sqrt(COUNT));
+	}
+
+	@Test
+	void bulkSameAsSingle() {
+		ExponentialSampler sampler = new ExponentialSampler(3);
+		Pcg rng = new PcgRSFast(0, 0);
+		double[] expected = new double[1000];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = sampler.sample(rng);
+		}
+		double[] bulk = new double[1000];
+		sampler.sample(bulk, new PcgRSFast(0, 0));
+		assertArrayEquals(expected, bulk);
+	}
+
+	@Test
+	void invalidMean() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new ExponentialSampler(0);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new ExponentialSampler(Double.POSITIVE_INFINITY);
+		});
+	}
+
+}
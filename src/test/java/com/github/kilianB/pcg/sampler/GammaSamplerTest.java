@@ -0,0 +1,52 @@
+package com.github.kilianB.pcg.sampler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class GammaSamplerTest {
+
+	private static final int COUNT = 200_000;
+
+	@ParameterizedTest
+	@CsvSource({ "0.1, 1", "0.5, 2", "1, 1", "2.5, 0.5", "100, 3" })
+	void meanAndVariance(double shape, double scale) {
+		GammaSampler sampler = new GammaSampler(shape, scale);
+		Pcg rng = new PcgRSFast(0, 0);
+		double sum = 0;
+		double sumSq = 0;
+		for (int i = 0; i < COUNT; i++) {
+			double x = sampler.sample(rng);
+			assertTrue(x >= 0);
+			sum += x;
+			sumSq += x * x;
+		}
+		double mean = shape * scale;
+		double variance = shape * scale * scale;
+		double m = sum / COUNT;
+		assertEquals(mean, m, 5 * Math.sqrt(variance / COUNT));
+		assertEquals(variance, sumSq / COUNT - m * m, 0.05 * variance);
+	}
+
+	@Test
+	void invalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new GammaSampler(0, 1);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new GammaSampler(1, -1);
+		});
+	}
+
+}
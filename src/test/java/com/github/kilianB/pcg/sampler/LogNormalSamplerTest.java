@@ -0,0 +1,58 @@
+package com.github.kilianB.pcg.sampler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class LogNormalSamplerTest {
+
+	private static final int COUNT = 200_000;
+
+	@Test
+	void logarithmIsNormal() {
+		LogNormalSampler sampler = new LogNormalSampler(1, 0.5);
+		Pcg rng = new PcgRSFast(0, 0);
+		double[] samples = new double[COUNT];
+		sampler.sample(samples, rng);
+
+		double sum = 0;
+		double sumSq = 0;
+		for (double x : samples) {
+			double log = Math.log(x);
+			sum += log;
+			sumSq += log * log;
+		}
+		double m = sum / COUNT;
+		assertEquals(1, m, 5 * 0.5 / Math.sqrt(COUNT));
+		assertEquals(0.25, sumSq / COUNT - m * m, 0.01);
+	}
+
+	@Test
+	void sameAsNormal() {
+		LogNormalSampler sampler = new LogNormalSampler(1, 0.5);
+		Pcg rng = new PcgRSFast(0, 0);
+		Pcg reference = new PcgRSFast(0, 0);
+		for (int i = 0; i < 100; i++) {
+			assertEquals(Math.exp(1 + 0.5 * reference.nextGaussian()), sampler.sample(rng));
+		}
+	}
+
+	@Test
+	void invalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new LogNormalSampler(0, 0);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new LogNormalSampler(Double.NaN, 1);
+		});
+	}
+
+}
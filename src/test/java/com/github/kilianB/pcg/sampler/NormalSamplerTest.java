@@ -0,0 +1,114 @@
+package com.github.kilianB.pcg.sampler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * Compare the empirical distribution of the ziggurat against the cumulative
+ * distribution function of the standard normal distribution.
+ *
+ * @author Kilian
+ *
+ */
+class NormalSamplerTest {
+
+	private static final int COUNT = 1_000_000;
+
+	/** Sorted standard normal samples */
+	private static double[] samples;
+
+	@BeforeAll
+	static void sample() {
+		Pcg rng = new PcgRSFast(0, 0);
+		samples = new double[COUNT];
+		for (int i = 0; i < COUNT; i++) {
+			samples[i] = NormalSampler.standard(rng);
+		}
+		Arrays.sort(samples);
+	}
+
+	@Test
+	void cumulativeDistribution() {
+		// x and phi(x)
+		double[][] phi = { { -4.0, 3.167124183311992e-05 }, { -3.0, 0.0013498980316301 },
+				{ -2.0, 0.0227501319481792 }, { -1.0, 0.158655253931457 }, { -0.5, 0.308537538725987 },
+				{ 0.0, 0.5 }, { 0.5, 0.691462461274013 }, { 1.0, 0.841344746068543 }, { 2.0, 0.977249868051821 },
+				{ 3.0, 0.998650101968370 }, { 4.0, 0.999968328758167 } };
+
+		for (double[] p : phi) {
+			double expected = p[1];
+			double actual = cdf(p[0]);
+			// 5 standard deviations of the binomial estimate
+			double tolerance = 5 * Math.sqrt(expected * (1 - expected) / COUNT);
+			assertEquals(expected, actual, tolerance, "x = " + p[0]);
+		}
+	}
+
+	@Test
+	void moments() {
+		double sum = 0;
+		double sumSq = 0;
+		for (double d : samples) {
+			sum += d;
+			sumSq += d * d;
+		}
+		double mean = sum / COUNT;
+		double variance = sumSq / COUNT - mean * mean;
+		assertEquals(0, mean, 5 / Math.sqrt(COUNT));
+		assertEquals(1, variance, 5 * Math.sqrt(2d / COUNT));
+	}
+
+	@Test
+	void tailReached() {
+		// Beyond the base layer of the ziggurat
+		assertTrue(samples[0] < -3.6541528853610088);
+		assertTrue(samples[COUNT - 1] > 3.6541528853610088);
+	}
+
+	@Test
+	void meanAndStandardDeviation() {
+		NormalSampler sampler = new NormalSampler(10, 2);
+		Pcg rng = new PcgRSFast(0, 0);
+		Pcg reference = new PcgRSFast(0, 0);
+		for (int i = 0; i < 100; i++) {
+			assertEquals(10 + 2 * NormalSampler.standard(reference), sampler.sample(rng));
+		}
+	}
+
+	@Test
+	void sameAsGenerator() {
+		Pcg rng = new PcgRSFast(0, 0);
+		Pcg reference = new PcgRSFast(0, 0);
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(reference.nextGaussian(), NormalSampler.standard(rng));
+		}
+	}
+
+	@Test
+	void invalidStandardDeviation() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new NormalSampler(0, 0);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new NormalSampler(0, Double.NaN);
+		});
+	}
+
+	private static double cdf(double x) {
+		int index = Arrays.binarySearch(samples, x);
+		if (index < 0) {
+			index = -index - 1;
+		}
+		return index / (double) COUNT;
+	}
+
+}
@@ -0,0 +1,392 @@
+package com.github.kilianB.pcg.sampler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class PointSamplerTest {
+
+	private static final int COUNT = 200_000;
+
+	private static final int BINS = 32;
+
+	/**
+	 * Assert that the values in [0, 1) are uniformly distributed over equally
+	 * sized bins
+	 */
+	private static void assertUniform(double[] values) {
+		int[] counts = new int[BINS];
+		for (double value : values) {
+			assertTrue(value >= 0 && value < 1, "Out of range " + value);
+			counts[(int) (value * BINS)]++;
+		}
+		double p = 1d / BINS;
+		double expected = values.length * p;
+		for (int count : counts) {
+			assertEquals(expected, count, 5 * Math.sqrt(expected * (1 - p)));
+		}
+	}
+
+	/** Map the angle of the point to [0, 1) */
+	private static double angle(double x, double y) {
+		double a = (Math.atan2(y, x) / (2 * Math.PI)) + 0.5;
+		return a == 1 ? 0 : a;
+	}
+
+	@Nested
+	class Circle {
+
+		@Test
+		void unitLength() {
+			double[] xy = new double[2 * COUNT];
+			PointSampler.onCircle(xy, 0, xy.length, new PcgRSFast(0, 0));
+			for (int i = 0; i < xy.length; i += 2) {
+				assertEquals(1, Math.hypot(xy[i], xy[i + 1]), 1e-15);
+			}
+		}
+
+		@Test
+		void uniformAngle() {
+			double[] xy = new double[2 * COUNT];
+			PointSampler.onCircle(xy, 0, xy.length, new PcgRSFast(0, 0));
+			double[] angles = new double[COUNT];
+			for (int i = 0; i < COUNT; i++) {
+				angles[i] = angle(xy[2 * i], xy[2 * i + 1]);
+			}
+			assertUniform(angles);
+		}
+
+		@Test
+		void uniformAngleFloat() {
+			float[] xy = new float[2 * COUNT];
+			PointSampler.onCircle(xy, 0, xy.length, new PcgRSFast(0, 0));
+			double[] angles = new double[COUNT];
+			for (int i = 0; i < COUNT; i++) {
+				assertEquals(1, Math.hypot(xy[2 * i], xy[2 * i + 1]), 1e-6);
+				angles[i] = angle(xy[2 * i], xy[2 * i + 1]);
+			}
+			assertUniform(angles);
+		}
+
+		@Test
+		void soaEqualsInterleaved() {
+			double[] xy = new double[200];
+			double[] x = new double[100];
+			double[] y = new double[100];
+			PointSampler.onCircle(xy, 0, xy.length, new PcgRSFast(0, 0));
+			PointSampler.onCircle(x, y, 0, x.length, new PcgRSFast(0, 0));
+			for (int i = 0; i < x.length; i++) {
+				assertEquals(xy[2 * i], x[i]);
+				assertEquals(xy[2 * i + 1], y[i]);
+			}
+
+			float[] xyF = new float[200];
+			float[] xF = new float[100];
+			float[] yF = new float[100];
+			PointSampler.onCircle(xyF, 0, xyF.length, new PcgRSFast(0, 0));
+			PointSampler.onCircle(xF, yF, 0, xF.length, new PcgRSFast(0, 0));
+			for (int i = 0; i < xF.length; i++) {
+				assertEquals(xyF[2 * i], xF[i]);
+				assertEquals(xyF[2 * i + 1], yF[i]);
+			}
+		}
+	}
+
+	@Nested
+	class Disc {
+
+		@Test
+		void uniformArea() {
+			double[] xy = new double[2 * COUNT];
+			PointSampler.inDisc(xy, 0, xy.length, new PcgRSFast(0, 0));
+			double[] radii = new double[COUNT];
+			double[] angles = new double[COUNT];
+			for (int i = 0; i < COUNT; i++) {
+				double x = xy[2 * i];
+				double y = xy[2 * i + 1];
+				// The area within radius r grows with r^2
+				radii[i] = x * x + y * y;
+				angles[i] = angle(x, y);
+			}
+			assertUniform(radii);
+			assertUniform(angles);
+		}
+
+		@Test
+		void uniformAreaFloat() {
+			float[] x = new float[COUNT];
+			float[] y = new float[COUNT];
+			PointSampler.inDisc(x, y, 0, COUNT, new PcgRSFast(0, 0));
+			double[] radii = new double[COUNT];
+			for (int i = 0; i < COUNT; i++) {
+				radii[i] = x[i] * x[i] + y[i] * y[i];
+			}
+			assertUniform(radii);
+		}
+
+		@Test
+		void soaEqualsInterleaved() {
+			double[] xy = new double[200];
+			double[] x = new double[100];
+			double[] y = new double[100];
+			PointSampler.inDisc(xy, 0, xy.length, new PcgRSFast(0, 0));
+			PointSampler.inDisc(x, y, 0, x.length, new PcgRSFast(0, 0));
+			for (int i = 0; i < x.length; i++) {
+				assertEquals(xy[2 * i], x[i]);
+				assertEquals(xy[2 * i + 1], y[i]);
+			}
+		}
+	}
+
+	@Nested
+	class Sphere {
+
+		@Test
+		void uniformSurface() {
+			double[] xyz = new double[3 * COUNT];
+			PointSampler.onSphere(xyz, 0, xyz.length, new PcgRSFast(0, 0));
+			double[][] coordinates = new double[3][COUNT];
+			for (int i = 0; i < COUNT; i++) {
+				double x = xyz[3 * i];
+				double y = xyz[3 * i + 1];
+				double z = xyz[3 * i + 2];
+				assertEquals(1, Math.sqrt(x * x + y * y + z * z), 1e-15);
+				// Archimedes: each coordinate is uniformly distributed in [-1, 1]
+				coordinates[0][i] = Math.min((x + 1) / 2, Math.nextDown(1d));
+				coordinates[1][i] = Math.min((y + 1) / 2, Math.nextDown(1d));
+				coordinates[2][i] = Math.min((z + 1) / 2, Math.nextDown(1d));
+			}
+			for (double[] c : coordinates) {
+				assertUniform(c);
+			}
+		}
+
+		@Test
+		void uniformSurfaceFloat() {
+			float[] x = new float[COUNT];
+			float[] y = new float[COUNT];
+			float[] z = new float[COUNT];
+			PointSampler.onSphere(x, y, z, 0, COUNT, new PcgRSFast(0, 0));
+			double[] heights = new double[COUNT];
+			for (int i = 0; i < COUNT; i++) {
+				assertEquals(1, Math.sqrt(x[i] * x[i] + y[i] * y[i] + z[i] * z[i]), 1e-6);
+				heights[i] = Math.min((x[i] + 1) / 2d, Math.nextDown(1d));
+			}
+			assertUniform(heights);
+		}
+
+		@Test
+		void soaEqualsInterleaved() {
+			float[] xyz = new float[300];
+			float[] x = new float[100];
+			float[] y = new float[100];
+			float[] z = new float[100];
+			PointSampler.onSphere(xyz, 0, xyz.length, new PcgRSFast(0, 0));
+			PointSampler.onSphere(x, y, z, 0, x.length, new PcgRSFast(0, 0));
+			for (int i = 0; i < x.length; i++) {
+				assertEquals(xyz[3 * i], x[i]);
+				assertEquals(xyz[3 * i + 1], y[i]);
+				assertEquals(xyz[3 * i + 2], z[i]);
+			}
+		}
+	}
+
+	@Nested
+	class Ball {
+
+		@Test
+		void uniformVolume() {
+			double[] x = new double[COUNT];
+			double[] y = new double[COUNT];
+			double[] z = new double[COUNT];
+			PointSampler.inBall(x, y, z, 0, COUNT, new PcgRSFast(0, 0));
+			double[] radii = new double[COUNT];
+			for (int i = 0; i < COUNT; i++) {
+				// The volume within radius r grows with r^3
+				radii[i] = Math.pow(x[i] * x[i] + y[i] * y[i] + z[i] * z[i], 1.5);
+			}
+			assertUniform(radii);
+		}
+
+		@Test
+		void uniformVolumeFloat() {
+			float[] xyz = new float[3 * COUNT];
+			PointSampler.inBall(xyz, 0, xyz.length, new PcgRSFast(0, 0));
+			double[] radii = new double[COUNT];
+			double[] heights = new double[COUNT];
+			for (int i = 0; i < COUNT; i++) {
+				double x = xyz[3 * i];
+				double y = xyz[3 * i + 1];
+				double z = xyz[3 * i + 2];
+				radii[i] = Math.pow(x * x + y * y + z * z, 1.5);
+				// Fraction of the volume of the ball below z
+				heights[i] = (2 + 3 * z - z * z * z) / 4;
+			}
+			assertUniform(radii);
+			assertUniform(heights);
+		}
+
+		@Test
+		void soaEqualsInterleaved() {
+			double[] xyz = new double[300];
+			double[] x = new double[100];
+			double[] y = new double[100];
+			double[] z = new double[100];
+			PointSampler.inBall(xyz, 0, xyz.length, new PcgRSFast(0, 0));
+			PointSampler.inBall(x, y, z, 0, x.length, new PcgRSFast(0, 0));
+			for (int i = 0; i < x.length; i++) {
+				assertEquals(xyz[3 * i], x[i]);
+				assertEquals(xyz[3 * i + 1], y[i]);
+				assertEquals(xyz[3 * i + 2], z[i]);
+			}
+		}
+	}
+
+	@Nested
+	class Triangle {
+
+		@Test
+		void uniformArea() {
+			// Right triangle, the midpoints split it into 4 triangles of equal area
+			double[] xy = new double[2 * COUNT];
+			PointSampler.inTriangle(xy, 0, xy.length, new double[] { 0, 0 }, new double[] { 1, 0 },
+					new double[] { 0, 1 }, new PcgRSFast(0, 0));
+			int[] counts = new int[4];
+			for (int i = 0; i < xy.length; i += 2) {
+				double x = xy[i];
+				double y = xy[i + 1];
+				assertTrue(x >= 0 && y >= 0 && x + y <= 1);
+				if (x >= 0.5) {
+					counts[0]++;
+				} else if (y >= 0.5) {
+					counts[1]++;
+				} else if (x + y <= 0.5) {
+					counts[2]++;
+				} else {
+					counts[3]++;
+				}
+			}
+			double expected = COUNT / 4d;
+			for (int count : counts) {
+				assertEquals(expected, count, 5 * Math.sqrt(expected * 0.75));
+			}
+		}
+
+		@Test
+		void centroid() {
+			double[] a = { 1, 2, 3 };
+			double[] b = { -4, 0, 2 };
+			double[] c = { 0, 5, -1 };
+			double[] xyz = new double[3 * COUNT];
+			PointSampler.inTriangle(xyz, 0, xyz.length, a, b, c, new PcgRSFast(0, 0));
+			double[] sum = new double[3];
+			for (int i = 0; i < xyz.length; i++) {
+				sum[i % 3] += xyz[i];
+			}
+			for (int d = 0; d < 3; d++) {
+				assertEquals((a[d] + b[d] + c[d]) / 3, sum[d] / COUNT, 0.02);
+			}
+		}
+
+		@Test
+		void centroidFloat() {
+			float[] a = { 1, 2 };
+			float[] b = { -4, 0 };
+			float[] c = { 0, 5 };
+			float[] xy = new float[2 * COUNT];
+			PointSampler.inTriangle(xy, 0, xy.length, a, b, c, new PcgRSFast(0, 0));
+			double[] sum = new double[2];
+			for (int i = 0; i < xy.length; i++) {
+				sum[i % 2] += xy[i];
+			}
+			for (int d = 0; d < 2; d++) {
+				assertEquals((a[d] + b[d] + c[d]) / 3d, sum[d] / COUNT, 0.02);
+			}
+		}
+	}
+
+	@Nested
+	class Simplex {
+
+		@ParameterizedTest
+		@ValueSource(ints = { 1, 2, 3, 10 })
+		void marginal(int dimension) {
+			double[] points = new double[dimension * COUNT];
+			PointSampler.onSimplex(points, 0, points.length, dimension, new PcgRSFast(0, 0));
+			double[] transformed = new double[COUNT];
+			for (int i = 0; i < COUNT; i++) {
+				double sum = 0;
+				for (int d = 0; d < dimension; d++) {
+					double x = points[i * dimension + d];
+					assertTrue(x >= 0);
+					sum += x;
+				}
+				assertEquals(1, sum, 1e-12);
+				// Each component is Beta(1, dimension - 1) distributed
+				double x = points[i * dimension + i % dimension];
+				transformed[i] = dimension == 1 ? 0 : 1 - Math.pow(1 - x, dimension - 1);
+			}
+			if (dimension > 1) {
+				assertUniform(transformed);
+			}
+		}
+
+		@Test
+		void floatMatchesDouble() {
+			double[] points = new double[300];
+			float[] pointsF = new float[300];
+			PointSampler.onSimplex(points, 0, points.length, 3, new PcgRSFast(0, 0));
+			PointSampler.onSimplex(pointsF, 0, pointsF.length, 3, new PcgRSFast(0, 0));
+			for (int i = 0; i < points.length; i++) {
+				assertEquals((float) points[i], pointsF[i]);
+			}
+		}
+	}
+
+	@Test
+	void rangeOnly() {
+		double[] xy = new double[10];
+		PointSampler.onCircle(xy, 2, 8, new PcgRSFast(0, 0));
+		assertEquals(0, xy[0]);
+		assertEquals(0, xy[1]);
+		assertEquals(0, xy[8]);
+		assertEquals(0, xy[9]);
+		assertEquals(1, Math.hypot(xy[2], xy[3]), 1e-15);
+
+		float[] x = new float[5];
+		float[] y = new float[5];
+		float[] z = new float[5];
+		PointSampler.inBall(x, y, z, 1, 4, new PcgRSFast(0, 0));
+		assertArrayEquals(new float[] { 0, 0 }, new float[] { x[0], x[4] });
+		assertTrue(x[1] != 0 && y[2] != 0 && z[3] != 0);
+	}
+
+	@Test
+	void invalidArguments() {
+		Pcg rng = new PcgRSFast(0, 0);
+		assertThrows(IllegalArgumentException.class, () -> PointSampler.onCircle(new double[3], 0, 3, rng));
+		assertThrows(IllegalArgumentException.class, () -> PointSampler.inDisc(new float[4], 1, 4, rng));
+		assertThrows(IllegalArgumentException.class, () -> PointSampler.onSphere(new double[4], 0, 4, rng));
+		assertThrows(IllegalArgumentException.class, () -> PointSampler.inBall(new float[6], 0, 5, rng));
+		assertThrows(IllegalArgumentException.class, () -> PointSampler.inTriangle(new double[4], 0, 4,
+				new double[2], new double[3], new double[2], rng));
+		assertThrows(IllegalArgumentException.class, () -> PointSampler.inTriangle(new float[4], 0, 4,
+				new float[0], new float[0], new float[0], rng));
+		assertThrows(IllegalArgumentException.class, () -> PointSampler.onSimplex(new double[4], 0, 4, 0, rng));
+		assertThrows(IllegalArgumentException.class, () -> PointSampler.onSimplex(new float[4], 0, 4, 3, rng));
+	}
+
+}
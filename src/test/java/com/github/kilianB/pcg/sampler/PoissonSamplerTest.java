@@ -0,0 +1,82 @@
+package com.github.kilianB.pcg.sampler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class PoissonSamplerTest {
+
+	private static final int COUNT = 200_000;
+
+	@ParameterizedTest
+	@ValueSource(doubles = { 0.5, 3, 9.9, 10, 50, 1e6 })
+	void meanAndVariance(double mean) {
+		PoissonSampler sampler = new PoissonSampler(mean);
+		Pcg rng = new PcgRSFast(0, 0);
+		double sum = 0;
+		double sumSq = 0;
+		for (int i = 0; i < COUNT; i++) {
+			double k = sampler.sample(rng);
+			sum += k;
+			sumSq += k * k;
+		}
+		double m = sum / COUNT;
+		double variance = sumSq / COUNT - m * m;
+		assertEquals(mean, m, 5 * Math.sqrt(mean / COUNT));
+		assertEquals(mean, variance, 0.02 * mean);
+	}
+
+	@ParameterizedTest
+	@ValueSource(doubles = { 4, 50 })
+	void probabilityMass(double mean) {
+		PoissonSampler sampler = new PoissonSampler(mean);
+		Pcg rng = new PcgRSFast(0, 0);
+		int[] histogram = new int[(int) (mean * 4)];
+		for (int i = 0; i < COUNT; i++) {
+			int k = sampler.sample(rng);
+			if (k < histogram.length) {
+				histogram[k]++;
+			}
+		}
+		for (int k = 0; k < histogram.length; k++) {
+			double expected = Math.exp(k * Math.log(mean) - mean - SamplerMath.logFactorial(k));
+			double tolerance = 5 * Math.sqrt(expected * (1 - expected) / COUNT) + 1e-5;
+			assertEquals(expected, histogram[k] / (double) COUNT, tolerance, "k = " + k);
+		}
+	}
+
+	@Test
+	void bulkSameAsSingle() {
+		PoissonSampler sampler = new PoissonSampler(50);
+		Pcg rng = new PcgRSFast(0, 0);
+		int[] expected = new int[1000];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = sampler.sample(rng);
+		}
+		int[] bulk = new int[1000];
+		sampler.sample(bulk, new PcgRSFast(0, 0));
+		assertArrayEquals(expected, bulk);
+	}
+
+	@Test
+	void invalidMean() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new PoissonSampler(0);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new PoissonSampler(Integer.MAX_VALUE);
+		});
+	}
+
+}
@@ -0,0 +1,64 @@
+package com.github.kilianB.pcg.sampler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class ZipfSamplerTest {
+
+	private static final int COUNT = 200_000;
+
+	@ParameterizedTest
+	@CsvSource({ "1, 1", "10, 0.5", "10, 1", "50, 1.2", "100, 3" })
+	void probabilityMass(int n, double exponent) {
+		ZipfSampler sampler = new ZipfSampler(n, exponent);
+		Pcg rng = new PcgRSFast(0, 0);
+		int[] histogram = new int[n + 1];
+		for (int i = 0; i < COUNT; i++) {
+			histogram[sampler.sample(rng)]++;
+		}
+		assertEquals(0, histogram[0]);
+
+		double normalization = 0;
+		for (int k = 1; k <= n; k++) {
+			normalization += Math.pow(k, -exponent);
+		}
+		for (int k = 1; k <= n; k++) {
+			double expected = Math.pow(k, -exponent) / normalization;
+			double tolerance = 5 * Math.sqrt(expected * (1 - expected) / COUNT) + 1e-5;
+			assertEquals(expected, histogram[k] / (double) COUNT, tolerance, "k = " + k);
+		}
+	}
+
+	@Test
+	void largeRange() {
+		ZipfSampler sampler = new ZipfSampler(Integer.MAX_VALUE, 1.01);
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int i = 0; i < COUNT; i++) {
+			int k = sampler.sample(rng);
+			assertTrue(k >= 1);
+		}
+	}
+
+	@Test
+	void invalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new ZipfSampler(0, 1);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new ZipfSampler(10, 0);
+		});
+	}
+
+}
@@ -0,0 +1,142 @@
+package com.github.kilianB.pcg.shuffle;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class ParallelShuffleTest {
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, 2, 1000, ParallelShuffle.LEAF_SIZE + 1, 300_000 })
+	void isPermutation(int n) {
+		int[] array = IntStream.range(0, n).toArray();
+		ParallelShuffle.shuffle(array, new PcgRSFast(0, 0));
+		int[] sorted = array.clone();
+		Arrays.sort(sorted);
+		assertArrayEquals(IntStream.range(0, n).toArray(), sorted);
+	}
+
+	@Test
+	void independentOfParallelism() {
+		int n = 500_000;
+		long[] expected = new long[n];
+		long[] actual = new long[n];
+		for (int i = 0; i < n; i++) {
+			expected[i] = i;
+			actual[i] = i;
+		}
+		ForkJoinPool single = new ForkJoinPool(1);
+		ForkJoinPool multiple = new ForkJoinPool(4);
+		try {
+			ParallelShuffle.shuffle(expected, new PcgRSFast(5, 6), single);
+			ParallelShuffle.shuffle(actual, new PcgRSFast(5, 6), multiple);
+		} finally {
+			single.shutdown();
+			multiple.shutdown();
+		}
+		assertArrayEquals(expected, actual);
+	}
+
+	@Test
+	void uniformPermutations() {
+		// Leaves of a single element. All permutations are produced by merges
+		int reps = 120_000;
+		int[] counts = new int[1 << 15];
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int i = 0; i < reps; i++) {
+			int[] array = { 0, 1, 2, 3, 4 };
+			ParallelShuffle.shuffle(array, array.length, rng, ForkJoinPool.commonPool(), 1);
+			counts[array[0] | array[1] << 3 | array[2] << 6 | array[3] << 9 | array[4] << 12]++;
+		}
+		int distinct = 0;
+		for (int c : counts) {
+			if (c != 0) {
+				distinct++;
+				assertEquals(reps / 120d, c, 5 * Math.sqrt(reps / 120d));
+			}
+		}
+		assertEquals(120, distinct);
+	}
+
+	@Test
+	void mergeUnevenBlocks() {
+		// Shuffled blocks of 1 and 3 elements have to merge into uniform permutations
+		int reps = 240_000;
+		int[] counts = new int[256];
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int i = 0; i < reps; i++) {
+			int[] array = { 0, 1, 2, 3 };
+			Shuffle.shuffle(array, 1, 4, rng);
+			ParallelShuffle.merge(array, 0, 1, 4, rng);
+			counts[array[0] | array[1] << 2 | array[2] << 4 | array[3] << 6]++;
+		}
+		int distinct = 0;
+		for (int c : counts) {
+			if (c != 0) {
+				distinct++;
+				assertEquals(reps / 24d, c, 5 * Math.sqrt(reps / 24d));
+			}
+		}
+		assertEquals(24, distinct);
+	}
+
+	@Test
+	void deterministic() {
+		int n = 200_000;
+		long[] a = new long[n];
+		double[] b = new double[n];
+		int[] c = new int[n];
+		for (int i = 0; i < n; i++) {
+			a[i] = i;
+			b[i] = i;
+			c[i] = i;
+		}
+		ParallelShuffle.shuffle(a, new PcgRSFast(3, 4));
+		ParallelShuffle.shuffle(b, new PcgRSFast(3, 4));
+		ParallelShuffle.shuffle(c, new PcgRSFast(3, 4));
+		for (int i = 0; i < n; i++) {
+			assertEquals(a[i], (long) b[i]);
+			assertEquals(a[i], c[i]);
+		}
+	}
+
+	@Test
+	void advancesGenerator() {
+		PcgRSFast rng = new PcgRSFast(0, 0);
+		ParallelShuffle.shuffle(new int[10], rng);
+		PcgRSFast expected = new PcgRSFast(0, 0);
+		expected.advance(1);
+		assertEquals(expected.nextLong(), rng.nextLong());
+	}
+
+	@Test
+	void distinctNodeStreams() {
+		Pcg rng = new PcgRSFast(0, 0);
+		Set<Long> increments = new HashSet<>();
+		Set<Long> states = new HashSet<>();
+		for (int node = 1; node < 1 << 16; node++) {
+			Pcg nodeRng = ParallelShuffle.nodeRng(rng, node);
+			increments.add(nodeRng.getInc());
+			states.add(nodeRng.getState());
+		}
+		assertEquals((1 << 16) - 1, increments.size());
+		assertEquals((1 << 16) - 1, states.size());
+	}
+
+}
@@ -0,0 +1,135 @@
+package com.github.kilianB.pcg.shuffle;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class RandomPermutationTest {
+
+	@ParameterizedTest
+	@ValueSource(longs = { 1, 2, 3, 5, 1000, 1024, 1025, 12345, 1 << 18 })
+	void bijection(long n) {
+		RandomPermutation permutation = new RandomPermutation(n, new PcgRSFast(0, 0));
+		boolean[] hit = new boolean[(int) n];
+		for (long i = 0; i < n; i++) {
+			long value = permutation.map(i);
+			assertTrue(value >= 0 && value < n);
+			assertFalse(hit[(int) value], "Value mapped twice " + value);
+			hit[(int) value] = true;
+			assertEquals(i, permutation.inverse(value));
+		}
+	}
+
+	@Test
+	void hugeRange() {
+		long n = 1_000_000_000_000L;
+		RandomPermutation permutation = new RandomPermutation(n, new PcgRSFast(0, 0));
+		Pcg rng = new PcgRSFast(1, 1);
+		for (int i = 0; i < 10_000; i++) {
+			long index = rng.nextLong(n);
+			long value = permutation.map(index);
+			assertTrue(value >= 0 && value < n);
+			assertEquals(index, permutation.inverse(value));
+		}
+	}
+
+	@Test
+	void maxSize() {
+		RandomPermutation permutation = new RandomPermutation(RandomPermutation.MAX_SIZE, new PcgRSFast(0, 0));
+		long last = RandomPermutation.MAX_SIZE - 1;
+		assertEquals(last, permutation.inverse(permutation.map(last)));
+		assertEquals(0, permutation.inverse(permutation.map(0)));
+	}
+
+	@Test
+	void uniformPositions() {
+		// The first index has to be mapped to every value with equal probability
+		int n = 10;
+		int reps = 50_000;
+		int[] counts = new int[n];
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int i = 0; i < reps; i++) {
+			counts[(int) new RandomPermutation(n, rng).map(0)]++;
+		}
+		double expected = reps / (double) n;
+		for (int count : counts) {
+			assertEquals(expected, count, 5 * Math.sqrt(expected));
+		}
+	}
+
+	@Test
+	void bulkSameAsSingle() {
+		RandomPermutation permutation = new RandomPermutation(5000, new PcgRSFast(0, 0));
+		long[] expected = new long[1000];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = permutation.map(4000 + i);
+		}
+		long[] bulk = new long[1000];
+		permutation.map(4000, bulk);
+		assertArrayEquals(expected, bulk);
+	}
+
+	@Test
+	void iterator() {
+		RandomPermutation permutation = new RandomPermutation(100, new PcgRSFast(0, 0));
+		PrimitiveIterator.OfLong iter = permutation.iterator();
+		for (int i = 0; i < 100; i++) {
+			assertTrue(iter.hasNext());
+			assertEquals(permutation.map(i), iter.nextLong());
+		}
+		assertFalse(iter.hasNext());
+		assertThrows(NoSuchElementException.class, () -> {
+			iter.nextLong();
+		});
+	}
+
+	@Test
+	void deterministic() {
+		RandomPermutation a = new RandomPermutation(1 << 20, new PcgRSFast(3, 4));
+		RandomPermutation b = new RandomPermutation(1 << 20, new PcgRSFast(3, 4));
+		RandomPermutation c = new RandomPermutation(1 << 20, new PcgRSFast(3, 5));
+		boolean differs = false;
+		for (int i = 0; i < 100; i++) {
+			assertEquals(a.map(i), b.map(i));
+			differs |= a.map(i) != c.map(i);
+		}
+		assertTrue(differs);
+	}
+
+	@Test
+	void invalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new RandomPermutation(0, new PcgRSFast());
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new RandomPermutation(RandomPermutation.MAX_SIZE + 1, new PcgRSFast());
+		});
+		RandomPermutation permutation = new RandomPermutation(10, new PcgRSFast());
+		assertThrows(IndexOutOfBoundsException.class, () -> {
+			permutation.map(10);
+		});
+		assertThrows(IndexOutOfBoundsException.class, () -> {
+			permutation.inverse(-1);
+		});
+		assertThrows(IndexOutOfBoundsException.class, () -> {
+			permutation.map(5, new long[6]);
+		});
+	}
+
+}
@@ -0,0 +1,176 @@
+package com.github.kilianB.pcg.shuffle;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class ShuffleTest {
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, 2, 7, 1000, 5000, 100_000 })
+	void isPermutation(int n) {
+		int[] array = IntStream.range(0, n).toArray();
+		Shuffle.shuffle(array, new PcgRSFast(0, 0));
+		int[] sorted = array.clone();
+		Arrays.sort(sorted);
+		assertArrayEquals(IntStream.range(0, n).toArray(), sorted);
+	}
+
+	@Test
+	void uniformPermutations() {
+		// All 24 permutations of 4 elements have to be equally likely
+		int reps = 240_000;
+		int[] counts = new int[256];
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int i = 0; i < reps; i++) {
+			int[] array = { 0, 1, 2, 3 };
+			Shuffle.shuffle(array, rng);
+			counts[array[0] | array[1] << 2 | array[2] << 4 | array[3] << 6]++;
+		}
+		int distinct = 0;
+		for (int c : counts) {
+			if (c != 0) {
+				distinct++;
+				assertEquals(reps / 24d, c, 5 * Math.sqrt(reps / 24d));
+			}
+		}
+		assertEquals(24, distinct);
+	}
+
+	@Test
+	void uniformPositions() {
+		// Each element has to end up at every position with equal probability
+		int n = 50;
+		int reps = 50_000;
+		int[][] counts = new int[n][n];
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int i = 0; i < reps; i++) {
+			int[] array = IntStream.range(0, n).toArray();
+			Shuffle.shuffle(array, rng);
+			for (int pos = 0; pos < n; pos++) {
+				counts[array[pos]][pos]++;
+			}
+		}
+		double expected = reps / (double) n;
+		for (int e = 0; e < n; e++) {
+			for (int pos = 0; pos < n; pos++) {
+				assertEquals(expected, counts[e][pos], 5 * Math.sqrt(expected));
+			}
+		}
+	}
+
+	@Test
+	void deterministic() {
+		long[] a = new long[10_000];
+		double[] b = new double[a.length];
+		Integer[] c = new Integer[a.length];
+		int[] d = new int[a.length];
+		for (int i = 0; i < a.length; i++) {
+			a[i] = i;
+			b[i] = i;
+			c[i] = i;
+			d[i] = i;
+		}
+		Shuffle.shuffle(a, new PcgRSFast(3, 4));
+		Shuffle.shuffle(b, new PcgRSFast(3, 4));
+		Shuffle.shuffle(c, new PcgRSFast(3, 4));
+		Shuffle.shuffle(d, new PcgRSFast(3, 4));
+		for (int i = 0; i < a.length; i++) {
+			assertEquals(a[i], (long) b[i]);
+			assertEquals(a[i], (long) c[i]);
+			assertEquals(a[i], d[i]);
+		}
+	}
+
+	@Test
+	void range() {
+		int[] array = IntStream.range(0, 100).toArray();
+		Shuffle.shuffle(array, 10, 20, new PcgRSFast(0, 0));
+		for (int i = 0; i < 100; i++) {
+			if (i < 10 || i >= 20) {
+				assertEquals(i, array[i]);
+			} else {
+				assertTrue(array[i] >= 10 && array[i] < 20);
+			}
+		}
+	}
+
+	@Test
+	void list() {
+		List<Integer> expected = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+		Integer[] array = expected.toArray(new Integer[0]);
+		Shuffle.shuffle(array, new PcgRSFast(0, 0));
+
+		List<Integer> arrayList = new ArrayList<>(expected);
+		Shuffle.shuffle(arrayList, new PcgRSFast(0, 0));
+		List<Integer> linkedList = new LinkedList<>(expected);
+		Shuffle.shuffle(linkedList, new PcgRSFast(0, 0));
+
+		assertEquals(Arrays.asList(array), arrayList);
+		assertEquals(Arrays.asList(array), linkedList);
+	}
+
+	@Test
+	void rollPairBounds() {
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int k = 2; k <= Shuffle.MAX_PAIR_BOUND; k = k * 3 / 2 + 1) {
+			for (int i = 0; i < 1000; i++) {
+				long pair = Shuffle.rollPair(rng.nextInt() & 0xFFFFFFFFL, k);
+				if (pair >= 0) {
+					long first = pair >>> 32;
+					long second = pair & 0xFFFFFFFFL;
+					assertTrue(first < k, "k " + k + " first " + first);
+					assertTrue(second < k - 1, "k " + k + " second " + second);
+				}
+			}
+		}
+	}
+
+	@Test
+	void rollPairUniform() {
+		// Accepted words spread evenly over all combinations of both indices
+		int k = 7;
+		int[] histogram = new int[k * (k - 1)];
+		int accepted = 0;
+		for (long word = 0; word < (1L << 32); word += 1 << 8) {
+			long pair = Shuffle.rollPair(word, k);
+			if (pair >= 0) {
+				histogram[(int) (pair >>> 32) * (k - 1) + (int) pair]++;
+				accepted++;
+			}
+		}
+		for (int count : histogram) {
+			assertEquals(accepted / histogram.length, count, 2);
+		}
+	}
+
+	@Test
+	void invalidRange() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			Shuffle.shuffle(new int[10], 5, 4, new PcgRSFast());
+		});
+		assertThrows(ArrayIndexOutOfBoundsException.class, () -> {
+			Shuffle.shuffle(new int[10], 0, 11, new PcgRSFast());
+		});
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.github.kilianB.pcg.subset;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class DoubleReservoirSamplerTest {
+
+	@Test
+	void sameAsLongSampler() {
+		DoubleReservoirSampler doubles = new DoubleReservoirSampler(16, new PcgRSFast(1, 2));
+		LongReservoirSampler longs = new LongReservoirSampler(16, new PcgRSFast(1, 2));
+		double[] values = new double[10_000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = i;
+			longs.add(i);
+		}
+		doubles.add(values);
+		assertArrayEquals(longs.getSample(), Arrays.stream(doubles.getSample()).mapToLong(d -> (long) d).toArray());
+	}
+
+	@Test
+	void merge() {
+		DoubleReservoirSampler a = new DoubleReservoirSampler(3, new PcgRSFast(0, 0));
+		DoubleReservoirSampler b = new DoubleReservoirSampler(3, new PcgRSFast(0, 0));
+		a.add(1);
+		b.add(2);
+		a.merge(b);
+		double[] sample = a.getSample();
+		Arrays.sort(sample);
+		assertArrayEquals(new double[] { 1, 2 }, sample);
+		assertEquals(2, a.getCount());
+	}
+
+	@Test
+	void nonIntegralValues() {
+		double[] values = { 0.5, Math.PI, -2.75, 1e-300, Double.MAX_VALUE };
+		DoubleReservoirSampler a = new DoubleReservoirSampler(8, new PcgRSFast(0, 0));
+		DoubleReservoirSampler b = new DoubleReservoirSampler(8, new PcgRSFast(0, 0));
+		a.add(values, 1, 4);
+		b.add(values, 4, 5);
+		b.add(0.1);
+		a.merge(b);
+		double[] sample = a.getSample();
+		Arrays.sort(sample);
+		assertArrayEquals(new double[] { -2.75, 1e-300, 0.1, Math.PI, Double.MAX_VALUE }, sample);
+	}
+
+}
@@ -0,0 +1,44 @@
+package com.github.kilianB.pcg.subset;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class IntReservoirSamplerTest {
+
+	@Test
+	void sameAsLongSampler() {
+		IntReservoirSampler ints = new IntReservoirSampler(16, new PcgRSFast(1, 2));
+		LongReservoirSampler longs = new LongReservoirSampler(16, new PcgRSFast(1, 2));
+		int[] values = new int[10_000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = i;
+			longs.add(i);
+		}
+		ints.add(values);
+		assertArrayEquals(longs.getSample(), Arrays.stream(ints.getSample()).asLongStream().toArray());
+	}
+
+	@Test
+	void merge() {
+		IntReservoirSampler a = new IntReservoirSampler(3, new PcgRSFast(0, 0));
+		IntReservoirSampler b = new IntReservoirSampler(3, new PcgRSFast(0, 0));
+		a.add(1);
+		b.add(2);
+		a.merge(b);
+		int[] sample = a.getSample();
+		Arrays.sort(sample);
+		assertArrayEquals(new int[] { 1, 2 }, sample);
+		assertEquals(2, a.getCount());
+	}
+
+}
@@ -0,0 +1,159 @@
+package com.github.kilianB.pcg.subset;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class LongReservoirSamplerTest {
+
+	@Test
+	void uniformInclusion() {
+		int n = 200;
+		int k = 10;
+		int reps = 20_000;
+		int[] counts = new int[n];
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int r = 0; r < reps; r++) {
+			LongReservoirSampler sampler = new LongReservoirSampler(k, rng);
+			for (int i = 0; i < n; i++) {
+				sampler.add(i);
+			}
+			for (long v : sampler.getSample()) {
+				counts[(int) v]++;
+			}
+		}
+		double expected = reps * k / (double) n;
+		for (int count : counts) {
+			assertEquals(expected, count, 5 * Math.sqrt(expected));
+		}
+	}
+
+	@Test
+	void distinctValues() {
+		LongReservoirSampler sampler = new LongReservoirSampler(100, new PcgRSFast(0, 0));
+		for (int i = 0; i < 100_000; i++) {
+			sampler.add(i);
+		}
+		long[] sample = sampler.getSample();
+		assertEquals(100, sample.length);
+		assertEquals(100, Arrays.stream(sample).distinct().count());
+		assertEquals(100_000, sampler.getCount());
+	}
+
+	@Test
+	void fewerValuesThanSampleSize() {
+		LongReservoirSampler sampler = new LongReservoirSampler(5, new PcgRSFast(0, 0));
+		sampler.add(new long[] { 7, 8, 9 });
+		assertArrayEquals(new long[] { 7, 8, 9 }, sampler.getSample());
+		assertEquals(3, sampler.size());
+	}
+
+	@Test
+	void bulkSameAsSingle() {
+		long[] values = new long[50_000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = i * 3;
+		}
+		LongReservoirSampler single = new LongReservoirSampler(20, new PcgRSFast(1, 2));
+		for (long v : values) {
+			single.add(v);
+		}
+		LongReservoirSampler bulk = new LongReservoirSampler(20, new PcgRSFast(1, 2));
+		for (int from = 0; from < values.length; from += 777) {
+			bulk.add(values, from, Math.min(values.length, from + 777));
+		}
+		assertArrayEquals(single.getSample(), bulk.getSample());
+		assertEquals(single.getCount(), bulk.getCount());
+	}
+
+	@Test
+	void mergeUniform() {
+		// Streams of different length have to contribute proportional to their size
+		int k = 5;
+		int reps = 20_000;
+		int[] counts = new int[100];
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int r = 0; r < reps; r++) {
+			LongReservoirSampler a = new LongReservoirSampler(k, rng);
+			LongReservoirSampler b = new LongReservoirSampler(k, rng);
+			for (int i = 0; i < 100; i++) {
+				if (i < 30) {
+					a.add(i);
+				} else {
+					b.add(i);
+				}
+			}
+			a.merge(b);
+			assertEquals(100, a.getCount());
+			for (long v : a.getSample()) {
+				counts[(int) v]++;
+			}
+		}
+		double expected = reps * k / 100d;
+		for (int count : counts) {
+			assertEquals(expected, count, 5 * Math.sqrt(expected));
+		}
+	}
+
+	@Test
+	void mergeContinuesSampling() {
+		// Values offered after a merge have to be included with probability k / n
+		int k = 4;
+		int reps = 20_000;
+		int[] counts = new int[60];
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int r = 0; r < reps; r++) {
+			LongReservoirSampler a = new LongReservoirSampler(k, rng);
+			LongReservoirSampler b = new LongReservoirSampler(k, rng);
+			for (int i = 0; i < 20; i++) {
+				a.add(i);
+				b.add(20 + i);
+			}
+			a.merge(b);
+			for (int i = 40; i < 60; i++) {
+				a.add(i);
+			}
+			for (long v : a.getSample()) {
+				counts[(int) v]++;
+			}
+		}
+		double expected = reps * k / 60d;
+		for (int count : counts) {
+			assertEquals(expected, count, 5 * Math.sqrt(expected));
+		}
+	}
+
+	@Test
+	void mergeSmallStreams() {
+		LongReservoirSampler a = new LongReservoirSampler(5, new PcgRSFast(0, 0));
+		LongReservoirSampler b = new LongReservoirSampler(5, new PcgRSFast(0, 0));
+		a.add(new long[] { 1, 2 });
+		b.add(new long[] { 3 });
+		a.merge(b);
+		long[] sample = a.getSample();
+		Arrays.sort(sample);
+		assertArrayEquals(new long[] { 1, 2, 3 }, sample);
+	}
+
+	@Test
+	void invalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new LongReservoirSampler(0, new PcgRSFast());
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new LongReservoirSampler(2, new PcgRSFast()).merge(new LongReservoirSampler(3, new PcgRSFast()));
+		});
+	}
+
+}
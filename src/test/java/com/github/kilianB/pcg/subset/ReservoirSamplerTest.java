@@ -0,0 +1,78 @@
+package com.github.kilianB.pcg.subset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class ReservoirSamplerTest {
+
+	@Test
+	void uniformInclusion() {
+		int n = 100;
+		int k = 7;
+		int reps = 20_000;
+		int[] counts = new int[n];
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int r = 0; r < reps; r++) {
+			ReservoirSampler<Integer> sampler = new ReservoirSampler<>(k, rng);
+			for (int i = 0; i < n; i++) {
+				sampler.add(i);
+			}
+			for (int v : sampler.getSample()) {
+				counts[v]++;
+			}
+		}
+		double expected = reps * k / (double) n;
+		for (int count : counts) {
+			assertEquals(expected, count, 5 * Math.sqrt(expected));
+		}
+	}
+
+	@Test
+	void addAllSameAsSingle() {
+		List<String> items = IntStream.range(0, 10_000).mapToObj(Integer::toString).collect(Collectors.toList());
+
+		ReservoirSampler<String> single = new ReservoirSampler<>(12, new PcgRSFast(1, 2));
+		for (String item : items) {
+			single.add(item);
+		}
+		ReservoirSampler<String> list = new ReservoirSampler<>(12, new PcgRSFast(1, 2));
+		list.addAll(new ArrayList<>(items));
+		ReservoirSampler<String> linkedList = new ReservoirSampler<>(12, new PcgRSFast(1, 2));
+		linkedList.addAll(new LinkedList<>(items));
+		ReservoirSampler<String> iterator = new ReservoirSampler<>(12, new PcgRSFast(1, 2));
+		iterator.addAll(items.iterator());
+
+		assertEquals(single.getSample(), list.getSample());
+		assertEquals(single.getSample(), linkedList.getSample());
+		assertEquals(single.getSample(), iterator.getSample());
+		assertEquals(10_000, iterator.getCount());
+	}
+
+	@Test
+	void merge() {
+		ReservoirSampler<Object> a = new ReservoirSampler<>(10, new PcgRSFast(0, 0));
+		ReservoirSampler<String> b = new ReservoirSampler<>(10, new PcgRSFast(0, 0));
+		for (int i = 0; i < 1000; i++) {
+			a.add(i);
+			b.add("b" + i);
+		}
+		a.merge(b);
+		assertEquals(10, a.size());
+		assertEquals(2000, a.getCount());
+	}
+
+}
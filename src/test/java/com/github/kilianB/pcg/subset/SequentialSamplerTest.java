@@ -0,0 +1,114 @@
+package com.github.kilianB.pcg.subset;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class SequentialSamplerTest {
+
+	@ParameterizedTest
+	@CsvSource({ "0, 0", "10, 0", "1, 1", "10, 10", "10, 1", "100, 50", "1000, 10", "1000000, 1000",
+			"10000000000, 10000", "9223372036854775807, 100" })
+	void sortedDistinctInRange(long n, int k) {
+		long[] sample = SequentialSampler.sample(n, k, new PcgRSFast(0, 0));
+		assertEquals(k, sample.length);
+		for (int i = 0; i < k; i++) {
+			assertTrue(sample[i] >= 0 && sample[i] < n, "Out of range " + sample[i]);
+			if (i > 0) {
+				assertTrue(sample[i] > sample[i - 1]);
+			}
+		}
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "40, 6", "2000, 20", "100, 99" })
+	void uniformInclusion(int n, int k) {
+		// Covers Algorithm A (dense) and Algorithm D (sparse)
+		int reps = 30_000;
+		int[] counts = new int[n];
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int r = 0; r < reps; r++) {
+			SequentialSampler sampler = new SequentialSampler(n, k, rng);
+			while (sampler.hasNext()) {
+				counts[(int) sampler.nextLong()]++;
+			}
+		}
+		double p = k / (double) n;
+		double expected = reps * p;
+		for (int count : counts) {
+			assertEquals(expected, count, 5 * Math.sqrt(expected * (1 - p)) + 1);
+		}
+	}
+
+	@Test
+	void uniformPairs() {
+		// All 10 subsets of size 2 out of 5 have to be equally likely
+		int reps = 100_000;
+		int[][] counts = new int[5][5];
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int r = 0; r < reps; r++) {
+			long[] sample = SequentialSampler.sample(5, 2, rng);
+			counts[(int) sample[0]][(int) sample[1]]++;
+		}
+		for (int i = 0; i < 5; i++) {
+			for (int j = i + 1; j < 5; j++) {
+				assertEquals(reps / 10d, counts[i][j], 5 * Math.sqrt(reps / 10d));
+			}
+		}
+	}
+
+	@Test
+	void bulkSameAsIterator() {
+		SequentialSampler iterator = new SequentialSampler(1_000_000, 500, new PcgRSFast(1, 2));
+		long[] expected = new long[500];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = iterator.nextLong();
+		}
+		assertFalse(iterator.hasNext());
+
+		SequentialSampler bulk = new SequentialSampler(1_000_000, 500, new PcgRSFast(1, 2));
+		long[] actual = new long[600];
+		assertEquals(100, bulk.next(actual, 0, 100));
+		assertEquals(400, bulk.next(actual, 100, 600));
+		assertEquals(0, bulk.getRemaining());
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], actual[i]);
+		}
+		assertArrayEquals(expected, SequentialSampler.sample(1_000_000, 500, new PcgRSFast(1, 2)));
+	}
+
+	@Test
+	void exhausted() {
+		SequentialSampler sampler = new SequentialSampler(10, 1, new PcgRSFast());
+		sampler.nextLong();
+		assertThrows(NoSuchElementException.class, () -> {
+			sampler.nextLong();
+		});
+	}
+
+	@Test
+	void invalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new SequentialSampler(10, 11, new PcgRSFast());
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new SequentialSampler(10, -1, new PcgRSFast());
+		});
+	}
+
+}
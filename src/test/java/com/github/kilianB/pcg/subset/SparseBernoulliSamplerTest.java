@@ -0,0 +1,157 @@
+package com.github.kilianB.pcg.subset;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class SparseBernoulliSamplerTest {
+
+	@ParameterizedTest
+	@ValueSource(doubles = { 0.5, 0.1, 0.01, 0.001, 1e-6 })
+	void successCount(double p) {
+		long n = 10_000_000;
+		SparseBernoulliSampler sampler = new SparseBernoulliSampler(n, p, new PcgRSFast(0, 0));
+		long count = 0;
+		long last = -1;
+		while (sampler.hasNext()) {
+			long position = sampler.nextLong();
+			assertTrue(position > last && position < n, "Out of order " + position);
+			last = position;
+			count++;
+		}
+		double expected = n * p;
+		assertEquals(expected, count, 5 * Math.sqrt(expected * (1 - p)) + 1);
+	}
+
+	@Test
+	void uniformPositions() {
+		int n = 50;
+		double p = 0.1;
+		int reps = 50_000;
+		int[] counts = new int[n];
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int r = 0; r < reps; r++) {
+			SparseBernoulliSampler sampler = new SparseBernoulliSampler(n, p, rng);
+			while (sampler.hasNext()) {
+				counts[(int) sampler.nextLong()]++;
+			}
+		}
+		double expected = reps * p;
+		for (int count : counts) {
+			assertEquals(expected, count, 5 * Math.sqrt(expected * (1 - p)));
+		}
+	}
+
+	@Test
+	void bulkEqualsIterator() {
+		SparseBernoulliSampler iterator = new SparseBernoulliSampler(100_000, 0.01, new PcgRSFast(0, 0));
+		SparseBernoulliSampler bulk = new SparseBernoulliSampler(100_000, 0.01, new PcgRSFast(0, 0));
+		long[] expected = new long[5000];
+		int count = 0;
+		while (iterator.hasNext()) {
+			expected[count++] = iterator.nextLong();
+		}
+		long[] actual = new long[5000];
+		int written = bulk.next(actual, 0, 100);
+		written += bulk.next(actual, written, actual.length);
+		assertEquals(count, written);
+		assertArrayEquals(expected, actual);
+		assertFalse(bulk.hasNext());
+	}
+
+	@Test
+	void probabilityOne() {
+		SparseBernoulliSampler sampler = new SparseBernoulliSampler(100, 1, new PcgRSFast(0, 0));
+		for (int i = 0; i < 100; i++) {
+			assertEquals(i, sampler.nextLong());
+		}
+		assertFalse(sampler.hasNext());
+	}
+
+	@Test
+	void probabilityZero() {
+		SparseBernoulliSampler sampler = new SparseBernoulliSampler(Long.MAX_VALUE, 0, new PcgRSFast(0, 0));
+		assertFalse(sampler.hasNext());
+		assertThrows(NoSuchElementException.class, () -> sampler.nextLong());
+	}
+
+	@Test
+	void invalidArguments() {
+		Pcg rng = new PcgRSFast(0, 0);
+		assertThrows(IllegalArgumentException.class, () -> new SparseBernoulliSampler(10, -0.1, rng));
+		assertThrows(IllegalArgumentException.class, () -> new SparseBernoulliSampler(10, 1.1, rng));
+		assertThrows(IllegalArgumentException.class, () -> new SparseBernoulliSampler(10, Double.NaN, rng));
+		assertThrows(IllegalArgumentException.class, () -> new SparseBernoulliSampler(-1, 0.5, rng));
+		assertThrows(IllegalArgumentException.class, () -> SparseBernoulliSampler.fillMask(new long[1], 2, rng));
+	}
+
+	@ParameterizedTest
+	@ValueSource(doubles = { 0, 1e-6, 0.001, 0.01, 0.1, 0.25, 0.3, 0.5, 0.75, 0.9, 0.99, 0.999, 1 })
+	void maskDensity(double p) {
+		long[] mask = new long[100_000];
+		SparseBernoulliSampler.fillMask(mask, p, new PcgRSFast(0, 0));
+		long bits = 0;
+		for (long word : mask) {
+			bits += Long.bitCount(word);
+		}
+		double n = mask.length * 64d;
+		double expected = n * p;
+		assertEquals(expected, bits, 5 * Math.sqrt(expected * (1 - p)) + 1);
+	}
+
+	@Test
+	void maskBitIndependence() {
+		// Every bit position of the word has to be set with the same probability
+		double p = 0.3;
+		long[] mask = new long[100_000];
+		SparseBernoulliSampler.fillMask(mask, p, new PcgRSFast(0, 0));
+		int[] counts = new int[64];
+		for (long word : mask) {
+			for (int b = 0; b < 64; b++) {
+				counts[b] += (word >>> b) & 1;
+			}
+		}
+		double expected = mask.length * p;
+		for (int count : counts) {
+			assertEquals(expected, count, 5 * Math.sqrt(expected * (1 - p)));
+		}
+	}
+
+	@Test
+	void dyadicMaskWordCount() {
+		// p = 0.5 consumes a single random word per mask word
+		Pcg rng = new PcgRSFast(0, 0);
+		Pcg reference = rng.copy();
+		long[] mask = new long[10];
+		SparseBernoulliSampler.fillMask(mask, 0.5, rng);
+		for (long word : mask) {
+			assertEquals(~reference.nextLong(), word);
+		}
+		assertEquals(reference.nextLong(), rng.nextLong());
+	}
+
+	@Test
+	void bitSetSize() {
+		BitSet set = SparseBernoulliSampler.mask(100, 1, new PcgRSFast(0, 0));
+		assertEquals(100, set.cardinality());
+		assertEquals(100, set.length());
+		assertTrue(SparseBernoulliSampler.mask(0, 0.5, new PcgRSFast(0, 0)).isEmpty());
+	}
+
+}
@@ -0,0 +1,100 @@
+package com.github.kilianB.pcg.subset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class WeightedReservoirSamplerTest {
+
+	@Test
+	void singleItemProportionalToWeight() {
+		// With k = 1 each item is selected with probability weight / total weight
+		int n = 20;
+		int reps = 100_000;
+		int[] counts = new int[n];
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int r = 0; r < reps; r++) {
+			WeightedReservoirSampler<Integer> sampler = new WeightedReservoirSampler<>(1, rng);
+			for (int i = 0; i < n; i++) {
+				sampler.add(i, i + 1);
+			}
+			counts[sampler.getSample().get(0)]++;
+		}
+		double total = n * (n + 1) / 2d;
+		for (int i = 0; i < n; i++) {
+			double p = (i + 1) / total;
+			assertEquals(reps * p, counts[i], 5 * Math.sqrt(reps * p * (1 - p)), "i = " + i);
+		}
+	}
+
+	@Test
+	void successiveDraws() {
+		// k = 2 of weights {1, 1, 2}. P(item 2 included) = 2/4 + 2 * 1/4 * 2/3 = 5/6
+		int reps = 60_000;
+		int included = 0;
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int r = 0; r < reps; r++) {
+			WeightedReservoirSampler<Integer> sampler = new WeightedReservoirSampler<>(2, rng);
+			for (int i = 0; i < 40; i++) {
+				// Zero weights are counted but never selected
+				sampler.add(-1, 0);
+			}
+			sampler.add(0, 1);
+			sampler.add(1, 1);
+			sampler.add(2, 2);
+			List<Integer> sample = sampler.getSample();
+			assertFalse(sample.contains(-1));
+			if (sample.contains(2)) {
+				included++;
+			}
+		}
+		double p = 5 / 6d;
+		assertEquals(reps * p, included, 5 * Math.sqrt(reps * p * (1 - p)));
+	}
+
+	@Test
+	void mergeProportionalToWeight() {
+		int reps = 100_000;
+		int[] counts = new int[10];
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int r = 0; r < reps; r++) {
+			WeightedReservoirSampler<Integer> a = new WeightedReservoirSampler<>(1, rng);
+			WeightedReservoirSampler<Integer> b = new WeightedReservoirSampler<>(1, rng);
+			for (int i = 0; i < 10; i++) {
+				(i % 3 == 0 ? a : b).add(i, i + 1);
+			}
+			a.merge(b);
+			counts[a.getSample().get(0)]++;
+		}
+		for (int i = 0; i < 10; i++) {
+			double p = (i + 1) / 55d;
+			assertEquals(reps * p, counts[i], 5 * Math.sqrt(reps * p * (1 - p)), "i = " + i);
+		}
+	}
+
+	@Test
+	void invalidWeights() {
+		WeightedReservoirSampler<Integer> sampler = new WeightedReservoirSampler<>(1, new PcgRSFast());
+		assertThrows(IllegalArgumentException.class, () -> {
+			sampler.add(1, -1);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			sampler.add(1, Double.NaN);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			sampler.add(1, Double.POSITIVE_INFINITY);
+		});
+	}
+
+}
@@ -0,0 +1,178 @@
+package com.github.kilianB.pcg.subset;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.pcg.Pcg;
+import com.github.kilianB.pcg.fast.PcgRSFast;
+
+/**
+ * @author Kilian
+ *
+ */
+class WeightedSelectionTest {
+
+	@Test
+	void singleItemProportionalToWeight() {
+		int n = 20;
+		int reps = 100_000;
+		int[] counts = new int[n];
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int r = 0; r < reps; r++) {
+			WeightedSelection selection = new WeightedSelection(1, rng);
+			for (int i = 0; i < n; i++) {
+				selection.add(i, i + 1);
+			}
+			counts[(int) selection.getSample()[0]]++;
+		}
+		double total = n * (n + 1) / 2d;
+		for (int i = 0; i < n; i++) {
+			double p = (i + 1) / total;
+			assertEquals(reps * p, counts[i], 5 * Math.sqrt(reps * p * (1 - p)), "i = " + i);
+		}
+	}
+
+	@Test
+	void sampleOrder() {
+		// Weights {1, 2, 3, 4}. The first item follows a single weighted draw, the
+		// second a draw from the remaining items
+		int reps = 100_000;
+		int[] first = new int[4];
+		int firstThreeSecondFour = 0;
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int r = 0; r < reps; r++) {
+			WeightedSelection selection = new WeightedSelection(3, rng);
+			for (int i = 0; i < 4; i++) {
+				selection.add(i, i + 1);
+			}
+			long[] sample = selection.getSample();
+			first[(int) sample[0]]++;
+			if (sample[0] == 2 && sample[1] == 3) {
+				firstThreeSecondFour++;
+			}
+		}
+		for (int i = 0; i < 4; i++) {
+			double p = (i + 1) / 10d;
+			assertEquals(reps * p, first[i], 5 * Math.sqrt(reps * p * (1 - p)));
+		}
+		double p = 3 / 10d * 4 / 7d;
+		assertEquals(reps * p, firstThreeSecondFour, 5 * Math.sqrt(reps * p * (1 - p)));
+	}
+
+	@Test
+	void inclusionAfterJumps() {
+		// k = 2 of weights {1, 1, 2} preceded by many small weights
+		int reps = 60_000;
+		int included = 0;
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int r = 0; r < reps; r++) {
+			WeightedSelection selection = new WeightedSelection(2, rng);
+			for (int i = 0; i < 100; i++) {
+				selection.add(-1, 1e-9);
+			}
+			selection.add(0, 1);
+			selection.add(1, 1);
+			selection.add(2, 2);
+			long[] sample = selection.getSample();
+			if (sample[0] == 2 || sample[1] == 2) {
+				included++;
+			}
+		}
+		double p = 5 / 6d;
+		assertEquals(reps * p, included, 5 * Math.sqrt(reps * p * (1 - p)));
+	}
+
+	@Test
+	void mergeProportionalToWeight() {
+		int reps = 100_000;
+		int[] counts = new int[10];
+		Pcg rng = new PcgRSFast(0, 0);
+		for (int r = 0; r < reps; r++) {
+			WeightedSelection a = new WeightedSelection(1, rng);
+			WeightedSelection b = new WeightedSelection(1, rng);
+			for (int i = 0; i < 10; i++) {
+				(i < 4 ? a : b).add(i, i + 1);
+			}
+			a.merge(b);
+			counts[(int) a.getSample()[0]]++;
+		}
+		for (int i = 0; i < 10; i++) {
+			double p = (i + 1) / 55d;
+			assertEquals(reps * p, counts[i], 5 * Math.sqrt(reps * p * (1 - p)), "i = " + i);
+		}
+	}
+
+	@Test
+	void bulkSameAsSingle() {
+		int n = 100_000;
+		long[] items = new long[n];
+		double[] weights = new double[n];
+		Pcg weightRng = new PcgRSFast(5, 5);
+		for (int i = 0; i < n; i++) {
+			items[i] = i;
+			weights[i] = i % 10 == 0 ? 0 : weightRng.nextDouble() * 5;
+		}
+		WeightedSelection single = new WeightedSelection(50, new PcgRSFast(1, 2));
+		for (int i = 0; i < n; i++) {
+			single.add(items[i], weights[i]);
+		}
+		WeightedSelection bulk = new WeightedSelection(50, new PcgRSFast(1, 2));
+		for (int from = 0; from < n; from += 999) {
+			bulk.add(items, weights, from, Math.min(n, from + 999));
+		}
+		assertArrayEquals(single.getSample(), bulk.getSample());
+		assertEquals(n, bulk.getCount());
+	}
+
+	@Test
+	void zeroWeights() {
+		WeightedSelection selection = new WeightedSelection(3, new PcgRSFast(0, 0));
+		selection.add(1, 0);
+		selection.add(2, 1);
+		selection.add(3, 0);
+		assertArrayEquals(new long[] { 2 }, selection.getSample());
+		assertEquals(3, selection.getCount());
+	}
+
+	@Test
+	void zeroWeightUsedUpJump() {
+		// The first draw seeds the key, all later draws are zero and yield a jump of 0
+		Pcg rng = new PcgRSFast(0, 0) {
+			private static final long serialVersionUID = 1L;
+			private boolean first = true;
+
+			@Override
+			public long nextLong() {
+				if (first) {
+					first = false;
+					return super.nextLong();
+				}
+				return 0;
+			}
+		};
+		WeightedSelection selection = new WeightedSelection(1, rng);
+		selection.add(1, 1);
+		selection.add(2, 0);
+		selection.add(new long[] { 3 }, new double[] { 0 }, 0, 1);
+		assertArrayEquals(new long[] { 1 }, selection.getSample());
+		assertEquals(3, selection.getCount());
+	}
+
+	@Test
+	void invalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new WeightedSelection(0, new PcgRSFast());
+		});
+		WeightedSelection selection = new WeightedSelection(1, new PcgRSFast());
+		assertThrows(IllegalArgumentException.class, () -> {
+			selection.add(1, -1);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			selection.add(new long[] { 1, 2 }, new double[] { 1, Double.NaN }, 0, 2);
+		});
+	}
+
+}